@@ -14,6 +14,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,12 +31,13 @@ import org.dspace.content.Item;
 import org.dspace.core.Context;
 import org.dspace.discovery.SearchServiceException;
 import org.dspace.handle.factory.HandleServiceFactory;
+import org.dspace.util.MultiFormatDateParser;
 import org.dspace.utils.DSpace;
 
 /**
  * CLI Tool used to populate the deduplication index of solr dedup core.
  * 
- * Usage: ./dspace index-deduplication [-chfueto[r <item handle/uuid>]]
+ * Usage: ./dspace index-deduplication [-chfuetos[r <item handle/uuid>]]
  */
 public class DedupClient {
     private static Logger log = LogManager.getLogger(DedupClient.class);
@@ -59,7 +61,7 @@ public class DedupClient {
         Context context = new Context();
         context.turnOffAuthorisationSystem();
 
-        String usage = "./dspace index-deduplication [-chfueo[r <item handle/uuid>]]"
+        String usage = "./dspace index-deduplication [-chfueos[r <item handle/uuid>]]"
                 + " or nothing to update/clean an existing index.";
         Options options = new Options();
         HelpFormatter formatter = new HelpFormatter();
@@ -86,6 +88,9 @@ public class DedupClient {
 
         options.addOption("e", "readfile", true, "Read the identifier from a file");
 
+        options.addOption("s", "since", true,
+                "update only the items modified since the given date (e.g. 2024-01-31 or 2024-01-31T22:00:00Z)");
+
         try {
             line = new PosixParser().parse(options, args);
         } catch (Exception e) {
@@ -152,6 +157,14 @@ public class DedupClient {
             } catch (Exception e) {
                 log.error("Error: " + e.getMessage());
             }
+        } else if (line.hasOption("s")) {
+            Date since = MultiFormatDateParser.parse(line.getOptionValue("s"));
+            if (since == null) {
+                formatter.printHelp(usage, "Invalid date: " + line.getOptionValue("s"), options, "");
+                System.exit(1);
+            }
+            log.info("Updating Index with the items modified since " + since);
+            indexer.updateIndex(context, line.hasOption("f"), since);
         } else {
             log.info("Updating and Cleaning Index");
             indexer.cleanIndex(line.hasOption("f"));
@@ -21,13 +21,13 @@ import static org.dspace.authorize.ResourcePolicy.TYPE_CUSTOM;
 import static org.dspace.authorize.ResourcePolicy.TYPE_INHERITED;
 import static org.dspace.core.CrisConstants.PLACEHOLDER_PARENT_METADATA_VALUE;
 import static org.dspace.util.WorkbookUtils.getCellValue;
-import static org.dspace.util.WorkbookUtils.getRows;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
@@ -37,7 +37,6 @@ import java.util.UUID;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.apache.commons.cli.ParseException;
@@ -51,7 +50,6 @@ import org.apache.poi.EncryptedDocumentException;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.dspace.app.bulkimport.exception.BulkImportException;
 import org.dspace.app.bulkimport.model.AccessCondition;
 import org.dspace.app.bulkimport.model.ChildRow;
@@ -103,6 +101,7 @@ import org.dspace.submit.model.UploadConfiguration;
 import org.dspace.submit.model.UploadConfigurationService;
 import org.dspace.util.MultiFormatDateParser;
 import org.dspace.util.UUIDUtils;
+import org.dspace.util.WorkbookReader;
 import org.dspace.util.WorkbookUtils;
 import org.dspace.utils.DSpace;
 import org.dspace.validation.service.ValidationService;
@@ -224,6 +223,10 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
 
     private Map<String, AccessConditionOption> uploadAccessConditions;
 
+    private int commitBatchSize;
+
+    private List<Runnable> pendingMessages;
+
     @Override
     @SuppressWarnings("unchecked")
     public void setup() throws ParseException {
@@ -248,6 +251,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         this.uploadConfigurationService = AuthorizeServiceFactory.getInstance().getUploadConfigurationService();
         this.resourcePolicyService = AuthorizeServiceFactory.getInstance().getResourcePolicyService();
         this.configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        this.commitBatchSize = Math.max(configurationService.getIntProperty("bulkedit.bulk-import.commit.count", 1), 1);
 
         try {
             this.reader = new DCInputsReader();
@@ -294,15 +298,18 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
     }
 
     public void performImport(InputStream is) {
-        Workbook workbook = createWorkbook(is);
-        validateWorkbook(workbook);
-        List<EntityRow> entityRows = getValidEntityRows(workbook);
-        performImport(entityRows);
+        try (WorkbookReader workbookReader = openWorkbook(is)) {
+            Workbook workbook = workbookReader.getWorkbook();
+            validateWorkbook(workbook);
+            performImport(workbookReader, workbook);
+        } catch (IOException e) {
+            throw new BulkImportException("An error occurs reading the workbook", e);
+        }
     }
 
-    private Workbook createWorkbook(InputStream is) {
+    private WorkbookReader openWorkbook(InputStream is) {
         try {
-            return WorkbookFactory.create(is);
+            return WorkbookReader.open(is);
         } catch (EncryptedDocumentException | IOException e) {
             throw new BulkImportException("An error occurs during the workbook creation", e);
         }
@@ -490,24 +497,48 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         }
     }
 
-    private List<EntityRow> getValidEntityRows(Workbook workbook) {
+    /**
+     * Import the rows of the main sheet, that are read twice: all the rows are
+     * validated first, then the valid ones are imported while they are read
+     * again, so that they are never all kept in memory. The rows are imported
+     * in chunks of the configured size.
+     */
+    private void performImport(WorkbookReader workbookReader, Workbook workbook) throws IOException {
         Sheet entityRowSheet = workbook.getSheetAt(0);
         Map<String, Integer> headers = getHeaderMap(entityRowSheet);
 
         List<Sheet> metadataGroupSheets = getAllMetadataGroupSheets(workbook);
 
         handler.logInfo("Start reading all the metadata group rows");
-        List<MetadataGroup> metadataGroups = getValidMetadataGroups(metadataGroupSheets);
+        List<MetadataGroup> metadataGroups = getValidMetadataGroups(workbookReader, metadataGroupSheets);
         handler.logInfo("Found " + metadataGroups.size() + " metadata groups to process");
 
-        List<UploadDetails> uploadDetails = getUploadDetails(workbook);
+        List<UploadDetails> uploadDetails = getUploadDetails(workbookReader, workbook);
 
-        return WorkbookUtils.getRows(entityRowSheet)
-            .filter(WorkbookUtils::isNotFirstRow)
-            .filter(WorkbookUtils::isNotEmptyRow)
-            .filter(this::isEntityRowRowValid)
-            .map(row -> buildEntityRow(row, headers, metadataGroups, uploadDetails))
-            .collect(Collectors.toList());
+        BitSet validEntityRows = getValidEntityRows(workbookReader, entityRowSheet);
+        handler.logInfo("Found " + validEntityRows.cardinality() + " items to process");
+
+        List<EntityRow> entityRows = new ArrayList<>(commitBatchSize);
+        workbookReader.readRows(entityRowSheet, row -> {
+            if (validEntityRows.get(row.getRowNum())) {
+                entityRows.add(buildEntityRow(row, headers, metadataGroups, uploadDetails));
+            }
+            if (entityRows.size() == commitBatchSize) {
+                performImport(entityRows);
+                entityRows.clear();
+            }
+        });
+        performImport(entityRows);
+    }
+
+    private BitSet getValidEntityRows(WorkbookReader workbookReader, Sheet entityRowSheet) throws IOException {
+        BitSet validEntityRows = new BitSet();
+        workbookReader.readRows(entityRowSheet, row -> {
+            if (WorkbookUtils.isNotEmptyRow(row) && isEntityRowRowValid(row)) {
+                validEntityRows.set(row.getRowNum());
+            }
+        });
+        return validEntityRows;
     }
 
     private boolean isEntityRowRowValid(Row row) {
@@ -558,28 +589,34 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
      * @param  metadataGroupSheets the metadata group sheets to read
      * @return                     a list of MetadataGroup
      */
-    private List<MetadataGroup> getValidMetadataGroups(List<Sheet> metadataGroupSheets) {
-        return metadataGroupSheets.stream()
-            .flatMap(this::getValidMetadataGroups)
-            .collect(Collectors.toList());
+    private List<MetadataGroup> getValidMetadataGroups(WorkbookReader workbookReader,
+        List<Sheet> metadataGroupSheets) throws IOException {
+        List<MetadataGroup> metadataGroups = new ArrayList<>();
+        for (Sheet metadataGroupSheet : metadataGroupSheets) {
+            metadataGroups.addAll(getValidMetadataGroups(workbookReader, metadataGroupSheet));
+        }
+        return metadataGroups;
     }
 
     /**
      * Read all the metadata groups from a single sheet.
      *
+     * @param  workbookReader     the reader of the workbook
      * @param  metadataGroupSheet the metadata group sheet
-     * @return                    a stream of MetadataGroup
+     * @return                    a list of MetadataGroup
      */
-    private Stream<MetadataGroup> getValidMetadataGroups(Sheet metadataGroupSheet) {
+    private List<MetadataGroup> getValidMetadataGroups(WorkbookReader workbookReader, Sheet metadataGroupSheet)
+        throws IOException {
         Map<String, Integer> headers = getHeaderMap(metadataGroupSheet);
 
-        Stream<MetadataGroup> metadataGroupStream = WorkbookUtils.getRows(metadataGroupSheet)
-            .filter(WorkbookUtils::isNotFirstRow)
-            .filter(WorkbookUtils::isNotEmptyRow)
-            .filter(this::isMetadataGroupRowValid)
-            .map(row -> buildMetadataGroup(row, headers));
+        List<MetadataGroup> metadataGroups = new ArrayList<>();
+        workbookReader.readRows(metadataGroupSheet, row -> {
+            if (WorkbookUtils.isNotEmptyRow(row) && isMetadataGroupRowValid(row)) {
+                metadataGroups.add(buildMetadataGroup(row, headers));
+            }
+        });
 
-        return metadataGroupStream;
+        return metadataGroups;
     }
 
     private boolean isMetadataGroupRowValid(Row row) {
@@ -678,7 +715,8 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         return new MetadataGroup(parentId, row.getSheet().getSheetName(), metadata);
     }
 
-    private List<UploadDetails> getUploadDetails(Workbook workbook) {
+    private List<UploadDetails> getUploadDetails(WorkbookReader workbookReader, Workbook workbook)
+        throws IOException {
 
         Sheet uploadSheet = workbook.getSheet(BITSTREAMS_SHEET_NAME);
 
@@ -688,12 +726,12 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
 
         handler.logInfo("Start reading all the bitstream rows");
 
-        List<UploadDetails> uploadDetails = getRows(uploadSheet)
-            .filter(WorkbookUtils::isNotFirstRow)
-            .filter(WorkbookUtils::isNotEmptyRow)
-            .filter(this::isUploadRowValid)
-            .map(row -> buildUploadDetails(row))
-            .collect(Collectors.toList());
+        List<UploadDetails> uploadDetails = new ArrayList<>();
+        workbookReader.readRows(uploadSheet, row -> {
+            if (WorkbookUtils.isNotEmptyRow(row) && isUploadRowValid(row)) {
+                uploadDetails.add(buildUploadDetails(row));
+            }
+        });
 
         handler.logInfo("Found " + uploadDetails.size() + " bitstreams to process");
 
@@ -836,41 +874,46 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         };
     }
 
+    /**
+     * Import the given rows with a single commit. If any of them fails the
+     * whole chunk is rolled back and its rows are imported again one at a
+     * time, so that only the failing rows are discarded; the messages about
+     * the rows of the chunk are reported only once they are committed.
+     */
     private void performImport(List<EntityRow> entityRows) {
-        handler.logInfo("Found " + entityRows.size() + " items to process");
-        entityRows.forEach(entityRow -> performImport(entityRow));
-    }
 
-    private void performImport(EntityRow entityRow) {
+        if (entityRows.size() <= 1) {
+            entityRows.forEach(entityRow -> performImport(entityRow));
+            return;
+        }
 
-        try {
+        List<Runnable> messages = new ArrayList<>();
+        pendingMessages = messages;
 
-            Item item = null;
-
-            switch (entityRow.getAction()) {
-                case ADD:
-                case ADD_ARCHIVE:
-                case ADD_WORKSPACE:
-                    item = addItem(entityRow);
-                    break;
-                case UPDATE:
-                case UPDATE_WORKFLOW:
-                case UPDATE_ARCHIVE:
-                    item = updateItem(entityRow);
-                    break;
-                case DELETE:
-                    deleteItem(entityRow);
-                    break;
-                case NOT_SPECIFIED:
-                default:
-                    item = addOrUpdateItem(entityRow);
-                    break;
+        try {
+            for (EntityRow entityRow : entityRows) {
+                importEntityRow(entityRow);
             }
+            context.commit();
+        } catch (Exception e) {
+            LOGGER.warn("An error occurs importing the rows from " + entityRows.get(0).getRow() + " to "
+                + entityRows.get(entityRows.size() - 1).getRow() + ", importing them one at a time", e);
+            pendingMessages = null;
+            rollback();
+            entityRows.forEach(entityRow -> performImport(entityRow));
+            return;
+        } finally {
+            pendingMessages = null;
+        }
 
-            if (item != null) {
-                context.uncacheEntity(item);
-            }
+        messages.forEach(Runnable::run);
+    }
+
+    private void performImport(EntityRow entityRow) {
 
+        try {
+
+            importEntityRow(entityRow);
             context.commit();
 
         } catch (BulkImportException bie) {
@@ -882,6 +925,36 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
 
     }
 
+    private void importEntityRow(EntityRow entityRow) throws Exception {
+
+        Item item = null;
+
+        switch (entityRow.getAction()) {
+            case ADD:
+            case ADD_ARCHIVE:
+            case ADD_WORKSPACE:
+                item = addItem(entityRow);
+                break;
+            case UPDATE:
+            case UPDATE_WORKFLOW:
+            case UPDATE_ARCHIVE:
+                item = updateItem(entityRow);
+                break;
+            case DELETE:
+                deleteItem(entityRow);
+                break;
+            case NOT_SPECIFIED:
+            default:
+                item = addOrUpdateItem(entityRow);
+                break;
+        }
+
+        if (item != null) {
+            context.uncacheEntity(item);
+        }
+
+    }
+
     private Item addItem(EntityRow entityRow)
         throws AuthorizeException, SQLException, IOException, WorkflowException {
 
@@ -907,7 +980,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
                 installItem(entityRow, workspaceItem);
                 break;
             case ADD_WORKSPACE:
-                handler.logInfo("Row " + row + " - WorkspaceItem created successfully - ID: " + itemId);
+                logInfo("Row " + row + " - WorkspaceItem created successfully - ID: " + itemId);
                 break;
             default:
                 break;
@@ -934,7 +1007,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
             List<Bitstream> bitstreams = bitstreamsByBundle.get(uploadDetails.getBundleName());
 
             if (zeroBasedPosition >= bitstreams.size()) {
-                handler.logError("Sheet " + BITSTREAMS_SHEET_NAME + " - Row " + uploadDetails.getRow() +
+                logError("Sheet " + BITSTREAMS_SHEET_NAME + " - Row " + uploadDetails.getRow() +
                     " - No bitstream found at position " + bitstreamPosition + " for Item with id " + item.getID());
                 continue;
             }
@@ -967,7 +1040,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
             throw new RuntimeException(e);
         }
 
-        handler.logInfo("Sheet " + BITSTREAMS_SHEET_NAME + " - Row " + uploadDetails.getRow()
+        logInfo("Sheet " + BITSTREAMS_SHEET_NAME + " - Row " + uploadDetails.getRow()
             + " - Bitstream deleted successfully - ID: " + bitstream.getID());
     }
 
@@ -976,7 +1049,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         updateBitstreamMetadata(bitstream, uploadDetails);
         updateBitstreamPolicies(bitstream, item, uploadDetails);
 
-        handler.logInfo("Sheet " + BITSTREAMS_SHEET_NAME + " - Row " + uploadDetails.getRow()
+        logInfo("Sheet " + BITSTREAMS_SHEET_NAME + " - Row " + uploadDetails.getRow()
             + " - Bitstream updated successfully - ID: " + bitstream.getID());
     }
 
@@ -1028,7 +1101,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
                 try {
                     aco.createResourcePolicy(context, obj, name, description, startDate, endDate);
                 } catch (Exception e) {
-                    handler.logError("Sheet " + BITSTREAMS_SHEET_NAME + " - Row "
+                    logError("Sheet " + BITSTREAMS_SHEET_NAME + " - Row "
                         + uploadDetails.getRow() + " - " + e.getMessage());
                 }
                 break;
@@ -1044,7 +1117,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         Optional<InputStream> inputStream = bulkImportFileUtil.getInputStream(filePath);
 
         if (inputStream.isEmpty()) {
-            handler.logError("Cannot create bitstream from file at path " + filePath);
+            logError("Cannot create bitstream from file at path " + filePath);
             return;
         }
 
@@ -1061,7 +1134,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         setBitstreamPolicies(bitstream, uploadDetails);
         setBitstreamFormat(bitstream);
 
-        handler.logInfo("Sheet " + BITSTREAMS_SHEET_NAME + " - Row " + uploadDetails.getRow()
+        logInfo("Sheet " + BITSTREAMS_SHEET_NAME + " - Row " + uploadDetails.getRow()
             + " - Bitstream created successfully - ID: " + bitstream.getID());
 
     }
@@ -1090,7 +1163,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
             bitstreamService.setFormat(context, bitstream, bf);
             bitstreamService.update(context, bitstream);
         } catch (SQLException | AuthorizeException e) {
-            handler.logError(e.getMessage());
+            logError(e.getMessage());
         }
     }
 
@@ -1110,9 +1183,9 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
 
         if (authorizeService.isAdmin(context)) {
             installItemService.installItem(context, inProgressItem);
-            handler.logInfo("Row " + row + " - Item archived successfully - ID: " + itemId);
+            logInfo("Row " + row + " - Item archived successfully - ID: " + itemId);
         } else {
-            handler.logWarning("Row " + row + " - Current user can't deposit an item directly bypassing the workflow");
+            logWarning("Row " + row + " - Current user can't deposit an item directly bypassing the workflow");
         }
 
     }
@@ -1126,9 +1199,9 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         List<String> validationErrors = validateItem(workspaceItem);
         if (CollectionUtils.isEmpty(validationErrors)) {
             workflowService.start(context, workspaceItem);
-            handler.logInfo("Row " + row + " - WorkflowItem created successfully - ID: " + itemId);
+            logInfo("Row " + row + " - WorkflowItem created successfully - ID: " + itemId);
         } else {
-            handler.logWarning("Row " + row + " - Invalid item left in workspace - ID: " + itemId
+            logWarning("Row " + row + " - Invalid item left in workspace - ID: " + itemId
                 + " - validation errors: " + validationErrors);
         }
 
@@ -1155,7 +1228,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         addUploadsToItem(item, entityRow);
         configureDiscoverability(item, entityRow);
 
-        handler.logInfo("Row " + entityRow.getRow() + " - Item updated successfully - ID: " + item.getID());
+        logInfo("Row " + entityRow.getRow() + " - Item updated successfully - ID: " + item.getID());
 
         switch (entityRow.getAction()) {
             case UPDATE_WORKFLOW:
@@ -1179,7 +1252,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         if (inProgressItem != null) {
             installItem(entityRow, inProgressItem);
         } else {
-            handler.logInfo("Row " + entityRow.getRow() + " - No workspace/workflow item to archive found");
+            logInfo("Row " + entityRow.getRow() + " - No workspace/workflow item to archive found");
         }
 
     }
@@ -1191,7 +1264,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         if (workspaceItem != null) {
             startWorkflow(entityRow, workspaceItem);
         } else {
-            handler.logInfo("Row " + entityRow.getRow() + " - No workspace item to start found");
+            logInfo("Row " + entityRow.getRow() + " - No workspace item to start found");
         }
     }
 
@@ -1203,7 +1276,7 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         }
 
         itemService.delete(context, item);
-        handler.logInfo("Row " + entityRow.getRow() + " - Item deleted successfully");
+        logInfo("Row " + entityRow.getRow() + " - Item deleted successfully");
     }
 
     private Item addOrUpdateItem(EntityRow entityRow) throws Exception {
@@ -1572,6 +1645,30 @@ public class BulkImport extends DSpaceRunnable<BulkImportScriptConfiguration<Bul
         return StringUtils.removeStart(str, SECURITY_LEVEL_PREFIX);
     }
 
+    private void logInfo(String message) {
+        log(() -> handler.logInfo(message));
+    }
+
+    private void logWarning(String message) {
+        log(() -> handler.logWarning(message));
+    }
+
+    private void logError(String message) {
+        log(() -> handler.logError(message));
+    }
+
+    /**
+     * Report a message about the import of a row, or keep it until the chunk
+     * being imported is committed.
+     */
+    private void log(Runnable message) {
+        if (pendingMessages != null) {
+            pendingMessages.add(message);
+        } else {
+            message.run();
+        }
+    }
+
     private void handleException(EntityRow entityRow, BulkImportException bie) {
 
         rollback();
@@ -19,6 +19,8 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.dspace.app.bulkimport.service.BulkImportWorkbookBuilderImpl;
 import org.dspace.content.Collection;
 import org.dspace.util.WorkbookUtils;
@@ -42,6 +44,10 @@ public final class BulkImportSheet {
 
     private final boolean nestedMetadata;
 
+    private SXSSFSheet streamingSheet;
+
+    private int lastRowNum;
+
     public BulkImportSheet(Workbook workbook, String sheetname, boolean nestedMetadata, Collection collection) {
         this.sheet = workbook.createSheet(sheetname);
         this.collection = collection;
@@ -88,12 +94,36 @@ public final class BulkImportSheet {
         return lastColumn;
     }
 
+    /**
+     * Append the next rows to the given streaming workbook, built using the
+     * workbook of this sheet as template: only the last rows are then kept in
+     * memory, while the header row stays in the template and can still be
+     * extended.
+     *
+     * @param streamingWorkbook the streaming workbook
+     */
+    public void streamRowsTo(SXSSFWorkbook streamingWorkbook) {
+        this.streamingSheet = streamingWorkbook.getSheet(sheet.getSheetName());
+        this.streamingSheet.trackAllColumnsForAutoSizing();
+    }
+
     public Row appendRow() {
-        return sheet.createRow(sheet.getPhysicalNumberOfRows());
+        return getRowsSheet().createRow(++lastRowNum);
+    }
+
+    public void autoSizeColumns() {
+        for (int column = 0; column < headers.size(); column++) {
+            sheet.autoSizeColumn(column);
+            if (streamingSheet != null) {
+                int headerWidth = sheet.getColumnWidth(column);
+                streamingSheet.autoSizeColumn(column);
+                sheet.setColumnWidth(column, Math.max(headerWidth, sheet.getColumnWidth(column)));
+            }
+        }
     }
 
     public void setValueOnLastRow(String header, String value) {
-        Row lastRow = sheet.getRow(sheet.getPhysicalNumberOfRows() - 1);
+        Row lastRow = getRowsSheet().getRow(lastRowNum);
         int column = getHeaderPosition(header);
         if (column == -1) {
             throw new IllegalArgumentException("Unknown header '" + header + "'");
@@ -102,7 +132,7 @@ public final class BulkImportSheet {
     }
 
     public void appendValueOnLastRow(String header, String value, String separator) {
-        Row lastRow = sheet.getRow(sheet.getPhysicalNumberOfRows() - 1);
+        Row lastRow = getRowsSheet().getRow(lastRowNum);
         int column = getHeaderPosition(header);
         if (column == -1) {
             throw new IllegalArgumentException("Unknown header '" + header + "'");
@@ -112,6 +142,10 @@ public final class BulkImportSheet {
                 getValueLimitedByLength(isEmpty(cellContent) ? value : cellContent + separator + value));
     }
 
+    private Sheet getRowsSheet() {
+        return streamingSheet != null ? streamingSheet : sheet;
+    }
+
     private String getValueLimitedByLength(String value) {
         return StringUtils.length(value) > 32726 ? value.substring(0, 32725) + "…" : value;
     }
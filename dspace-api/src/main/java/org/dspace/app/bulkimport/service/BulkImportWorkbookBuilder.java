@@ -7,6 +7,8 @@
  */
 package org.dspace.app.bulkimport.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Iterator;
 
 import org.apache.poi.ss.usermodel.Workbook;
@@ -58,4 +60,19 @@ public interface BulkImportWorkbookBuilder {
      */
     Workbook buildForItems(Context context, Collection collection, Iterator<Item> items);
 
+    /**
+     * Write a workbook containing the given items to the given output stream.
+     * Unlike {@link #buildForItems(Context, Collection, Iterator)}, the rows
+     * are written while the items are read, keeping only the last ones in
+     * memory, so the size of the exported workbook is not bounded by the heap.
+     *
+     * @param  context     the DSpace context
+     * @param  collection  the collection related to the given entities
+     * @param  items       the items to be placed inside the generated workbook
+     * @param  out         the output stream to write the workbook to
+     * @throws IOException if an error occurs writing the workbook
+     */
+    void writeForItems(Context context, Collection collection, Iterator<Item> items, OutputStream out)
+        throws IOException;
+
 }
@@ -22,6 +22,8 @@ import static org.dspace.app.bulkedit.BulkImport.METADATA_ATTRIBUTES_SEPARATOR;
 import static org.dspace.app.bulkedit.BulkImport.METADATA_SEPARATOR;
 import static org.dspace.app.bulkedit.BulkImport.PARENT_ID_HEADER;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.sql.SQLException;
 import java.util.Date;
 import java.util.Iterator;
@@ -36,10 +38,8 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.dspace.app.bulkedit.BulkImport;
 import org.dspace.app.bulkimport.model.BulkImportSheet;
@@ -115,11 +115,7 @@ public class BulkImportWorkbookBuilderImpl implements BulkImportWorkbookBuilder
 
         Workbook workbook = new XSSFWorkbook();
 
-        BulkImportSheet mainSheet = writeMainSheetHeader(collection, workbook);
-        List<BulkImportSheet> nestedSheets = writeNestedMetadataSheetsHeader(collection, workbook);
-        BulkImportSheet bitstreamSheet = writeBitstreamSheetHeader(collection, workbook);
-
-        BulkImportWorkbook bulkImportWorkbook = new BulkImportWorkbook(mainSheet, nestedSheets, bitstreamSheet);
+        BulkImportWorkbook bulkImportWorkbook = writeHeaders(collection, workbook);
 
         writeWorkbookContent(items, bulkImportWorkbook);
 
@@ -129,6 +125,42 @@ public class BulkImportWorkbookBuilderImpl implements BulkImportWorkbookBuilder
 
     }
 
+    @Override
+    public void writeForItems(Context context, Collection collection, Iterator<Item> items, OutputStream out)
+        throws IOException {
+
+        Iterator<ItemDTO> itemIterator = transform(items, item -> convertItem(context, collection, item));
+
+        XSSFWorkbook template = new XSSFWorkbook();
+
+        BulkImportWorkbook bulkImportWorkbook = writeHeaders(collection, template);
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(template, SXSSFWorkbook.DEFAULT_WINDOW_SIZE, true);
+
+        try {
+
+            bulkImportWorkbook.getAllSheets().forEach(sheet -> sheet.streamRowsTo(workbook));
+
+            writeWorkbookContent(itemIterator, bulkImportWorkbook);
+
+            autoSizeColumns(bulkImportWorkbook.getAllSheets());
+
+            workbook.write(out);
+
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+
+    }
+
+    private BulkImportWorkbook writeHeaders(Collection collection, Workbook workbook) {
+        BulkImportSheet mainSheet = writeMainSheetHeader(collection, workbook);
+        List<BulkImportSheet> nestedSheets = writeNestedMetadataSheetsHeader(collection, workbook);
+        BulkImportSheet bitstreamSheet = writeBitstreamSheetHeader(collection, workbook);
+        return new BulkImportWorkbook(mainSheet, nestedSheets, bitstreamSheet);
+    }
+
     private BulkImportSheet writeMainSheetHeader(Collection collection, Workbook workbook) {
         BulkImportSheet mainSheet = new BulkImportSheet(workbook, "items", false, collection);
         mainSheet.appendHeader(ID_HEADER);
@@ -430,7 +462,7 @@ public class BulkImportWorkbookBuilderImpl implements BulkImportWorkbookBuilder
     }
 
     private void autoSizeColumns(List<BulkImportSheet> sheets) {
-        sheets.forEach(sheet -> autoSizeColumns(sheet.getSheet()));
+        sheets.forEach(BulkImportSheet::autoSizeColumns);
     }
 
     private ItemDTO convertItem(Context context, Collection collection, Item item) {
@@ -469,16 +501,6 @@ public class BulkImportWorkbookBuilderImpl implements BulkImportWorkbookBuilder
         }
     }
 
-    private void autoSizeColumns(Sheet sheet) {
-        if (sheet.getPhysicalNumberOfRows() > 0) {
-            Row row = sheet.getRow(sheet.getFirstRowNum());
-            for (Cell cell : row) {
-                int columnIndex = cell.getColumnIndex();
-                sheet.autoSizeColumn(columnIndex);
-            }
-        }
-    }
-
     public void setReader(DCInputsReader reader) {
         this.reader = reader;
     }
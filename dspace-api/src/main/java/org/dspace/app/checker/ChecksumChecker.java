@@ -79,6 +79,8 @@ public final class ChecksumChecker {
      * <dd>Report only errors in the logs</dd>
      * <dt>-p</dt>
      * <dd>Don't prune results before running checker</dd>
+     * <dt>-t</dt>
+     * <dd>Number of threads computing the checksums</dd>
      * </dl>
      *
      * @param args the command line arguments given
@@ -100,6 +102,7 @@ public final class ChecksumChecker {
         options.addOption("c", "count", true, "Check count");
         options.addOption("a", "handle", true, "Specify a handle to check");
         options.addOption("v", "verbose", false, "Report all processing");
+        options.addOption("t", "threads", true, "Number of threads computing the checksums");
 
         Option option;
 
@@ -207,6 +210,10 @@ public final class ChecksumChecker {
                 checker.setReportVerbose(true);
             }
 
+            if (line.hasOption('t')) {
+                checker.setThreads(Integer.parseInt(line.getOptionValue('t')));
+            }
+
             checker.setProcessStartDate(processStart);
             checker.setDispatcher(dispatcher);
             checker.setCollector(logger);
@@ -238,6 +245,7 @@ public final class ChecksumChecker {
                                + "ChecksumChecker -l");
         System.out.println("\nLoop continuously through all bitstreams: ChecksumChecker -L");
         System.out.println("\nCheck a defined number of bitstreams: ChecksumChecker -c 10");
+        System.out.println("\nCheck all bitstreams once with 8 threads: ChecksumChecker -l -t 8");
         System.out.println("\nReport all processing (verbose)(default reports only errors): ChecksumChecker -v");
         System.out.println("\nDefault (no arguments) is equivalent to '-c 1'");
         System.exit(0);
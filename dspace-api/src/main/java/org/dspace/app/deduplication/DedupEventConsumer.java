@@ -134,7 +134,7 @@ public class DedupEventConsumer implements Consumer {
                  */
                 if (!objectsToDelete.contains(iu.getID())) {
                     try {
-                        indexer.indexContent(ctx, iu, true);
+                        indexer.indexContent(ctx, iu, false);
                         log.debug("Indexed " + Constants.typeText[iu.getType()] + ", id=" + String.valueOf(iu.getID())
                                 + ", handle (if exist)=" + iu.getHandle());
                     } catch (Exception e) {
@@ -9,6 +9,7 @@ package org.dspace.app.deduplication.service;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
@@ -39,6 +40,13 @@ public interface DedupService {
 
     public void updateIndex(Context context, boolean b);
 
+    /**
+     * Update the index with the items modified since the given date (all the
+     * items if null). Unless forced, the items whose signatures did not change
+     * since they were last indexed are skipped.
+     */
+    public void updateIndex(Context context, boolean force, Date modifiedSince);
+
     public void optimize();
 
     public void unIndexContent(Context context, String handleOrUuid) throws IllegalStateException, SQLException;
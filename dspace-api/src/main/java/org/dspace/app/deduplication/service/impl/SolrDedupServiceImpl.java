@@ -20,10 +20,13 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.ImmutableList;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.validator.routines.UrlValidator;
 import org.apache.logging.log4j.LogManager;
@@ -109,6 +112,12 @@ public class SolrDedupServiceImpl implements DedupService {
 
     public static final String RESOURCE_WITHDRAWN_FIELD = "dedup.withdrawn";
 
+    /**
+     * Hash of the content of the FAKE document of an item, used to detect
+     * whether its signatures changed since the last time it was indexed.
+     */
+    public static final String RESOURCE_SIGNATURE_HASH_FIELD = "dedup.signaturehash";
+
     /**
      * Non-Static CommonsHttpSolrServer for processing indexing events.
      */
@@ -276,14 +285,22 @@ public class SolrDedupServiceImpl implements DedupService {
         SearchDeduplication searchSignature = dspace.getServiceManager()
                 .getServiceByName("item".toUpperCase() + "SearchDeduplication", SearchDeduplication.class);
 
+        // build the FAKE document and skip the item if nothing changed since it was last indexed
+        SolrInputDocument fakeDocument = buildDocument(ctx, iu.getID(), iu.getID(), DeduplicationFlag.FAKE,
+                tmpMapFilter, searchSignature, null);
+        if (isSignatureUnchanged(iu.getID(), fakeDocument, force)) {
+            log.debug("Signatures of item " + iu.getID() + " unchanged, skipping deduplication indexing");
+            return;
+        }
+
         // build the dedup reject in the dedup index core
         buildFromDedupReject(ctx, iu, tmpMapFilter, tmpFilter, searchSignature);
 
         // clean FAKE documents related to this identifier
         removeFake(dedupID, iu.getType());
 
-        // build the FAKE document
-        build(ctx, iu.getID(), iu.getID(), DeduplicationFlag.FAKE, tmpMapFilter, searchSignature, null);
+        // write the FAKE document
+        write(fakeDocument, DeduplicationFlag.FAKE, dedupID);
 
         // remove previous potential match
         removeMatch(iu.getID(), iu.getType());
@@ -358,6 +375,49 @@ public class SolrDedupServiceImpl implements DedupService {
         }
     }
 
+    /**
+     * Add to the given FAKE document the hash of its content and check it
+     * against the hash stored in the index for the same item.
+     *
+     * @param  itemId       the id of the item
+     * @param  fakeDocument the FAKE document just built for the item
+     * @param  force        true to skip the check, the document is then always considered changed
+     * @return              true if the index already contains the same FAKE document
+     */
+    private boolean isSignatureUnchanged(UUID itemId, SolrInputDocument fakeDocument, boolean force) {
+        String hash = computeSignatureHash(fakeDocument);
+        fakeDocument.setField(RESOURCE_SIGNATURE_HASH_FIELD, hash);
+        return !force && hash.equals(findStoredSignatureHash(itemId));
+    }
+
+    private String computeSignatureHash(SolrInputDocument document) {
+        StringBuilder content = new StringBuilder();
+        document.getFieldNames().stream()
+                .filter(field -> !LAST_INDEXED_FIELD.equals(field) && !RESOURCE_SIGNATURE_HASH_FIELD.equals(field))
+                .sorted()
+                .forEach(field -> content.append(field).append('=').append(document.getFieldValues(field))
+                                         .append('\n'));
+        return DigestUtils.md5Hex(content.toString());
+    }
+
+    private String findStoredSignatureHash(UUID itemId) {
+        String uniqueId = itemId + "-" + itemId + "-" + DeduplicationFlag.FAKE.getDescription();
+        SolrQuery solrQuery = new SolrQuery(UNIQUE_ID_FIELD + ":\"" + uniqueId + "\"");
+        solrQuery.setFields(RESOURCE_SIGNATURE_HASH_FIELD);
+        solrQuery.setRows(1);
+        try {
+            SolrDocumentList results = search(solrQuery).getResults();
+            if (results.isEmpty()) {
+                return null;
+            }
+            Object hash = results.get(0).getFirstValue(RESOURCE_SIGNATURE_HASH_FIELD);
+            return hash != null ? hash.toString() : null;
+        } catch (SearchServiceException e) {
+            log.warn("Unable to retrieve the signature hash of item " + itemId, e);
+            return null;
+        }
+    }
+
     private void buildPotentialMatch(Context ctx, Item iu, Map<String, List<String>> tmpMapFilter,
             List<String> tmpFilter, SearchDeduplication searchSignature) throws SearchServiceException {
         tmpFilter.add("+" + RESOURCE_FLAG_FIELD + ":" + DeduplicationFlag.FAKE.getDescription());
@@ -455,6 +515,12 @@ public class SolrDedupServiceImpl implements DedupService {
 
     public void build(Context ctx, UUID firstId, UUID secondId, DeduplicationFlag flag,
             Map<String, List<String>> signatures, SearchDeduplication searchSignature, String note) {
+        SolrInputDocument doc = buildDocument(ctx, firstId, secondId, flag, signatures, searchSignature, note);
+        write(doc, flag, doc.getFieldValue(RESOURCE_ID_FIELD).toString());
+    }
+
+    private SolrInputDocument buildDocument(Context ctx, UUID firstId, UUID secondId, DeduplicationFlag flag,
+            Map<String, List<String>> signatures, SearchDeduplication searchSignature, String note) {
         SolrInputDocument doc = new SolrInputDocument();
 
         // build upgraded document
@@ -494,6 +560,10 @@ public class SolrDedupServiceImpl implements DedupService {
 
         }
 
+        return doc;
+    }
+
+    private void write(SolrInputDocument doc, DeduplicationFlag flag, String dedupID) {
         // write the document to the index
         try {
             writeDocument(doc);
@@ -654,7 +724,7 @@ public class SolrDedupServiceImpl implements DedupService {
     @Override
     public void indexContent(Context context, List<UUID> ids, boolean force) {
         try {
-            startMultiThreadIndex(context, force, ids);
+            startMultiThreadIndex(context, force, true, ids, ConcurrentHashMap.newKeySet());
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
@@ -662,16 +732,41 @@ public class SolrDedupServiceImpl implements DedupService {
 
     @Override
     public void updateIndex(Context context, boolean force) {
+        updateIndex(context, force, null);
+    }
+
+    @Override
+    public void updateIndex(Context context, boolean force, Date modifiedSince) {
         try {
-            startMultiThreadIndex(context, true, null);
+            List<UUID> ids = null;
+            if (modifiedSince != null) {
+                ids = findItemIdsModifiedSince(context, modifiedSince);
+                log.info(ids.size() + " items modified since " + modifiedSince);
+            }
+            // first pass: FAKE documents, only for the items whose signatures changed unless forced
+            Set<UUID> changedIds = ConcurrentHashMap.newKeySet();
+            startMultiThreadIndex(context, true, force, ids, changedIds);
             commit();
-            startMultiThreadIndex(context, false, null);
+            // second pass: potential matches of the items indexed by the first pass
+            log.info(changedIds.size() + " items with new or changed signatures");
+            startMultiThreadIndex(context, false, force, force ? ids : new ArrayList<>(changedIds), changedIds);
             commit();
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
     }
 
+    private List<UUID> findItemIdsModifiedSince(Context context, Date modifiedSince) throws SQLException {
+        List<UUID> ids = new ArrayList<>();
+        Iterator<Item> items = itemService.findByLastModifiedSince(context, modifiedSince);
+        while (items.hasNext()) {
+            Item item = items.next();
+            ids.add(item.getID());
+            context.uncacheEntity(item);
+        }
+        return ids;
+    }
+
     @Override
     public void optimize() {
         try {
@@ -757,7 +852,17 @@ public class SolrDedupServiceImpl implements DedupService {
         }
     }
 
-    private void startMultiThreadIndex(Context context, boolean onlyFake, List<UUID> ids) throws SQLException {
+    /**
+     * Index the given items (all the items if null) with multiple threads.
+     *
+     * @param context    the DSpace context
+     * @param onlyFake   true to build the FAKE documents, false to build the potential matches
+     * @param force      false to skip the items whose FAKE document is unchanged
+     * @param ids        the ids of the items to index, null for all the items
+     * @param changedIds collects the ids of the items whose FAKE document has been (re)written
+     */
+    private void startMultiThreadIndex(Context context, boolean onlyFake, boolean force, List<UUID> ids,
+            Set<UUID> changedIds) throws SQLException, InterruptedException {
         int numThreads = configurationService.getIntProperty("deduplication.indexer.items.threads", 5);
 
         if (ids == null) {
@@ -770,27 +875,29 @@ public class SolrDedupServiceImpl implements DedupService {
         List<UUID>[] arrayIDList = Util.splitList(ids, numThreads);
         List<IndexerThread> threads = new ArrayList<IndexerThread>();
         for (List<UUID> hl : arrayIDList) {
-            IndexerThread thread = new IndexerThread(hl, onlyFake);
+            IndexerThread thread = new IndexerThread(hl, onlyFake, force, changedIds);
             thread.start();
             threads.add(thread);
         }
-        boolean finished = false;
-        while (!finished) {
-            finished = true;
-            for (IndexerThread thread : threads) {
-                finished = finished && !thread.isAlive();
-            }
+        for (IndexerThread thread : threads) {
+            thread.join();
         }
     }
 
     class IndexerThread extends Thread {
         private boolean onlyFake;
 
+        private boolean force;
+
         private List<UUID> itemids;
 
-        public IndexerThread(List<UUID> itemids, boolean onlyFake) {
+        private Set<UUID> changedIds;
+
+        public IndexerThread(List<UUID> itemids, boolean onlyFake, boolean force, Set<UUID> changedIds) {
             this.onlyFake = onlyFake;
+            this.force = force;
             this.itemids = itemids;
+            this.changedIds = changedIds;
         }
 
         @Override
@@ -813,10 +920,18 @@ public class SolrDedupServiceImpl implements DedupService {
                             SearchDeduplication searchSignature = dspace.getServiceManager().getServiceByName(
                                     "item".toUpperCase() + "SearchDeduplication", SearchDeduplication.class);
                             if (onlyFake) {
-                                buildFromDedupReject(context, item, tmpMapFilter, tmpFilter, searchSignature);
-                                build(context, item.getID(), item.getID(), DeduplicationFlag.FAKE, tmpMapFilter,
-                                        searchSignature, null);
+                                SolrInputDocument fakeDocument = buildDocument(context, item.getID(), item.getID(),
+                                        DeduplicationFlag.FAKE, tmpMapFilter, searchSignature, null);
+                                if (!isSignatureUnchanged(item.getID(), fakeDocument, force)) {
+                                    buildFromDedupReject(context, item, tmpMapFilter, tmpFilter, searchSignature);
+                                    write(fakeDocument, DeduplicationFlag.FAKE, item.getID() + "-" + item.getID());
+                                    changedIds.add(item.getID());
+                                }
                             } else {
+                                if (!force) {
+                                    // the previous matches of a changed item could be no longer valid
+                                    removeMatch(item.getID(), item.getType());
+                                }
                                 buildPotentialMatch(context, item, tmpMapFilter, tmpFilter, searchSignature);
                             }
                         }
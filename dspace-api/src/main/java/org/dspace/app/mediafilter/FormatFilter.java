@@ -49,6 +49,11 @@ public interface FormatFilter {
 
     /**
      * Read the source stream and produce the filtered content.
+     * <p>
+     * When filter-media runs with more than one thread this method is called
+     * by several threads at the same time on the same instance, so it must be
+     * thread-safe. The given item is then read with a context of the calling
+     * thread.
      *
      * @param item    Item
      * @param source  input stream
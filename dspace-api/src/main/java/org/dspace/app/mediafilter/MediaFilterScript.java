@@ -57,6 +57,7 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
     private boolean isForce = false; // default to not forced
     private String identifier = null; // object scope limiter
     private int max2Process = Integer.MAX_VALUE;
+    private Integer threads = null;
     private String[] filterNames;
     private String[] skipIds = null;
     private Map<String, List<String>> filterFormats = new HashMap<>();
@@ -97,6 +98,17 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
             }
         }
 
+        if (commandLine.hasOption('t')) {
+            try {
+                threads = Integer.parseInt(commandLine.getOptionValue('t'));
+            } catch (NumberFormatException e) {
+                throw new ParseException("Invalid number of threads '" + commandLine.getOptionValue('t') + "'");
+            }
+            if (threads < 1) {
+                throw new ParseException("The number of threads must be at least 1");
+            }
+        }
+
         if (commandLine.hasOption('p')) {
             //specified which media filter plugins we are using
             filterNames = commandLine.getOptionValues('p');
@@ -127,6 +139,7 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
         mediaFilterService.setQuiet(isQuiet);
         mediaFilterService.setVerbose(isVerbose);
         mediaFilterService.setMax2Process(max2Process);
+        mediaFilterService.setThreads(threads);
 
         //initialize an array of our enabled filters
         List<FormatFilter> filterList = new ArrayList<>();
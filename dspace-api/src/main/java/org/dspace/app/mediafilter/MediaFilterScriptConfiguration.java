@@ -36,6 +36,7 @@ public class MediaFilterScriptConfiguration<T extends MediaFilterScript> extends
         options.addOption("i", "identifier", true,
             "ONLY process bitstreams belonging to the provided handle identifier");
         options.addOption("m", "maximum", true, "process no more than maximum items");
+        options.addOption("t", "threads", true, "number of threads filtering the bitstreams concurrently");
         options.addOption("h", "help", false, "help");
 
         Option pluginOption = Option.builder("p")
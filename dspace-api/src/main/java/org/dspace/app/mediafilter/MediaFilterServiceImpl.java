@@ -7,14 +7,29 @@
  */
 package org.dspace.app.mediafilter;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -94,6 +109,10 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     protected boolean isQuiet = false;
     protected boolean isForce = false; // default to not forced
 
+    protected Integer threads = null; // number of filtering threads, from the configuration if not set
+
+    private FilterPipeline pipeline = null; // the pipeline of the concurrent filtering in progress
+
     protected MediaFilterServiceImpl() {
 
     }
@@ -112,64 +131,97 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
     @Override
     public void applyFiltersAllItems(Context context) throws Exception {
-        if (skipList != null) {
-            //if a skip-list exists, we need to filter community-by-community
-            //so we can respect what is in the skip-list
-            List<Community> topLevelCommunities = communityService.findAllTop(context);
+        boolean pipelineStarted = startPipeline();
+        try {
+            if (skipList != null) {
+                //if a skip-list exists, we need to filter community-by-community
+                //so we can respect what is in the skip-list
+                List<Community> topLevelCommunities = communityService.findAllTop(context);
 
-            for (Community topLevelCommunity : topLevelCommunities) {
-                applyFiltersCommunity(context, topLevelCommunity);
-            }
-        } else {
-            //otherwise, just find every item and process
-            Iterator<Item> itemIterator = itemService.findAll(context);
-            while (itemIterator.hasNext() && processed < max2Process) {
-                applyFiltersItem(context, itemIterator.next());
+                for (Community topLevelCommunity : topLevelCommunities) {
+                    applyFiltersCommunity(context, topLevelCommunity);
+                }
+            } else {
+                //otherwise, just find every item and process
+                Iterator<Item> itemIterator = itemService.findAll(context);
+                while (itemIterator.hasNext() && isMaxNotReached(context)) {
+                    applyFiltersItem(context, itemIterator.next());
+                }
             }
+            completePipeline(context, pipelineStarted);
+        } finally {
+            stopPipeline(pipelineStarted);
         }
     }
 
     @Override
     public void applyFiltersCommunity(Context context, Community community)
         throws Exception {   //only apply filters if community not in skip-list
-        // ensure that the community is attached to the current hibernate session
-        // as we are committing after each item (handles, sub-communties and
-        // collections are lazy attributes)
-        community = context.reloadEntity(community);
-        if (!inSkipList(community.getHandle())) {
-            List<Community> subcommunities = community.getSubcommunities();
-            for (Community subcommunity : subcommunities) {
-                applyFiltersCommunity(context, subcommunity);
-            }
+        boolean pipelineStarted = startPipeline();
+        try {
             // ensure that the community is attached to the current hibernate session
-            // as we are committing after each item
+            // as we are committing after each item (handles, sub-communties and
+            // collections are lazy attributes)
             community = context.reloadEntity(community);
-            List<Collection> collections = community.getCollections();
-            for (Collection collection : collections) {
-                applyFiltersCollection(context, collection);
+            if (!inSkipList(community.getHandle())) {
+                List<Community> subcommunities = community.getSubcommunities();
+                for (Community subcommunity : subcommunities) {
+                    applyFiltersCommunity(context, subcommunity);
+                }
+                // ensure that the community is attached to the current hibernate session
+                // as we are committing after each item
+                community = context.reloadEntity(community);
+                List<Collection> collections = community.getCollections();
+                for (Collection collection : collections) {
+                    applyFiltersCollection(context, collection);
+                }
             }
+            completePipeline(context, pipelineStarted);
+        } finally {
+            stopPipeline(pipelineStarted);
         }
     }
 
     @Override
     public void applyFiltersCollection(Context context, Collection collection)
         throws Exception {
-        // ensure that the collection is attached to the current hibernate session
-        // as we are committing after each item (handles are lazy attributes)
-        collection = context.reloadEntity(collection);
-        //only apply filters if collection not in skip-list
-        if (!inSkipList(collection.getHandle())) {
-            Iterator<Item> itemIterator = itemService.findAllByCollection(context, collection);
-            while (itemIterator.hasNext() && processed < max2Process) {
-                applyFiltersItem(context, itemIterator.next());
+        boolean pipelineStarted = startPipeline();
+        try {
+            // ensure that the collection is attached to the current hibernate session
+            // as we are committing after each item (handles are lazy attributes)
+            collection = context.reloadEntity(collection);
+            //only apply filters if collection not in skip-list
+            if (!inSkipList(collection.getHandle())) {
+                Iterator<Item> itemIterator = itemService.findAllByCollection(context, collection);
+                while (itemIterator.hasNext() && isMaxNotReached(context)) {
+                    applyFiltersItem(context, itemIterator.next());
+                }
             }
+            completePipeline(context, pipelineStarted);
+        } finally {
+            stopPipeline(pipelineStarted);
         }
     }
 
     @Override
     public void applyFiltersItem(Context c, Item item) throws Exception {
+        boolean pipelineStarted = startPipeline();
+        try {
+            applyFiltersItemIfNotSkipped(c, item);
+            completePipeline(c, pipelineStarted);
+        } finally {
+            stopPipeline(pipelineStarted);
+        }
+    }
+
+    private void applyFiltersItemIfNotSkipped(Context c, Item item) throws Exception {
         //only apply filters if item not in skip-list
         if (!inSkipList(item.getHandle())) {
+            if (pipeline != null) {
+                // the bitstreams are filtered concurrently, the item is completed later
+                pipeline.submit(c, item);
+                return;
+            }
             //cache this item in MediaFilterManager
             //so it can be accessed by MediaFilters as necessary
             currentItem = item;
@@ -185,6 +237,51 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         }
     }
 
+    /**
+     * Start the pipeline of the concurrent filtering, if more than one thread
+     * is configured and no pipeline is already running.
+     *
+     * @return true if the pipeline has been started, so it has to be
+     *         completed and stopped by the caller
+     */
+    private boolean startPipeline() {
+        int filteringThreads = threads != null ? threads
+            : configurationService.getIntProperty("filter-media.threads", 1);
+        if (pipeline != null || filteringThreads <= 1 || filterClasses == null) {
+            return false;
+        }
+        pipeline = new FilterPipeline(filteringThreads);
+        return true;
+    }
+
+    private void completePipeline(Context context, boolean pipelineStarted) throws Exception {
+        if (pipelineStarted) {
+            pipeline.complete(context);
+        }
+    }
+
+    private void stopPipeline(boolean pipelineStarted) {
+        if (pipelineStarted) {
+            try {
+                pipeline.stop();
+            } finally {
+                pipeline = null;
+            }
+        }
+    }
+
+    /**
+     * Check if more items can be processed. The items still in the pipeline
+     * are completed first when they could reach the maximum number of items
+     * to process, as only those actually filtered are counted.
+     */
+    private boolean isMaxNotReached(Context context) throws Exception {
+        if (pipeline != null && pipeline.size() > 0 && processed + pipeline.size() >= max2Process) {
+            pipeline.complete(context);
+        }
+        return processed < max2Process;
+    }
+
     @Override
     public boolean filterItem(Context context, Item myItem) throws Exception {
         // get 'original' bundles
@@ -209,26 +306,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         // iterate through filter classes. A single format may be actioned
         // by more than one filter
         for (FormatFilter filterClass : filterClasses) {
-            //List fmts = (List)filterFormats.get(filterClasses[i].getClass().getName());
-            String pluginName = null;
-
-            //if this filter class is a SelfNamedPlugin,
-            //its list of supported formats is different for
-            //differently named "plugin"
-            if (SelfNamedPlugin.class.isAssignableFrom(filterClass.getClass())) {
-                //get plugin instance name for this media filter
-                pluginName = ((SelfNamedPlugin) filterClass).getPluginInstanceName();
-            }
-
-            //Get list of supported formats for the filter (and possibly named plugin)
-            //For SelfNamedPlugins, map key is:
-            //  <class-name><separator><plugin-name>
-            //For other MediaFilters, map key is just:
-            //  <class-name>
-            List<String> fmts = filterFormats.get(filterClass.getClass().getName() +
-                                                      (pluginName != null ? FILTER_PLUGIN_SEPARATOR + pluginName : ""));
-
-            if (fmts.contains(myBitstream.getFormat(context).getShortDescription())) {
+            if (isSupportedFormat(context, filterClass, myBitstream)) {
                 try {
                     // only update item if bitstream not skipped
                     if (processBitstream(context, myItem, myBitstream, filterClass)) {
@@ -241,65 +319,103 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                     logError(formatBitstreamDetails(myItem.getHandle(), myBitstream));
                     logError(ThrowableUtils.formatCauseChain(e));
                 }
-            } else if (filterClass instanceof SelfRegisterInputFormats) {
-                // Filter implements self registration, so check to see if it should be applied
-                // given the formats it claims to support
-                SelfRegisterInputFormats srif = (SelfRegisterInputFormats) filterClass;
-                boolean applyFilter = false;
-
-                // Check MIME type
-                String[] mimeTypes = srif.getInputMIMETypes();
-                if (mimeTypes != null) {
-                    for (String mimeType : mimeTypes) {
-                        if (mimeType.equalsIgnoreCase(myBitstream.getFormat(context).getMIMEType())) {
-                            applyFilter = true;
-                        }
+            } else if (isSelfRegisteredFormat(context, filterClass, myBitstream)) {
+                // Filter claims to handle this type of file, so attempt to apply it
+                try {
+                    // only update item if bitstream not skipped
+                    if (processBitstream(context, myItem, myBitstream, filterClass)) {
+                        itemService.update(context, myItem); // Make sure new bitstream has a sequence
+                        // number
+                        filtered = true;
                     }
+                } catch (Exception e) {
+                    logError("ERROR filtering, skipping bitstream #"
+                                           + myBitstream.getID() + " " + e);
+                    e.printStackTrace();
                 }
+            }
+        }
+        return filtered;
+    }
 
-                // Check description
-                if (!applyFilter) {
-                    String[] descriptions = srif.getInputDescriptions();
-                    if (descriptions != null) {
-                        for (String desc : descriptions) {
-                            if (desc.equalsIgnoreCase(myBitstream.getFormat(context).getShortDescription())) {
-                                applyFilter = true;
-                            }
-                        }
-                    }
+    /**
+     * Check if the format of the given bitstream is one of the input formats
+     * configured for the given filter.
+     */
+    private boolean isSupportedFormat(Context context, FormatFilter filterClass, Bitstream bitstream)
+        throws SQLException {
+        //List fmts = (List)filterFormats.get(filterClasses[i].getClass().getName());
+        String pluginName = null;
+
+        //if this filter class is a SelfNamedPlugin,
+        //its list of supported formats is different for
+        //differently named "plugin"
+        if (SelfNamedPlugin.class.isAssignableFrom(filterClass.getClass())) {
+            //get plugin instance name for this media filter
+            pluginName = ((SelfNamedPlugin) filterClass).getPluginInstanceName();
+        }
+
+        //Get list of supported formats for the filter (and possibly named plugin)
+        //For SelfNamedPlugins, map key is:
+        //  <class-name><separator><plugin-name>
+        //For other MediaFilters, map key is just:
+        //  <class-name>
+        List<String> fmts = filterFormats.get(filterClass.getClass().getName() +
+                                                  (pluginName != null ? FILTER_PLUGIN_SEPARATOR + pluginName : ""));
+
+        return fmts.contains(bitstream.getFormat(context).getShortDescription());
+    }
+
+    /**
+     * Check if the given filter implements self registration and claims to
+     * support the format of the given bitstream.
+     */
+    private boolean isSelfRegisteredFormat(Context context, FormatFilter filterClass, Bitstream bitstream)
+        throws SQLException {
+        if (!(filterClass instanceof SelfRegisterInputFormats)) {
+            return false;
+        }
+        // Filter implements self registration, so check to see if it should be applied
+        // given the formats it claims to support
+        SelfRegisterInputFormats srif = (SelfRegisterInputFormats) filterClass;
+        boolean applyFilter = false;
+
+        // Check MIME type
+        String[] mimeTypes = srif.getInputMIMETypes();
+        if (mimeTypes != null) {
+            for (String mimeType : mimeTypes) {
+                if (mimeType.equalsIgnoreCase(bitstream.getFormat(context).getMIMEType())) {
+                    applyFilter = true;
                 }
+            }
+        }
 
-                // Check extensions
-                if (!applyFilter) {
-                    String[] extensions = srif.getInputExtensions();
-                    if (extensions != null) {
-                        for (String ext : extensions) {
-                            List<String> formatExtensions = myBitstream.getFormat(context).getExtensions();
-                            if (formatExtensions != null && formatExtensions.contains(ext)) {
-                                applyFilter = true;
-                            }
-                        }
+        // Check description
+        if (!applyFilter) {
+            String[] descriptions = srif.getInputDescriptions();
+            if (descriptions != null) {
+                for (String desc : descriptions) {
+                    if (desc.equalsIgnoreCase(bitstream.getFormat(context).getShortDescription())) {
+                        applyFilter = true;
                     }
                 }
+            }
+        }
 
-                // Filter claims to handle this type of file, so attempt to apply it
-                if (applyFilter) {
-                    try {
-                        // only update item if bitstream not skipped
-                        if (processBitstream(context, myItem, myBitstream, filterClass)) {
-                            itemService.update(context, myItem); // Make sure new bitstream has a sequence
-                            // number
-                            filtered = true;
-                        }
-                    } catch (Exception e) {
-                        logError("ERROR filtering, skipping bitstream #"
-                                               + myBitstream.getID() + " " + e);
-                        e.printStackTrace();
+        // Check extensions
+        if (!applyFilter) {
+            String[] extensions = srif.getInputExtensions();
+            if (extensions != null) {
+                for (String ext : extensions) {
+                    List<String> formatExtensions = bitstream.getFormat(context).getExtensions();
+                    if (formatExtensions != null && formatExtensions.contains(ext)) {
+                        applyFilter = true;
                     }
                 }
             }
         }
-        return filtered;
+
+        return applyFilter;
     }
 
     @Override
@@ -367,33 +483,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                 return false;
             }
 
-            Bundle targetBundle; // bundle we're modifying
-            if (bundles.isEmpty()) {
-                // create new bundle if needed
-                targetBundle = bundleService.create(context, item, formatFilter.getBundleName());
-            } else {
-                // take the first match as we already looked out for the correct bundle name
-                targetBundle = bundles.get(0);
-            }
-
-            // create bitstream to store the filter result
-            Bitstream b = bitstreamService.create(context, targetBundle, destStream);
-            // set the name, source and description of the bitstream
-            b.setName(context, newName);
-            b.setSource(context, "Written by FormatFilter " + formatFilter.getClass().getName() +
-                    " on " + DCDate.getCurrent() + " (GMT).");
-            b.setDescription(context, formatFilter.getDescription());
-            // Set the format of the bitstream
-            BitstreamFormat bf = bitstreamFormatService.findByShortDescription(context,
-                    formatFilter.getFormatString());
-            bitstreamService.setFormat(context, b, bf);
-            bitstreamService.update(context, b);
-
-            //Set permissions on the derivative bitstream
-            updatePoliciesOfDerivativeBitstream(context, b, formatFilter, source);
-
-            //do post-processing of the generated bitstream
-            formatFilter.postProcessBitstream(context, item, b);
+            createDerivativeBitstream(context, item, source, formatFilter, bundles, newName, destStream);
 
         } catch (OutOfMemoryError oome) {
             logError("!!! OutOfMemoryError !!!");
@@ -413,6 +503,44 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         return true;
     }
 
+    /**
+     * Store the result of the filtering of the source bitstream as a new
+     * bitstream in the bundle of the filter, creating the bundle if needed.
+     */
+    private Bitstream createDerivativeBitstream(Context context, Item item, Bitstream source,
+        FormatFilter formatFilter, List<Bundle> bundles, String newName, InputStream destStream) throws Exception {
+
+        Bundle targetBundle; // bundle we're modifying
+        if (bundles.isEmpty()) {
+            // create new bundle if needed
+            targetBundle = bundleService.create(context, item, formatFilter.getBundleName());
+        } else {
+            // take the first match as we already looked out for the correct bundle name
+            targetBundle = bundles.get(0);
+        }
+
+        // create bitstream to store the filter result
+        Bitstream b = bitstreamService.create(context, targetBundle, destStream);
+        // set the name, source and description of the bitstream
+        b.setName(context, newName);
+        b.setSource(context, "Written by FormatFilter " + formatFilter.getClass().getName() +
+                " on " + DCDate.getCurrent() + " (GMT).");
+        b.setDescription(context, formatFilter.getDescription());
+        // Set the format of the bitstream
+        BitstreamFormat bf = bitstreamFormatService.findByShortDescription(context,
+                formatFilter.getFormatString());
+        bitstreamService.setFormat(context, b, bf);
+        bitstreamService.update(context, b);
+
+        //Set permissions on the derivative bitstream
+        updatePoliciesOfDerivativeBitstream(context, b, formatFilter, source);
+
+        //do post-processing of the generated bitstream
+        formatFilter.postProcessBitstream(context, item, b);
+
+        return b;
+    }
+
     @Override
     public void updatePoliciesOfDerivativeBitstreams(Context context, Item item, Bitstream source)
         throws SQLException, AuthorizeException {
@@ -563,6 +691,11 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         this.isForce = isForce;
     }
 
+    @Override
+    public void setThreads(Integer threads) {
+        this.threads = threads;
+    }
+
     @Override
     public void setMax2Process(int max2Process) {
         this.max2Process = max2Process;
@@ -587,4 +720,363 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     public void setLogHandler(DSpaceRunnableHandler handler) {
         this.handler = handler;
     }
+
+    /**
+     * Pipeline of the concurrent filtering: the bitstreams of the submitted
+     * items are filtered by a pool of workers for each filter, each worker
+     * writing the result to a temporary file, while the calling thread, the
+     * only one using the context, stores the derivative bitstreams of the
+     * oldest items once the pipeline is full and commits them in batches.
+     */
+    private class FilterPipeline {
+
+        private final Map<FormatFilter, ExecutorService> executors = new HashMap<>();
+
+        private final Map<FormatFilter, FilterStatistics> statistics = new LinkedHashMap<>();
+
+        private final Deque<PendingItem> pendingItems = new ArrayDeque<>();
+
+        private final int queueSize;
+
+        private final int commitBatchSize;
+
+        private final long startTime = System.nanoTime();
+
+        private int completedSinceCommit = 0;
+
+        FilterPipeline(int threads) {
+            for (FormatFilter formatFilter : filterClasses) {
+                String filterName = formatFilter.getClass().getSimpleName();
+                int filterThreads = configurationService.getIntProperty("filter-media.threads." + filterName, threads);
+                executors.put(formatFilter, Executors.newFixedThreadPool(Math.max(filterThreads, 1), runnable -> {
+                    Thread thread = new Thread(runnable, "filter-media-" + filterName);
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+                statistics.put(formatFilter, new FilterStatistics(filterName));
+            }
+            queueSize = Math.max(configurationService.getIntProperty("filter-media.queue-size", 2 * threads), 1);
+            commitBatchSize = Math.max(configurationService.getIntProperty("filter-media.commit-batch-size", 20), 1);
+        }
+
+        int size() {
+            return pendingItems.size();
+        }
+
+        /**
+         * Start the filtering of the bitstreams of the given item, completing
+         * the oldest items if the pipeline is full.
+         */
+        void submit(Context context, Item item) throws Exception {
+            currentItem = item;
+            PendingItem pendingItem = new PendingItem(item);
+            try {
+                for (Bundle bundle : itemService.getBundles(item, "ORIGINAL")) {
+                    for (Bitstream bitstream : bundle.getBitstreams()) {
+                        for (FormatFilter formatFilter : filterClasses) {
+                            if (isSupportedFormat(context, formatFilter, bitstream)
+                                || isSelfRegisteredFormat(context, formatFilter, bitstream)) {
+                                submit(context, pendingItem, bitstream, formatFilter);
+                            }
+                        }
+                    }
+                }
+            } finally {
+                pendingItems.add(pendingItem);
+                currentItem = null;
+            }
+            while (pendingItems.size() > queueSize) {
+                completeItem(context, pendingItems.poll());
+            }
+        }
+
+        private void submit(Context context, PendingItem pendingItem, Bitstream source, FormatFilter formatFilter) {
+            Item item = pendingItem.item;
+            FilterStatistics filterStatistics = statistics.get(formatFilter);
+            try {
+                //do pre-processing of this bitstream, and if it fails, skip this bitstream!
+                if (!formatFilter.preProcessBitstream(context, item, source, isVerbose)) {
+                    filterStatistics.skipped.increment();
+                    return;
+                }
+
+                String newName = formatFilter.getFilteredName(source.getName());
+                if (!isForce && !findDerivativeBitstreams(item, source, formatFilter).isEmpty()) {
+                    if (!isQuiet) {
+                        logInfo("SKIPPED: bitstream " + source.getID()
+                                + " (item: " + item.getHandle() + ") because '" + newName + "' already exists");
+                    }
+                    filterStatistics.skipped.increment();
+                    return;
+                }
+
+                if (isVerbose) {
+                    logInfo("PROCESSING: bitstream " + source.getID()
+                            + " (item: " + item.getHandle() + ")");
+                }
+
+                logInfo("File: " + newName);
+
+                UUID itemId = item.getID();
+                UUID sourceId = source.getID();
+                Future<File> result = executors.get(formatFilter)
+                    .submit(() -> filter(itemId, sourceId, formatFilter, filterStatistics));
+                pendingItem.filterings.add(new PendingFiltering(source, formatFilter, newName, result));
+            } catch (Exception e) {
+                filterStatistics.failed.increment();
+                logError(formatBitstreamDetails(item.getHandle(), source));
+                logError(ThrowableUtils.formatCauseChain(e));
+            }
+        }
+
+        /**
+         * Filter the source bitstream on a worker thread. The filter gets the
+         * item read with a context of the worker, as the entities of the
+         * calling thread cannot be used by other threads, and the source
+         * stream is opened only once a worker is free, so that the queued
+         * filterings do not hold connections to the bitstream store.
+         *
+         * @return the temporary file with the result of the filtering, or null
+         *         if the filtering was unsuccessful
+         */
+        private File filter(UUID itemId, UUID sourceId, FormatFilter formatFilter,
+            FilterStatistics filterStatistics) throws Exception {
+            long start = System.nanoTime();
+            try (Context workerContext = new Context(Context.Mode.READ_ONLY)) {
+                // like the context of the calling thread
+                workerContext.turnOffAuthorisationSystem();
+                Item item = itemService.find(workerContext, itemId);
+                Bitstream bitstream = bitstreamService.find(workerContext, sourceId);
+                try (
+                        InputStream source = bitstreamService.retrieve(workerContext, bitstream);
+                        InputStream destStream = formatFilter.getDestinationStream(item, source, isVerbose);
+                ) {
+                    if (destStream == null) {
+                        return null;
+                    }
+                    File file = Files.createTempFile("filter-media", null).toFile();
+                    try {
+                        Files.copy(destStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    } catch (IOException | RuntimeException e) {
+                        file.delete();
+                        throw e;
+                    }
+                    if (Thread.currentThread().isInterrupted()) {
+                        // the pipeline has been stopped, nobody will store the result
+                        file.delete();
+                        return null;
+                    }
+                    return file;
+                }
+            } finally {
+                filterStatistics.filteringNanos.add(System.nanoTime() - start);
+                filterStatistics.filterings.increment();
+            }
+        }
+
+        /**
+         * Store the derivative bitstreams of the given item, once all its
+         * bitstreams are filtered.
+         */
+        private void completeItem(Context context, PendingItem pendingItem) throws Exception {
+            // the item could have been detached by an earlier commit
+            Item item = context.reloadEntity(pendingItem.item);
+            currentItem = item;
+            boolean filtered = false;
+            for (PendingFiltering filtering : pendingItem.filterings) {
+                filtered |= store(context, item, filtering);
+            }
+            if (filtered) {
+                // increment processed count
+                ++processed;
+            }
+            // clear item objects from context cache and internal cache
+            context.uncacheEntity(item);
+            currentItem = null;
+            if (++completedSinceCommit >= commitBatchSize) {
+                context.commit();
+                completedSinceCommit = 0;
+            }
+        }
+
+        private boolean store(Context context, Item item, PendingFiltering filtering) throws Exception {
+            FormatFilter formatFilter = filtering.formatFilter;
+            FilterStatistics filterStatistics = statistics.get(formatFilter);
+            Bitstream source = context.reloadEntity(filtering.source);
+            File file = null;
+            try {
+                file = filtering.result.get();
+                if (file == null) {
+                    if (!isQuiet) {
+                        logInfo("SKIPPED: bitstream " + source.getID()
+                                + " (item: " + item.getHandle() + ") because filtering was unsuccessful");
+                    }
+                    filterStatistics.skipped.increment();
+                    return false;
+                }
+
+                List<Bundle> bundles = itemService.getBundles(item, formatFilter.getBundleName());
+                List<Bitstream> existingBitstreams = findDerivativeBitstreams(item, source, formatFilter);
+                try (InputStream destStream = new FileInputStream(file)) {
+                    createDerivativeBitstream(context, item, source, formatFilter, bundles, filtering.newName,
+                        destStream);
+                }
+
+                // we are overwriting, so remove old bitstream
+                for (Bitstream existingBitstream : existingBitstreams) {
+                    for (Bundle bundle : new ArrayList<>(existingBitstream.getBundles())) {
+                        if (bundles.contains(bundle)) {
+                            bundleService.removeBitstream(context, bundle, existingBitstream);
+                        }
+                    }
+                }
+
+                itemService.update(context, item); // Make sure new bitstream has a sequence number
+                filterStatistics.filtered.increment();
+
+                if (!isQuiet) {
+                    logInfo("FILTERED: bitstream " + source.getID()
+                            + " (item: " + item.getHandle() + ") and created '" + filtering.newName + "'");
+                }
+                return true;
+            } catch (ExecutionException e) {
+                filterStatistics.failed.increment();
+                if (e.getCause() instanceof OutOfMemoryError) {
+                    logError("!!! OutOfMemoryError !!!");
+                }
+                // Printout helpful information to find the errored bitstream.
+                logError(formatBitstreamDetails(item.getHandle(), source));
+                logError(ThrowableUtils.formatCauseChain(e.getCause()));
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw e;
+            } catch (Exception e) {
+                filterStatistics.failed.increment();
+                // Printout helpful information to find the errored bitstream.
+                logError(formatBitstreamDetails(item.getHandle(), source));
+                logError(ThrowableUtils.formatCauseChain(e));
+                return false;
+            } finally {
+                if (file != null) {
+                    file.delete();
+                }
+            }
+        }
+
+        /**
+         * Complete all the items in the pipeline and commit them.
+         */
+        void complete(Context context) throws Exception {
+            while (!pendingItems.isEmpty()) {
+                completeItem(context, pendingItems.poll());
+            }
+            if (completedSinceCommit > 0) {
+                context.commit();
+                completedSinceCommit = 0;
+            }
+        }
+
+        /**
+         * Stop the workers, discarding the filterings not completed, and log
+         * the statistics of each filter.
+         */
+        void stop() {
+            executors.values().forEach(ExecutorService::shutdownNow);
+            for (PendingItem pendingItem : pendingItems) {
+                for (PendingFiltering filtering : pendingItem.filterings) {
+                    filtering.discard();
+                }
+            }
+            pendingItems.clear();
+
+            if (!isQuiet) {
+                double seconds = Math.max(System.nanoTime() - startTime, 1) / 1_000_000_000d;
+                for (FilterStatistics filterStatistics : statistics.values()) {
+                    logInfo(filterStatistics.format(seconds));
+                }
+            }
+        }
+    }
+
+    /**
+     * An item submitted to the pipeline, with the filterings of its bitstreams.
+     */
+    private static class PendingItem {
+
+        private final Item item;
+
+        private final List<PendingFiltering> filterings = new ArrayList<>();
+
+        PendingItem(Item item) {
+            this.item = item;
+        }
+    }
+
+    /**
+     * The filtering of a bitstream in progress on a worker.
+     */
+    private static class PendingFiltering {
+
+        private final Bitstream source;
+
+        private final FormatFilter formatFilter;
+
+        private final String newName;
+
+        private final Future<File> result;
+
+        PendingFiltering(Bitstream source, FormatFilter formatFilter, String newName, Future<File> result) {
+            this.source = source;
+            this.formatFilter = formatFilter;
+            this.newName = newName;
+            this.result = result;
+        }
+
+        void discard() {
+            if (result.cancel(true)) {
+                return;
+            }
+            try {
+                File file = result.get();
+                if (file != null) {
+                    file.delete();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | CancellationException e) {
+                // nothing to discard
+            }
+        }
+    }
+
+    /**
+     * Throughput and failures of a filter in a concurrent run.
+     */
+    private static class FilterStatistics {
+
+        private final String filterName;
+
+        private final LongAdder filtered = new LongAdder();
+
+        private final LongAdder skipped = new LongAdder();
+
+        private final LongAdder failed = new LongAdder();
+
+        private final LongAdder filterings = new LongAdder();
+
+        private final LongAdder filteringNanos = new LongAdder();
+
+        FilterStatistics(String filterName) {
+            this.filterName = filterName;
+        }
+
+        String format(double seconds) {
+            long count = filterings.sum();
+            long averageMillis = count > 0 ? filteringNanos.sum() / count / 1_000_000 : 0;
+            return String.format("%s: %d bitstreams filtered, %d skipped, %d failed (%.2f bitstreams/s, "
+                + "%d ms of filtering per bitstream)", filterName, filtered.sum(), skipped.sum(), failed.sum(),
+                filtered.sum() / seconds, averageMillis);
+        }
+    }
 }
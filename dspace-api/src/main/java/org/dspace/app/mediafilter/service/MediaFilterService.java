@@ -138,6 +138,16 @@ public interface MediaFilterService {
 
     public void setMax2Process(int max2Process);
 
+    /**
+     * Set the number of threads filtering the bitstreams, overriding the
+     * filter-media.threads configuration. With more than one thread the
+     * filters run concurrently on a worker pool for each filter, while the
+     * derivative bitstreams are stored and committed in batches.
+     *
+     * @param threads the number of threads, null to use the configuration
+     */
+    public void setThreads(Integer threads);
+
     public void setFilterClasses(List<FormatFilter> filterClasses);
 
     public void setSkipList(List<String> skipList);
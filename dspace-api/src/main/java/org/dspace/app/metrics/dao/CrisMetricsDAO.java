@@ -7,6 +7,7 @@
  */
 package org.dspace.app.metrics.dao;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -48,4 +49,10 @@ public interface CrisMetricsDAO extends GenericDAO<CrisMetrics> {
     public List<CrisMetrics> findMetricByResourceIdMetricTypeAndBetweenSomeDate(Context context, String metricType,
            UUID resourceId, Date before, Date after) throws SQLException;
 
+    public List<CrisMetrics> findLastMetricsByResourceIdsAndMetricsTypes(Context context,
+           Collection<String> metricTypes, Collection<UUID> resourceIds) throws SQLException;
+
+    public List<CrisMetrics> findMetricsByResourceIdsMetricTypesAndBetweenSomeDate(Context context,
+           Collection<String> metricTypes, Collection<UUID> resourceIds, Date before, Date after) throws SQLException;
+
 }
\ No newline at end of file
@@ -8,6 +8,7 @@
 package org.dspace.app.metrics.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
@@ -136,4 +137,34 @@ public class CrisMetricsDAOImpl extends AbstractHibernateDAO<CrisMetrics> implem
         return list(context, criteriaQuery, false, CrisMetrics.class, -1, -1);
     }
 
-}
\ No newline at end of file
+    @Override
+    public List<CrisMetrics> findLastMetricsByResourceIdsAndMetricsTypes(Context context,
+            Collection<String> metricTypes, Collection<UUID> resourceIds) throws SQLException {
+        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
+        CriteriaQuery criteriaQuery = getCriteriaQuery(criteriaBuilder, CrisMetrics.class);
+        Root<CrisMetrics> crisMetricsRoot = criteriaQuery.from(CrisMetrics.class);
+        Join<CrisMetrics, DSpaceObject> join = crisMetricsRoot.join(CrisMetrics_.resource);
+        criteriaQuery.where(
+                criteriaBuilder.and(crisMetricsRoot.get(CrisMetrics_.metricType).in(metricTypes),
+                        criteriaBuilder.equal(crisMetricsRoot.get(CrisMetrics_.last), true),
+                        join.get(DSpaceObject_.id).in(resourceIds)));
+        return list(context, criteriaQuery, false, CrisMetrics.class, -1, -1);
+    }
+
+    @Override
+    public List<CrisMetrics> findMetricsByResourceIdsMetricTypesAndBetweenSomeDate(Context context,
+            Collection<String> metricTypes, Collection<UUID> resourceIds, Date before, Date after)
+            throws SQLException {
+        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
+        CriteriaQuery criteriaQuery = getCriteriaQuery(criteriaBuilder, CrisMetrics.class);
+        Root<CrisMetrics> crisMetricsRoot = criteriaQuery.from(CrisMetrics.class);
+        Join<CrisMetrics, DSpaceObject> join = crisMetricsRoot.join(CrisMetrics_.resource);
+        criteriaQuery.where(criteriaBuilder.and(
+                crisMetricsRoot.get(CrisMetrics_.metricType).in(metricTypes),
+                criteriaBuilder.greaterThanOrEqualTo(crisMetricsRoot.get(CrisMetrics_.acquisitionDate), before),
+                criteriaBuilder.lessThan(crisMetricsRoot.get(CrisMetrics_.acquisitionDate), after),
+                join.get(DSpaceObject_.id).in(resourceIds)));
+        return list(context, criteriaQuery, false, CrisMetrics.class, -1, -1);
+    }
+
+}
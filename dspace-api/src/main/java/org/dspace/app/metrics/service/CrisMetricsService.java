@@ -7,6 +7,7 @@
  */
 package org.dspace.app.metrics.service;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -50,6 +51,18 @@ public interface CrisMetricsService {
     public CrisMetrics uniqueLastMetricByResourceIdAndResourceTypeIdAndMetricsType(Context context, String metricType,
                              UUID resourceUuid, boolean last) throws SQLException;
 
+    /**
+     * Find the last metrics of the given types of all the given resources.
+     *
+     * @param context     DSpace context object
+     * @param metricTypes the CrisMetric types
+     * @param resourceIds the uuids of the DSpace resources
+     * @return            the last metrics, at most one for each resource and type
+     * @throws SQLException if database error
+     */
+    public List<CrisMetrics> findLastMetricsByResourceIdsAndMetricsTypes(Context context,
+                             Collection<String> metricTypes, Collection<UUID> resourceIds) throws SQLException;
+
     public void update(Context context, CrisMetrics crisMetrics) throws SQLException, AuthorizeException;
 
     public CrisMetrics find(Context context, int id) throws SQLException;
@@ -69,4 +82,19 @@ public interface CrisMetricsService {
                                                        String metricType, UUID resourceId,
                                                        Date startDate, String period) throws SQLException;
 
+    /**
+     * Bulk version of {@link #getCrisMetricByPeriod(Context, String, UUID, Date, String)}
+     *
+     * @param context         DSpace context object
+     * @param metricTypes     the CrisMetric types
+     * @param resourceIds     the uuids of the DSpace resources
+     * @param startDate       date from which the period is to be extended
+     * @param period          period can be either a week or a month [week or month].
+     * @return                the found metrics, at most one for each resource and type
+     * @throws SQLException   if database error
+     */
+    public List<CrisMetrics> getCrisMetricsByPeriod(Context context, Collection<String> metricTypes,
+                                                    Collection<UUID> resourceIds, Date startDate, String period)
+        throws SQLException;
+
 }
@@ -7,12 +7,17 @@
  */
 package org.dspace.app.metrics.service;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DateUtils;
@@ -103,6 +108,15 @@ public class CrisMetricsServiceImpl implements CrisMetricsService {
                 context, metricType, resource, last);
     }
 
+    @Override
+    public List<CrisMetrics> findLastMetricsByResourceIdsAndMetricsTypes(Context context,
+            Collection<String> metricTypes, Collection<UUID> resourceIds) throws SQLException {
+        if (resourceIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return crisMetricsDAO.findLastMetricsByResourceIdsAndMetricsTypes(context, metricTypes, resourceIds);
+    }
+
     @Override
     public void update(Context context, CrisMetrics crisMetrics) throws SQLException, AuthorizeException {
         if (!authorizeService.isAdmin(context)) {
@@ -122,13 +136,37 @@ public class CrisMetricsServiceImpl implements CrisMetricsService {
     public Optional<CrisMetrics> getCrisMetricByPeriod(Context context, String metricType, UUID resourceId,
                                                        Date startDate, String period) throws SQLException {
 
+        Date date = getPeriodDate(startDate, period);
+        if (date == null) {
+            return Optional.empty();
+        }
+        return getPeriodStatus(context, metricType, resourceId, date);
+    }
+
+    @Override
+    public List<CrisMetrics> getCrisMetricsByPeriod(Context context, Collection<String> metricTypes,
+            Collection<UUID> resourceIds, Date startDate, String period) throws SQLException {
+        Date date = getPeriodDate(startDate, period);
+        if (date == null || resourceIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<CrisMetrics> metrics = crisMetricsDAO.findMetricsByResourceIdsMetricTypesAndBetweenSomeDate(context,
+                metricTypes, resourceIds, getDateByDelta(date, 0), getDateByDelta(date, +1));
+        // keep only the most recent metric of each resource and type, as getPeriodStatus does
+        Map<String, CrisMetrics> lastMetrics = metrics.stream()
+            .collect(Collectors.toMap(metric -> metric.getResource().getID() + "." + metric.getMetricType(),
+                metric -> metric, BinaryOperator.maxBy(Comparator.comparing(CrisMetrics::getAcquisitionDate))));
+        return new ArrayList<>(lastMetrics.values());
+    }
+
+    private Date getPeriodDate(Date startDate, String period) {
         if (StringUtils.equals("week", period)) {
-            return getPeriodStatus(context, metricType, resourceId, DateUtils.addDays(startDate, -7));
+            return DateUtils.addDays(startDate, -7);
         }
         if (StringUtils.equals("month", period)) {
-            return getPeriodStatus(context, metricType, resourceId, DateUtils.addMonths(startDate, -1));
+            return DateUtils.addMonths(startDate, -1);
         }
-        return Optional.empty();
+        return null;
     }
 
     private Optional<CrisMetrics> getPeriodStatus(Context context, String metricType, UUID resourceId, Date date)
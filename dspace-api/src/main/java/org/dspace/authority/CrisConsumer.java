@@ -13,7 +13,13 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.dspace.content.MetadataSchemaEnum.CRIS;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -77,6 +83,12 @@ public class CrisConsumer implements Consumer {
 
     private Set<Item> itemsAlreadyProcessed = new HashSet<Item>();
 
+    /**
+     * The related items already found or created in the current transaction,
+     * by entity type and crisSourceId.
+     */
+    private Map<String, Item> resolvedRelatedItems = new HashMap<String, Item>();
+
     private ChoiceAuthorityService choiceAuthorityService;
 
     private MetadataAuthorityService metadataAuthorityService;
@@ -138,24 +150,33 @@ public class CrisConsumer implements Consumer {
 
     private void consumeItem(Context context, Item item) throws Exception {
 
+        List<RelatedItemReference> references = new ArrayList<>();
         for (MetadataValue metadata : item.getMetadata()) {
 
-            String fieldKey = getFieldKey(metadata);
-            String authority = metadata.getAuthority();
-
             if (isMetadataSkippable(metadata)) {
                 continue;
             }
 
+            String fieldKey = getFieldKey(metadata);
             String entityType = choiceAuthorityService.getLinkedEntityType(fieldKey);
             if (entityType == null) {
                 log.debug(NO_ENTITY_TYPE_FOUND_MSG, fieldKey);
                 continue;
             }
 
-            String crisSourceId = generateCrisSourceId(metadata);
+            references.add(new RelatedItemReference(metadata, entityType, generateCrisSourceId(metadata)));
+        }
+
+        resolveRelatedItems(context, item, references);
+
+        for (RelatedItemReference reference : references) {
 
-            Item relatedItem = itemSearchService.search(context, crisSourceId, entityType, item);
+            MetadataValue metadata = reference.metadata;
+            String authority = metadata.getAuthority();
+            String entityType = reference.entityType;
+            String crisSourceId = reference.crisSourceId;
+
+            Item relatedItem = getResolvedRelatedItem(context, reference);
             boolean relatedItemAlreadyPresent = relatedItem != null;
 
             if (!relatedItemAlreadyPresent && isNotBlank(authority) && isReferenceAuthority(authority)) {
@@ -174,6 +195,9 @@ public class CrisConsumer implements Consumer {
 
                 log.debug(ITEM_CREATION_MSG, entityType, item.getID());
                 relatedItem = buildRelatedItem(context, item, collection, metadata, entityType, crisSourceId);
+                if (hasEntityType(relatedItem, entityType)) {
+                    resolvedRelatedItems.put(reference.getKey(), relatedItem);
+                }
 
             }
 
@@ -185,6 +209,37 @@ public class CrisConsumer implements Consumer {
 
     }
 
+    /**
+     * Search the related items of the given references not already resolved
+     * in the current transaction, with a single search for each entity type.
+     */
+    private void resolveRelatedItems(Context context, Item item, List<RelatedItemReference> references) {
+
+        Map<String, Set<String>> crisSourceIdsByEntityType = new LinkedHashMap<>();
+        for (RelatedItemReference reference : references) {
+            if (!resolvedRelatedItems.containsKey(reference.getKey())) {
+                crisSourceIdsByEntityType.computeIfAbsent(reference.entityType, type -> new LinkedHashSet<>())
+                    .add(reference.crisSourceId);
+            }
+        }
+
+        crisSourceIdsByEntityType.forEach((entityType, crisSourceIds) -> {
+            itemSearchService.search(context, crisSourceIds, entityType, item)
+                .forEach((crisSourceId, relatedItem) -> resolvedRelatedItems.put(getKey(entityType, crisSourceId),
+                    relatedItem));
+        });
+
+    }
+
+    private Item getResolvedRelatedItem(Context context, RelatedItemReference reference) throws SQLException {
+        Item relatedItem = resolvedRelatedItems.get(reference.getKey());
+        return relatedItem != null ? context.reloadEntity(relatedItem) : null;
+    }
+
+    private static String getKey(String entityType, String crisSourceId) {
+        return entityType + "::" + crisSourceId;
+    }
+
     private boolean isMetadataSkippable(MetadataValue metadata) {
 
         String authority = metadata.getAuthority();
@@ -246,6 +301,7 @@ public class CrisConsumer implements Consumer {
     @Override
     public void end(Context context) throws Exception {
         itemsAlreadyProcessed.clear();
+        resolvedRelatedItems.clear();
     }
 
     private String getFieldKey(MetadataValue metadata) {
@@ -329,4 +385,26 @@ public class CrisConsumer implements Consumer {
         });
     }
 
+    /**
+     * A metadata value of the consumed item referencing a related item.
+     */
+    private static class RelatedItemReference {
+
+        private final MetadataValue metadata;
+
+        private final String entityType;
+
+        private final String crisSourceId;
+
+        RelatedItemReference(MetadataValue metadata, String entityType, String crisSourceId) {
+            this.metadata = metadata;
+            this.entityType = entityType;
+            this.crisSourceId = crisSourceId;
+        }
+
+        String getKey() {
+            return CrisConsumer.getKey(entityType, crisSourceId);
+        }
+    }
+
 }
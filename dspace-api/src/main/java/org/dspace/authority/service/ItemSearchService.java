@@ -7,6 +7,10 @@
  */
 package org.dspace.authority.service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.dspace.content.Item;
 import org.dspace.core.Context;
 
@@ -50,4 +54,28 @@ public interface ItemSearchService {
      */
     public Item search(Context context, String searchParam, String entityType, Item source);
 
+    /**
+     * Search the items of all the given searchParams and relationship type,
+     * with the same strategy of {@link #search(Context, String, String, Item)}
+     * but resolving the searchParams together where possible.
+     *
+     * @param  context      the DSpace context
+     * @param  searchParams the searchParams
+     * @param  entityType   the item entityType
+     * @param  source       the source item
+     * @return              the found items by searchParam, without the
+     *                      searchParams of which no item was found
+     */
+    public default Map<String, Item> search(Context context, Collection<String> searchParams, String entityType,
+        Item source) {
+        Map<String, Item> items = new HashMap<>();
+        for (String searchParam : searchParams) {
+            Item item = search(context, searchParam, entityType, source);
+            if (item != null) {
+                items.put(searchParam, item);
+            }
+        }
+        return items;
+    }
+
 }
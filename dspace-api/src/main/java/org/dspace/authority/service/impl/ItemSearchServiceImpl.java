@@ -11,7 +11,13 @@ import static org.dspace.content.Item.ANY;
 import static org.dspace.content.MetadataSchemaEnum.CRIS;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
@@ -59,6 +65,18 @@ public class ItemSearchServiceImpl implements ItemSearchService {
         }
     }
 
+    @Override
+    public Map<String, Item> search(Context context, Collection<String> searchParams, String entityType,
+        Item source) {
+        try {
+            return performSearch(context, searchParams, entityType, source);
+        } catch (SQLException ex) {
+            String msg = "An error occurs searching the items by " + searchParams;
+            msg = StringUtils.isBlank(entityType) ? msg : msg + " and relationship type " + entityType;
+            throw new RuntimeException(msg, ex);
+        }
+    }
+
     private Item performSearch(Context context, String searchParam, String entityType, Item source)
         throws SQLException, AuthorizeException {
 
@@ -68,6 +86,31 @@ public class ItemSearchServiceImpl implements ItemSearchService {
             .orElse(null);
     }
 
+    private Map<String, Item> performSearch(Context context, Collection<String> searchParams, String entityType,
+        Item source) throws SQLException {
+
+        Map<String, Item> items = new HashMap<>();
+        List<String> notFoundByUuid = new ArrayList<>();
+        for (String searchParam : new LinkedHashSet<>(searchParams)) {
+            Optional<Item> item = findByUuid(context, searchParam, entityType);
+            if (item.isPresent()) {
+                items.put(searchParam, item.get());
+            } else {
+                notFoundByUuid.add(searchParam);
+            }
+        }
+
+        Map<String, List<Item>> itemsByCrisSourceId = findByCrisSourceIds(context, notFoundByUuid);
+        for (String searchParam : notFoundByUuid) {
+            itemsByCrisSourceId.getOrDefault(searchParam, List.of()).stream()
+                .filter(item -> hasEntityTypeEqualsTo(item, entityType))
+                .findFirst()
+                .or(() -> findByItemSearcher(context, searchParam, entityType, source))
+                .ifPresent(item -> items.put(searchParam, item));
+        }
+        return items;
+    }
+
     private Optional<Item> findByUuid(Context context, String searchParam, String entityType)
         throws SQLException {
         UUID uuid = UUIDUtils.fromString(searchParam);
@@ -104,6 +147,15 @@ public class ItemSearchServiceImpl implements ItemSearchService {
         }
     }
 
+    private Map<String, List<Item>> findByCrisSourceIds(Context context, List<String> crisSourceIds)
+        throws SQLException {
+        if (crisSourceIds.isEmpty()) {
+            return Map.of();
+        }
+        return itemService.findUnfilteredByMetadataFieldValues(context, CRIS.getName(), "sourceId", null,
+            crisSourceIds);
+    }
+
     private boolean hasEntityTypeEqualsTo(Item item, String entityType) {
         if (entityType == null) {
             return true;
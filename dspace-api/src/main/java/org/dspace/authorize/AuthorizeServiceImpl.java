@@ -14,7 +14,10 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -222,6 +225,76 @@ public class AuthorizeServiceImpl implements AuthorizeService {
         return isAuthorized;
     }
 
+    @Override
+    public Map<UUID, Boolean> authorizeActionBoolean(Context c, EPerson e, List<? extends DSpaceObject> objects,
+                                                     int action) throws SQLException {
+        Map<UUID, Boolean> results = new HashMap<>();
+        if (objects.isEmpty()) {
+            return results;
+        }
+
+        if (c.ignoreAuthorization() || isAdmin(c, e)) {
+            for (DSpaceObject o : objects) {
+                results.put(o.getID(), true);
+            }
+            return results;
+        }
+
+        List<DSpaceObject> toResolve = new ArrayList<>();
+        for (DSpaceObject o : objects) {
+            Boolean cachedResult = c.getCachedAuthorizationResult(o, action, e, true);
+            if (cachedResult != null) {
+                results.put(o.getID(), cachedResult);
+            } else if (o instanceof Bitstream || o instanceof Bundle
+                || (o instanceof Item && !((Item) o).isArchived())) {
+                // custom policies could have to be ignored, see authorize
+                results.put(o.getID(), authorize(c, o, action, e, true));
+            } else {
+                toResolve.add(o);
+            }
+        }
+
+        if (!toResolve.isEmpty()) {
+            List<UUID> ids = new ArrayList<>();
+            for (DSpaceObject o : toResolve) {
+                ids.add(o.getID());
+            }
+            Map<UUID, List<ResourcePolicy>> policies = new HashMap<>();
+            for (ResourcePolicy rp : resourcePolicyService.findByDSOsAndAction(c, ids, action)) {
+                policies.computeIfAbsent(rp.getdSpaceObject().getID(), id -> new ArrayList<>()).add(rp);
+            }
+            // all the groups of the user, including the special groups and the anonymous group
+            Set<UUID> groupIds = new HashSet<>();
+            for (Group group : groupService.allMemberGroupsSet(c, e)) {
+                groupIds.add(group.getID());
+            }
+
+            for (DSpaceObject o : toResolve) {
+                boolean authorized = false;
+                for (ResourcePolicy rp : policies.getOrDefault(o.getID(), List.of())) {
+                    if (resourcePolicyService.isDateValid(rp)
+                        && ((rp.getEPerson() != null && rp.getEPerson().equals(e))
+                            || (rp.getGroup() != null && groupIds.contains(rp.getGroup().getID())))) {
+                        authorized = true;
+                        break;
+                    }
+                }
+                if (!authorized && e != null) {
+                    // if user is an Admin on this object
+                    DSpaceObject adminObject = serviceFactory.getDSpaceObjectService(o).getAdminObject(c, o, action);
+                    authorized = isAdmin(c, e, adminObject);
+                }
+                c.cacheAuthorizedAction(o, action, e, true, authorized, null);
+                results.put(o.getID(), authorized);
+            }
+        }
+
+        for (DSpaceObject o : objects) {
+            c.cachePrefetchedAuthorizationResult(o, action, e, results.get(o.getID()));
+        }
+        return results;
+    }
+
     /**
      * Check to see if the given user can perform the given action on the given
      * object. Always returns true if the ignore authorization flat is set in
@@ -257,6 +330,14 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             return cachedResult;
         }
 
+        // If authorization was resolved in bulk just before
+        if (useInheritance) {
+            Boolean prefetchedResult = c.pollPrefetchedAuthorizationResult(o, action, e);
+            if (prefetchedResult != null) {
+                return prefetchedResult;
+            }
+        }
+
         // is eperson set? if not, userToCheck = null (anonymous)
         EPerson userToCheck = null;
         if (e != null) {
@@ -79,6 +79,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
         // FIXME: Check authorisation
         // Create a table row
         ResourcePolicy resourcePolicy = resourcePolicyDAO.create(context, new ResourcePolicy());
+        context.clearPrefetchedAuthorizationResults();
         return resourcePolicy;
     }
 
@@ -268,11 +269,13 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     @Override
     public void removeAllEPersonPolicies(Context context, EPerson ePerson) throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByEPerson(context, ePerson);
+        context.clearPrefetchedAuthorizationResults();
     }
 
     @Override
     public void removeGroupPolicies(Context c, Group group) throws SQLException {
         resourcePolicyDAO.deleteByGroup(c, group);
+        c.clearPrefetchedAuthorizationResults();
     }
 
     @Override
@@ -429,4 +432,10 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
         throws SQLException {
         return resourcePolicyDAO.findValidPolicyOwners(c, dsoIds, actionID);
     }
+
+    @Override
+    public List<ResourcePolicy> findByDSOsAndAction(Context c, List<UUID> dsoIds, int actionID)
+        throws SQLException {
+        return resourcePolicyDAO.findByDSOsAndAction(c, dsoIds, actionID);
+    }
 }
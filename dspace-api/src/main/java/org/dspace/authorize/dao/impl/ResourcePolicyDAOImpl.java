@@ -450,4 +450,25 @@ public class ResourcePolicyDAOImpl extends AbstractHibernateDAO<ResourcePolicy>
         return query.getResultList();
 
     }
+
+    @Override
+    public List<ResourcePolicy> findByDSOsAndAction(Context context, List<UUID> dsoIds, int actionID)
+        throws SQLException {
+
+        if (CollectionUtils.isEmpty(dsoIds)) {
+            return emptyList();
+        }
+
+        String sqlQuery = ""
+            + " SELECT policy"
+            + "   FROM ResourcePolicy policy "
+            + "  WHERE policy.dSpaceObject.id in (:dsoIds) "
+            + "    AND policy.actionId = :actionId ";
+
+        Query query = createQuery(context, sqlQuery);
+        query.setParameter("dsoIds", dsoIds);
+        query.setParameter("actionId", actionID);
+        return query.getResultList();
+
+    }
 }
@@ -10,6 +10,7 @@ package org.dspace.authorize.service;
 import java.sql.SQLException;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.dspace.authorize.AuthorizeException;
@@ -156,6 +157,22 @@ public interface AuthorizeService {
     public boolean authorizeActionBoolean(Context c, EPerson e, DSpaceObject o, int a, boolean useInheritance)
         throws SQLException;
 
+    /**
+     * Bulk version of {@link #authorizeActionBoolean(Context, EPerson, DSpaceObject, int, boolean)}, with
+     * inheritance, meant for pages of objects such as search results. The policies of all the objects are read
+     * with one query and the groups of the user are resolved once. The results are also stored in the context, so
+     * that the next single check of each object does not need to query the policies again.
+     *
+     * @param c       DSpace context
+     * @param e       EPerson to use in the check
+     * @param objects the DSpaceObjects
+     * @param a       action being attempted, from <code>org.dspace.core.Constants</code>
+     * @return whether the given user is authorized to perform the given action, by object id
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public Map<UUID, Boolean> authorizeActionBoolean(Context c, EPerson e, List<? extends DSpaceObject> objects,
+                                                     int a) throws SQLException;
+
     ///////////////////////////////////////////////
     // admin check methods
     ///////////////////////////////////////////////
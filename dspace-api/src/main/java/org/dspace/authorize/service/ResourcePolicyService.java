@@ -300,4 +300,15 @@ public interface ResourcePolicyService extends DSpaceCRUDService<ResourcePolicy>
      */
     List<ResourcePolicyOwnerVO> findValidPolicyOwners(Context c, List<UUID> dsoIds, int actionID) throws SQLException;
 
+    /**
+     * Return the policies of all the given objects that match the action.
+     *
+     * @param  c            context
+     * @param  dsoIds       DSpaceObject ids policies relate to
+     * @param  actionID     action (defined in class Constants)
+     * @return              list of resource policies
+     * @throws SQLException if there's a database problem
+     */
+    List<ResourcePolicy> findByDSOsAndAction(Context c, List<UUID> dsoIds, int actionID) throws SQLException;
+
 }
@@ -606,25 +606,6 @@ public class BrowseEngine {
         return dao.doOffsetQuery(col, value, scope.isAscending());
     }
 
-    /**
-     * Convert the value into an offset into the table for this browse
-     *
-     * @param value value
-     * @return the focus value to use
-     * @throws BrowseException if browse error
-     */
-    private int getOffsetForDistinctValue(String value)
-        throws BrowseException {
-        if (!browseIndex.isMetadataIndex()) {
-            throw new IllegalArgumentException("getOffsetForDistinctValue called when not a metadata index");
-        }
-
-        // now get the DAO to do the query for us, returning the highest
-        // string value in the given column in the given table for the
-        // item (I think)
-        return dao.doDistinctOffsetQuery("sort_value", value, scope.isAscending());
-    }
-
     /**
      * Return a normalized focus value. If there is no normalization that can be performed,
      * return the focus value that is passed in.
@@ -7,13 +7,16 @@
  */
 package org.dspace.browse;
 
-import java.io.Serializable;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.util.ClientUtils;
@@ -35,6 +38,10 @@ import org.dspace.discovery.SearchUtils;
 import org.dspace.discovery.configuration.DiscoveryConfiguration;
 import org.dspace.discovery.configuration.DiscoveryConfigurationParameters;
 import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.GroupService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 
@@ -49,25 +56,19 @@ public class SolrBrowseDAO implements BrowseDAO {
         this.context = context;
     }
 
-    static private class FacetValueComparator
-        implements Comparator, Serializable {
-        @Override
-        public int compare(Object o1, Object o2) {
-            String s1 = "";
-            String s2 = "";
-            if (o1 instanceof FacetResult && o2 instanceof String) {
-                FacetResult c = (FacetResult) o1;
-                s1 = c.getSortValue();
-                s2 = (String) o2;
-            } else if (o2 instanceof FacetResult && o1 instanceof String) {
-                FacetResult c = (FacetResult) o2;
-                s1 = (String) o1;
-                s2 = c.getSortValue();
+    /**
+     * The sorted values of the distinct browses recently jumped into, by the
+     * reader, facet field, starts with value and filter queries of the browse,
+     * so that a jump to a value does not fetch all the values every time.
+     */
+    private static final Map<String, SortValueIndex> sortValueIndexes =
+        Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SortValueIndex> eldest) {
+                return size() > DSpaceServicesFactory.getInstance().getConfigurationService()
+                    .getIntProperty("browse.solr.value-index.max-size", 20);
             }
-            // both object are FacetResult so they are already sorted
-            return s1.compareTo(s2);
-        }
-    }
+        });
 
     /**
      * Log4j log
@@ -167,6 +168,8 @@ public class SolrBrowseDAO implements BrowseDAO {
 
     protected ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
 
+    protected GroupService groupService = EPersonServiceFactory.getInstance().getGroupService();
+
     // administrative attributes for this class
 
 
@@ -185,19 +188,7 @@ public class SolrBrowseDAO implements BrowseDAO {
             addExtraFilter(query);
             addDefaultFilterQueries(query);
             if (distinct) {
-                DiscoverFacetField dff;
-                if (StringUtils.isNotBlank(startsWith)) {
-                    dff = new DiscoverFacetField(facetField,
-                        DiscoveryConfigurationParameters.TYPE_TEXT, -1,
-                        DiscoveryConfigurationParameters.SORT.VALUE, startsWith);
-                } else {
-                    dff = new DiscoverFacetField(facetField,
-                        DiscoveryConfigurationParameters.TYPE_TEXT, -1,
-                        DiscoveryConfigurationParameters.SORT.VALUE);
-                }
-                query.addFacetField(dff);
-                query.setFacetMinCount(1);
-                query.setMaxResults(0);
+                addDistinctFacet(query, -1, -1);
             } else {
                 query.setMaxResults(limit/* > 0 ? limit : 20*/);
                 if (offset > 0) {
@@ -234,6 +225,32 @@ public class SolrBrowseDAO implements BrowseDAO {
         return sResponse;
     }
 
+    /**
+     * Facet the query on the values of the distinct browse, sorted by value.
+     */
+    private void addDistinctFacet(DiscoverQuery query, int facetLimit, int facetOffset) {
+        String prefix = StringUtils.isNotBlank(startsWith) ? startsWith : null;
+        query.addFacetField(new DiscoverFacetField(facetField, DiscoveryConfigurationParameters.TYPE_TEXT,
+            facetLimit, DiscoveryConfigurationParameters.SORT.VALUE, prefix, facetOffset));
+        query.setFacetMinCount(1);
+        query.setMaxResults(0);
+    }
+
+    private DiscoverQuery createDistinctQuery(int facetLimit, int facetOffset) {
+        DiscoverQuery query = createFilteredQuery();
+        addDistinctFacet(query, facetLimit, facetOffset);
+        return query;
+    }
+
+    private DiscoverQuery createFilteredQuery() {
+        DiscoverQuery query = new DiscoverQuery();
+        addLocationScopeFilter(query);
+        addStatusFilter(query);
+        addExtraFilter(query);
+        addDefaultFilterQueries(query);
+        return query;
+    }
+
     private void addExtraFilter(DiscoverQuery query) {
         String filter = configurationService.getProperty("browse.solr." + facetField + ".filter");
         if (StringUtils.isNotBlank(filter)) {
@@ -390,16 +407,147 @@ public class SolrBrowseDAO implements BrowseDAO {
     @Override
     public int doDistinctOffsetQuery(String column, String value,
                                      boolean isAscending) throws BrowseException {
-        DiscoverResult resp = getSolrResponse();
-        List<FacetResult> facets = resp.getFacetResult(facetField);
-        Comparator comparator = new SolrBrowseDAO.FacetValueComparator();
-        Collections.sort(facets, comparator);
-        int x = Collections.binarySearch(facets, value, comparator);
-        int ascValue = (x >= 0) ? x : -(x + 1);
-        if (isAscending) {
-            return ascValue;
-        } else {
-            return doCountQuery() - ascValue;
+        int timeToLive = configurationService.getIntProperty("browse.solr.value-index.ttl", 300);
+        if (timeToLive <= 0) {
+            int ascValue = countDistinctValuesBefore(value);
+            return isAscending ? ascValue : countDistinctValues() - ascValue;
+        }
+
+        String[] sortValues = getSortValueIndex(timeToLive * 1000L);
+        // the first value not sorted before the given one
+        int low = 0;
+        int high = sortValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortValues[middle].compareTo(value) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return isAscending ? low : sortValues.length - low;
+    }
+
+    /**
+     * Get the sorted values of this distinct browse from the cache, loading
+     * them if they are not cached or expired. The values of a browse depend
+     * on the items the current user can read, so the key includes the
+     * administrator flag, the user and the groups the search restricts the
+     * items by.
+     */
+    private String[] getSortValueIndex(long timeToLive) throws BrowseException {
+        DiscoverQuery query = createDistinctQuery(-1, -1);
+        List<String> filterQueries = new ArrayList<>(query.getFilterQueries());
+        Collections.sort(filterQueries);
+        String key = getReaderKey() + "|" + facetField + "|" + startsWith + "|" + String.join("|", filterQueries);
+
+        SortValueIndex index = sortValueIndexes.get(key);
+        if (index == null || index.expiration < System.currentTimeMillis()) {
+            List<FacetResult> facets = search(query).getFacetResult(facetField);
+            String[] sortValues = facets.stream().map(FacetResult::getSortValue).toArray(String[]::new);
+            Arrays.sort(sortValues);
+            index = new SortValueIndex(sortValues, System.currentTimeMillis() + timeToLive);
+            sortValueIndexes.put(key, index);
+        }
+        return index.sortValues;
+    }
+
+    /**
+     * Clear the cached sorted values of all the distinct browses.
+     */
+    static void clearSortValueIndexes() {
+        sortValueIndexes.clear();
+    }
+
+    /**
+     * @return the key of the items readable by the current user, as
+     *         restricted by {@link org.dspace.discovery.SolrServiceResourceRestrictionPlugin}
+     */
+    private String getReaderKey() throws BrowseException {
+        try {
+            if (authorizeService.isAdmin(context)) {
+                return "admin";
+            }
+            EPerson currentUser = context.getCurrentUser();
+            List<String> readers = new ArrayList<>();
+            for (Group group : groupService.allMemberGroupsSet(context, currentUser)) {
+                readers.add("g" + group.getID());
+            }
+            Collections.sort(readers);
+            if (currentUser != null) {
+                readers.add(0, "e" + currentUser.getID());
+            }
+            return String.join(",", readers);
+        } catch (SQLException e) {
+            throw new BrowseException(e);
+        }
+    }
+
+    /**
+     * Count the values of this distinct browse with a single json facet
+     * request, that returns the number of values and none of them.
+     */
+    private int countDistinctValues() throws BrowseException {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode facet = mapper.createObjectNode()
+            .put("type", "terms")
+            .put("field", facetField + "_filter")
+            .put("limit", 0)
+            .put("mincount", 1)
+            .put("numBuckets", true);
+        if (StringUtils.isNotBlank(startsWith)) {
+            facet.put("prefix", startsWith);
+        }
+        DiscoverQuery query = createFilteredQuery();
+        query.setMaxResults(0);
+        query.addProperty("json.facet", mapper.createObjectNode().set(facetField, facet).toString());
+        Long count = search(query).getFacetResultTotalElements(facetField);
+        return count != null ? count.intValue() : 0;
+    }
+
+    /**
+     * Count the values of this distinct browse sorted before the given one,
+     * looking for it by value offset with queries returning a single value,
+     * so that only a logarithmic number of values is transferred.
+     *
+     * @param value the value
+     */
+    private int countDistinctValuesBefore(String value) throws BrowseException {
+        // find an offset past the value, then the first offset not before it
+        int low = 0;
+        int high = 1;
+        while (isDistinctValueBefore(high - 1, value)) {
+            low = high;
+            high *= 2;
+        }
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (isDistinctValueBefore(middle, value)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return true if the value of this distinct browse at the given offset
+     *         exists and is sorted before the given value
+     */
+    private boolean isDistinctValueBefore(int offset, String value) throws BrowseException {
+        List<FacetResult> facets = search(createDistinctQuery(1, offset)).getFacetResult(facetField);
+        if (facets.isEmpty()) {
+            return false;
+        }
+        return facets.get(0).getSortValue().compareTo(value) < 0;
+    }
+
+    private DiscoverResult search(DiscoverQuery query) throws BrowseException {
+        try {
+            return searcher.search(context, query);
+        } catch (SearchServiceException e) {
+            throw new BrowseException(e);
         }
     }
 
@@ -771,4 +919,19 @@ public class SolrBrowseDAO implements BrowseDAO {
     public void setAuthorityValue(String value) {
         this.authority = value;
     }
+
+    /**
+     * The sorted values of a distinct browse, with their expiration time.
+     */
+    private static class SortValueIndex {
+
+        private final String[] sortValues;
+
+        private final long expiration;
+
+        SortValueIndex(String[] sortValues, long expiration) {
+            this.sortValues = sortValues;
+            this.expiration = expiration;
+        }
+    }
 }
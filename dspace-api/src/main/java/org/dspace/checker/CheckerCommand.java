@@ -11,6 +11,14 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.collections4.MapUtils;
 import org.apache.logging.log4j.Logger;
@@ -19,7 +27,11 @@ import org.dspace.checker.service.ChecksumHistoryService;
 import org.dspace.checker.service.ChecksumResultService;
 import org.dspace.checker.service.MostRecentChecksumService;
 import org.dspace.content.Bitstream;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
 import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.storage.bitstore.factory.StorageServiceFactory;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
 
@@ -56,6 +68,7 @@ public final class CheckerCommand {
      */
     private ChecksumHistoryService checksumHistoryService = null;
     private BitstreamStorageService bitstreamStorageService = null;
+    private BitstreamService bitstreamService = null;
     private ChecksumResultService checksumResultService = null;
 
     /**
@@ -78,6 +91,21 @@ public final class CheckerCommand {
      */
     private boolean reportVerbose = false;
 
+    /**
+     * Number of threads computing the checksums, 1 to check the bitstreams serially
+     */
+    private int threads = 1;
+
+    /**
+     * Maximum number of bytes read per second by all the threads, 0 for no limit
+     */
+    private long maxBytesPerSecond = 0;
+
+    /**
+     * Number of results to be committed at once when checking in parallel
+     */
+    private int commitBatchSize = 100;
+
     /**
      * Default constructor uses DSpace plugin manager to construct dependencies.
      *
@@ -87,7 +115,12 @@ public final class CheckerCommand {
         checksumService = CheckerServiceFactory.getInstance().getMostRecentChecksumService();
         checksumHistoryService = CheckerServiceFactory.getInstance().getChecksumHistoryService();
         bitstreamStorageService = StorageServiceFactory.getInstance().getBitstreamStorageService();
+        bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
         checksumResultService = CheckerServiceFactory.getInstance().getChecksumResultService();
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        threads = configurationService.getIntProperty("checker.threads", 1);
+        maxBytesPerSecond = configurationService.getLongProperty("checker.max-bytes-per-second", 0);
+        commitBatchSize = Math.max(1, configurationService.getIntProperty("checker.commit-batch-size", 100));
         this.context = context;
     }
 
@@ -120,22 +153,116 @@ public final class CheckerCommand {
         // bitstream table - this always done.
         checksumService.updateMissingBitstreams(context);
 
+        if (threads > 1) {
+            processInParallel();
+            return;
+        }
+
         Bitstream bitstream = dispatcher.next();
 
         while (bitstream != null) {
             LOG.debug("Processing bitstream id = " + bitstream.getID());
             MostRecentChecksum info = checkBitstream(bitstream);
-
-            if (reportVerbose
-                || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
-                collector.collect(context, info);
-            }
+            collect(info);
 
             context.uncacheEntity(bitstream);
             bitstream = dispatcher.next();
         }
     }
 
+    /**
+     * Check the dispatched bitstreams with a pool of threads. The bitstreams
+     * are dispatched and the results are recorded by the calling thread, which
+     * is the only one using the context, while the checksums are computed by
+     * the pool, each bitstream being read with a read-only context of its
+     * worker; the results are committed every commitBatchSize bitstreams.
+     *
+     * @throws SQLException if database error
+     */
+    protected void processInParallel() throws SQLException {
+        ThroughputLimiter limiter = new ThroughputLimiter(maxBytesPerSecond);
+        AtomicInteger workerCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "checksum-checker-worker-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<PendingChecksum> completionService = new ExecutorCompletionService<>(workers);
+        // keep the pool busy while the results are recorded, without loading the whole dispatch
+        int maxPending = threads * 2;
+        int pending = 0;
+        int recorded = 0;
+
+        try {
+            Bitstream bitstream = dispatcher.next();
+            while (bitstream != null || pending > 0) {
+                while (bitstream != null && pending < maxPending) {
+                    LOG.debug("Dispatching bitstream id = " + bitstream.getID());
+                    MostRecentChecksum info = checksumService.findByBitstream(context, bitstream);
+                    if (info != null && info.isToBeProcessed() && !info.getBitstream().isDeleted()) {
+                        // mark the bitstream as being checked, so that it is not dispatched again
+                        info.setProcessStartDate(new Date());
+                        PendingChecksum pendingChecksum = new PendingChecksum(info);
+                        completionService.submit(() -> computeChecksum(pendingChecksum, limiter));
+                        pending++;
+                    } else {
+                        collect(checkBitstream(bitstream));
+                        context.uncacheEntity(bitstream);
+                    }
+                    bitstream = dispatcher.next();
+                }
+
+                if (pending > 0) {
+                    PendingChecksum pendingChecksum = completionService.take().get();
+                    pending--;
+                    MostRecentChecksum info = pendingChecksum.info;
+                    recordChecksum(info, pendingChecksum.checksumMap, pendingChecksum.error);
+                    collect(info);
+                    if (++recorded % commitBatchSize == 0) {
+                        context.commit();
+                    }
+                    context.uncacheEntity(info.getBitstream());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the checksums", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new IllegalStateException("Unexpected error computing the checksums", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Compute the checksum of a pending bitstream, runs in the worker threads.
+     * The bitstream is loaded again with a context of the worker, as the
+     * context of the process and its entities must not be shared between
+     * threads.
+     */
+    private PendingChecksum computeChecksum(PendingChecksum pendingChecksum, ThroughputLimiter limiter)
+        throws InterruptedException, SQLException {
+        limiter.acquire(pendingChecksum.sizeBytes);
+        try (Context workerContext = new Context(Context.Mode.READ_ONLY)) {
+            Bitstream bitstream = bitstreamService.find(workerContext, pendingChecksum.bitstreamId);
+            if (bitstream != null) {
+                pendingChecksum.checksumMap = bitstreamStorageService.computeChecksum(workerContext, bitstream);
+            }
+        } catch (IOException e) {
+            pendingChecksum.error = e;
+        }
+        return pendingChecksum;
+    }
+
+    private void collect(MostRecentChecksum info) throws SQLException {
+        if (reportVerbose || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
+            collector.collect(context, info);
+        }
+    }
+
     /**
      * Check a specified bitstream.
      *
@@ -244,8 +371,31 @@ public final class CheckerCommand {
     protected void processBitstream(MostRecentChecksum info) throws SQLException {
         info.setProcessStartDate(new Date());
 
+        Map<String, Object> checksumMap = null;
+        IOException error = null;
+        try {
+            checksumMap = bitstreamStorageService.computeChecksum(context, info.getBitstream());
+        } catch (IOException e) {
+            error = e;
+        }
+        recordChecksum(info, checksumMap, error);
+    }
+
+    /**
+     * Compare the computed checksum of a bitstream with the expected one and
+     * record the result in db.
+     *
+     * @param info        BitstreamInfo to handle
+     * @param checksumMap the computed checksum and algorithm
+     * @param error       the error occurred computing the checksum, if any
+     * @throws SQLException if database error
+     */
+    protected void recordChecksum(MostRecentChecksum info, Map<String, Object> checksumMap, IOException error)
+        throws SQLException {
         try {
-            Map<String, Object> checksumMap = bitstreamStorageService.computeChecksum(context, info.getBitstream());
+            if (error != null) {
+                throw error;
+            }
             if (MapUtils.isNotEmpty(checksumMap)) {
                 info.setBitstreamFound(true);
                 if (checksumMap.containsKey("checksum")) {
@@ -362,4 +512,86 @@ public final class CheckerCommand {
     public void setReportVerbose(boolean reportVerbose) {
         this.reportVerbose = reportVerbose;
     }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Set the number of threads computing the checksums
+     *
+     * @param threads the number of threads, 1 to check the bitstreams serially
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public long getMaxBytesPerSecond() {
+        return maxBytesPerSecond;
+    }
+
+    /**
+     * Set the maximum number of bytes read per second when checking in parallel
+     *
+     * @param maxBytesPerSecond the maximum throughput, 0 for no limit
+     */
+    public void setMaxBytesPerSecond(long maxBytesPerSecond) {
+        this.maxBytesPerSecond = maxBytesPerSecond;
+    }
+
+    /**
+     * A bitstream whose checksum is computed by the worker threads. The
+     * bitstream details are read by the dispatching thread, the workers only
+     * get its id and size, while the checksum information is used by the
+     * dispatching thread alone.
+     */
+    private static class PendingChecksum {
+
+        private final MostRecentChecksum info;
+
+        private final UUID bitstreamId;
+
+        private final long sizeBytes;
+
+        private Map<String, Object> checksumMap;
+
+        private IOException error;
+
+        private PendingChecksum(MostRecentChecksum info) {
+            this.info = info;
+            this.bitstreamId = info.getBitstream().getID();
+            this.sizeBytes = info.getBitstream().getSizeBytes();
+        }
+    }
+
+    /**
+     * Limits the number of bytes read per second by all the worker threads,
+     * each bitstream reserving a time slot proportional to its size.
+     */
+    private static class ThroughputLimiter {
+
+        private final long maxBytesPerSecond;
+
+        private long nextSlot = System.nanoTime();
+
+        private ThroughputLimiter(long maxBytesPerSecond) {
+            this.maxBytesPerSecond = maxBytesPerSecond;
+        }
+
+        private void acquire(long bytes) throws InterruptedException {
+            if (maxBytesPerSecond <= 0) {
+                return;
+            }
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                nextSlot = Math.max(nextSlot, now);
+                wait = nextSlot - now;
+                nextSlot += (long) ((double) TimeUnit.SECONDS.toNanos(1) * bytes / maxBytesPerSecond);
+            }
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+    }
 }
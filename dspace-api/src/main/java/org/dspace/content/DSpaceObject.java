@@ -82,6 +82,12 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
     @Transient
     private boolean modified = false;
 
+    /**
+     * Index of the metadata by field, built on the first lookup
+     */
+    @Transient
+    private MetadataValueIndex metadataIndex;
+
     /**
      * This will read our predefinedUUID property to pass it along to the UUID generator
      */
@@ -176,6 +182,18 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
 
     public void setMetadata(List<MetadataValue> metadata) {
         this.metadata = metadata;
+        this.metadataIndex = null;
+    }
+
+    /**
+     * @return the index of the metadata of this object, rebuilt if the
+     *         metadata have been changed since the last lookup
+     */
+    MetadataValueIndex getMetadataIndex() {
+        if (metadataIndex == null || !metadataIndex.isValidFor(getMetadata())) {
+            metadataIndex = new MetadataValueIndex(getMetadata());
+        }
+        return metadataIndex;
     }
 
     protected void removeMetadata(MetadataValue metadataValue) {
@@ -205,6 +223,7 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
 
     protected void setMetadataModified() {
         this.modifiedMetadata = true;
+        this.metadataIndex = null;
     }
 
     public boolean isModified() {
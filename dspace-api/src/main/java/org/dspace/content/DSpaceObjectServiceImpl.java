@@ -124,9 +124,9 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
 
     @Override
     public List<MetadataValue> getMetadata(T dso, String schema, String element, String qualifier, String lang) {
-        // Build up list of matching values
+        // Build up list of matching values, among the ones indexed under the element and qualifier
         List<MetadataValue> values = new ArrayList<>();
-        for (MetadataValue dcv : dso.getMetadata()) {
+        for (MetadataValue dcv : dso.getMetadataIndex().getCandidates(element, qualifier)) {
             if (match(schema, element, qualifier, dcv)) {
                 values.add(dcv);
             }
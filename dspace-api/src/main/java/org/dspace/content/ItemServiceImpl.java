@@ -22,6 +22,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -120,6 +121,12 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
      */
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(Item.class);
 
+    /**
+     * Maximum number of values looked up by a single query, to stay within
+     * the limits of the databases on the size of the IN lists.
+     */
+    private static final int FIND_BY_VALUES_BATCH_SIZE = 500;
+
     @Autowired(required = true)
     protected ItemDAO itemDAO;
 
@@ -416,6 +423,11 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return itemDAO.findAllRegularItems(context);
     }
 
+    @Override
+    public List<UUID> findAllRegularItemIds(Context context) throws SQLException {
+        return itemDAO.findAllRegularItemIds(context);
+    }
+
     @Override
     public Iterator<Item> findBySubmitter(Context context, EPerson eperson) throws SQLException {
         return itemDAO.findBySubmitter(context, eperson);
@@ -1692,6 +1704,37 @@ prevent the generation of resource policy entry values with null dspace_object a
         }
     }
 
+    @Override
+    public Map<String, List<Item>> findUnfilteredByMetadataFieldValues(Context context, String schema,
+        String element, String qualifier, List<String> values) throws SQLException {
+        MetadataSchema mds = metadataSchemaService.find(context, schema);
+        if (mds == null) {
+            throw new IllegalArgumentException("No such metadata schema: " + schema);
+        }
+        MetadataField mdf = metadataFieldService.findByElement(context, mds, element, qualifier);
+        if (mdf == null) {
+            throw new IllegalArgumentException(
+                    "No such metadata field: schema=" + schema + ", element=" + element + ", qualifier=" + qualifier);
+        }
+
+        Map<String, List<Item>> items = new LinkedHashMap<>();
+        List<String> distinctValues = values.stream().distinct().collect(Collectors.toList());
+        for (int start = 0; start < distinctValues.size(); start += FIND_BY_VALUES_BATCH_SIZE) {
+            List<String> batch = distinctValues.subList(start,
+                Math.min(start + FIND_BY_VALUES_BATCH_SIZE, distinctValues.size()));
+            for (Map.Entry<String, List<UUID>> entry : itemDAO.findIdsByMetadataFieldValues(context, mdf, batch)
+                .entrySet()) {
+                for (UUID uuid : entry.getValue()) {
+                    Item item = find(context, uuid);
+                    if (item != null) {
+                        items.computeIfAbsent(entry.getKey(), value -> new ArrayList<>()).add(item);
+                    }
+                }
+            }
+        }
+        return items;
+    }
+
     @Override
     public Iterator<Item> findByMetadataQuery(Context context, List<List<MetadataField>> listFieldList,
                                               List<String> query_op, List<String> query_val, List<UUID> collectionUuids,
@@ -1988,7 +2031,7 @@ prevent the generation of resource policy entry values with null dspace_object a
         log.debug("Called getMetadata for " + item.getID() + " based on cache");
         // Build up list of matching values based on the cache
         List<MetadataValue> values = new ArrayList<>();
-        for (MetadataValue dcv : item.getCachedMetadata()) {
+        for (MetadataValue dcv : item.getCachedMetadataIndex().getCandidates(element, qualifier)) {
             if (match(schema, element, qualifier, dcv)) {
                 values.add(dcv);
             }
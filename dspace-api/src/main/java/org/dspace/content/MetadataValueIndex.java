@@ -0,0 +1,83 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Index of a list of metadata values by element and by element and
+ * qualifier, used to look the values of a field up without scanning all the
+ * metadata of an object.
+ * <p>
+ * The index returns the candidate values for a lookup, in the order of the
+ * indexed list: the candidates still have to be matched against the schema
+ * and the language. It is valid as long as the indexed list is not changed,
+ * the objects holding it discard the index when their metadata are modified.
+ */
+final class MetadataValueIndex {
+
+    private final List<MetadataValue> values;
+
+    private final int size;
+
+    private final Map<String, List<MetadataValue>> byElement = new HashMap<>();
+
+    private final Map<String, List<MetadataValue>> byElementAndQualifier = new HashMap<>();
+
+    MetadataValueIndex(List<MetadataValue> values) {
+        this.values = values;
+        this.size = values.size();
+        for (MetadataValue value : values) {
+            MetadataField metadataField = value.getMetadataField();
+            String key = key(metadataField.getElement(), metadataField.getQualifier());
+            byElement.computeIfAbsent(metadataField.getElement(), element -> new ArrayList<>()).add(value);
+            byElementAndQualifier.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        }
+    }
+
+    /**
+     * @param values the metadata values of the object
+     * @return true if this index has been built on the given list and the list
+     *         has not been visibly changed since then
+     */
+    boolean isValidFor(List<MetadataValue> values) {
+        return this.values == values && size == values.size();
+    }
+
+    /**
+     * Get the values that can match the given element and qualifier, following
+     * the semantic of {@link DSpaceObjectServiceImpl#match(String, String, String, MetadataValue)}:
+     * a blank qualifier matches the unqualified values only.
+     *
+     * @param element   the element, or <code>Item.ANY</code>
+     * @param qualifier the qualifier, or <code>Item.ANY</code>
+     * @return the candidate values, in the order of the indexed list
+     */
+    List<MetadataValue> getCandidates(String element, String qualifier) {
+        if (Item.ANY.equals(element)) {
+            return values;
+        }
+        List<MetadataValue> candidates;
+        if (Item.ANY.equals(qualifier)) {
+            candidates = byElement.get(element);
+        } else {
+            candidates = byElementAndQualifier.get(key(element, StringUtils.isBlank(qualifier) ? null : qualifier));
+        }
+        return candidates != null ? candidates : Collections.emptyList();
+    }
+
+    private static String key(String element, String qualifier) {
+        return qualifier == null ? element : element + "." + qualifier;
+    }
+}
@@ -11,6 +11,7 @@ import java.sql.SQLException;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.dspace.content.Collection;
@@ -48,6 +49,15 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
      */
     public Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find the ids of all the regular items (see {@link #findAllRegularItems(Context)}), in ascending order.
+     * Contiguous sublists of the result are UUID ranges that can be processed independently.
+     * @param context the DSpace context.
+     * @return the ordered list of the ids of all regular items.
+     * @throws SQLException if database error.
+     */
+    public List<UUID> findAllRegularItemIds(Context context) throws SQLException;
+
     /**
      * Find all Items modified since a Date.
      *
@@ -83,6 +93,19 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
     public Iterator<Item> findByMetadataField(Context context, MetadataField metadataField, String value)
         throws SQLException;
 
+    /**
+     * Find the ids of all the items, archived or not, having one of the given
+     * values in the given metadata field, with a single query.
+     *
+     * @param  context       DSpace context object
+     * @param  metadataField the metadata field
+     * @param  values        the values to look for
+     * @return               the ids of the found items, grouped by value
+     * @throws SQLException  if database error
+     */
+    public Map<String, List<UUID>> findIdsByMetadataFieldValues(Context context, MetadataField metadataField,
+        List<String> values) throws SQLException;
+
     public Iterator<Item> findByMetadataQuery(Context context, List<List<MetadataField>> listFieldList,
                                               List<String> query_op, List<String> query_val, List<UUID> collectionUuids,
                                               String regexClause, int offset, int limit) throws SQLException;
@@ -8,10 +8,13 @@
 package org.dspace.content.dao.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import javax.persistence.Query;
@@ -89,6 +92,11 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
 
     @Override
     public Iterator<Item> findAllRegularItems(Context context) throws SQLException {
+        return new UUIDIterator<Item>(context, findAllRegularItemIds(context), Item.class, this);
+    }
+
+    @Override
+    public List<UUID> findAllRegularItemIds(Context context) throws SQLException {
         // NOTE: This query includes archived items, withdrawn items and older versions of items.
         //       It does not include workspace, workflow or template items.
         Query query = createQuery(
@@ -100,7 +108,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         );
         @SuppressWarnings("unchecked")
         List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return uuids;
     }
 
     @Override
@@ -213,6 +221,24 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         return new UUIDIterator<Item>(context, uuids, Item.class, this);
     }
 
+    @Override
+    public Map<String, List<UUID>> findIdsByMetadataFieldValues(Context context, MetadataField metadataField,
+        List<String> values) throws SQLException {
+        Query query = createQuery(context, "SELECT STR(metadatavalue.value), item.id " +
+            "FROM Item as item join item.metadata metadatavalue " +
+            "WHERE metadatavalue.metadataField = :metadata_field AND STR(metadatavalue.value) IN (:text_values)");
+
+        query.setParameter("metadata_field", metadataField);
+        query.setParameter("text_values", values);
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        Map<String, List<UUID>> uuids = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            uuids.computeIfAbsent((String) row[0], value -> new ArrayList<>()).add((UUID) row[1]);
+        }
+        return uuids;
+    }
+
     enum OP {
         equals {
             public Criterion buildPredicate(String val, String regexClause) {
@@ -7,8 +7,12 @@
  */
 package org.dspace.content.integration.crosswalks;
 
+import java.io.IOException;
 import java.io.OutputStream;
-import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 /**
@@ -28,13 +32,9 @@ public class CsvCrosswalk extends TabularCrosswalk {
         return "text/csv";
     }
 
-    protected void writeRows(List<List<String>> rows, OutputStream out) {
-        try (PrintWriter writer = new PrintWriter(out)) {
-            for (List<String> row : rows) {
-                writer.write(String.join(getFieldsSeparator(), row));
-                writer.write("\n");
-            }
-        }
+    @Override
+    protected RowWriter createRowWriter(OutputStream out) throws IOException {
+        return new CsvRowWriter(out);
     }
 
     protected String getValuesSeparator() {
@@ -57,4 +57,48 @@ public class CsvCrosswalk extends TabularCrosswalk {
         return configurationService.getProperty("crosswalk.csv.separator.fields", ",");
     }
 
+    /**
+     * Writer of the rows in a temporary file, copied into the output stream
+     * only when the export is finished.
+     */
+    private class CsvRowWriter implements RowWriter {
+
+        private final OutputStream out;
+
+        private final String fieldsSeparator = getFieldsSeparator();
+
+        private final Path tempFile;
+
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream out) throws IOException {
+            this.out = out;
+            this.tempFile = Files.createTempFile("csv-export", ".csv");
+            this.writer = Files.newBufferedWriter(tempFile, Charset.defaultCharset());
+        }
+
+        @Override
+        public void writeRow(List<String> row) throws IOException {
+            writer.write(String.join(fieldsSeparator, row));
+            writer.write("\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.close();
+            Files.copy(tempFile, out);
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                writer.close();
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+
+    }
+
 }
@@ -8,6 +8,7 @@
 package org.dspace.content.integration.crosswalks;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -122,12 +123,16 @@ public abstract class TabularCrosswalk implements ItemExportCrosswalk {
     }
 
     /**
-     * Write the given rows into the given outputstream in a specific format.
+     * Create a writer of rows into the given outputstream in a specific format.
+     * The rows are passed to the writer as soon as they are built, so that the
+     * exported items are never all kept in memory.
      *
-     * @param rows the rows to write
-     * @param out the OutputStream to write into
+     * @param  out         the OutputStream to write into
+     * @return             the row writer, finished when all the rows are written
+     *                     and always closed
+     * @throws IOException if the writer cannot be created
      */
-    protected abstract void writeRows(List<List<String>> rows, OutputStream out);
+    protected abstract RowWriter createRowWriter(OutputStream out) throws IOException;
 
     /**
      * Returns the separator string of the values of the same field.
@@ -167,19 +172,21 @@ public abstract class TabularCrosswalk implements ItemExportCrosswalk {
     public void disseminate(Context context, Iterator<? extends DSpaceObject> dsoIterator, OutputStream out)
         throws CrosswalkException, IOException, SQLException, AuthorizeException {
 
-        List<List<String>> rows = new ArrayList<>();
-        rows.add(getHeader());
+        try (RowWriter rowWriter = createRowWriter(out)) {
 
-        while (dsoIterator.hasNext()) {
-            DSpaceObject dso = dsoIterator.next();
-            if (!canDisseminate(context, dso)) {
-                throw new CrosswalkObjectNotSupported(
-                    "Can only crosswalk an Item with the configured type: " + entityType);
+            rowWriter.writeRow(getHeader());
+
+            while (dsoIterator.hasNext()) {
+                DSpaceObject dso = dsoIterator.next();
+                if (!canDisseminate(context, dso)) {
+                    throw new CrosswalkObjectNotSupported(
+                        "Can only crosswalk an Item with the configured type: " + entityType);
+                }
+                rowWriter.writeRow(getRow(context, dso));
             }
-            rows.add(getRow(context, dso));
-        }
 
-        writeRows(rows, out);
+            rowWriter.finish();
+        }
     }
 
     @Override
@@ -354,4 +361,28 @@ public abstract class TabularCrosswalk implements ItemExportCrosswalk {
     public CrosswalkMode getCrosswalkMode() {
         return Optional.ofNullable(this.crosswalkMode).orElse(ItemExportCrosswalk.super.getCrosswalkMode());
     }
+
+    /**
+     * Writer of the rows of a tabular export. The export is completed only by
+     * {@link #finish()}, so that closing the writer after a failure never
+     * writes a truncated export.
+     */
+    protected interface RowWriter extends Closeable {
+
+        /**
+         * Write the given row.
+         *
+         * @param  row         the values of the row
+         * @throws IOException if an error occurs writing the row
+         */
+        void writeRow(List<String> row) throws IOException;
+
+        /**
+         * Complete the export, writing into the output stream what is still
+         * pending.
+         *
+         * @throws IOException if an error occurs writing the export
+         */
+        void finish() throws IOException;
+    }
 }
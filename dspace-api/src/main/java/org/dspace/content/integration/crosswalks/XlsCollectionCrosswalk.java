@@ -16,7 +16,6 @@ import java.sql.SQLException;
 import java.util.Iterator;
 
 import org.apache.commons.collections4.IteratorUtils;
-import org.apache.poi.ss.usermodel.Workbook;
 import org.dspace.app.bulkedit.BulkImport;
 import org.dspace.app.bulkimport.service.BulkImportWorkbookBuilder;
 import org.dspace.authorize.AuthorizeException;
@@ -59,12 +58,12 @@ public class XlsCollectionCrosswalk implements ItemExportCrosswalk {
 
     @Override
     public String getMIMEType() {
-        return "application/vnd.ms-excel";
+        return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
     }
 
     @Override
     public String getFileName() {
-        return "items.xls";
+        return "items.xlsx";
     }
 
     public CrosswalkMode getCrosswalkMode() {
@@ -106,11 +105,7 @@ public class XlsCollectionCrosswalk implements ItemExportCrosswalk {
 
     private void writeWorkbook(Context context, Collection collection, Iterator<Item> itemIterator, OutputStream out)
         throws IOException {
-
-        try (Workbook workbook = bulkImportWorkbookBuilder.buildForItems(context, collection, itemIterator)) {
-            workbook.write(out);
-        }
-
+        bulkImportWorkbookBuilder.writeForItems(context, collection, itemIterator, out);
     }
 
     private Iterator<Item> convertToItemIterator(Iterator<? extends DSpaceObject> dsoIterator) {
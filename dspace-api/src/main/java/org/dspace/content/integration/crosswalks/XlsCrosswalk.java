@@ -12,11 +12,10 @@ import java.io.OutputStream;
 import java.util.List;
 
 import org.apache.commons.lang.StringUtils;
-import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 /**
  * Implementation of {@StreamDisseminationCrosswalk} to produce a xls file starting from a template.
@@ -30,44 +29,12 @@ public class XlsCrosswalk extends TabularCrosswalk {
 
     @Override
     public String getMIMEType() {
-        return "application/vnd.ms-excel";
+        return "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
     }
 
     @Override
-    protected void writeRows(List<List<String>> rows, OutputStream out) {
-
-        try (Workbook workbook = new HSSFWorkbook()) {
-
-            Sheet sheet = workbook.createSheet(sheetName);
-
-            int rowCount = 0;
-            for (List<String> row : rows) {
-                Row sheetRow = sheet.createRow(rowCount++);
-                int cellCount = 0;
-                for (String field : row) {
-                    Cell cell = sheetRow.createCell(cellCount++);
-                    cell.setCellValue(StringUtils.length(field) > 32726 ? field.substring(0, 32725) + "…" : field );
-                }
-            }
-
-            autoSizeColumns(sheet);
-
-            workbook.write(out);
-
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-
-    }
-
-    private void autoSizeColumns(Sheet sheet) {
-        if (sheet.getPhysicalNumberOfRows() > 0) {
-            Row row = sheet.getRow(sheet.getFirstRowNum());
-            for (Cell cell : row) {
-                int columnIndex = cell.getColumnIndex();
-                sheet.autoSizeColumn(columnIndex);
-            }
-        }
+    protected RowWriter createRowWriter(OutputStream out) {
+        return new XlsRowWriter(out);
     }
 
     protected String getValuesSeparator() {
@@ -90,4 +57,57 @@ public class XlsCrosswalk extends TabularCrosswalk {
         this.sheetName = sheetName;
     }
 
+    /**
+     * Writer of the rows in a streaming workbook, that keeps in memory only the
+     * last rows written.
+     */
+    private class XlsRowWriter implements RowWriter {
+
+        private final OutputStream out;
+
+        private final SXSSFWorkbook workbook;
+
+        private final SXSSFSheet sheet;
+
+        private int rowCount;
+
+        private int columnCount;
+
+        private XlsRowWriter(OutputStream out) {
+            this.out = out;
+            this.workbook = new SXSSFWorkbook(null, SXSSFWorkbook.DEFAULT_WINDOW_SIZE, true);
+            this.sheet = workbook.createSheet(sheetName);
+            this.sheet.trackAllColumnsForAutoSizing();
+        }
+
+        @Override
+        public void writeRow(List<String> row) {
+            Row sheetRow = sheet.createRow(rowCount++);
+            columnCount = Math.max(columnCount, row.size());
+            int cellCount = 0;
+            for (String field : row) {
+                Cell cell = sheetRow.createCell(cellCount++);
+                cell.setCellValue(StringUtils.length(field) > 32726 ? field.substring(0, 32725) + "…" : field );
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            for (int column = 0; column < columnCount; column++) {
+                sheet.autoSizeColumn(column);
+            }
+            workbook.write(out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                workbook.dispose();
+            } finally {
+                workbook.close();
+            }
+        }
+
+    }
+
 }
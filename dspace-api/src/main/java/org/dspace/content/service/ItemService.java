@@ -13,6 +13,7 @@ import java.sql.SQLException;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.dspace.authorize.AuthorizeException;
@@ -130,6 +131,15 @@ public interface ItemService
      */
     public Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find the ids of all the regular items (see {@link #findAllRegularItems(Context)}), in ascending order.
+     * Contiguous sublists of the result are UUID ranges that can be processed independently.
+     * @param context the DSpace context.
+     * @return the ordered list of the ids of all regular items.
+     * @throws SQLException if database error.
+     */
+    public List<UUID> findAllRegularItemIds(Context context) throws SQLException;
+
     /**
      * Find all the items in the archive by a given submitter. The order is
      * indeterminate. Only items with the "in archive" flag set are included.
@@ -735,6 +745,22 @@ public interface ItemService
     public Iterator<Item> findUnfilteredByMetadataField(Context context, String schema, String element,
         String qualifier, String value) throws SQLException, AuthorizeException;
 
+    /**
+     * Find all the items, archived or not, having one of the given values in
+     * the given metadata field, querying the database once for each block of
+     * values instead of once for each value.
+     *
+     * @param  context   DSpace context object
+     * @param  schema    metadata field schema
+     * @param  element   metadata field element
+     * @param  qualifier metadata field qualifier
+     * @param  values    the values to look for
+     * @return           the found items, grouped by value
+     * @throws SQLException if database error
+     */
+    public Map<String, List<Item>> findUnfilteredByMetadataFieldValues(Context context, String schema,
+        String element, String qualifier, List<String> values) throws SQLException;
+
     public Iterator<Item> findByMetadataQuery(Context context, List<List<MetadataField>> listFieldList,
                                               List<String> query_op, List<String> query_val, List<UUID> collectionUuids,
                                               String regexClause, int offset, int limit)
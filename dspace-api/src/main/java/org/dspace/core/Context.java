@@ -10,10 +10,12 @@ package org.dspace.core;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
@@ -124,6 +126,12 @@ public class Context implements AutoCloseable {
      */
     private final ContextReadOnlyCache readOnlyCache = new ContextReadOnlyCache();
 
+    /**
+     * Authorization results resolved in bulk ahead of the single checks, see
+     * {@link #cachePrefetchedAuthorizationResult}
+     */
+    private final Map<AuthorizedActionKey, Boolean> prefetchedAuthorizations = new HashMap<>();
+
     protected EventService eventService;
 
     private DBConnection dbConnection;
@@ -252,6 +260,7 @@ public class Context implements AutoCloseable {
      */
     public void setCurrentUser(EPerson user) {
         currentUser = user;
+        clearPrefetchedAuthorizationResults();
     }
 
     /**
@@ -355,6 +364,8 @@ public class Context implements AutoCloseable {
             }
         }
         ignoreAuth = previousState;
+        // the policies could have been changed while the authorization system was off
+        clearPrefetchedAuthorizationResults();
     }
 
     /**
@@ -443,6 +454,7 @@ public class Context implements AutoCloseable {
                 log.debug("Cache size on commit is " + getCacheSize());
             }
 
+            clearPrefetchedAuthorizationResults();
             if (dbConnection != null) {
                 // Commit our changes (this closes the transaction but leaves database connection open)
                 dbConnection.commit();
@@ -570,6 +582,7 @@ public class Context implements AutoCloseable {
             }
         } finally {
             events = null;
+            clearPrefetchedAuthorizationResults();
         }
     }
 
@@ -608,6 +621,7 @@ public class Context implements AutoCloseable {
                 log.error("Error closing the database connection", ex);
             }
             events = null;
+            clearPrefetchedAuthorizationResults();
         }
     }
 
@@ -720,6 +734,7 @@ public class Context implements AutoCloseable {
         specialGroupsPreviousState = specialGroups;
         specialGroups = new HashSet<>();
         currentUser = newUser;
+        clearPrefetchedAuthorizationResults();
     }
 
     /**
@@ -735,6 +750,7 @@ public class Context implements AutoCloseable {
         specialGroups = specialGroupsPreviousState;
         specialGroupsPreviousState = null;
         currentUserPreviousState = null;
+        clearPrefetchedAuthorizationResults();
     }
 
     /**
@@ -933,6 +949,45 @@ public class Context implements AutoCloseable {
         }
     }
 
+    /**
+     * Store an authorization result resolved in bulk, so that the next single
+     * check of the same action can use it instead of querying the policies
+     * again. Unlike the read-only cache, it is used in any mode: each result is
+     * used at most once and all the results are discarded when the transaction
+     * ends, the user changes, or the policies are changed.
+     *
+     * @param dspaceObject the object the action is performed on
+     * @param action       the action
+     * @param eperson      the user performing the action
+     * @param result       whether the action is authorized
+     */
+    public void cachePrefetchedAuthorizationResult(DSpaceObject dspaceObject, int action, EPerson eperson,
+        boolean result) {
+        prefetchedAuthorizations.put(AuthorizedActionKey.of(dspaceObject, action, eperson, true), result);
+    }
+
+    /**
+     * Take the authorization result stored by
+     * {@link #cachePrefetchedAuthorizationResult}, if any.
+     *
+     * @return the stored result, or null if there is none
+     */
+    public Boolean pollPrefetchedAuthorizationResult(DSpaceObject dspaceObject, int action, EPerson eperson) {
+        if (prefetchedAuthorizations.isEmpty()) {
+            return null;
+        }
+        return prefetchedAuthorizations.remove(AuthorizedActionKey.of(dspaceObject, action, eperson, true));
+    }
+
+    /**
+     * Discard all the authorization results stored by
+     * {@link #cachePrefetchedAuthorizationResult}, as the policies or the user
+     * they were resolved with changed.
+     */
+    public void clearPrefetchedAuthorizationResults() {
+        prefetchedAuthorizations.clear();
+    }
+
     public Boolean getCachedGroupMembership(Group group, EPerson eperson) {
         if (isReadOnly()) {
             return readOnlyCache.getCachedGroupMembership(group, eperson);
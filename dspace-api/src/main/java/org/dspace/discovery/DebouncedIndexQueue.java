@@ -0,0 +1,322 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Asynchronous queue of the objects to be (re)indexed in discovery, shared by
+ * all the contexts of the JVM.
+ * <p>
+ * Objects are identified by their unique index id, so that multiple requests
+ * to index the same object are coalesced in a single entry. An entry is
+ * indexed when it has not been requested again for the configured debounce
+ * window (or at the latest after the configured maximum delay), by a pool of
+ * background workers that send the documents to solr in batches.
+ * <p>
+ * An object stays in flight from its dispatch to a worker until the worker
+ * is done with it: a new request for it waits in the queue meanwhile, so
+ * that the documents of the same object are never sent by two workers at
+ * the same time, and thus never stored in the wrong order.
+ */
+public class DebouncedIndexQueue implements InitializingBean {
+
+    private static final Logger log = LogManager.getLogger();
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private IndexingService indexingService;
+
+    @Autowired
+    private SolrSearchCore solrSearchCore;
+
+    private final Map<String, PendingEntry> pending = new ConcurrentHashMap<>();
+
+    /** The ids of the objects dispatched to a worker and not indexed yet. */
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger inProgress = new AtomicInteger();
+
+    private final AtomicLong indexedObjects = new AtomicLong();
+
+    private final AtomicLong coalescedRequests = new AtomicLong();
+
+    private final AtomicLong failedObjects = new AtomicLong();
+
+    private volatile long lastIndexingLag;
+
+    private long debounce;
+
+    private long maxDelay;
+
+    private int batchSize;
+
+    private ScheduledExecutorService scheduler;
+
+    private ExecutorService workers;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        start(configurationService.getLongProperty("discovery.index.async.debounce", 2000),
+              configurationService.getLongProperty("discovery.index.async.max-delay", 30000),
+              configurationService.getIntProperty("discovery.index.async.batch-size", 100),
+              configurationService.getIntProperty("discovery.index.async.threads", 2));
+    }
+
+    void start(long debounce, long maxDelay, int batchSize, int threads) {
+        this.debounce = debounce;
+        this.maxDelay = maxDelay;
+        this.batchSize = Math.max(batchSize, 1);
+
+        AtomicInteger workerCount = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(Math.max(threads, 1), runnable -> {
+            Thread thread = new Thread(runnable, "discovery-index-queue-worker-" + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "discovery-index-queue");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(debounce / 2, 100);
+        scheduler.scheduleWithFixedDelay(this::dispatch, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Request the (re)indexing of the object with the given unique index id.
+     *
+     * @param uniqueIndexId the unique index id of the object, in the form {type}-{id}
+     * @param unindexFirst  whether the existing documents of the object must be
+     *                      removed from the index before indexing it again
+     */
+    public void enqueue(String uniqueIndexId, boolean unindexFirst) {
+        long now = System.currentTimeMillis();
+        pending.compute(uniqueIndexId, (id, entry) -> {
+            if (entry == null) {
+                return new PendingEntry(id, unindexFirst, now);
+            }
+            coalescedRequests.incrementAndGet();
+            entry.lastRequest = now;
+            entry.unindexFirst |= unindexFirst;
+            return entry;
+        });
+    }
+
+    /**
+     * Hand the entries whose debounce window is expired over to the workers.
+     */
+    private void dispatch() {
+        try {
+            long now = System.currentTimeMillis();
+            List<PendingEntry> ready = new ArrayList<>();
+            Iterator<PendingEntry> iterator = pending.values().iterator();
+            while (iterator.hasNext()) {
+                PendingEntry entry = iterator.next();
+                if (inFlight.contains(entry.uniqueIndexId)) {
+                    // wait for the worker indexing the object to finish
+                    continue;
+                }
+                if (entry.lastRequest + debounce <= now || entry.firstRequest + maxDelay <= now) {
+                    if (pending.remove(entry.uniqueIndexId, entry)) {
+                        inFlight.add(entry.uniqueIndexId);
+                        ready.add(entry);
+                    }
+                }
+                if (ready.size() >= batchSize) {
+                    submit(ready);
+                    ready = new ArrayList<>();
+                }
+            }
+            if (!ready.isEmpty()) {
+                submit(ready);
+            }
+        } catch (RuntimeException e) {
+            log.error("Error dispatching the discovery index queue", e);
+        }
+    }
+
+    private void submit(List<PendingEntry> batch) {
+        inProgress.addAndGet(batch.size());
+        workers.execute(() -> {
+            try {
+                index(batch);
+            } finally {
+                batch.forEach(entry -> inFlight.remove(entry.uniqueIndexId));
+                inProgress.addAndGet(-batch.size());
+            }
+        });
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void index(List<PendingEntry> batch) {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        context.turnOffAuthorisationSystem();
+        try {
+            IndexObjectFactoryFactory indexObjectFactoryFactory = IndexObjectFactoryFactory.getInstance();
+            List<SolrInputDocument> documents = new ArrayList<>(batch.size());
+            for (PendingEntry entry : batch) {
+                try {
+                    if (entry.unindexFirst) {
+                        indexingService.unIndexContent(context, entry.uniqueIndexId, false);
+                    }
+                    IndexFactory indexFactory = indexObjectFactoryFactory
+                        .getIndexableObjectFactory(entry.uniqueIndexId);
+                    Optional<IndexableObject> indexableObject = indexFactory.findIndexableObject(context,
+                        StringUtils.substringAfter(entry.uniqueIndexId, "-"));
+                    if (indexableObject.isPresent()) {
+                        documents.add(indexFactory.buildCompleteDocument(context, indexableObject.get()));
+                        context.uncacheEntity(indexableObject.get().getIndexedObject());
+                    } else {
+                        // the object has been deleted in the meantime
+                        indexingService.unIndexContent(context, entry.uniqueIndexId, false);
+                    }
+                } catch (Exception e) {
+                    failedObjects.incrementAndGet();
+                    log.error("Failed while indexing object: " + entry.uniqueIndexId, e);
+                }
+            }
+
+            SolrClient solr = solrSearchCore.getSolr();
+            if (solr != null) {
+                if (!documents.isEmpty()) {
+                    solr.add(documents);
+                }
+                solr.commit();
+            }
+            indexedObjects.addAndGet(documents.size());
+            lastIndexingLag = System.currentTimeMillis() - batch.get(0).firstRequest;
+        } catch (Exception e) {
+            failedObjects.addAndGet(batch.size());
+            log.error("Failed while indexing a batch of " + batch.size() + " objects", e);
+        } finally {
+            context.abort();
+        }
+    }
+
+    /**
+     * Stop the background threads, indexing all the pending entries first.
+     */
+    public void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        maxDelay = 0;
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(60);
+        try {
+            // the entries requested again while in flight are dispatched once their worker is done
+            dispatch();
+            while (!pending.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+                dispatch();
+            }
+            workers.shutdown();
+            if (!workers.awaitTermination(Math.max(deadline - System.currentTimeMillis(), 1),
+                                          TimeUnit.MILLISECONDS)) {
+                log.warn("Discovery index queue stopped with {} objects still to be indexed", getQueueSize());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the number of objects waiting to be indexed, including the ones being indexed right now
+     */
+    public int getQueueSize() {
+        return pending.size() + inProgress.get();
+    }
+
+    /**
+     * @return the time, in milliseconds, since the oldest pending request was
+     *         enqueued, i.e. how far behind the index currently is
+     */
+    public long getLag() {
+        long now = System.currentTimeMillis();
+        return pending.values().stream()
+                      .mapToLong(entry -> now - entry.firstRequest)
+                      .max()
+                      .orElse(0);
+    }
+
+    /**
+     * @return the time, in milliseconds, elapsed between the first request and
+     *         the indexing of the last indexed batch
+     */
+    public long getLastIndexingLag() {
+        return lastIndexingLag;
+    }
+
+    public long getIndexedObjects() {
+        return indexedObjects.get();
+    }
+
+    /**
+     * @return the number of requests merged into an already pending entry
+     */
+    public long getCoalescedRequests() {
+        return coalescedRequests.get();
+    }
+
+    public long getFailedObjects() {
+        return failedObjects.get();
+    }
+
+    static class PendingEntry {
+
+        private final String uniqueIndexId;
+
+        private final long firstRequest;
+
+        private volatile long lastRequest;
+
+        private volatile boolean unindexFirst;
+
+        private PendingEntry(String uniqueIndexId, boolean unindexFirst, long now) {
+            this.uniqueIndexId = uniqueIndexId;
+            this.unindexFirst = unindexFirst;
+            this.firstRequest = now;
+            this.lastRequest = now;
+        }
+
+        String getUniqueIndexId() {
+            return uniqueIndexId;
+        }
+
+        boolean isUnindexFirst() {
+            return unindexFirst;
+        }
+    }
+}
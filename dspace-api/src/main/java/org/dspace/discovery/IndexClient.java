@@ -30,6 +30,7 @@ import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.metrics.UpdateCrisMetricsInSolrDocService;
 import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
 
@@ -47,6 +48,9 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
 
     private UpdateCrisMetricsInSolrDocService updateCrisMetricsInSolrDocService;
 
+    private ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                             .getConfigurationService();
+
     @Override
     public void internalRun() throws Exception {
         if (indexClientOptions == IndexClientOptions.HELP) {
@@ -117,7 +121,12 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             indexClientOptions == IndexClientOptions.BUILDANDSPELLCHECK) {
             handler.logInfo("(Re)building index from scratch.");
             indexer.deleteIndex();
-            indexer.createIndex(context);
+            int threads = getThreads();
+            if (threads > 1) {
+                buildIndexInParallel(threads);
+            } else {
+                indexer.createIndex(context);
+            }
             if (indexClientOptions == IndexClientOptions.BUILDANDSPELLCHECK) {
                 checkRebuildSpellCheck(commandLine, indexer);
             }
@@ -170,6 +179,47 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
         updateCrisMetricsInSolrDocService = new DSpace().getServiceManager().getServiceByName(
                 UpdateCrisMetricsInSolrDocService.class.getName(), UpdateCrisMetricsInSolrDocService.class);
     }
+
+    /**
+     * Returns the number of threads to be used to rebuild the index, taken from
+     * the -t option or from the discovery.index.build.threads configuration.
+     */
+    private int getThreads() {
+        if (commandLine.hasOption("t")) {
+            return Integer.parseInt(commandLine.getOptionValue("t"));
+        }
+        return configurationService.getIntProperty("discovery.index.build.threads", 1);
+    }
+
+    /**
+     * Rebuilds the index: the items are split in UUID ranges indexed by the
+     * given number of workers, while all other kind of objects are indexed
+     * sequentially.
+     *
+     * @param threads the number of threads used to index the items
+     */
+    private void buildIndexInParallel(int threads) throws Exception {
+        final long startTimeMillis = System.currentTimeMillis();
+        IndexObjectFactoryFactory indexObjectFactoryFactory = IndexObjectFactoryFactory.getInstance();
+        for (IndexFactory indexFactory : indexObjectFactoryFactory.getIndexFactories()) {
+            if (!IndexableItem.TYPE.equals(indexFactory.getType())) {
+                indexer.updateIndex(context, true, indexFactory.getType());
+            }
+        }
+
+        SolrSearchCore solrSearchCore = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServicesByType(SolrSearchCore.class).get(0);
+        @SuppressWarnings("unchecked")
+        IndexFactory<IndexableItem, Item> itemIndexFactory =
+            indexObjectFactoryFactory.getIndexFactoryByType(IndexableItem.TYPE);
+        PartitionedItemIndexer itemIndexer = new PartitionedItemIndexer(
+            ContentServiceFactory.getInstance().getItemService(), itemIndexFactory, solrSearchCore.getSolr(),
+            handler, threads, configurationService.getIntProperty("discovery.index.build.batch-size", 100));
+        final long count = itemIndexer.index(context);
+        final long seconds = (System.currentTimeMillis() - startTimeMillis) / 1000;
+        handler.logInfo("Indexed " + count + " items in " + seconds + " seconds");
+    }
+
     /**
      * Indexes the given object and all children, if applicable.
      *
@@ -84,6 +84,8 @@ public enum IndexClientOptions {
         options.addOption("s", "spellchecker", false, "Rebuild the spellchecker, can be combined with -b and -f.");
         options.addOption("f", "force", false,
                           "if updating existing index, force each handle to be reindexed even if uptodate");
+        options.addOption("t", "threads", true,
+                          "number of threads used to rebuild the item documents, can be combined with -b");
         options.addOption("h", "help", false, "print this help message");
         return options;
     }
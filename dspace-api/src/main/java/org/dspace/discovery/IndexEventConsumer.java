@@ -50,9 +50,17 @@ public class IndexEventConsumer implements Consumer {
 
     IndexObjectFactoryFactory indexObjectServiceFactory = IndexObjectFactoryFactory.getInstance();
 
+    // shared asynchronous queue, null if the objects are indexed synchronously
+    DebouncedIndexQueue indexQueue;
+
     @Override
     public void initialize() throws Exception {
-
+        if (DSpaceServicesFactory.getInstance().getConfigurationService()
+                                 .getBooleanProperty("discovery.index.async.enabled", false)) {
+            indexQueue = DSpaceServicesFactory.getInstance().getServiceManager()
+                                              .getServiceByName(DebouncedIndexQueue.class.getName(),
+                                                                DebouncedIndexQueue.class);
+        }
     }
 
     /**
@@ -210,6 +218,9 @@ public class IndexEventConsumer implements Consumer {
         ctx.setMode(Context.Mode.READ_ONLY);
 
         try {
+            if (indexQueue != null) {
+                enqueueUpdatedObjects();
+            }
             for (String uid : uniqueIdsToDelete) {
                 try {
                     indexer.unIndexContent(ctx, uid, false);
@@ -221,8 +232,10 @@ public class IndexEventConsumer implements Consumer {
                 }
             }
             // update the changed Items not deleted because they were on create list
-            for (IndexableObject iu : objectsToUpdate) {
-                indexObject(ctx, iu, false);
+            if (indexQueue == null) {
+                for (IndexableObject iu : objectsToUpdate) {
+                    indexObject(ctx, iu, false);
+                }
             }
             // update the created Items with a pre-db status
             for (IndexableObject iu : createdItemsToUpdate) {
@@ -243,6 +256,21 @@ public class IndexEventConsumer implements Consumer {
         }
     }
 
+    /**
+     * Hand the updated objects over to the asynchronous index queue. Their
+     * pending removals are performed by the queue as well, right before
+     * indexing them again, so that they don't disappear from the index in the
+     * meantime.
+     */
+    private void enqueueUpdatedObjects() {
+        for (IndexableObject iu : objectsToUpdate) {
+            String uniqueIndexID = iu.getUniqueIndexID();
+            if (uniqueIndexID != null) {
+                indexQueue.enqueue(uniqueIndexID, uniqueIdsToDelete.remove(uniqueIndexID));
+            }
+        }
+    }
+
     private void indexObject(Context ctx, IndexableObject iu, boolean preDb) throws SQLException {
         /* we let all types through here and
          * allow the search indexer to make
@@ -0,0 +1,170 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.content.Item;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.scripts.handler.DSpaceRunnableHandler;
+
+/**
+ * Rebuilds the item documents of the discovery core using several threads.
+ * The ordered list of the regular item ids is split into contiguous UUID
+ * ranges, one per worker. Every worker uses its own {@link Context} to load
+ * its items, builds their documents and sends them to solr in batches. A
+ * single commit is issued once all the workers are done.
+ */
+public class PartitionedItemIndexer {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private final ItemService itemService;
+
+    private final IndexFactory<IndexableItem, Item> itemIndexFactory;
+
+    private final SolrClient solr;
+
+    private final DSpaceRunnableHandler handler;
+
+    private final int threads;
+
+    private final int batchSize;
+
+    public PartitionedItemIndexer(ItemService itemService, IndexFactory<IndexableItem, Item> itemIndexFactory,
+                                  SolrClient solr, DSpaceRunnableHandler handler, int threads, int batchSize) {
+        if (threads <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("The number of threads and the batch size must be positive");
+        }
+        this.itemService = itemService;
+        this.itemIndexFactory = itemIndexFactory;
+        this.solr = solr;
+        this.handler = handler;
+        this.threads = threads;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Index all the regular items.
+     *
+     * @param context the context used to find the ids of the items to index
+     * @return the number of indexed items
+     */
+    public long index(Context context) throws SQLException, IOException, SolrServerException, InterruptedException {
+        List<UUID> ids = itemService.findAllRegularItemIds(context);
+        List<List<UUID>> partitions = partition(ids, threads);
+        handler.logInfo("Indexing " + ids.size() + " items with " + partitions.size() + " threads");
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<Future<Long>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < partitions.size(); i++) {
+                final int worker = i + 1;
+                final List<UUID> partition = partitions.get(i);
+                results.add(executorService.submit(() -> indexPartition(worker, partition)));
+            }
+
+            long count = 0;
+            for (Future<Long> result : results) {
+                count += result.get();
+            }
+            solr.commit();
+            return count;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("An error occurs indexing the items: " + e.getCause().getMessage(),
+                e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private long indexPartition(int worker, List<UUID> ids) throws Exception {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        handler.logInfo("Worker " + worker + " indexing items from " + ids.get(0) + " to " + ids.get(ids.size() - 1));
+        Context context = createContext();
+        context.turnOffAuthorisationSystem();
+        try {
+            long start = System.currentTimeMillis();
+            long count = 0;
+            List<SolrInputDocument> batch = new ArrayList<>(batchSize);
+            for (UUID id : ids) {
+                Item item = itemService.find(context, id);
+                if (item == null) {
+                    continue;
+                }
+                try {
+                    batch.add(itemIndexFactory.buildCompleteDocument(context, new IndexableItem(item)));
+                } catch (SQLException | IOException | RuntimeException e) {
+                    log.error("Error occurred while building SOLR document for item {}", id, e);
+                }
+                //To prevent memory issues, discard an object from the cache after processing
+                context.uncacheEntity(item);
+
+                if (batch.size() >= batchSize) {
+                    count += write(batch);
+                    handler.logInfo("Worker " + worker + ": " + count + "/" + ids.size() + " items indexed in "
+                        + (System.currentTimeMillis() - start) / 1000 + " seconds");
+                }
+            }
+            count += write(batch);
+            handler.logInfo("Worker " + worker + " completed: " + count + " items indexed in "
+                + (System.currentTimeMillis() - start) / 1000 + " seconds");
+            return count;
+        } finally {
+            context.abort();
+        }
+    }
+
+    /**
+     * @return a new read only context for a worker
+     */
+    protected Context createContext() {
+        return new Context(Context.Mode.READ_ONLY);
+    }
+
+    private int write(List<SolrInputDocument> batch) throws IOException, SolrServerException {
+        int size = batch.size();
+        if (size > 0) {
+            solr.add(batch);
+            batch.clear();
+        }
+        return size;
+    }
+
+    /**
+     * Split the given ordered list in at most the given number of contiguous
+     * sublists of (almost) the same size.
+     */
+    static List<List<UUID>> partition(List<UUID> ids, int partitions) {
+        List<List<UUID>> result = new ArrayList<>();
+        int size = ids.size();
+        int count = Math.max(1, Math.min(partitions, size));
+        for (int i = 0; i < count; i++) {
+            result.add(ids.subList((int) ((long) size * i / count), (int) ((long) size * (i + 1) / count)));
+        }
+        return result;
+    }
+}
@@ -49,6 +49,8 @@ import org.apache.solr.client.solrj.response.FacetField;
 import org.apache.solr.client.solrj.response.FieldStatsInfo;
 import org.apache.solr.client.solrj.response.PivotField;
 import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.client.solrj.response.json.BucketBasedJsonFacet;
+import org.apache.solr.client.solrj.response.json.NestableJsonFacet;
 import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
@@ -1258,6 +1260,17 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 }
             }
 
+            // the number of buckets of the json facets requested through the query properties
+            NestableJsonFacet jsonFacets = solrQueryResponse.getJsonFacetingResponse();
+            if (jsonFacets != null && !zombieFound) {
+                for (String facetName : jsonFacets.getBucketBasedFacetNames()) {
+                    long numBuckets = jsonFacets.getBucketBasedFacets(facetName).getNumBucketsCount();
+                    if (numBuckets != BucketBasedJsonFacet.UNSET_FLAG) {
+                        result.setFacetResultTotalElements(facetName, numBuckets);
+                    }
+                }
+            }
+
             // If any stale entries are found in the current page of results,
             // we remove those stale entries and rerun the same query again.
             // Otherwise, the query is valid and the results are returned.
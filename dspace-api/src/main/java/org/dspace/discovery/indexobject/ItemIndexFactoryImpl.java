@@ -752,6 +752,14 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         writeDocument(solrInputDocument, new FullTextContentStreams(context, indexableObject.getIndexedObject()));
     }
 
+    @Override
+    public SolrInputDocument buildCompleteDocument(Context context, IndexableItem indexableItem)
+            throws SQLException, IOException {
+        SolrInputDocument doc = buildDocument(context, indexableItem);
+        addFullText(doc, new FullTextContentStreams(context, indexableItem.getIndexedObject()));
+        return doc;
+    }
+
     @Override
     public List<String> getLocations(Context context, IndexableItem indexableDSpaceObject)
             throws SQLException {
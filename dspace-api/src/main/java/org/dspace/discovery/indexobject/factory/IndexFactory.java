@@ -54,6 +54,15 @@ public interface IndexFactory<T extends IndexableObject, S> {
      */
     SolrInputDocument buildNewDocument(Context context, T indexableObject) throws SQLException, IOException;
 
+    /**
+     * Create the solr document exactly as {@link #writeDocument(Context, IndexableObject, SolrInputDocument)}
+     * would store it, including the content added at write time (e.g. the full text of the bitstreams), so
+     * that the caller can send it to the search core together with other documents.
+     * @param indexableObject   the indexableObject that we want to index
+     * @return                  the complete solr document
+     */
+    SolrInputDocument buildCompleteDocument(Context context, T indexableObject) throws SQLException, IOException;
+
     /**
      * Write the provided document to the solr core
      * @param context               DSpace context object
@@ -0,0 +1,160 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JVM-wide cache of the groups each EPerson is a member of, directly or
+ * through the group hierarchy, as stored in the database. Unlike the context
+ * read-only cache, it is shared by all the contexts, so that the group
+ * closure of a user is not recomputed on each request.
+ * <p>
+ * Special groups are not cached here, as they depend on the context.
+ * Entries expire after the configured time to live and the least recently
+ * used entry is evicted when the configured maximum size is reached. The
+ * {@link GroupServiceImpl} and the {@link GroupMembershipCacheConsumer}
+ * invalidate the entries when the group memberships change.
+ */
+public class GroupMembershipCache implements InitializingBean {
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private Map<UUID, CachedGroups> entries;
+
+    private boolean enabled;
+
+    private long timeToLive;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        enabled = configurationService.getBooleanProperty("eperson.group-membership.cache.enabled", false);
+        timeToLive = configurationService.getLongProperty("eperson.group-membership.cache.ttl", 300) * 1000;
+        int maxSize = configurationService.getIntProperty("eperson.group-membership.cache.max-size", 10000);
+        entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CachedGroups> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the generation to be passed to {@link #put(UUID, Set, long)}
+     *         when the groups of an EPerson are computed after a cache miss
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * @param ePersonId the id of the EPerson
+     * @return the ids of the groups the EPerson is a member of, or null if
+     *         they are not cached
+     */
+    public Set<UUID> get(UUID ePersonId) {
+        CachedGroups entry = entries.get(ePersonId);
+        if (entry == null || entry.expiration < System.currentTimeMillis()) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.groupIds;
+    }
+
+    /**
+     * Cache the groups of an EPerson, unless the cache has been invalidated
+     * since the given generation, i.e. while the groups were being computed.
+     *
+     * @param ePersonId  the id of the EPerson
+     * @param groupIds   the ids of the groups the EPerson is a member of
+     * @param generation the generation read before computing the groups
+     */
+    public void put(UUID ePersonId, Set<UUID> groupIds, long generation) {
+        CachedGroups entry = new CachedGroups(Collections.unmodifiableSet(groupIds),
+            System.currentTimeMillis() + timeToLive);
+        synchronized (entries) {
+            if (this.generation.get() == generation) {
+                entries.put(ePersonId, entry);
+            }
+        }
+    }
+
+    /**
+     * Discard the cached groups of the given EPerson.
+     */
+    public void invalidate(UUID ePersonId) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(ePersonId);
+        }
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Discard all the cached groups, to be used when a change to the group
+     * hierarchy can affect the membership of many EPersons.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+        invalidations.incrementAndGet();
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    private static class CachedGroups {
+
+        private final Set<UUID> groupIds;
+
+        private final long expiration;
+
+        private CachedGroups(Set<UUID> groupIds, long expiration) {
+            this.groupIds = groupIds;
+            this.expiration = expiration;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Consumer that invalidates the {@link GroupMembershipCache} once the changes
+ * to the group memberships are committed. The {@link GroupServiceImpl}
+ * already invalidates the cache when the memberships are changed, this
+ * consumer discards what other contexts may have cached in the meantime from
+ * the not yet updated database.
+ *
+ * Recommended filter: Group+Add|Remove|Delete:EPerson+Delete
+ */
+public class GroupMembershipCacheConsumer implements Consumer {
+
+    private GroupMembershipCache groupMembershipCache;
+
+    @Override
+    public void initialize() throws Exception {
+        groupMembershipCache = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(GroupMembershipCache.class.getName(), GroupMembershipCache.class);
+    }
+
+    @Override
+    public void consume(Context context, Event event) throws Exception {
+        if (groupMembershipCache == null || !groupMembershipCache.isEnabled()) {
+            return;
+        }
+
+        if (event.getSubjectType() == Constants.EPERSON) {
+            groupMembershipCache.invalidate(event.getSubjectID());
+        } else if (event.getSubjectType() == Constants.GROUP) {
+            if (event.getObjectType() == Constants.EPERSON) {
+                groupMembershipCache.invalidate(event.getObjectID());
+            } else {
+                // subgroup added or removed, group deleted
+                groupMembershipCache.invalidateAll();
+            }
+        }
+    }
+
+    @Override
+    public void end(Context context) throws Exception {
+        // nothing to do
+    }
+
+    @Override
+    public void finish(Context context) throws Exception {
+        // nothing to do
+    }
+}
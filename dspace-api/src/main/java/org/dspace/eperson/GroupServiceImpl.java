@@ -96,6 +96,9 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
     @Autowired(required = true)
     protected XmlWorkflowFactory workflowFactory;
 
+    @Autowired(required = false)
+    protected GroupMembershipCache groupMembershipCache;
+
     protected GroupServiceImpl() {
         super();
     }
@@ -138,6 +141,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
         group.addMember(e);
         e.getGroups().add(group);
+        invalidateGroupMembership(e);
         context.addEvent(
             new Event(Event.ADD, Constants.GROUP, group.getID(), Constants.EPERSON, e.getID(), e.getEmail(),
                       getIdentifiers(context, group)));
@@ -153,6 +157,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
 
         groupParent.addMember(groupChild);
         groupChild.addParentGroup(groupParent);
+        invalidateGroupMembership(null);
 
         context.addEvent(new Event(Event.ADD, Constants.GROUP, groupParent.getID(), Constants.GROUP, groupChild.getID(),
                                    groupChild.getName(), getIdentifiers(context, groupParent)));
@@ -211,6 +216,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
             }
         }
         if (group.remove(ePerson)) {
+            invalidateGroupMembership(ePerson);
             context.addEvent(new Event(Event.REMOVE, Constants.GROUP, group.getID(), Constants.EPERSON, ePerson.getID(),
                                        ePerson.getEmail(), getIdentifiers(context, group)));
         }
@@ -238,6 +244,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
         if (groupParent.remove(childGroup)) {
             childGroup.removeParentGroup(groupParent);
+            invalidateGroupMembership(null);
             context.addEvent(
                 new Event(Event.REMOVE, Constants.GROUP, groupParent.getID(), Constants.GROUP, childGroup.getID(),
                           childGroup.getName(), getIdentifiers(context, groupParent)));
@@ -287,8 +294,13 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
 
                 //If we have an ePerson, check we can find membership in the database
                 if (ePerson != null) {
-                    //lookup eperson in normal groups and subgroups with 1 query
-                    isMember = isEPersonInGroup(context, group, ePerson);
+                    Set<UUID> memberGroupIds = findCachedMemberGroupIds(context, ePerson);
+                    if (memberGroupIds != null) {
+                        isMember = memberGroupIds.contains(group.getID());
+                    } else {
+                        //lookup eperson in normal groups and subgroups with 1 query
+                        isMember = isEPersonInGroup(context, group, ePerson);
+                    }
                 }
 
                 //If we did not find the group membership in the database, check the special groups.
@@ -345,7 +357,8 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
 
         Set<Group> groups = new HashSet<>();
 
-        if (ePerson != null) {
+        Set<UUID> memberGroupIds = ePerson != null ? findCachedMemberGroupIds(context, ePerson) : null;
+        if (ePerson != null && memberGroupIds == null) {
             // two queries - first to get groups eperson is a member of
             // second query gets parent groups for groups eperson is a member of
             groups.addAll(groupDAO.findByEPerson(context, ePerson));
@@ -371,10 +384,67 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
             groups.add(group2GroupCache.getParent());
         }
 
+        if (memberGroupIds != null) {
+            // the groups are in the second level cache, no query is needed to load them
+            for (UUID memberGroupId : memberGroupIds) {
+                Group group = find(context, memberGroupId);
+                if (group != null) {
+                    groups.add(group);
+                }
+            }
+        }
+
         context.cacheAllMemberGroupsSet(ePerson, groups);
         return groups;
     }
 
+    /**
+     * Find the ids of the groups the given EPerson is a member of, directly
+     * or through the group hierarchy, using the shared
+     * {@link GroupMembershipCache}. Special groups are not included.
+     *
+     * @return the group ids, or null if the shared cache cannot be used
+     */
+    protected Set<UUID> findCachedMemberGroupIds(Context context, EPerson ePerson) throws SQLException {
+        // a context with pending changes could see memberships not yet committed
+        if (groupMembershipCache == null || !groupMembershipCache.isEnabled() || context.hasEvents()) {
+            return null;
+        }
+        Set<UUID> memberGroupIds = groupMembershipCache.get(ePerson.getID());
+        if (memberGroupIds != null) {
+            return memberGroupIds;
+        }
+
+        long generation = groupMembershipCache.getGeneration();
+        List<Group> directGroups = groupDAO.findByEPerson(context, ePerson);
+        memberGroupIds = new HashSet<>();
+        for (Group group : directGroups) {
+            memberGroupIds.add(group.getID());
+        }
+        if (!directGroups.isEmpty()) {
+            for (Group2GroupCache group2GroupCache : group2GroupCacheDAO.findByChildren(context, directGroups)) {
+                memberGroupIds.add(group2GroupCache.getParent().getID());
+            }
+        }
+        groupMembershipCache.put(ePerson.getID(), memberGroupIds, generation);
+        return memberGroupIds;
+    }
+
+    /**
+     * Discard the memberships cached for the given EPerson, or for all the
+     * EPersons if null.
+     */
+    protected void invalidateGroupMembership(EPerson ePerson) {
+        if (groupMembershipCache == null || !groupMembershipCache.isEnabled()) {
+            return;
+        }
+        if (ePerson != null) {
+            groupMembershipCache.invalidate(ePerson.getID());
+        } else {
+            groupMembershipCache.invalidateAll();
+        }
+    }
+
     @Override
     public List<EPerson> allMembers(Context c, Group g) throws SQLException {
         // two queries - first to get all groups which are a member of this group
@@ -576,6 +646,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         // Remove ourself
         groupDAO.delete(context, group);
         rethinkGroupCache(context, false);
+        invalidateGroupMembership(null);
 
         log.info(LogHelper.getHeader(context, "delete_group", "group_id="
             + group.getID()));
@@ -667,6 +738,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
 
         if (group.isGroupsChanged()) {
             rethinkGroupCache(context, true);
+            invalidateGroupMembership(null);
             group.clearGroupsChanged();
         }
 
@@ -109,4 +109,13 @@ public interface CrisLayoutTabDAO extends GenericDAO<CrisLayoutTab> {
     public List<MetadataField> getMetadataField(Context context, Integer tabId, Integer limit, Integer offset)
             throws SQLException;
 
+    /**
+     * Run the given action once the current transaction of the given context
+     * is completed, either committed or rolled back.
+     * @param context The relevant DSpace Context
+     * @param action the action to run
+     * @throws SQLException An exception that provides information on a database errors.
+     */
+    public void afterTransactionCompletion(Context context, Runnable action) throws SQLException;
+
 }
@@ -19,6 +19,7 @@ import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import javax.transaction.Synchronization;
 
 import org.apache.commons.lang3.StringUtils;
 import org.dspace.content.EntityType;
@@ -155,4 +156,19 @@ public class CrisLayoutTabDAOImpl extends AbstractHibernateDAO<CrisLayoutTab> im
         return query.getResultList();
     }
 
+    @Override
+    public void afterTransactionCompletion(Context context, Runnable action) throws SQLException {
+        getHibernateSession(context).getTransaction().registerSynchronization(new Synchronization() {
+
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+
 }
@@ -10,11 +10,15 @@ package org.dspace.layout.service.impl;
 import static org.dspace.util.FunctionalUtils.throwingMapperWrapper;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.PostConstruct;
 
 import org.apache.commons.collections.CollectionUtils;
@@ -58,6 +62,15 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
     @Autowired
     CrisLayoutTabAccessService crisLayoutTabAccessService;
 
+    /**
+     * Custom filters already resolved, keyed by entity type and custom filter.
+     * Most items have no tabs for their specific custom filters, so remembering
+     * which filters have no tabs avoids querying for them on every item view.
+     */
+    private final Map<String, ResolvedFilter> resolvedFilters = new ConcurrentHashMap<>();
+
+    private final AtomicLong layoutVersion = new AtomicLong();
+
     @PostConstruct
     private void setup() throws SubmissionConfigReaderException {
         submissionConfigReader = new SubmissionConfigReader();
@@ -69,6 +82,7 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
             throw new AuthorizeException(
                 "You must be an admin to create a Tab");
         }
+        invalidateResolvedFilters(c);
         return dao.create(c, tab);
     }
 
@@ -78,6 +92,7 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
             throw new AuthorizeException(
                 "You must be an admin to create a Tab");
         }
+        invalidateResolvedFilters(context);
         return dao.create(context, new CrisLayoutTab());
     }
 
@@ -97,6 +112,7 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
             throw new AuthorizeException(
                 "You must be an admin to update a Tab");
         }
+        invalidateResolvedFilters(context);
         dao.save(context, tab);
     }
 
@@ -115,6 +131,7 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
             throw new AuthorizeException(
                 "You must be an admin to delete a Tab");
         }
+        invalidateResolvedFilters(context);
         dao.delete(context, tab);
     }
 
@@ -128,6 +145,7 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
         CrisLayoutTab tab = new CrisLayoutTab();
         tab.setEntity(eType);
         tab.setPriority(priority);
+        invalidateResolvedFilters(context);
         return dao.create(context, tab);
     }
 
@@ -198,23 +216,29 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
         String entityTypeValue = itemService.getMetadata(item, "dspace.entity.type");
         String submissionName = getSubmissionDefinitionName(item);
 
-        List<CrisLayoutTab> layoutTabs =
-            Optional.ofNullable(this.configurationService.getProperty("dspace.metadata.layout.tab"))
-                    .map(metadataField -> this.itemService.getMetadataByMetadataString(item, metadataField))
-                    .filter(metadatas -> !metadatas.isEmpty())
-                    .map(metadatas -> metadatas.get(0))
-                    .map(metadata ->
-                            findValidEntityType(context, entityTypeValue, submissionName + "." +
-                                metadata.getAuthority())
-                                .orElse(
-                                    findValidEntityType(context, entityTypeValue, submissionName + "." +
-                                        metadata.getValue())
-                                        .orElse(findValidEntityType(context, entityTypeValue, metadata.getAuthority())
-                                            .orElse(findValidEntityType(context, entityTypeValue, metadata.getValue())
-                                                .orElse(null))))
-                    )
-                    .orElse(findValidEntityType(context, entityTypeValue, submissionName)
-                    .orElse(findByEntityType(context, entityTypeValue, null)));
+        // the custom filters are tried from the most to the least specific one,
+        // stopping at the first one having tabs
+        List<String> customFilters = new ArrayList<>();
+        Optional.ofNullable(this.configurationService.getProperty("dspace.metadata.layout.tab"))
+                .map(metadataField -> this.itemService.getMetadataByMetadataString(item, metadataField))
+                .filter(metadatas -> !metadatas.isEmpty())
+                .map(metadatas -> metadatas.get(0))
+                .ifPresent(metadata -> {
+                    customFilters.add(submissionName + "." + metadata.getAuthority());
+                    customFilters.add(submissionName + "." + metadata.getValue());
+                    customFilters.add(metadata.getAuthority());
+                    customFilters.add(metadata.getValue());
+                });
+        customFilters.add(submissionName);
+
+        for (String customFilter : customFilters) {
+            Optional<List<CrisLayoutTab>> layoutTabs = findValidEntityType(context, entityTypeValue, customFilter);
+            if (layoutTabs.isPresent()) {
+                return layoutTabs.get();
+            }
+        }
+
+        List<CrisLayoutTab> layoutTabs = findByEntityType(context, entityTypeValue, null);
         if (layoutTabs == null) {
             return Collections.emptyList();
         }
@@ -236,14 +260,75 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
 
     private Optional<List<CrisLayoutTab>> findValidEntityType(Context context, String entityTypeValue,
                                                               String customFilter) {
-        return Optional.ofNullable(customFilter)
+        if (customFilter == null) {
+            return Optional.empty();
+        }
+
+        String key = entityTypeValue + "/" + customFilter;
+        long version = layoutVersion.get();
+        ResolvedFilter resolved = resolvedFilters.get(key);
+        if (resolved != null && !resolved.isValid(version)) {
+            resolvedFilters.remove(key, resolved);
+            resolved = null;
+        }
+        if (resolved != null && !resolved.hasTabs) {
+            return Optional.empty();
+        }
+
+        Optional<List<CrisLayoutTab>> tabs = Optional.of(customFilter)
                        .map(
                            throwingMapperWrapper(
                                value -> findByEntityType(context, entityTypeValue, value),
                                null
                            )
                        )
-                       .filter(tabs -> tabs != null && !tabs.isEmpty());
+                       .filter(tabList -> tabList != null && !tabList.isEmpty());
+
+        long timeToLive = configurationService.getLongProperty("cris.layout.tab.cache.ttl", 300) * 1000;
+        if (resolved == null && timeToLive > 0 && layoutVersion.get() == version) {
+            resolvedFilters.put(key, new ResolvedFilter(version, System.currentTimeMillis() + timeToLive,
+                tabs.isPresent()));
+        }
+        return tabs;
+    }
+
+    /**
+     * Discard all the resolved custom filters, to be called whenever a tab is
+     * created, updated or deleted. They are discarded again once the change is
+     * committed, as a concurrent item view could resolve them in the meantime
+     * from the tabs still in the database.
+     */
+    private void invalidateResolvedFilters(Context context) throws SQLException {
+        invalidateResolvedFilters();
+        dao.afterTransactionCompletion(context, this::invalidateResolvedFilters);
+    }
+
+    private void invalidateResolvedFilters() {
+        layoutVersion.incrementAndGet();
+        resolvedFilters.clear();
+    }
+
+    /**
+     * Whether any tab exists for a given entity type and custom filter, as
+     * resolved with a given version of the layout.
+     */
+    private static class ResolvedFilter {
+
+        private final long version;
+
+        private final long expiration;
+
+        private final boolean hasTabs;
+
+        private ResolvedFilter(long version, long expiration, boolean hasTabs) {
+            this.version = version;
+            this.expiration = expiration;
+            this.hasTabs = hasTabs;
+        }
+
+        private boolean isValid(long currentVersion) {
+            return version == currentVersion && System.currentTimeMillis() < expiration;
+        }
     }
 
 }
@@ -10,11 +10,15 @@ package org.dspace.metrics;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.apache.commons.cli.ParseException;
 import org.apache.logging.log4j.LogManager;
@@ -38,6 +42,8 @@ import org.dspace.discovery.indexobject.IndexableItem;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
 import org.json.JSONObject;
 
@@ -52,6 +58,8 @@ public class StoreViewDownloadsCrisMetrics extends
     private static final Logger log = LogManager.getLogger(StoreViewDownloadsCrisMetrics.class);
     private Context context;
     private UpdateCrisMetricsInSolrDocService updateCrisMetricsInSolrDocService;
+    private ConfigurationService configurationService;
+    private boolean bulk;
 
     @Override
     public void setup() throws ParseException {
@@ -62,6 +70,8 @@ public class StoreViewDownloadsCrisMetrics extends
         crisMetricsService = new DSpace().getServiceManager()
                 .getServiceByName(CrisMetricsServiceImpl.class.getName(),
                         CrisMetricsServiceImpl.class);
+        configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        bulk = commandLine.hasOption("b");
     }
 
     @Override
@@ -90,6 +100,10 @@ public class StoreViewDownloadsCrisMetrics extends
     }
 
     private void performUpdateAndStorage(Context context) {
+        if (bulk) {
+            performBulkUpdateAndStorage(context);
+            return;
+        }
         try {
             storeMetricsForDso(context, findItems(context),
                     Item.class.getSimpleName().toLowerCase() + "s", Constants.ITEM);
@@ -223,4 +237,152 @@ public class StoreViewDownloadsCrisMetrics extends
         handler.logInfo("Update end");
         context.commit();
     }
+
+    private void performBulkUpdateAndStorage(Context context) {
+        try {
+            TotalDownloadsAndVisitsGenerator generator = new TotalDownloadsAndVisitsGenerator();
+            long start = System.currentTimeMillis();
+            Map<UUID, Integer> downloads = generator.countDownloads();
+            handler.logInfo("Downloads of " + downloads.size() + " items counted in "
+                + (System.currentTimeMillis() - start) + " ms");
+
+            storeMetricsInBulk(context, findItems(context), generator.countViews(Constants.ITEM), downloads,
+                Item.class.getSimpleName().toLowerCase() + "s", Constants.ITEM);
+            storeMetricsInBulk(context, findDSO(context, IndexableCollection.TYPE),
+                generator.countViews(Constants.COLLECTION), Collections.emptyMap(),
+                Collection.class.getSimpleName().toLowerCase() + "s", Constants.COLLECTION);
+            storeMetricsInBulk(context, findDSO(context, IndexableCommunity.TYPE),
+                generator.countViews(Constants.COMMUNITY), Collections.emptyMap(), "communities", Constants.COMMUNITY);
+        } catch (SearchServiceException | SolrServerException | SQLException | IOException exception) {
+            log.error(exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Store the view and download metrics of the given objects. Views and
+     * downloads are already counted for all the objects, the objects having at
+     * least one view are processed in chunks: the previous metrics of a whole
+     * chunk are read with three queries and the new metrics are flushed with a
+     * single commit, so that they are written with JDBC batches.
+     */
+    private void storeMetricsInBulk(Context context, Iterator<DSpaceObject> dSpaceObjectIterator,
+            Map<UUID, Integer> views, Map<UUID, Integer> downloads, String path, int type) throws SQLException {
+        int chunkSize = configurationService.getIntProperty("metrics.store-metrics.bulk.chunk-size", 500);
+        BulkCounters counters = new BulkCounters();
+        handler.logInfo("Addition start: views of " + views.size() + " objects of type " + type + " counted");
+
+        long start = System.currentTimeMillis();
+        List<DSpaceObject> chunk = new ArrayList<>(chunkSize);
+        while (dSpaceObjectIterator.hasNext()) {
+            DSpaceObject dSpaceObject = dSpaceObjectIterator.next();
+            counters.found++;
+            if (views.getOrDefault(dSpaceObject.getID(), 0) > 0) {
+                chunk.add(dSpaceObject);
+            }
+            if (chunk.size() >= chunkSize) {
+                storeChunk(context, chunk, views, downloads, path, counters);
+                chunk.clear();
+            }
+        }
+        storeChunk(context, chunk, views, downloads, path, counters);
+
+        handler.logInfo("Found " + counters.found + type);
+        handler.logInfo("Added " + counters.added + " metrics, " + counters.updated + " of them replacing a "
+            + "previous metric");
+        handler.logInfo("Update end in " + (System.currentTimeMillis() - start) + " ms: "
+            + counters.readTime + " ms reading the previous metrics, "
+            + counters.writeTime + " ms writing the new metrics");
+    }
+
+    private void storeChunk(Context context, List<DSpaceObject> chunk, Map<UUID, Integer> views,
+            Map<UUID, Integer> downloads, String path, BulkCounters counters) throws SQLException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = chunk.stream().map(DSpaceObject::getID).collect(Collectors.toList());
+        List<String> metricTypes = List.of("view", "download");
+        Date now = new Date();
+
+        long start = System.currentTimeMillis();
+        Map<String, CrisMetrics> lastMetrics = groupByResourceAndType(
+            crisMetricsService.findLastMetricsByResourceIdsAndMetricsTypes(context, metricTypes, ids));
+        Map<String, CrisMetrics> lastWeekMetrics = groupByResourceAndType(
+            crisMetricsService.getCrisMetricsByPeriod(context, metricTypes, ids, now, "week"));
+        Map<String, CrisMetrics> lastMonthMetrics = groupByResourceAndType(
+            crisMetricsService.getCrisMetricsByPeriod(context, metricTypes, ids, now, "month"));
+        counters.readTime += System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        List<CrisMetrics> created = new ArrayList<>();
+        try {
+            for (DSpaceObject dSpaceObject : chunk) {
+                int viewCount = views.get(dSpaceObject.getID());
+                created.add(createMetricObject("view", viewCount, dSpaceObject, path, lastMetrics,
+                    lastWeekMetrics, lastMonthMetrics, counters));
+                int downloadCount = downloads.getOrDefault(dSpaceObject.getID(), 0);
+                if (downloadCount > 0) {
+                    created.add(createMetricObject("download", downloadCount, dSpaceObject, path, lastMetrics,
+                        lastWeekMetrics, lastMonthMetrics, counters));
+                }
+            }
+        } catch (AuthorizeException e) {
+            log.error(e.getMessage(), e);
+        }
+        context.commit();
+        for (Map<String, CrisMetrics> metrics : List.of(lastMetrics, lastWeekMetrics, lastMonthMetrics)) {
+            for (CrisMetrics metric : metrics.values()) {
+                context.uncacheEntity(metric);
+            }
+        }
+        for (CrisMetrics metric : created) {
+            context.uncacheEntity(metric);
+        }
+        for (DSpaceObject dSpaceObject : chunk) {
+            context.uncacheEntity(dSpaceObject);
+        }
+        counters.writeTime += System.currentTimeMillis() - start;
+    }
+
+    // same as createMetricObject(String, double, DSpaceObject, String), using the previous metrics read in bulk
+    private CrisMetrics createMetricObject(String metricType, double metricCount, DSpaceObject dSpaceObject,
+            String type, Map<String, CrisMetrics> lastMetrics, Map<String, CrisMetrics> lastWeekMetrics,
+            Map<String, CrisMetrics> lastMonthMetrics, BulkCounters counters) throws SQLException, AuthorizeException {
+        String key = dSpaceObject.getID() + "." + metricType;
+        CrisMetrics existentCrisMetrics = lastMetrics.get(key);
+        if (existentCrisMetrics != null) {
+            existentCrisMetrics.setLast(false);
+            counters.updated++;
+        }
+        CrisMetrics newMetrics = crisMetricsService.create(context, dSpaceObject);
+        newMetrics.setMetricType(metricType);
+        newMetrics.setMetricCount(metricCount);
+        newMetrics.setLast(true);
+        JSONObject jsonRemark = new JSONObject();
+        jsonRemark.put("detailUrl", "/statistics/" + type + "/" + dSpaceObject.getID());
+        newMetrics.setRemark(jsonRemark.toString());
+        CrisMetrics lastWeek = lastWeekMetrics.get(key);
+        if (lastWeek != null) {
+            newMetrics.setDeltaPeriod1(metricCount - lastWeek.getMetricCount());
+        }
+        CrisMetrics lastMonth = lastMonthMetrics.get(key);
+        if (lastMonth != null) {
+            newMetrics.setDeltaPeriod2(metricCount - lastMonth.getMetricCount());
+        }
+        counters.added++;
+        return newMetrics;
+    }
+
+    private Map<String, CrisMetrics> groupByResourceAndType(List<CrisMetrics> metrics) {
+        return metrics.stream()
+            .collect(Collectors.toMap(metric -> metric.getResource().getID() + "." + metric.getMetricType(),
+                metric -> metric, (first, second) -> first));
+    }
+
+    private static class BulkCounters {
+        private int found;
+        private int added;
+        private int updated;
+        private long readTime;
+        private long writeTime;
+    }
 }
@@ -47,8 +47,12 @@ public class StoreViewDownloadsCrisMetricsScriptConfiguration<T extends StoreVie
     @Override
     public Options getOptions() {
         if (options == null) {
-
-            super.options = new Options();
+            Options options = new Options();
+            options.addOption("b", "bulk", false,
+                "compute views and downloads of all the objects with few statistics queries and store the metrics "
+                    + "in batches");
+            options.getOption("b").setType(boolean.class);
+            super.options = options;
         }
         return options;
     }
@@ -16,13 +16,18 @@ import java.util.UUID;
 
 import org.apache.solr.client.solrj.SolrServerException;
 import org.dspace.core.Constants;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.statistics.ObjectCount;
 import org.dspace.statistics.SolrLoggerServiceImpl;
 import org.dspace.statistics.factory.StatisticsServiceFactory;
 import org.dspace.statistics.service.SolrLoggerService;
+import org.dspace.util.UUIDUtils;
 
 public class TotalDownloadsAndVisitsGenerator {
     protected final SolrLoggerService solrLoggerService = StatisticsServiceFactory.getInstance().getSolrLoggerService();
+    protected final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
 
     /**
      * Create stat points of the items over views and downloads
@@ -73,4 +78,52 @@ public class TotalDownloadsAndVisitsGenerator {
         return views_downloads;
     }
 
+    /**
+     * Count the views of all the objects of the given type with a faceted
+     * query read page by page.
+     *
+     * @param type the type of the objects, see {@link Constants}
+     * @return the number of views of each object having at least one view
+     */
+    public Map<UUID, Integer> countViews(int type) throws SolrServerException, IOException {
+        return countByFacet("type:" + type, "id");
+    }
+
+    /**
+     * Count the downloads of the bitstreams of all the items with a faceted
+     * query on the owning item of the bitstreams read page by page.
+     *
+     * @return the number of downloads of each item having at least one download
+     */
+    public Map<UUID, Integer> countDownloads() throws SolrServerException, IOException {
+        return countByFacet("type:" + Constants.BITSTREAM + " AND -bundleName:LICENSE AND -bundleName:THUMBNAIL"
+            + " AND -bundleName:SWORD AND -bundleName:TEXT", "owningItem");
+    }
+
+    /**
+     * Count the views matching the given query grouped by the given field. The
+     * values of the facet are read in pages of
+     * metrics.store-metrics.bulk.facet-page-size values, so that no single
+     * response holds the counts of all the objects of the repository.
+     */
+    private Map<UUID, Integer> countByFacet(String query, String facetField)
+        throws SolrServerException, IOException {
+        String filterQuery = "(statistics_type:" + SolrLoggerServiceImpl.StatisticsType.VIEW.text() + ")";
+        int pageSize = configurationService.getIntProperty("metrics.store-metrics.bulk.facet-page-size", 10000);
+        Map<UUID, Integer> result = new HashMap<>();
+        int offset = 0;
+        ObjectCount[] counts;
+        do {
+            counts = solrLoggerService.queryFacetFieldPage(query, filterQuery, facetField, offset, pageSize, 1);
+            for (ObjectCount count : counts) {
+                UUID uuid = UUIDUtils.fromString(count.getValue());
+                if (uuid != null) {
+                    result.merge(uuid, (int) count.getCount(), Integer::sum);
+                }
+            }
+            offset += counts.length;
+        } while (counts.length >= pageSize);
+        return result;
+    }
+
 }
@@ -94,4 +94,17 @@ public class OrcidQueueDAOImpl extends AbstractHibernateDAO<OrcidQueue> implemen
         return query.getResultList();
     }
 
+    @Override
+    public List<OrcidQueue> findByIdGreaterThanAndAttemptsLessThan(Context context, int id, Integer attempts,
+        int limit) throws SQLException {
+        String attemptsCondition = attempts != null ? " AND (attempts IS NULL OR attempts < :attempts)" : "";
+        Query query = createQuery(context, "FROM OrcidQueue WHERE id > :id" + attemptsCondition + " ORDER BY id");
+        query.setParameter("id", id);
+        if (attempts != null) {
+            query.setParameter("attempts", attempts);
+        }
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
 }
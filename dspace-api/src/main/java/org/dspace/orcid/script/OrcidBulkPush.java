@@ -12,12 +12,18 @@ import static org.dspace.profile.OrcidSynchronizationMode.BATCH;
 import static org.dspace.profile.OrcidSynchronizationMode.MANUAL;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.cli.ParseException;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.dspace.content.Item;
@@ -43,6 +49,14 @@ import org.slf4j.LoggerFactory;
  * Script that perform the bulk synchronization with ORCID registry of all the
  * ORCID queue records that has an profileItem that configure the
  * synchronization mode equals to BATCH.
+ * <p>
+ * The queue records are loaded page by page and grouped by profile. With more
+ * than one thread (option -t or orcid.bulk-synchronization.threads) the
+ * records of different profiles are synchronized in parallel, each profile by
+ * a single worker with its own context, while the records of the same profile
+ * are still synchronized one after the other. Each record is committed on its
+ * own and the requests sent to ORCID by all the workers can be limited with
+ * orcid.bulk-synchronization.max-requests-per-second.
  * @author Luca Giamminonni (luca.giamminonni at 4science.it)
  *
  */
@@ -63,10 +77,16 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
     /**
      * Cache that stores the synchronization mode set for a specific profile item.
      */
-    private Map<Item, OrcidSynchronizationMode> synchronizationModeByProfileItem = new HashMap<>();
+    private Map<UUID, OrcidSynchronizationMode> synchronizationModeByProfileItem = new HashMap<>();
 
     private boolean ignoreMaxAttempts = false;
 
+    private int threads;
+
+    private int pageSize;
+
+    private RateLimiter rateLimiter;
+
     @Override
     public void setup() throws ParseException {
         OrcidServiceFactory orcidServiceFactory = OrcidServiceFactory.getInstance();
@@ -79,6 +99,24 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
             ignoreMaxAttempts = true;
         }
 
+        threads = configurationService.getIntProperty("orcid.bulk-synchronization.threads", 1);
+        if (commandLine.hasOption('t')) {
+            try {
+                threads = Integer.parseInt(commandLine.getOptionValue('t'));
+            } catch (NumberFormatException e) {
+                throw new ParseException("The number of threads must be a number: " + commandLine.getOptionValue('t'));
+            }
+        }
+        if (threads < 1) {
+            throw new ParseException("The number of threads must be greater than 0");
+        }
+
+        pageSize = Math.max(configurationService.getIntProperty("orcid.bulk-synchronization.page-size", 100), 1);
+
+        int maxRequestsPerSecond = configurationService
+            .getIntProperty("orcid.bulk-synchronization.max-requests-per-second", 0);
+        rateLimiter = maxRequestsPerSecond > 0 ? RateLimiter.create(maxRequestsPerSecond) : null;
+
     }
 
     @Override
@@ -90,7 +128,7 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         }
 
         context = new Context();
-        assignCurrentUserInContext();
+        assignCurrentUserInContext(context);
 
         try {
             context.turnOffAuthorisationSystem();
@@ -110,83 +148,189 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
      */
     private void performBulkSynchronization() throws SQLException {
 
-        List<OrcidQueue> queueRecords = findQueueRecordsToSynchronize();
-        handler.logInfo("Found " + queueRecords.size() + " queue records to synchronize with ORCID");
+        Map<UUID, List<Integer>> queueRecordIdsByProfile = findQueueRecordsToSynchronize();
+        int count = queueRecordIdsByProfile.values().stream().mapToInt(List::size).sum();
+        handler.logInfo("Found " + count + " queue records to synchronize with ORCID");
+
+        if (threads > 1 && queueRecordIdsByProfile.size() > 1) {
+            performParallelSynchronization(queueRecordIdsByProfile);
+            return;
+        }
 
-        for (OrcidQueue queueRecord : queueRecords) {
-            performSynchronization(queueRecord);
+        for (List<Integer> queueRecordIds : queueRecordIdsByProfile.values()) {
+            for (Integer queueRecordId : queueRecordIds) {
+                performSynchronization(context, queueRecordId);
+            }
         }
 
     }
 
     /**
-     * Returns all the stored Orcid Queue records (ignoring or not the max attempts)
-     * related to a profile that has the synchronization mode set to BATCH.
+     * Returns the ids of all the stored Orcid Queue records (ignoring or not the
+     * max attempts) related to a profile that has the synchronization mode set to
+     * BATCH, grouped by profile. The records are loaded page by page, so that
+     * only their ids are kept in memory.
      */
-    private List<OrcidQueue> findQueueRecordsToSynchronize() throws SQLException {
-        return findQueueRecords().stream()
-            .filter(record -> getProfileItemSynchronizationMode(record.getProfileItem()) == BATCH)
-            .collect(Collectors.toList());
+    private Map<UUID, List<Integer>> findQueueRecordsToSynchronize() throws SQLException {
+        Map<UUID, List<Integer>> queueRecordIdsByProfile = new LinkedHashMap<>();
+        Integer attempts = getMaxAttempts();
+        int lastId = 0;
+        List<OrcidQueue> queueRecords;
+        do {
+            queueRecords = orcidQueueService.findByIdGreaterThanAndAttemptsLessThan(context, lastId, attempts,
+                pageSize);
+            for (OrcidQueue queueRecord : queueRecords) {
+                lastId = queueRecord.getID();
+                Item profileItem = queueRecord.getProfileItem();
+                if (getProfileItemSynchronizationMode(profileItem) == BATCH) {
+                    queueRecordIdsByProfile.computeIfAbsent(profileItem.getID(), id -> new ArrayList<>())
+                        .add(queueRecord.getID());
+                }
+                context.uncacheEntity(queueRecord);
+            }
+        } while (queueRecords.size() == pageSize);
+        return queueRecordIdsByProfile;
     }
 
     /**
      * If the current script execution is configued to ignore the max attemps,
-     * returns all the ORCID Queue records, otherwise returns the ORCID Queue
-     * records that has an attempts value less than the configured max attempts
-     * value.
+     * returns null, otherwise returns the configured max attempts value.
      */
-    private List<OrcidQueue> findQueueRecords() throws SQLException {
+    private Integer getMaxAttempts() {
         if (ignoreMaxAttempts) {
-            return orcidQueueService.findAll(context);
+            return null;
         } else {
-            int attempts = configurationService.getIntProperty("orcid.bulk-synchronization.max-attempts");
-            return orcidQueueService.findByAttemptsLessThan(context, attempts);
+            return configurationService.getIntProperty("orcid.bulk-synchronization.max-attempts");
         }
     }
 
     /**
-     * Try to synchronize the given queue record with ORCID, handling any errors.
+     * Synchronize the records of each profile in a worker thread, waiting for all
+     * the profiles to be synchronized.
      */
-    private void performSynchronization(OrcidQueue queueRecord) {
+    private void performParallelSynchronization(Map<UUID, List<Integer>> queueRecordIdsByProfile) {
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "orcid-bulk-push-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Void>> results = new ArrayList<>();
+            for (List<Integer> queueRecordIds : queueRecordIdsByProfile.values()) {
+                results.add(workers.submit(() -> {
+                    performProfileSynchronization(queueRecordIds);
+                    return null;
+                }));
+            }
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while synchronizing the queue records", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unexpected error synchronizing the queue records", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
 
+    /**
+     * Synchronize the given queue records of a profile with a new context, as the
+     * context cannot be shared among the worker threads.
+     */
+    private void performProfileSynchronization(List<Integer> queueRecordIds) throws SQLException {
+        Context workerContext = new Context();
         try {
+            assignCurrentUserInContext(workerContext);
+            workerContext.turnOffAuthorisationSystem();
+            for (Integer queueRecordId : queueRecordIds) {
+                performSynchronization(workerContext, queueRecordId);
+            }
+            workerContext.restoreAuthSystemState();
+            workerContext.complete();
+        } finally {
+            if (workerContext.isValid()) {
+                workerContext.abort();
+            }
+        }
+    }
 
-            queueRecord = reload(queueRecord);
+    /**
+     * Try to synchronize the queue record with the given id with ORCID, handling
+     * any errors.
+     */
+    private void performSynchronization(Context context, Integer queueRecordId) throws SQLException {
+
+        OrcidQueue queueRecord = orcidQueueService.find(context, queueRecordId);
+        if (queueRecord == null) {
+            // already removed, e.g. because its entity has been deleted
+            return;
+        }
 
-            handler.logInfo(getOperationInfoMessage(queueRecord));
+        try {
+
+            logInfo(getOperationInfoMessage(queueRecord));
 
-            OrcidHistory orcidHistory = orcidHistoryService.synchronizeWithOrcid(context, queueRecord, false);
+            OrcidHistory orcidHistory = orcidHistoryService.synchronizeWithOrcid(context, queueRecord, false,
+                this::acquireRequestPermit);
 
-            handler.logInfo(getSynchronizationResultMessage(orcidHistory));
+            logInfo(getSynchronizationResultMessage(orcidHistory));
 
-            commitTransaction();
+            commitTransaction(context);
 
         } catch (OrcidValidationException ex) {
-            rollbackTransaction();
-            handler.logError(getValidationErrorMessage(ex));
+            rollbackTransaction(context);
+            logError(getValidationErrorMessage(ex));
         } catch (Exception ex) {
-            rollbackTransaction();
+            rollbackTransaction(context);
             String errorMessage = getUnexpectedErrorMessage(ex);
             LOGGER.error(errorMessage, ex);
-            handler.logError(errorMessage);
+            logError(errorMessage);
         } finally {
-            incrementAttempts(queueRecord);
+            incrementAttempts(context, queueRecord);
         }
 
     }
 
+    /**
+     * Wait until a request can be sent to ORCID without exceeding the
+     * configured number of requests per second of all the workers.
+     */
+    private void acquireRequestPermit() {
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+    }
+
     /**
      * Returns the Synchronization mode related to the given profile item.
      */
     private OrcidSynchronizationMode getProfileItemSynchronizationMode(Item profileItem) {
-        OrcidSynchronizationMode synchronizationMode = synchronizationModeByProfileItem.get(profileItem);
+        OrcidSynchronizationMode synchronizationMode = synchronizationModeByProfileItem.get(profileItem.getID());
         if (synchronizationMode == null) {
             synchronizationMode = orcidSynchronizationService.getSynchronizationMode(profileItem).orElse(MANUAL);
-            synchronizationModeByProfileItem.put(profileItem, synchronizationMode);
+            synchronizationModeByProfileItem.put(profileItem.getID(), synchronizationMode);
         }
         return synchronizationMode;
     }
 
+    /**
+     * Log the given messages through the handler, that can be shared by the
+     * worker threads.
+     */
+    private void logInfo(String message) {
+        synchronized (handler) {
+            handler.logInfo(message);
+        }
+    }
+
+    private void logError(String message) {
+        synchronized (handler) {
+            handler.logError(message);
+        }
+    }
+
     /**
      * Returns an info log message with the details of the given record's operation.
      * This message is logged before ORCID synchronization.
@@ -257,8 +401,8 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         return "An unexpected error occurs during the synchronization: " + getRootMessage(ex);
     }
 
-    private void incrementAttempts(OrcidQueue queueRecord) {
-        queueRecord = reload(queueRecord);
+    private void incrementAttempts(Context context, OrcidQueue queueRecord) {
+        queueRecord = reload(context, queueRecord);
         if (queueRecord == null) {
             return;
         }
@@ -266,7 +410,7 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         try {
             queueRecord.setAttempts(queueRecord.getAttempts() != null ? queueRecord.getAttempts() + 1 : 1);
             orcidQueueService.update(context, queueRecord);
-            commitTransaction();
+            commitTransaction(context);
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
@@ -280,7 +424,7 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
      * used to find the {@link EPerson} associated with it and this {@link EPerson}
      * will be set as the currentUser of the created {@link Context}
      */
-    private void assignCurrentUserInContext() throws SQLException {
+    private void assignCurrentUserInContext(Context context) throws SQLException {
         UUID uuid = getEpersonIdentifier();
         if (uuid != null) {
             EPerson ePerson = EPersonServiceFactory.getInstance().getEPersonService().find(context, uuid);
@@ -288,7 +432,7 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         }
     }
 
-    private OrcidQueue reload(OrcidQueue queueRecord) {
+    private OrcidQueue reload(Context context, OrcidQueue queueRecord) {
         try {
             return context.reloadEntity(queueRecord);
         } catch (SQLException e) {
@@ -296,7 +440,7 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         }
     }
 
-    private void commitTransaction() {
+    private void commitTransaction(Context context) {
         try {
             context.commit();
         } catch (SQLException e) {
@@ -304,7 +448,7 @@ public class OrcidBulkPush extends DSpaceRunnable<OrcidBulkPushScriptConfigurati
         }
     }
 
-    private void rollbackTransaction() {
+    private void rollbackTransaction(Context context) {
         try {
             context.rollback();
         } catch (SQLException e) {
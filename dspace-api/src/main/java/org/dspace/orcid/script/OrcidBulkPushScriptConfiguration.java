@@ -40,6 +40,11 @@ public class OrcidBulkPushScriptConfiguration<T extends OrcidBulkPush> extends S
             options.getOption("f").setType(boolean.class);
             options.getOption("f").setRequired(false);
 
+            options.addOption("t", "threads", true,
+                "the number of profiles to synchronize in parallel (default orcid.bulk-synchronization.threads)");
+            options.getOption("t").setType(Integer.class);
+            options.getOption("t").setRequired(false);
+
             super.options = options;
         }
         return options;
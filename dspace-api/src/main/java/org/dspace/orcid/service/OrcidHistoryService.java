@@ -149,4 +149,24 @@ public interface OrcidHistoryService {
     public OrcidHistory synchronizeWithOrcid(Context context, OrcidQueue orcidQueue, boolean forceAddition)
         throws SQLException, OrcidValidationException;
 
+    /**
+     * Synchronize the entity related to the given orcidQueue record with ORCID,
+     * running the given callback right before each request sent to ORCID, e.g.
+     * to limit the rate of the requests.
+     *
+     * @param  context                  DSpace context object
+     * @param  orcidQueue               the orcid queue record that has the
+     *                                  references of the data to be synchronized
+     * @param  forceAddition            to force the insert on the ORCID registry
+     * @param  beforeOrcidRequest       the callback to run before each request
+     *                                  sent to ORCID
+     * @return                          the created orcid history record with the
+     *                                  synchronization result
+     * @throws SQLException             if database error
+     * @throws OrcidValidationException if the data to synchronize with ORCID is not
+     *                                  valid
+     */
+    public OrcidHistory synchronizeWithOrcid(Context context, OrcidQueue orcidQueue, boolean forceAddition,
+        Runnable beforeOrcidRequest) throws SQLException, OrcidValidationException;
+
 }
@@ -184,6 +184,23 @@ public interface OrcidQueueService {
      */
     public List<OrcidQueue> findByAttemptsLessThan(Context context, int attempts) throws SQLException;
 
+    /**
+     * Get a page of the OrcidQueue records with id greater than the given id
+     * and, if the attempts are given, attempts less than the given attempts,
+     * ordered by id: passing the id of the last record of a page returns the
+     * next page.
+     *
+     * @param  context      DSpace context object
+     * @param  id           the id after which the records are returned
+     * @param  attempts     the maximum value of attempts, null to ignore the
+     *                      attempts
+     * @param  limit        the maximum number of records to return
+     * @return              the found OrcidQueue records
+     * @throws SQLException if database error
+     */
+    public List<OrcidQueue> findByIdGreaterThanAndAttemptsLessThan(Context context, int id, Integer attempts,
+        int limit) throws SQLException;
+
     /**
      * Returns the number of records on the OrcidQueue associated with the given
      * profileItemId.
@@ -164,6 +164,12 @@ public class OrcidHistoryServiceImpl implements OrcidHistoryService {
     @Override
     public OrcidHistory synchronizeWithOrcid(Context context, OrcidQueue orcidQueue, boolean forceAddition)
         throws SQLException {
+        return synchronizeWithOrcid(context, orcidQueue, forceAddition, () -> { });
+    }
+
+    @Override
+    public OrcidHistory synchronizeWithOrcid(Context context, OrcidQueue orcidQueue, boolean forceAddition,
+        Runnable beforeOrcidRequest) throws SQLException {
 
         Item profileItem = orcidQueue.getProfileItem();
 
@@ -179,7 +185,8 @@ public class OrcidHistoryServiceImpl implements OrcidHistoryService {
 
         try {
 
-            OrcidResponse response = synchronizeWithOrcid(context, orcidQueue, orcid, token, operation);
+            OrcidResponse response = synchronizeWithOrcid(context, orcidQueue, orcid, token, operation,
+                beforeOrcidRequest);
             OrcidHistory orcidHistory = createHistoryRecordFromOrcidResponse(context, orcidQueue, operation, response);
             orcidQueueDAO.delete(context, orcidQueue);
             return orcidHistory;
@@ -197,11 +204,11 @@ public class OrcidHistoryServiceImpl implements OrcidHistoryService {
     }
 
     private OrcidResponse synchronizeWithOrcid(Context context, OrcidQueue orcidQueue, String orcid, String token,
-        OrcidOperation operation) throws SQLException {
+        OrcidOperation operation, Runnable beforeOrcidRequest) throws SQLException {
         if (isProfileSectionType(orcidQueue)) {
-            return synchronizeProfileDataWithOrcid(context, orcidQueue, orcid, token, operation);
+            return synchronizeProfileDataWithOrcid(context, orcidQueue, orcid, token, operation, beforeOrcidRequest);
         } else if (isEntityType(orcidQueue)) {
-            return synchronizeEntityWithOrcid(context, orcidQueue, orcid, token, operation);
+            return synchronizeEntityWithOrcid(context, orcidQueue, orcid, token, operation, beforeOrcidRequest);
         } else {
             throw new IllegalArgumentException("The type of the given queue record could not be determined");
         }
@@ -217,27 +224,28 @@ public class OrcidHistoryServiceImpl implements OrcidHistoryService {
     }
 
     private OrcidResponse synchronizeEntityWithOrcid(Context context, OrcidQueue orcidQueue,
-        String orcid, String token, OrcidOperation operation) throws SQLException {
+        String orcid, String token, OrcidOperation operation, Runnable beforeOrcidRequest) throws SQLException {
         if (operation == OrcidOperation.DELETE) {
-            return deleteEntityOnOrcid(context, orcid, token, orcidQueue);
+            return deleteEntityOnOrcid(context, orcid, token, orcidQueue, beforeOrcidRequest);
         } else {
-            return sendEntityToOrcid(context, orcid, token, orcidQueue, operation == OrcidOperation.UPDATE);
+            return sendEntityToOrcid(context, orcid, token, orcidQueue, operation == OrcidOperation.UPDATE,
+                beforeOrcidRequest);
         }
     }
 
     private OrcidResponse synchronizeProfileDataWithOrcid(Context context, OrcidQueue orcidQueue,
-        String orcid, String token, OrcidOperation operation) throws SQLException {
+        String orcid, String token, OrcidOperation operation, Runnable beforeOrcidRequest) throws SQLException {
 
         if (operation == OrcidOperation.INSERT) {
-            return sendProfileDataToOrcid(context, orcid, token, orcidQueue);
+            return sendProfileDataToOrcid(context, orcid, token, orcidQueue, beforeOrcidRequest);
         } else {
-            return deleteProfileDataOnOrcid(context, orcid, token, orcidQueue);
+            return deleteProfileDataOnOrcid(context, orcid, token, orcidQueue, beforeOrcidRequest);
         }
 
     }
 
     private OrcidResponse sendEntityToOrcid(Context context, String orcid, String token, OrcidQueue orcidQueue,
-        boolean toUpdate) {
+        boolean toUpdate, Runnable beforeOrcidRequest) {
 
         Activity activity = activityFactoryService.createOrcidObject(context, orcidQueue.getEntity());
 
@@ -246,6 +254,7 @@ public class OrcidHistoryServiceImpl implements OrcidHistoryService {
             throw new OrcidValidationException(validationErrors);
         }
 
+        beforeOrcidRequest.run();
         if (toUpdate) {
             activity.setPutCode(getPutCode(orcidQueue));
             return orcidClient.update(token, orcid, activity, orcidQueue.getPutCode());
@@ -255,7 +264,8 @@ public class OrcidHistoryServiceImpl implements OrcidHistoryService {
 
     }
 
-    private OrcidResponse sendProfileDataToOrcid(Context context, String orcid, String token, OrcidQueue orcidQueue) {
+    private OrcidResponse sendProfileDataToOrcid(Context context, String orcid, String token, OrcidQueue orcidQueue,
+        Runnable beforeOrcidRequest) {
 
         OrcidProfileSectionType recordType = OrcidProfileSectionType.fromString(orcidQueue.getRecordType());
         String signature = orcidQueue.getMetadata();
@@ -269,16 +279,21 @@ public class OrcidHistoryServiceImpl implements OrcidHistoryService {
             throw new OrcidValidationException(validationErrors);
         }
 
+        beforeOrcidRequest.run();
         return orcidClient.push(token, orcid, orcidObject);
     }
 
-    private OrcidResponse deleteProfileDataOnOrcid(Context context, String orcid, String token, OrcidQueue orcidQueue) {
+    private OrcidResponse deleteProfileDataOnOrcid(Context context, String orcid, String token, OrcidQueue orcidQueue,
+        Runnable beforeOrcidRequest) {
         OrcidProfileSectionType recordType = OrcidProfileSectionType.fromString(orcidQueue.getRecordType());
+        beforeOrcidRequest.run();
         return orcidClient.deleteByPutCode(token, orcid, orcidQueue.getPutCode(), recordType.getPath());
     }
 
-    private OrcidResponse deleteEntityOnOrcid(Context context, String orcid, String token, OrcidQueue orcidQueue) {
+    private OrcidResponse deleteEntityOnOrcid(Context context, String orcid, String token, OrcidQueue orcidQueue,
+        Runnable beforeOrcidRequest) {
         OrcidEntityType recordType = OrcidEntityType.fromEntityType(orcidQueue.getRecordType());
+        beforeOrcidRequest.run();
         return orcidClient.deleteByPutCode(token, orcid, orcidQueue.getPutCode(), recordType.getPath());
     }
 
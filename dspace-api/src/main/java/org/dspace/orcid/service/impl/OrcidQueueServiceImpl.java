@@ -183,6 +183,12 @@ public class OrcidQueueServiceImpl implements OrcidQueueService {
         return orcidQueueDAO.findByAttemptsLessThan(context, attempts);
     }
 
+    @Override
+    public List<OrcidQueue> findByIdGreaterThanAndAttemptsLessThan(Context context, int id, Integer attempts,
+        int limit) throws SQLException {
+        return orcidQueueDAO.findByIdGreaterThanAndAttemptsLessThan(context, id, attempts, limit);
+    }
+
     @Override
     public void delete(Context context, OrcidQueue orcidQueue) throws SQLException {
         orcidQueueDAO.delete(context, orcidQueue);
@@ -0,0 +1,206 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of the reverse DNS and GeoIP lookups of the client addresses
+ * of the usage events, as the same addresses (bots, proxies, campus NATs)
+ * are seen over and over.
+ * <p>
+ * The entries are spread over a fixed number of stripes, each one a least
+ * recently used map with its own lock, so that concurrent requests only
+ * contend when their addresses fall in the same stripe. The lookups
+ * themselves are done outside of the locks, and their results expire after
+ * the configured time to live.
+ */
+public class IpLookupCache {
+
+    private static final int STRIPES = 16;
+
+    private final Map<String, CachedIpInfo>[] stripes;
+
+    private final long timeToLive;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder lookupNanos = new LongAdder();
+
+    /**
+     * @param maxSize    the maximum number of cached addresses
+     * @param timeToLive the time in milliseconds a lookup is kept
+     */
+    @SuppressWarnings("unchecked")
+    public IpLookupCache(int maxSize, long timeToLive) {
+        this.timeToLive = timeToLive;
+        this.stripes = new Map[STRIPES];
+        int stripeSize = Math.max(maxSize / STRIPES, 1);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedIpInfo> eldest) {
+                    return size() > stripeSize;
+                }
+            };
+        }
+    }
+
+    /**
+     * Get the lookup of the given address, performing it with the given
+     * function if it is not cached or expired.
+     *
+     * @param  ip     the client address
+     * @param  lookup the function performing the lookup
+     * @return        the lookup of the address
+     */
+    public IpInfo get(String ip, Function<String, IpInfo> lookup) {
+        Map<String, CachedIpInfo> stripe = getStripe(ip);
+        synchronized (stripe) {
+            CachedIpInfo cached = stripe.get(ip);
+            if (cached != null && cached.expiration > System.currentTimeMillis()) {
+                hits.increment();
+                return cached.ipInfo;
+            }
+        }
+
+        misses.increment();
+        long start = System.nanoTime();
+        IpInfo ipInfo = lookup.apply(ip);
+        lookupNanos.add(System.nanoTime() - start);
+
+        synchronized (stripe) {
+            stripe.put(ip, new CachedIpInfo(ipInfo, System.currentTimeMillis() + timeToLive));
+        }
+        return ipInfo;
+    }
+
+    private Map<String, CachedIpInfo> getStripe(String ip) {
+        int hash = Objects.hashCode(ip);
+        return stripes[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % STRIPES];
+    }
+
+    public int getSize() {
+        int size = 0;
+        for (Map<String, CachedIpInfo> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long lookups = getHits() + getMisses();
+        return lookups > 0 ? (double) getHits() / lookups : 0;
+    }
+
+    /**
+     * @return the average time, in microseconds, spent to look up the
+     *         addresses that were not cached
+     */
+    public long getAverageLookupMicros() {
+        long count = getMisses();
+        return count > 0 ? lookupNanos.sum() / count / 1000 : 0;
+    }
+
+    private static class CachedIpInfo {
+
+        private final IpInfo ipInfo;
+
+        private final long expiration;
+
+        CachedIpInfo(IpInfo ipInfo, long expiration) {
+            this.ipInfo = ipInfo;
+            this.expiration = expiration;
+        }
+    }
+
+    /**
+     * The reverse DNS name and the location of a client address.
+     */
+    public static class IpInfo {
+
+        private final String dns;
+
+        private final String countryCode;
+
+        private final String continent;
+
+        private final String city;
+
+        private final Double latitude;
+
+        private final Double longitude;
+
+        public IpInfo(String dns) {
+            this(dns, null, null, null, null, null);
+        }
+
+        public IpInfo(String dns, String countryCode, String continent, String city, Double latitude,
+            Double longitude) {
+            this.dns = dns;
+            this.countryCode = countryCode;
+            this.continent = continent;
+            this.city = city;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+
+        /**
+         * @return the DNS name, null if the DNS lookup failed
+         */
+        public String getDns() {
+            return dns;
+        }
+
+        /**
+         * @return true if the location of the address is known
+         */
+        public boolean hasLocation() {
+            return latitude != null && longitude != null;
+        }
+
+        public String getCountryCode() {
+            return countryCode;
+        }
+
+        /**
+         * @return the continent code, null if not found for the country
+         */
+        public String getContinent() {
+            return continent;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        public Double getLatitude() {
+            return latitude;
+        }
+
+        public Double getLongitude() {
+            return longitude;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.net.URI;
 import java.net.URLEncoder;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.SQLException;
@@ -36,11 +37,17 @@ import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.servlet.http.HttpServletRequest;
 
 import com.maxmind.geoip2.DatabaseReader;
@@ -101,11 +108,13 @@ import org.dspace.discovery.DiscoverResult.FacetPivotResult;
 import org.dspace.eperson.EPerson;
 import org.dspace.service.ClientInfoService;
 import org.dspace.services.ConfigurationService;
+import org.dspace.statistics.IpLookupCache.IpInfo;
 import org.dspace.statistics.service.SolrLoggerService;
 import org.dspace.statistics.util.LocationUtils;
 import org.dspace.statistics.util.SpiderDetector;
 import org.dspace.usage.UsageWorkflowEvent;
 import org.dspace.util.SolrUtils;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -118,7 +127,7 @@ import org.springframework.beans.factory.annotation.Autowired;
  * @author kevinvandevelde at atmire.com
  * @author mdiggory at atmire.com
  */
-public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBean {
+public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBean, DisposableBean {
 
     private static final Logger log = LogManager.getLogger();
 
@@ -158,6 +167,12 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     /** Name of the current-year statistics core.  Prior-year shards will have a year suffixed. */
     private String statisticsCoreBase;
 
+    /** Write-behind queue used to store the usage events, null if events are stored synchronously. */
+    private StatisticsWriteBehindQueue writeBehindQueue;
+
+    /** Cache of the DNS and GeoIP lookups of the client addresses, null if the lookups are not cached. */
+    private IpLookupCache ipLookupCache;
+
     public static enum StatisticsType {
         VIEW("view"),
         SEARCH("search"),
@@ -198,6 +213,24 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
         solr = solrStatisticsCore.getSolr();
 
+        if (solr != null && configurationService.getBooleanProperty("solr-statistics.queue.enabled", false)) {
+            writeBehindQueue = new StatisticsWriteBehindQueue(solr,
+                configurationService.getIntProperty("solr-statistics.queue.size", 10000),
+                configurationService.getIntProperty("solr-statistics.queue.batch-size", 500),
+                configurationService.getLongProperty("solr-statistics.queue.flush-interval", 1000),
+                StatisticsWriteBehindQueue.OverflowPolicy.fromConfig(
+                    configurationService.getProperty("solr-statistics.queue.overflow-policy")),
+                !configurationService.getBooleanProperty("solr-statistics.autoCommit", true));
+            writeBehindQueue.start();
+        }
+
+        int ipCacheTimeToLive = configurationService.getIntProperty("usage-statistics.ip-cache.ttl", 3600);
+        if (ipCacheTimeToLive > 0) {
+            ipLookupCache = new IpLookupCache(
+                configurationService.getIntProperty("usage-statistics.ip-cache.max-size", 10000),
+                ipCacheTimeToLive * 1000L);
+        }
+
         // Read in the file so we don't have to do it all the time
         //spiderIps = SpiderDetector.getSpiderIpAddresses();
 
@@ -210,6 +243,41 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         locationService = service;
     }
 
+    @Override
+    public void destroy() throws Exception {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.shutdown();
+        }
+    }
+
+    /**
+     * Store the given usage event document, either handing it over to the
+     * write-behind queue when enabled or adding it to solr right away.
+     *
+     * @param document the document to store
+     * @param commit   whether an explicit commit is required when solr autocommit is disabled
+     */
+    protected void addDocument(SolrInputDocument document, boolean commit) throws IOException, SolrServerException {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.offer(document);
+            return;
+        }
+        solr.add(document);
+        // commits are executed automatically using the solr autocommit
+        boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
+        if (commit && !useAutoCommit) {
+            solr.commit(false, false);
+        }
+    }
+
+    /**
+     * @return the write-behind queue used to store usage events, or null if
+     *         usage events are stored synchronously
+     */
+    public StatisticsWriteBehindQueue getWriteBehindQueue() {
+        return writeBehindQueue;
+    }
+
     @Override
     public void post(DSpaceObject dspaceObject, HttpServletRequest request,
                      EPerson currentUser) {
@@ -254,12 +322,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
 
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            addDocument(doc1, true);
 
         } catch (RuntimeException re) {
             throw re;
@@ -300,12 +363,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            addDocument(doc1, true);
 
         } catch (RuntimeException re) {
             throw re;
@@ -332,13 +390,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             document.addField("statistics_type", StatisticsType.LOGIN.text());
 
-            solr.add(document);
-
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            addDocument(document, true);
 
         } catch (RuntimeException re) {
             throw re;
@@ -405,54 +457,13 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 doc1.addField("referrer", request.getHeader("referer"));
             }
 
-            InetAddress ipAddress = null;
-            try {
-                String dns;
-                if (!configurationService.getBooleanProperty("anonymize_statistics.anonymize_on_log", false)) {
-                    ipAddress = InetAddress.getByName(ip);
-                    dns = ipAddress.getHostName();
-                } else {
-                    dns = configurationService.getProperty("anonymize_statistics.dns_mask", "anonymized");
-                }
-                doc1.addField("dns", dns.toLowerCase(Locale.ROOT));
-            } catch (UnknownHostException e) {
-                log.info("Failed DNS Lookup for IP:  {}", ip);
-                log.debug(e.getMessage(), e);
-            }
+            // Save the DNS name and the location information if valid, save the
+            // event without them if not valid
+            addDnsAndLocation(doc1, ip);
             if (request.getHeader("User-Agent") != null) {
                 doc1.addField("userAgent", request.getHeader("User-Agent"));
             }
             doc1.addField("isBot", isSpiderBot);
-            // Save the location information if valid, save the event without
-            // location information if not valid
-            if (locationService != null && ipAddress != null) {
-                try {
-                    CityResponse location = locationService.city(ipAddress);
-                    String countryCode = location.getCountry().getIsoCode();
-                    double latitude = location.getLocation().getLatitude();
-                    double longitude = location.getLocation().getLongitude();
-                    if (!(
-                            "--".equals(countryCode)
-                            && latitude == -180
-                            && longitude == -180)
-                    ) {
-                        try {
-                            doc1.addField("continent", LocationUtils
-                                .getContinentCode(countryCode));
-                        } catch (Exception e) {
-                            log.warn("Failed to load country/continent table: {}", countryCode);
-                        }
-                        doc1.addField("countryCode", countryCode);
-                        doc1.addField("city", location.getCity().getName());
-                        doc1.addField("latitude", latitude);
-                        doc1.addField("longitude", longitude);
-                    }
-                } catch (IOException e) {
-                    log.warn("GeoIP lookup failed.", e);
-                } catch (GeoIp2Exception e) {
-                    log.info("Unable to get location of request: {}", e.getMessage());
-                }
-            }
         }
 
         if (dspaceObject != null) {
@@ -497,55 +508,13 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             doc1.addField("referrer", referrer);
         }
 
-        InetAddress ipAddress = null;
-        try {
-            String dns;
-            if (!configurationService.getBooleanProperty("anonymize_statistics.anonymize_on_log", false)) {
-                ipAddress = InetAddress.getByName(ip);
-                dns = ipAddress.getHostName();
-            } else {
-                dns = configurationService.getProperty("anonymize_statistics.dns_mask", "anonymized");
-            }
-            doc1.addField("dns", dns.toLowerCase(Locale.ROOT));
-        } catch (UnknownHostException e) {
-            log.info("Failed DNS Lookup for IP:  {}", ip);
-            log.debug(e.getMessage(), e);
-        }
+        // Save the DNS name and the location information if valid, save the
+        // event without them if not valid
+        addDnsAndLocation(doc1, ip);
         if (userAgent != null) {
             doc1.addField("userAgent", userAgent);
         }
         doc1.addField("isBot", isSpiderBot);
-        // Save the location information if valid, save the event without
-        // location information if not valid
-        if (locationService != null) {
-            try {
-                CityResponse location = locationService.city(ipAddress);
-                String countryCode = location.getCountry().getIsoCode();
-                double latitude = location.getLocation().getLatitude();
-                double longitude = location.getLocation().getLongitude();
-                if (!(
-                        "--".equals(countryCode)
-                                && latitude == -180
-                                && longitude == -180)
-                ) {
-                    try {
-                        doc1.addField("continent", LocationUtils
-                                .getContinentCode(countryCode));
-                    } catch (Exception e) {
-                        System.out
-                                .println("COUNTRY ERROR: " + countryCode);
-                    }
-                    doc1.addField("countryCode", countryCode);
-                    doc1.addField("city", location.getCity().getName());
-                    doc1.addField("latitude", latitude);
-                    doc1.addField("longitude", longitude);
-                }
-            } catch (IOException e) {
-                log.warn("GeoIP lookup failed.", e);
-            } catch (GeoIp2Exception e) {
-                log.info("Unable to get location of request: {}", e.getMessage());
-            }
-        }
 
         if (dspaceObject != null) {
             doc1.addField("id", dspaceObject.getID().toString());
@@ -562,6 +531,81 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     }
 
 
+    /**
+     * Add the DNS name and the location of the given client address to the
+     * given document, using the cached lookup of the address if any.
+     */
+    private void addDnsAndLocation(SolrInputDocument doc, String ip) {
+        if (configurationService.getBooleanProperty("anonymize_statistics.anonymize_on_log", false)) {
+            String dns = configurationService.getProperty("anonymize_statistics.dns_mask", "anonymized");
+            doc.addField("dns", dns.toLowerCase(Locale.ROOT));
+            return;
+        }
+
+        IpInfo ipInfo = ipLookupCache != null ? ipLookupCache.get(ip, this::lookupIp) : lookupIp(ip);
+        if (ipInfo.getDns() != null) {
+            doc.addField("dns", ipInfo.getDns());
+        }
+        if (ipInfo.hasLocation()) {
+            if (ipInfo.getContinent() != null) {
+                doc.addField("continent", ipInfo.getContinent());
+            }
+            doc.addField("countryCode", ipInfo.getCountryCode());
+            doc.addField("city", ipInfo.getCity());
+            doc.addField("latitude", ipInfo.getLatitude());
+            doc.addField("longitude", ipInfo.getLongitude());
+        }
+    }
+
+    /**
+     * Look up the DNS name and the location of the given client address.
+     */
+    protected IpInfo lookupIp(String ip) {
+        InetAddress ipAddress;
+        String dns;
+        try {
+            ipAddress = InetAddress.getByName(ip);
+            dns = ipAddress.getHostName().toLowerCase(Locale.ROOT);
+        } catch (UnknownHostException e) {
+            log.info("Failed DNS Lookup for IP:  {}", ip);
+            log.debug(e.getMessage(), e);
+            return new IpInfo(null);
+        }
+
+        if (locationService == null) {
+            return new IpInfo(dns);
+        }
+        try {
+            CityResponse location = locationService.city(ipAddress);
+            String countryCode = location.getCountry().getIsoCode();
+            double latitude = location.getLocation().getLatitude();
+            double longitude = location.getLocation().getLongitude();
+            if ("--".equals(countryCode) && latitude == -180 && longitude == -180) {
+                return new IpInfo(dns);
+            }
+            String continent = null;
+            try {
+                continent = LocationUtils.getContinentCode(countryCode);
+            } catch (Exception e) {
+                log.warn("Failed to load country/continent table: {}", countryCode);
+            }
+            return new IpInfo(dns, countryCode, continent, location.getCity().getName(), latitude, longitude);
+        } catch (IOException e) {
+            log.warn("GeoIP lookup failed.", e);
+        } catch (GeoIp2Exception e) {
+            log.info("Unable to get location of request: {}", e.getMessage());
+        }
+        return new IpInfo(dns);
+    }
+
+    /**
+     * @return the cache of the lookups of the client addresses, or null if
+     *         the lookups are not cached
+     */
+    public IpLookupCache getIpLookupCache() {
+        return ipLookupCache;
+    }
+
     @Override
     public void postSearch(DSpaceObject resultObject, HttpServletRequest request, EPerson currentUser,
                            List<String> queries, int rpp, String sortBy, String order, int page, DSpaceObject scope) {
@@ -603,7 +647,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("page", page);
             }
 
-            solr.add(solrDoc);
+            addDocument(solrDoc, false);
         } catch (RuntimeException re) {
             throw re;
         } catch (Exception e) {
@@ -663,13 +707,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             solrDoc.addField("previousActionRequiresUI", usageWorkflowEvent.isPreviousActionRequiresUI());
 
-            solr.add(solrDoc);
-
-            // commits are executed automatically using the solr autocommit
-            boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
-                solr.commit(false, false);
-            }
+            addDocument(solrDoc, true);
 
         } catch (Exception e) {
             //Log the exception, no need to send it through, the workflow shouldn't crash because of this !
@@ -1021,6 +1059,38 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         }
     }
 
+    @Override
+    public ObjectCount[] queryFacetFieldPage(String query, String filterQuery, String facetField,
+        int offset, int limit, int facetMinCount) throws SolrServerException, IOException {
+        if (solr == null) {
+            return new ObjectCount[0];
+        }
+
+        SolrQuery solrQuery = new SolrQuery().setRows(0).setQuery(query)
+                                             .addFacetField(facetField)
+                                             .setFacetMinCount(facetMinCount)
+                                             .setFacetLimit(limit)
+                                             .setFacetSort(FacetParams.FACET_SORT_INDEX);
+        solrQuery.set(FacetParams.FACET_OFFSET, offset);
+        addAdditionalSolrYearCores(solrQuery);
+        if (filterQuery != null) {
+            solrQuery.addFilterQuery(filterQuery);
+        }
+
+        FacetField field = solr.query(solrQuery).getFacetField(facetField);
+        if (field == null || field.getValueCount() == 0) {
+            return new ObjectCount[0];
+        }
+        ObjectCount[] result = new ObjectCount[field.getValueCount()];
+        for (int i = 0; i < result.length; i++) {
+            FacetField.Count fieldCount = field.getValues().get(i);
+            result[i] = new ObjectCount();
+            result[i].setCount(fieldCount.getCount());
+            result[i].setValue(fieldCount.getName());
+        }
+        return result;
+    }
+
     @Override
     public FacetPivotResult[] queryFacetPivotField(String query, String filterQuery, String pivotField, int max,
         boolean showTotal, List<String> facetQueries, int facetMinCount) throws SolrServerException, IOException {
@@ -1349,60 +1419,24 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             return;
         }
 
-        /*
-        Start by faceting by year so we can include each year in a separate core !
-         */
-        SolrQuery yearRangeQuery = new SolrQuery();
-        yearRangeQuery.setQuery("*:*");
-        yearRangeQuery.setRows(0);
-        yearRangeQuery.setFacet(true);
-        yearRangeQuery.add(FacetParams.FACET_RANGE, "time");
-        //We go back to 2000 the year 2000, this is a bit overkill but this way we ensure we have everything
-        //The alternative would be to sort but that isn't recommended since it would be a very costly query !
-        yearRangeQuery.add(FacetParams.FACET_RANGE_START,
-                           "NOW/YEAR-" + (Calendar.getInstance().get(Calendar.YEAR) - 2000) + "YEARS");
-        //Add the +0year to ensure that we DO NOT include the current year
-        yearRangeQuery.add(FacetParams.FACET_RANGE_END, "NOW/YEAR+0YEARS");
-        yearRangeQuery.add(FacetParams.FACET_RANGE_GAP, "+1YEAR");
-        yearRangeQuery.add(FacetParams.FACET_MINCOUNT, String.valueOf(1));
-
         //Create a temp directory to store our files in !
         File tempDirectory = new File(
             configurationService.getProperty("dspace.dir") + File.separator + "temp" + File.separator);
         tempDirectory.mkdirs();
 
-
-        QueryResponse queryResponse = solr.query(yearRangeQuery);
-        //We only have one range query !
-        List<RangeFacet.Count> yearResults = queryResponse.getFacetRanges().get(0).getCounts();
+        List<RangeFacet.Count> yearResults = getYearsToShard();
         for (RangeFacet.Count count : yearResults) {
             long totalRecords = count.getCount();
 
             //Create a range query from this !
             //We start with out current year
             DCDate dcStart = new DCDate(count.getValue());
-            Calendar endDate = Calendar.getInstance();
-            //Advance one year for the start of the next one !
-            endDate.setTime(dcStart.toDate());
-            endDate.add(Calendar.YEAR, 1);
-            DCDate dcEndDate = new DCDate(endDate.getTime());
-
-
-            StringBuilder filterQuery = new StringBuilder();
-            filterQuery.append("time:([");
-            filterQuery.append(ClientUtils.escapeQueryChars(dcStart.toString()));
-            filterQuery.append(" TO ");
-            filterQuery.append(ClientUtils.escapeQueryChars(dcEndDate.toString()));
-            filterQuery.append("]");
-            //The next part of the filter query excludes the content from midnight of the next year !
-            filterQuery.append(" NOT ").append(ClientUtils.escapeQueryChars(dcEndDate.toString()));
-            filterQuery.append(")");
-
+            String filterQuery = getYearFilterQuery(dcStart);
 
             Map<String, String> yearQueryParams = new HashMap<>();
             yearQueryParams.put(CommonParams.Q, "*:*");
             yearQueryParams.put(CommonParams.ROWS, String.valueOf(10000));
-            yearQueryParams.put(CommonParams.FQ, filterQuery.toString());
+            yearQueryParams.put(CommonParams.FQ, filterQuery);
             yearQueryParams.put(CommonParams.WT, "csv");
 
             //Tell SOLR how to escape and separate the values of multi-valued fields
@@ -1468,7 +1502,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
 
             //Delete contents of this year from our year query !
-            solr.deleteByQuery(filterQuery.toString());
+            solr.deleteByQuery(filterQuery);
             solr.commit(true, true);
 
             log.info("Moved {} records into core: {}", totalRecords, coreName);
@@ -1477,6 +1511,146 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         FileUtils.deleteDirectory(tempDirectory);
     }
 
+    @Override
+    public void shardSolrIndex(int threads) throws IOException, SolrServerException {
+        if (!(solr instanceof HttpSolrClient)) {
+            return;
+        }
+
+        File checkpointDirectory = new File(configurationService.getProperty("dspace.dir"),
+            "temp" + File.separator + "statistics-shards");
+        checkpointDirectory.mkdirs();
+
+        List<RangeFacet.Count> yearResults = getYearsToShard();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(threads, 1), r -> {
+            Thread thread = new Thread(r, "statistics-shard-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<String> failedYears = new ArrayList<>();
+        try {
+            Map<String, Future<?>> moves = new LinkedHashMap<>();
+            for (RangeFacet.Count count : yearResults) {
+                DCDate dcStart = new DCDate(count.getValue());
+                moves.put(String.valueOf(dcStart.getYearUTC()), executor.submit(() -> {
+                    moveYear(dcStart, checkpointDirectory);
+                    return null;
+                }));
+            }
+
+            for (Map.Entry<String, Future<?>> move : moves.entrySet()) {
+                try {
+                    move.getValue().get();
+                } catch (ExecutionException e) {
+                    log.error("Statistics of year {} not moved", move.getKey(), e.getCause());
+                    failedYears.add(move.getKey());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while moving the statistics", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (!failedYears.isEmpty()) {
+            throw new IOException("The statistics of the years " + failedYears + " have not been moved, "
+                + "run the sharding again to resume from the last checkpoint");
+        }
+        FileUtils.deleteDirectory(checkpointDirectory);
+    }
+
+    /**
+     * Copy the statistics of the year starting at the given date into the
+     * core of the year, paging through them with a cursor, then delete them
+     * from the statistics core. The cursor is recorded in a checkpoint file
+     * after each committed batch, so that an interrupted move resumes from
+     * there: copying again the documents added after the last checkpoint
+     * just overwrites them.
+     */
+    private void moveYear(DCDate dcStart, File checkpointDirectory) throws IOException, SolrServerException {
+        String filterQuery = getYearFilterQuery(dcStart);
+        String coreName = statisticsCoreBase + "-" + dcStart.getYearUTC();
+        File checkpointFile = new File(checkpointDirectory, coreName + ".properties");
+        StatisticsShardCopier copier = new StatisticsShardCopier(solr,
+            configurationService.getIntProperty("usage-statistics.shard.rows", 10000),
+            configurationService.getIntProperty("usage-statistics.shard.checkpoint-interval", 10));
+
+        long totalRecords = solr.query(new SolrQuery("*:*").addFilterQuery(filterQuery).setRows(0))
+            .getResults().getNumFound();
+
+        try (HttpSolrClient statisticsYearServer = createCore((HttpSolrClient) solr, coreName)) {
+            System.out.println("Moving: " + totalRecords + " into core " + coreName);
+            log.info("Moving: {} records into core {}", totalRecords, coreName);
+
+            copier.copy(filterQuery, statisticsYearServer, checkpointFile);
+
+            //Do not lose anything if the core of the year has not got everything
+            long copied = statisticsYearServer.query(new SolrQuery("*:*").addFilterQuery(filterQuery).setRows(0))
+                .getResults().getNumFound();
+            if (copied < totalRecords) {
+                throw new IOException("Only " + copied + " of " + totalRecords + " records found in core " + coreName);
+            }
+        }
+
+        //Delete contents of this year from our year query !
+        solr.deleteByQuery(filterQuery);
+        solr.commit(true, true);
+        Files.deleteIfExists(checkpointFile.toPath());
+
+        System.out.println("Moved: " + totalRecords + " into core " + coreName);
+        log.info("Moved {} records into core: {}", totalRecords, coreName);
+    }
+
+    /**
+     * Facet the statistics by year, so that each year can be moved into a
+     * separate core. The current year is not included.
+     */
+    private List<RangeFacet.Count> getYearsToShard() throws IOException, SolrServerException {
+        SolrQuery yearRangeQuery = new SolrQuery();
+        yearRangeQuery.setQuery("*:*");
+        yearRangeQuery.setRows(0);
+        yearRangeQuery.setFacet(true);
+        yearRangeQuery.add(FacetParams.FACET_RANGE, "time");
+        //We go back to 2000 the year 2000, this is a bit overkill but this way we ensure we have everything
+        //The alternative would be to sort but that isn't recommended since it would be a very costly query !
+        yearRangeQuery.add(FacetParams.FACET_RANGE_START,
+                           "NOW/YEAR-" + (Calendar.getInstance().get(Calendar.YEAR) - 2000) + "YEARS");
+        //Add the +0year to ensure that we DO NOT include the current year
+        yearRangeQuery.add(FacetParams.FACET_RANGE_END, "NOW/YEAR+0YEARS");
+        yearRangeQuery.add(FacetParams.FACET_RANGE_GAP, "+1YEAR");
+        yearRangeQuery.add(FacetParams.FACET_MINCOUNT, String.valueOf(1));
+
+        QueryResponse queryResponse = solr.query(yearRangeQuery);
+        //We only have one range query !
+        return queryResponse.getFacetRanges().get(0).getCounts();
+    }
+
+    /**
+     * @return the filter query matching the statistics of the year starting
+     *         at the given date
+     */
+    private String getYearFilterQuery(DCDate dcStart) {
+        Calendar endDate = Calendar.getInstance();
+        //Advance one year for the start of the next one !
+        endDate.setTime(dcStart.toDate());
+        endDate.add(Calendar.YEAR, 1);
+        DCDate dcEndDate = new DCDate(endDate.getTime());
+
+        StringBuilder filterQuery = new StringBuilder();
+        filterQuery.append("time:([");
+        filterQuery.append(ClientUtils.escapeQueryChars(dcStart.toString()));
+        filterQuery.append(" TO ");
+        filterQuery.append(ClientUtils.escapeQueryChars(dcEndDate.toString()));
+        filterQuery.append("]");
+        //The next part of the filter query excludes the content from midnight of the next year !
+        filterQuery.append(" NOT ").append(ClientUtils.escapeQueryChars(dcEndDate.toString()));
+        filterQuery.append(")");
+        return filterQuery.toString();
+    }
+
     protected HttpSolrClient createCore(HttpSolrClient solr, String coreName)
             throws IOException, SolrServerException {
         String baseSolrUrl = solr.getBaseURL().replace(statisticsCoreBase, ""); // Has trailing slash
@@ -1711,6 +1885,9 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     @Override
     public void commit() throws IOException, SolrServerException {
+        if (writeBehindQueue != null) {
+            writeBehindQueue.drain();
+        }
         solr.commit();
     }
 
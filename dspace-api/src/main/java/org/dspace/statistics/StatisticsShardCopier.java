@@ -0,0 +1,143 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
+
+/**
+ * Resumable copy of the statistics matching a filter query into another core,
+ * used when the statistics are sharded by year. The documents are read with
+ * cursor paging sorted by uid and, every {@code pagesPerCheckpoint} pages, the
+ * target core is committed and the cursor is written to a checkpoint file. A
+ * copy started again with the same checkpoint file resumes from the last
+ * checkpoint: the documents copied after it are just overwritten.
+ */
+class StatisticsShardCopier {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private final SolrClient source;
+
+    private final int rows;
+
+    private final int pagesPerCheckpoint;
+
+    /**
+     * @param source             the statistics core to copy from
+     * @param rows               the number of documents of each page
+     * @param pagesPerCheckpoint the number of pages copied between two
+     *                           checkpoints, at least 1
+     */
+    StatisticsShardCopier(SolrClient source, int rows, int pagesPerCheckpoint) {
+        this.source = source;
+        this.rows = Math.max(rows, 1);
+        this.pagesPerCheckpoint = Math.max(pagesPerCheckpoint, 1);
+    }
+
+    /**
+     * Copy the documents matching the given filter query into the target core,
+     * resuming from the given checkpoint file if it exists. The checkpoint file
+     * is left in place, to be deleted by the caller once the copy is verified.
+     *
+     * @param  filterQuery         the filter query of the documents to copy
+     * @param  target              the core to copy the documents into
+     * @param  checkpointFile      the file recording the progress of the copy
+     * @return                     the number of documents copied, including the
+     *                             ones copied before the checkpoint resumed from
+     * @throws IOException         if a checkpoint cannot be read or written
+     * @throws SolrServerException if a core cannot be read or written
+     */
+    long copy(String filterQuery, SolrClient target, File checkpointFile) throws IOException, SolrServerException {
+        Properties checkpoint = readCheckpoint(checkpointFile);
+        String cursorMark = checkpoint.getProperty("cursorMark", CursorMarkParams.CURSOR_MARK_START);
+        long moved = Long.parseLong(checkpoint.getProperty("moved", "0"));
+        if (moved > 0) {
+            log.info("Resuming the copy of {} after {} records", filterQuery, moved);
+        }
+
+        SolrQuery query = new SolrQuery("*:*");
+        query.addFilterQuery(filterQuery);
+        query.setRows(rows);
+        query.setSort(SolrQuery.SortClause.asc("uid"));
+
+        int pages = 0;
+        while (true) {
+            query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            QueryResponse response = source.query(query);
+            List<SolrInputDocument> docs = new ArrayList<>();
+            for (SolrDocument result : response.getResults()) {
+                SolrInputDocument doc = new SolrInputDocument();
+                for (String name : result.getFieldNames()) {
+                    if (!"_version_".equals(name)) {
+                        doc.addField(name, result.getFieldValue(name));
+                    }
+                }
+                docs.add(doc);
+            }
+            if (!docs.isEmpty()) {
+                target.add(docs);
+                moved += docs.size();
+            }
+
+            String nextCursorMark = response.getNextCursorMark();
+            boolean done = cursorMark.equals(nextCursorMark);
+            cursorMark = nextCursorMark;
+            if (done || ++pages % pagesPerCheckpoint == 0) {
+                target.commit(true, true);
+                writeCheckpoint(checkpointFile, cursorMark, moved);
+                log.info("Copied {} records of {}", moved, filterQuery);
+            }
+            if (done) {
+                return moved;
+            }
+        }
+    }
+
+    private Properties readCheckpoint(File checkpointFile) throws IOException {
+        Properties checkpoint = new Properties();
+        if (checkpointFile.exists()) {
+            try (Reader reader = Files.newBufferedReader(checkpointFile.toPath(), StandardCharsets.UTF_8)) {
+                checkpoint.load(reader);
+            }
+        }
+        return checkpoint;
+    }
+
+    private void writeCheckpoint(File checkpointFile, String cursorMark, long moved) throws IOException {
+        Properties checkpoint = new Properties();
+        checkpoint.setProperty("cursorMark", cursorMark);
+        checkpoint.setProperty("moved", String.valueOf(moved));
+        Path tempFile = Paths.get(checkpointFile.getPath() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            checkpoint.store(writer, null);
+        }
+        Files.move(tempFile, checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,274 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.common.SolrInputDocument;
+
+/**
+ * Bounded, in-memory write-behind queue for usage statistics documents.
+ * Documents are offered by the request threads and sent to the statistics
+ * core by a single background thread, using multi-document add requests of
+ * at most {@code maxBatchSize} documents. A batch is sent as soon as it is
+ * full or when {@code flushInterval} milliseconds have elapsed since the first
+ * document of the batch was taken from the queue.
+ */
+public class StatisticsWriteBehindQueue {
+
+    private static final Logger log = LogManager.getLogger();
+
+    /**
+     * What to do when a document is offered to a full queue.
+     */
+    public enum OverflowPolicy {
+        /** Discard the document and increase the dropped events counter. */
+        DROP,
+        /** Wait on the request thread until there is room in the queue. */
+        BLOCK;
+
+        /**
+         * @param  value the configured policy, case insensitive
+         * @return       the policy with the given name, {@link #DROP} if the
+         *               value is blank or not a known policy
+         */
+        public static OverflowPolicy fromConfig(String value) {
+            if (StringUtils.isBlank(value)) {
+                return DROP;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                log.warn("Unknown statistics write-behind queue overflow policy {}, using {}", value, DROP);
+                return DROP;
+            }
+        }
+    }
+
+    private final SolrClient solr;
+
+    private final BlockingQueue<SolrInputDocument> queue;
+
+    private final int maxBatchSize;
+
+    private final long flushInterval;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final boolean commit;
+
+    private final AtomicLong submittedEvents = new AtomicLong();
+
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    private final AtomicLong failedEvents = new AtomicLong();
+
+    private final AtomicLong batches = new AtomicLong();
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    /**
+     * @param solr           the statistics core to write to
+     * @param capacity       the maximum number of documents waiting to be sent
+     * @param maxBatchSize   the maximum number of documents sent in one add request
+     * @param flushInterval  the maximum time, in milliseconds, a document waits for a batch to fill up
+     * @param overflowPolicy what to do when the queue is full
+     * @param commit         whether to commit the core after each batch (when solr autocommit is not used)
+     */
+    public StatisticsWriteBehindQueue(SolrClient solr, int capacity, int maxBatchSize, long flushInterval,
+                                      OverflowPolicy overflowPolicy, boolean commit) {
+        if (capacity <= 0 || maxBatchSize <= 0 || flushInterval <= 0) {
+            throw new IllegalArgumentException("capacity, maxBatchSize and flushInterval must be positive");
+        }
+        this.solr = solr;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.flushInterval = flushInterval;
+        this.overflowPolicy = overflowPolicy;
+        this.commit = commit;
+    }
+
+    /**
+     * Start the background thread that sends the queued documents to solr.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "statistics-write-behind");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Add the given document to the queue, applying the configured
+     * {@link OverflowPolicy} if the queue is full.
+     *
+     * @param document the statistics document to store
+     * @return true if the document was queued, false if it was dropped
+     */
+    public boolean offer(SolrInputDocument document) {
+        if (!running) {
+            droppedEvents.incrementAndGet();
+            return false;
+        }
+        boolean queued;
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                queue.put(document);
+                queued = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+        } else {
+            queued = queue.offer(document);
+        }
+        if (queued) {
+            submittedEvents.incrementAndGet();
+            if (!running) {
+                // stopped while queuing, the worker and shutdown may have already emptied the queue
+                drain();
+            }
+        } else if (droppedEvents.incrementAndGet() % 1000 == 1) {
+            log.warn("Statistics write-behind queue is full, {} events dropped so far", droppedEvents.get());
+        }
+        return queued;
+    }
+
+    /**
+     * Stop accepting new documents, send everything still in the queue and
+     * wait for the background thread to terminate.
+     */
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // whatever the worker did not manage to send is sent from the calling thread
+        drain();
+        log.info("Statistics write-behind queue stopped: {} submitted, {} dropped, {} failed in {} batches",
+                 submittedEvents.get(), droppedEvents.get(), failedEvents.get(), batches.get());
+    }
+
+    /**
+     * Send all the documents currently in the queue, from the calling thread.
+     */
+    public void drain() {
+        List<SolrInputDocument> batch = new ArrayList<>(maxBatchSize);
+        while (queue.drainTo(batch, maxBatchSize) > 0) {
+            send(batch);
+            batch.clear();
+        }
+    }
+
+    private void run() {
+        List<SolrInputDocument> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                SolrInputDocument first = queue.poll(flushInterval, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushInterval);
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    SolrInputDocument next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<SolrInputDocument> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            solr.add(batch);
+            if (commit) {
+                solr.commit(false, false);
+            }
+            batches.incrementAndGet();
+        } catch (Exception e) {
+            failedEvents.addAndGet(batch.size());
+            log.error("Error saving {} statistics events to Solr", batch.size(), e);
+        }
+    }
+
+    /**
+     * @return the number of documents currently waiting to be sent
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of documents accepted by the queue since startup
+     */
+    public long getSubmittedEvents() {
+        return submittedEvents.get();
+    }
+
+    /**
+     * @return the number of documents discarded because the queue was full or stopped
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    /**
+     * @return the number of documents that could not be stored in solr
+     */
+    public long getFailedEvents() {
+        return failedEvents.get();
+    }
+
+    /**
+     * @return the number of add requests successfully sent to solr
+     */
+    public long getBatches() {
+        return batches.get();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+}
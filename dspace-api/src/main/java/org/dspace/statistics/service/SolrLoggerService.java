@@ -171,6 +171,24 @@ public interface SolrLoggerService {
                                          List<String> facetQueries, int facetMinCount)
         throws SolrServerException, IOException;
 
+    /**
+     * Query used to get a page of the values grouped by the given facet field,
+     * sorted by value so that consecutive pages do not overlap.
+     *
+     * @param query         the query to be used
+     * @param filterQuery   filter query
+     * @param facetField    the facet field on which to group our values
+     * @param offset        the number of values to skip
+     * @param limit         the max number of values given back
+     * @param facetMinCount Minimum count of results facet must have to return a result
+     * @return an array containing our results, shorter than the limit on the last page
+     * @throws SolrServerException Exception from the Solr server to the solrj Java client.
+     * @throws java.io.IOException passed through.
+     */
+    public ObjectCount[] queryFacetFieldPage(String query, String filterQuery, String facetField,
+                                             int offset, int limit, int facetMinCount)
+        throws SolrServerException, IOException;
+
     /**
      * Query used to get values grouped by the given facet pivot fields.
      *
@@ -349,6 +367,19 @@ public interface SolrLoggerService {
 
     public void shardSolrIndex() throws IOException, SolrServerException;
 
+    /**
+     * Move the statistics of each past year into a separate core, as
+     * {@link #shardSolrIndex()} does, paging through them with a cursor and
+     * adding them straight to the core of the year. The years are moved
+     * concurrently, and the progress of each year is recorded so that an
+     * interrupted run resumes where it stopped.
+     *
+     * @param threads the number of years to move concurrently
+     * @throws IOException         if the statistics of any year have not been moved
+     * @throws SolrServerException Exception from the Solr server to the solrj Java client.
+     */
+    public void shardSolrIndex(int threads) throws IOException, SolrServerException;
+
     public void reindexBitstreamHits(boolean removeDeletedBitstreams) throws Exception;
 
     /**
@@ -0,0 +1,344 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Matcher of a set of regular expressions, telling if any of them is found
+ * in a string, as {@link java.util.regex.Matcher#find()} does, without
+ * trying each expression in turn.
+ * <p>
+ * The expressions that are plain literals, like most of the spider agent
+ * patterns, and a literal that any match of each other expression must
+ * contain, where one can be found, are put in a single Aho-Corasick
+ * automaton, so the string is scanned once: a plain literal found is a
+ * match, while the other expressions are evaluated only if their literal is
+ * found. The expressions without such a literal are always evaluated.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class PatternSetMatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(PatternSetMatcher.class);
+
+    private static final String METACHARACTERS = "[](){}.*+?^$|\\";
+
+    /** Escapes followed by more characters belonging to the same construct, e.g. \x41 or \p{Alpha}. */
+    private static final String COMPOSITE_ESCAPES = "0123456789xucpPkNQE";
+
+    private final Node root = new Node();
+
+    /** The expressions to evaluate when their literal is found, null for the plain literals. */
+    private final List<Pattern> expressions = new ArrayList<>();
+
+    /** The expressions to evaluate in any case. */
+    private final List<Pattern> alwaysEvaluated = new ArrayList<>();
+
+    private final int size;
+
+    private PatternSetMatcher(Collection<String> regexes) {
+        Map<String, List<Integer>> literals = new HashMap<>();
+        int count = 0;
+        for (String regex : regexes) {
+            Pattern pattern;
+            try {
+                pattern = Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                log.warn("Invalid pattern {}: {}", regex, e.getMessage());
+                continue;
+            }
+            count++;
+            String literal = toLiteral(regex);
+            if (literal != null) {
+                expressions.add(null);
+            } else {
+                literal = findRequiredLiteral(regex);
+                if (literal == null) {
+                    alwaysEvaluated.add(pattern);
+                    continue;
+                }
+                expressions.add(pattern);
+            }
+            literals.computeIfAbsent(literal, key -> new ArrayList<>()).add(expressions.size() - 1);
+        }
+        this.size = count;
+        buildAutomaton(literals);
+    }
+
+    /**
+     * Compile the given regular expressions, skipping the invalid ones.
+     *
+     * @param  regexes the regular expressions
+     * @return         the matcher
+     */
+    public static PatternSetMatcher compile(Collection<String> regexes) {
+        return new PatternSetMatcher(regexes);
+    }
+
+    /**
+     * @return the number of valid expressions of this matcher
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param  input the string to check
+     * @return       true if any expression is found in the given string
+     */
+    public boolean matches(String input) {
+        BitSet candidates = null;
+        Node state = root;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            while (state != root && !state.next.containsKey(c)) {
+                state = state.fail;
+            }
+            state = state.next.getOrDefault(c, root);
+            for (int id : state.outputs) {
+                if (expressions.get(id) == null) {
+                    return true;
+                }
+                if (candidates == null) {
+                    candidates = new BitSet(expressions.size());
+                }
+                candidates.set(id);
+            }
+        }
+
+        if (candidates != null) {
+            for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+                if (expressions.get(id).matcher(input).find()) {
+                    return true;
+                }
+            }
+        }
+        for (Pattern pattern : alwaysEvaluated) {
+            if (pattern.matcher(input).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void buildAutomaton(Map<String, List<Integer>> literals) {
+        Map<Node, List<Integer>> outputs = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : literals.entrySet()) {
+            Node node = root;
+            for (char c : entry.getKey().toCharArray()) {
+                node = node.next.computeIfAbsent(c, key -> new Node());
+            }
+            outputs.computeIfAbsent(node, key -> new ArrayList<>()).addAll(entry.getValue());
+        }
+
+        // breadth first, so the failure node of each node is complete before its children
+        Deque<Node> queue = new ArrayDeque<>();
+        root.fail = root;
+        for (Node child : root.next.values()) {
+            child.fail = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            List<Integer> nodeOutputs = new ArrayList<>(outputs.getOrDefault(node, List.of()));
+            for (int id : node.fail.outputs) {
+                nodeOutputs.add(id);
+            }
+            node.outputs = nodeOutputs.stream().mapToInt(Integer::intValue).toArray();
+
+            for (Map.Entry<Character, Node> entry : node.next.entrySet()) {
+                Node fail = node.fail;
+                while (fail != root && !fail.next.containsKey(entry.getKey())) {
+                    fail = fail.fail;
+                }
+                Node child = entry.getValue();
+                child.fail = fail.next.getOrDefault(entry.getKey(), root);
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * @return the literal matched by the given expression, or null if it is
+     *         not a plain literal
+     */
+    static String toLiteral(String regex) {
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= regex.length() || Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                    return null;
+                }
+                literal.append(regex.charAt(++i));
+            } else if (METACHARACTERS.indexOf(c) >= 0) {
+                return null;
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.length() > 0 ? literal.toString() : null;
+    }
+
+    /**
+     * Find the longest literal that any match of the given expression
+     * contains, looking only at the top level sequence of the expression.
+     *
+     * @return the literal, or null if none can be found
+     */
+    static String findRequiredLiteral(String regex) {
+        if (regex.contains("(?")) {
+            // embedded flags could make the expression case insensitive
+            return null;
+        }
+        String longest = "";
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            switch (c) {
+                case '\\':
+                    if (i + 1 >= regex.length()) {
+                        return null;
+                    }
+                    char escaped = regex.charAt(i + 1);
+                    if (!Character.isLetterOrDigit(escaped)) {
+                        current.append(escaped);
+                    } else if (COMPOSITE_ESCAPES.indexOf(escaped) >= 0) {
+                        return null;
+                    } else {
+                        // a character class or a boundary, e.g. \d or \b
+                        longest = longest(longest, current);
+                    }
+                    i += 2;
+                    continue;
+                case '[':
+                    i = skipCharacterClass(regex, i);
+                    longest = longest(longest, current);
+                    continue;
+                case '(':
+                    i = skipGroup(regex, i);
+                    longest = longest(longest, current);
+                    continue;
+                case '|':
+                    return null;
+                case '*':
+                case '?':
+                case '{':
+                    // the previous character is optional
+                    if (current.length() > 0) {
+                        current.setLength(current.length() - 1);
+                    }
+                    longest = longest(longest, current);
+                    if (c == '{') {
+                        int end = regex.indexOf('}', i);
+                        i = end < 0 ? regex.length() : end;
+                    }
+                    break;
+                case '+':
+                case '.':
+                case '^':
+                case '$':
+                    longest = longest(longest, current);
+                    break;
+                default:
+                    current.append(c);
+                    break;
+            }
+            i++;
+        }
+        longest = longest(longest, current);
+        return longest.isEmpty() ? null : longest;
+    }
+
+    private static String longest(String longest, StringBuilder current) {
+        String candidate = current.toString();
+        current.setLength(0);
+        return candidate.length() > longest.length() ? candidate : longest;
+    }
+
+    /**
+     * @return the index following the character class starting at the given index
+     */
+    private static int skipCharacterClass(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == '^') {
+                    i++;
+                }
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == ']') {
+                    // a leading ] is part of the class
+                    i++;
+                }
+            } else if (c == ']' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return regex.length();
+    }
+
+    /**
+     * @return the index following the group starting at the given index
+     */
+    private static int skipGroup(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                i = skipCharacterClass(regex, i);
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return regex.length();
+    }
+
+    /**
+     * A state of the automaton.
+     */
+    private static class Node {
+
+        private final Map<Character, Node> next = new HashMap<>();
+
+        private Node fail;
+
+        private int[] outputs = new int[0];
+    }
+}
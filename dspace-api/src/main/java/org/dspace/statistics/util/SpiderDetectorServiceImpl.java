@@ -12,11 +12,11 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.servlet.http.HttpServletRequest;
 
 import org.apache.commons.configuration2.ex.ConversionException;
@@ -41,13 +41,15 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
     private static final Logger log = LoggerFactory.getLogger(SpiderDetectorServiceImpl.class);
 
-    private Boolean useCaseInsensitiveMatching;
+    private static final int DEFAULT_AGENT_CACHE_MAX_SIZE = 10000;
 
-    private final List<Pattern> agents
-        = Collections.synchronizedList(new ArrayList<Pattern>());
+    private Boolean useCaseInsensitiveMatching;
 
-    private final List<Pattern> domains
-        = Collections.synchronizedList(new ArrayList<Pattern>());
+    /**
+     * The compiled agent and domain patterns, loaded once and never changed,
+     * so that the readers never need a lock.
+     */
+    private volatile SpiderPatterns patterns;
 
     private ConfigurationService configurationService;
     private ClientInfoService clientInfoService;
@@ -80,27 +82,17 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
      * @return true if the client matches any spider characteristics list.
      */
     public boolean isSpider(String clientIP, String proxyIPs, String hostname, String agent) {
+        SpiderPatterns spiderPatterns = getPatterns();
+
         // See if any agent patterns match
         if (null != agent) {
-            synchronized (agents) {
-                if (agents.isEmpty()) {
-                    loadPatterns("agents", agents);
-                }
-            }
-
             if (isUseCaseInsensitiveMatching()) {
                 agent = StringUtils.lowerCase(agent);
                 hostname = StringUtils.lowerCase(hostname);
             }
 
-            for (Pattern candidate : agents) {
-
-                // prevent matcher() invocation from a null Pattern object
-                if (null != candidate && candidate.matcher(agent).find()) {
-                    return true;
-                }
-
-
+            if (spiderPatterns.isSpiderAgent(agent)) {
+                return true;
             }
         }
 
@@ -120,16 +112,8 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
         // No.  See if any DNS names match
         if (null != hostname) {
-            synchronized (domains) {
-                if (domains.isEmpty()) {
-                    loadPatterns("domains", domains);
-                }
-            }
-            for (Pattern candidate : domains) {
-                // prevent matcher() invocation from a null Pattern object
-                if (null != candidate && candidate.matcher(hostname).find()) {
-                    return true;
-                }
+            if (spiderPatterns.domains.matches(hostname)) {
+                return true;
             }
         }
 
@@ -171,16 +155,37 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         return patterns;
     }
 
+    private SpiderPatterns getPatterns() {
+        SpiderPatterns spiderPatterns = patterns;
+        if (spiderPatterns == null) {
+            synchronized (this) {
+                spiderPatterns = patterns;
+                if (spiderPatterns == null) {
+                    spiderPatterns = loadPatterns();
+                    patterns = spiderPatterns;
+                }
+            }
+        }
+        return spiderPatterns;
+    }
+
+    private SpiderPatterns loadPatterns() {
+        int agentCacheMaxSize = configurationService.getIntProperty("usage-statistics.bots.agent-cache.max-size",
+            DEFAULT_AGENT_CACHE_MAX_SIZE);
+        return new SpiderPatterns(PatternSetMatcher.compile(loadPatterns("agents")),
+            PatternSetMatcher.compile(loadPatterns("domains")), agentCacheMaxSize);
+    }
+
     /**
      * Load agent name patterns from all files in a single subdirectory of config/spiders.
      *
      * @param directory   simple directory name (e.g. "agents").
      *                    "${dspace.dir}/config/spiders" will be prepended to yield the path to
      *                    the directory of pattern files.
-     * @param patternList patterns read from the files in {@code directory} will
-     *                    be added to this List.
+     * @return the patterns read from the files in {@code directory}
      */
-    private void loadPatterns(String directory, List<Pattern> patternList) {
+    private List<String> loadPatterns(String directory) {
+        List<String> patternList = new ArrayList<>();
         String dspaceHome = configurationService.getProperty("dspace.dir");
         File spidersDir = new File(dspaceHome, "config/spiders");
         File patternsDir = new File(spidersDir, directory);
@@ -199,7 +204,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
                     if (isUseCaseInsensitiveMatching()) {
                         pattern = StringUtils.lowerCase(pattern);
                     }
-                    patternList.add(Pattern.compile(pattern));
+                    patternList.add(pattern);
                 }
 
 
@@ -208,6 +213,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         } else {
             log.info("No patterns loaded from {}", patternsDir.getPath());
         }
+        return patternList;
     }
 
     /**
@@ -307,4 +313,41 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         return useCaseInsensitiveMatching;
     }
 
+    /**
+     * The compiled patterns, with the verdicts of the user agents already
+     * checked against them: the same few agents make most of the requests.
+     */
+    private static class SpiderPatterns {
+
+        private final PatternSetMatcher agents;
+
+        private final PatternSetMatcher domains;
+
+        private final Map<String, Boolean> agentVerdicts = new ConcurrentHashMap<>();
+
+        private final int agentCacheMaxSize;
+
+        SpiderPatterns(PatternSetMatcher agents, PatternSetMatcher domains, int agentCacheMaxSize) {
+            this.agents = agents;
+            this.domains = domains;
+            this.agentCacheMaxSize = agentCacheMaxSize;
+        }
+
+        boolean isSpiderAgent(String agent) {
+            if (agentCacheMaxSize <= 0) {
+                return agents.matches(agent);
+            }
+            Boolean verdict = agentVerdicts.get(agent);
+            if (verdict == null) {
+                verdict = agents.matches(agent);
+                if (agentVerdicts.size() >= agentCacheMaxSize) {
+                    // start over rather than tracking the usage of each agent
+                    agentVerdicts.clear();
+                }
+                agentVerdicts.put(agent, verdict);
+            }
+            return verdict;
+        }
+    }
+
 }
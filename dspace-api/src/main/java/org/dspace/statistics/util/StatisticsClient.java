@@ -74,6 +74,9 @@ public class StatisticsClient {
                           "While indexing the bundle names remove the statistics about deleted bitstreams");
         options.addOption("s", "shard-solr-index", false,
                           "Split the data from the main Solr core into separate Solr cores per year");
+        options.addOption("t", "threads", true,
+                          "With -s, the number of years moved concurrently, paging through them with a cursor and "
+                              + "resuming an interrupted run");
         options.addOption("h", "help", false, "help");
 
         CommandLine line = parser.parse(options, args);
@@ -96,6 +99,8 @@ public class StatisticsClient {
             solrLoggerService.reindexBitstreamHits(line.hasOption('r'));
         } else if (line.hasOption('e')) {
             solrLoggerService.exportHits();
+        } else if (line.hasOption('s') && line.hasOption('t')) {
+            solrLoggerService.shardSolrIndex(getThreads(line, options));
         } else if (line.hasOption('s')) {
             solrLoggerService.shardSolrIndex();
         } else {
@@ -103,6 +108,25 @@ public class StatisticsClient {
         }
     }
 
+    /**
+     * Read the number of threads of the sharding, exiting with the help
+     * message if it is not a positive number.
+     */
+    private static int getThreads(CommandLine line, Options options) {
+        String value = line.getOptionValue('t');
+        try {
+            int threads = Integer.parseInt(value);
+            if (threads >= 1) {
+                return threads;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        System.err.println("Invalid number of threads '" + value + "', it must be at least 1");
+        printHelp(options, 1);
+        return 1;
+    }
+
     /**
      * Method to update Spiders in config directory.
      */
@@ -9,6 +9,7 @@ package org.dspace.storage.bitstore;
 
 import static java.lang.String.valueOf;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -16,10 +17,17 @@ import java.io.InputStream;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import javax.validation.constraints.NotNull;
 
@@ -31,9 +39,14 @@ import com.amazonaws.regions.Region;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
 import com.amazonaws.services.s3.transfer.Download;
 import com.amazonaws.services.s3.transfer.TransferManager;
 import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
@@ -127,6 +140,28 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     private TransferManager tm = null;
 
+    /**
+     * Whether the bitstreams are streamed to S3 in parts, without a local temporary copy
+     */
+    private boolean multipartUpload = false;
+
+    /**
+     * Size in megabytes of the parts of the multipart uploads, at least 5 as required by S3
+     */
+    private int partSize = 16;
+
+    /**
+     * Number of parts uploaded in parallel, shared by all the multipart uploads
+     */
+    private int uploadThreads = 4;
+
+    /**
+     * Number of times the upload of a failed part is retried
+     */
+    private int partRetries = 3;
+
+    private ExecutorService uploadExecutor = null;
+
     private static final ConfigurationService configurationService
             = DSpaceServicesFactory.getInstance().getConfigurationService();
 
@@ -235,6 +270,14 @@ public class S3BitStoreService extends BaseBitStoreService {
                                                                .withAlwaysCalculateMultipartMd5(true)
                                                                .withS3Client(s3Service)
                                                                .build());
+
+        if (multipartUpload && uploadExecutor == null) {
+            uploadExecutor = Executors.newFixedThreadPool(uploadThreads, runnable -> {
+                Thread thread = new Thread(runnable, "s3-part-upload");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
     }
 
     /**
@@ -291,6 +334,10 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     @Override
     public void put(Bitstream bitstream, InputStream in) throws IOException {
+        if (multipartUpload) {
+            putMultipart(bitstream, in);
+            return;
+        }
         String key = getFullKey(bitstream.getInternalId());
         //Copy istream to temp file, and send the file, with some metadata
         File scratchFile = File.createTempFile(bitstream.getInternalId(), "s3bs");
@@ -325,6 +372,115 @@ public class S3BitStoreService extends BaseBitStoreService {
         }
     }
 
+    /**
+     * Store a stream of bits reading it only once: the content is split in
+     * parts of partSize megabytes, uploaded in parallel while the next parts
+     * are read and the checksum is computed. At most uploadThreads + 1 parts
+     * are kept in memory, a failed part is uploaded again from its buffer
+     * without restarting the whole upload. Content smaller than a part is
+     * stored with a single request.
+     *
+     * @param bitstream the bitstream to store
+     * @param in        The stream of bits to store
+     * @throws java.io.IOException If a problem occurs while storing the bits
+     */
+    protected void putMultipart(Bitstream bitstream, InputStream in) throws IOException {
+        String key = getFullKey(bitstream.getInternalId());
+        int partSizeBytes = Math.max(partSize, 5) * 1024 * 1024;
+        String uploadId = null;
+        try (DigestInputStream dis = new DigestInputStream(in, MessageDigest.getInstance(CSA))) {
+            byte[] buffer = new byte[partSizeBytes];
+            int length = IOUtils.read(dis, buffer);
+            long size = length;
+
+            if (length < partSizeBytes) {
+                ObjectMetadata objectMetadata = new ObjectMetadata();
+                objectMetadata.setContentLength(length);
+                s3Service.putObject(bucketName, key, new ByteArrayInputStream(buffer, 0, length), objectMetadata);
+            } else {
+                uploadId = s3Service.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key))
+                                    .getUploadId();
+                String multipartUploadId = uploadId;
+                Semaphore buffers = new Semaphore(uploadThreads);
+                AtomicBoolean failed = new AtomicBoolean();
+                List<Future<PartETag>> parts = new ArrayList<>();
+                // stop reading as soon as a part fails, the error is raised getting its result
+                while (length > 0 && !failed.get()) {
+                    byte[] part = buffer;
+                    int partLength = length;
+                    int partNumber = parts.size() + 1;
+                    parts.add(uploadExecutor.submit(() -> {
+                        try {
+                            return uploadPart(key, multipartUploadId, partNumber, part, partLength);
+                        } catch (RuntimeException e) {
+                            failed.set(true);
+                            throw e;
+                        } finally {
+                            buffers.release();
+                        }
+                    }));
+                    // wait for a free buffer before reading the next part
+                    buffers.acquire();
+                    buffer = new byte[partSizeBytes];
+                    length = IOUtils.read(dis, buffer);
+                    size += length;
+                }
+
+                List<PartETag> partETags = new ArrayList<>(parts.size());
+                for (Future<PartETag> part : parts) {
+                    partETags.add(part.get());
+                }
+                s3Service.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+            }
+
+            bitstream.setSizeBytes(size);
+            bitstream.setChecksum(Utils.toHex(dis.getMessageDigest().digest()));
+            bitstream.setChecksumAlgorithm(CSA);
+        } catch (AmazonClientException | IOException | InterruptedException | ExecutionException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("put(" + bitstream.getInternalId() + ", is)", e);
+            abortMultipartUpload(key, uploadId);
+            throw new IOException(e);
+        } catch (NoSuchAlgorithmException nsae) {
+            // Should never happen
+            log.warn("Caught NoSuchAlgorithmException", nsae);
+        }
+    }
+
+    private PartETag uploadPart(String key, String uploadId, int partNumber, byte[] buffer, int length) {
+        for (int attempt = 0; ; attempt++) {
+            UploadPartRequest request = new UploadPartRequest()
+                .withBucketName(bucketName)
+                .withKey(key)
+                .withUploadId(uploadId)
+                .withPartNumber(partNumber)
+                .withInputStream(new ByteArrayInputStream(buffer, 0, length))
+                .withPartSize(length);
+            try {
+                return s3Service.uploadPart(request).getPartETag();
+            } catch (AmazonClientException e) {
+                if (attempt >= partRetries) {
+                    throw e;
+                }
+                log.warn("Upload of part " + partNumber + " of " + key + " failed, retrying", e);
+            }
+        }
+    }
+
+    private void abortMultipartUpload(String key, String uploadId) {
+        if (uploadId == null) {
+            return;
+        }
+        try {
+            s3Service.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+        } catch (AmazonClientException e) {
+            log.warn("Unable to abort the multipart upload of " + key, e);
+        }
+    }
+
     /**
      * Obtain technical metadata about an asset in the asset store.
      *
@@ -508,6 +664,38 @@ public class S3BitStoreService extends BaseBitStoreService {
         this.useRelativePath = useRelativePath;
     }
 
+    public boolean isMultipartUpload() {
+        return multipartUpload;
+    }
+
+    public void setMultipartUpload(boolean multipartUpload) {
+        this.multipartUpload = multipartUpload;
+    }
+
+    public int getPartSize() {
+        return partSize;
+    }
+
+    public void setPartSize(int partSize) {
+        this.partSize = partSize;
+    }
+
+    public int getUploadThreads() {
+        return uploadThreads;
+    }
+
+    public void setUploadThreads(int uploadThreads) {
+        this.uploadThreads = uploadThreads;
+    }
+
+    public int getPartRetries() {
+        return partRetries;
+    }
+
+    public void setPartRetries(int partRetries) {
+        this.partRetries = partRetries;
+    }
+
     /**
      * Contains a command-line testing tool. Expects arguments:
      * -a accessKey -s secretKey -f assetFileName
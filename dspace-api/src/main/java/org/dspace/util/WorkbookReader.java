@@ -0,0 +1,276 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Reader of the rows of a workbook that does not keep the whole workbook in
+ * memory, when possible.
+ * <p>
+ * The sheets of an XLSX file are parsed with SAX each time their rows are
+ * read: the workbook returned by {@link #getWorkbook()} has the same sheets of
+ * the file, holding the header rows only, and each other row is added to its
+ * sheet just for the time it is passed to the consumer. The XLS files, that
+ * cannot be streamed, are fully loaded in memory as before.
+ */
+public class WorkbookReader implements Closeable {
+
+    private final File file;
+
+    private final Workbook workbook;
+
+    private OPCPackage xlsxPackage;
+
+    private XSSFReader xlsxReader;
+
+    private StylesTable styles;
+
+    private ReadOnlySharedStringsTable sharedStrings;
+
+    /**
+     * Open the given workbook, XLS or XLSX.
+     *
+     * @param  inputStream the workbook content, not closed by the reader
+     * @return             the reader, to be closed when done
+     * @throws IOException if the workbook cannot be read
+     */
+    public static WorkbookReader open(InputStream inputStream) throws IOException {
+        File file = Files.createTempFile("workbook", null).toFile();
+        try {
+            Files.copy(inputStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return new WorkbookReader(file);
+        } catch (IOException | RuntimeException e) {
+            file.delete();
+            throw e;
+        }
+    }
+
+    private WorkbookReader(File file) throws IOException {
+        this.file = file;
+        if (FileMagic.valueOf(file) != FileMagic.OOXML) {
+            this.workbook = WorkbookFactory.create(file, null, true);
+            return;
+        }
+        this.workbook = new XSSFWorkbook();
+        try {
+            xlsxPackage = OPCPackage.open(file, PackageAccess.READ);
+            xlsxReader = new XSSFReader(xlsxPackage);
+            styles = xlsxReader.getStylesTable();
+            sharedStrings = new ReadOnlySharedStringsTable(xlsxPackage, false);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) xlsxReader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheetData = sheets.next()) {
+                    Sheet sheet = workbook.createSheet(sheets.getSheetName());
+                    parse(sheetData, new HeaderReader(sheet));
+                }
+            }
+        } catch (OpenXML4JException | SAXException e) {
+            close();
+            throw new IOException(e);
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the workbook: when streaming, its sheets hold only the rows
+     *         up to the first not empty one
+     */
+    public Workbook getWorkbook() {
+        return workbook;
+    }
+
+    /**
+     * Pass each row of the given sheet, except the first one, to the given
+     * consumer, in order. When streaming, the row is removed from its sheet
+     * as soon as the consumer returns, so it must not be kept.
+     *
+     * @param  sheet       a sheet of {@link #getWorkbook()}
+     * @param  consumer    the row consumer
+     * @throws IOException if the sheet cannot be read
+     */
+    public void readRows(Sheet sheet, Consumer<Row> consumer) throws IOException {
+        if (xlsxReader == null) {
+            WorkbookUtils.getRows(sheet)
+                .filter(WorkbookUtils::isNotFirstRow)
+                .forEach(consumer);
+            return;
+        }
+        int sheetIndex = workbook.getSheetIndex(sheet);
+        try {
+            Iterator<InputStream> sheets = xlsxReader.getSheetsData();
+            for (int i = 0; i < sheetIndex; i++) {
+                sheets.next().close();
+            }
+            try (InputStream sheetData = sheets.next()) {
+                parse(sheetData, new RowReader(sheet, consumer));
+            }
+        } catch (OpenXML4JException | SAXException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private void parse(InputStream sheetData, SheetRowsHandler handler) throws IOException, SAXException {
+        try {
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(styles, sharedStrings, handler,
+                new DataFormatter(), false));
+            parser.parse(new InputSource(sheetData));
+        } catch (ParserConfigurationException e) {
+            throw new SAXException(e);
+        } catch (StopReading e) {
+            // all the needed rows have been read
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.close();
+            if (xlsxPackage != null) {
+                xlsxPackage.revert();
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Handler that builds each parsed row in a sheet of the workbook.
+     */
+    private abstract static class SheetRowsHandler implements SheetContentsHandler {
+
+        protected final Sheet sheet;
+
+        private Row row;
+
+        private int column;
+
+        SheetRowsHandler(Sheet sheet) {
+            this.sheet = sheet;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            row = isToRead(rowNum) ? sheet.createRow(rowNum) : null;
+            column = -1;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            column = cellReference != null ? new CellReference(cellReference).getCol() : column + 1;
+            if (row != null) {
+                WorkbookUtils.createCell(row, column, formattedValue);
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (row != null) {
+                rowRead(row);
+            }
+        }
+
+        protected boolean isToRead(int rowNum) {
+            return true;
+        }
+
+        protected abstract void rowRead(Row row);
+    }
+
+    /**
+     * Keep the first row and the first one that is not empty, normally the
+     * same header row, then stop parsing.
+     */
+    private static class HeaderReader extends SheetRowsHandler {
+
+        HeaderReader(Sheet sheet) {
+            super(sheet);
+        }
+
+        @Override
+        protected void rowRead(Row row) {
+            if (WorkbookUtils.isNotEmptyRow(row)) {
+                throw new StopReading();
+            }
+            if (WorkbookUtils.isNotFirstRow(row)) {
+                sheet.removeRow(row);
+            }
+        }
+    }
+
+    /**
+     * Pass the rows after the first one to a consumer, removing them from the
+     * sheet once consumed.
+     */
+    private static class RowReader extends SheetRowsHandler {
+
+        private final Consumer<Row> consumer;
+
+        RowReader(Sheet sheet, Consumer<Row> consumer) {
+            super(sheet);
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected boolean isToRead(int rowNum) {
+            return rowNum != 0;
+        }
+
+        @Override
+        protected void rowRead(Row row) {
+            try {
+                consumer.accept(row);
+            } finally {
+                sheet.removeRow(row);
+            }
+        }
+    }
+
+    /**
+     * Thrown by a handler to stop parsing a sheet.
+     */
+    private static class StopReading extends RuntimeException {
+
+        StopReading() {
+            super(null, null, false, false);
+        }
+    }
+}
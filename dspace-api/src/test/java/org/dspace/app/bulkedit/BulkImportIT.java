@@ -85,6 +85,8 @@ import org.dspace.discovery.indexobject.IndexableItem;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.GroupService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.workflow.WorkflowItem;
 import org.junit.Before;
 import org.junit.Test;
@@ -117,6 +119,8 @@ public class BulkImportIT extends AbstractIntegrationTestWithDatabase {
 
     private SearchService searchService = SearchUtils.getSearchService();
 
+    private ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+
     private Community community;
 
     private Collection collection;
@@ -632,6 +636,108 @@ public class BulkImportIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testManyPublicationImportWithChunkedCommit() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+
+        Collection publications = createCollection(context, community)
+            .withSubmissionDefinition("publication")
+            .withAdminGroup(eperson)
+            .build();
+
+        Item itemToUpdateByRid = createItem(context, publications)
+            .withTitle("My Publication")
+            .withResearcherIdentifier("123456789")
+            .build();
+
+        Item itemToDelete = createItem(context, publications).withDoiIdentifier("10.1000/182").build();
+
+        context.commit();
+        context.restoreAuthSystemState();
+
+        // the rows 2 and 3 are committed together, the row 4 alone
+        configurationService.setProperty("bulkedit.bulk-import.commit.count", 2);
+
+        String fileLocation = getXlsFilePath("many-publications.xls");
+        String[] args = new String[] { "bulk-import", "-c", publications.getID().toString(), "-f", fileLocation,
+            "-e", eperson.getEmail()};
+        TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+
+        handleScript(args, ScriptLauncher.getConfig(kernelImpl), handler, kernelImpl, eperson);
+        assertThat("Expected no errors", handler.getErrorMessages(), empty());
+
+        List<String> warningMessages = handler.getWarningMessages();
+        assertThat("Expected 1 warning message", warningMessages, hasSize(1));
+        assertThat(warningMessages.get(0), containsString("Row 2 - Invalid item left in workspace"));
+
+        List<String> infoMessages = handler.getInfoMessages();
+        assertThat("Expected 5 info messages", infoMessages, hasSize(5));
+        assertThat(infoMessages.get(3), containsString("Row 3 - Item updated successfully"));
+        assertThat(infoMessages.get(4), containsString("Row 4 - Item deleted successfully"));
+
+        Item createdItem = getItemFromMessage(warningMessages.get(0));
+        assertThat("Item expected to be created", createdItem, notNullValue());
+        assertThat(findWorkspaceItem(createdItem), notNullValue());
+
+        Item itemUpdated = itemService.find(context, itemToUpdateByRid.getID());
+        assertThat(itemUpdated.getMetadata(), hasItems(with("dc.title", "Publication")));
+
+        assertThat("Item expected to be deleted", itemService.find(context, itemToDelete.getID()), nullValue());
+
+    }
+
+    @Test
+    public void testManyPublicationImportWithErrorAndChunkedCommit() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+
+        Collection publications = createCollection(context, community)
+            .withSubmissionDefinition("publication")
+            .withAdminGroup(eperson)
+            .build();
+
+        Item itemToDelete = createItem(context, publications).withDoiIdentifier("10.1000/182").build();
+
+        context.commit();
+        context.restoreAuthSystemState();
+
+        // all the rows are in the same chunk, which is rolled back by the failure of the row 3
+        configurationService.setProperty("bulkedit.bulk-import.commit.count", 3);
+
+        String fileLocation = getXlsFilePath("many-publications.xls");
+        String[] args = new String[] { "bulk-import", "-c", publications.getID().toString(), "-f", fileLocation,
+            "-e", eperson.getEmail()};
+        TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+
+        handleScript(args, ScriptLauncher.getConfig(kernelImpl), handler, kernelImpl, eperson);
+
+        List<String> errorMessages = handler.getErrorMessages();
+        assertThat("Expected 1 error message", errorMessages, hasSize(1));
+        assertThat(errorMessages.get(0), containsString("No item to update found for entity with id RID::123456789"));
+
+        // the messages of the rolled back chunk are reported only once
+        List<String> warningMessages = handler.getWarningMessages();
+        assertThat("Expected 1 warning message", warningMessages, hasSize(1));
+        assertThat(warningMessages.get(0), containsString("Row 2 - Invalid item left in workspace"));
+
+        List<String> infoMessages = handler.getInfoMessages();
+        assertThat("Expected 4 info messages", infoMessages, hasSize(4));
+        assertThat(infoMessages.get(3), containsString("Row 4 - Item deleted successfully"));
+
+        // the rows 2 and 4 are imported again after the rollback
+        Item createdItem = getItemFromMessage(warningMessages.get(0));
+        assertThat("Item expected to be created", createdItem, notNullValue());
+        assertThat(findWorkspaceItem(createdItem), notNullValue());
+        assertThat(createdItem.getMetadata(), hasItems(with("dc.identifier.doi", "10.1000/183")));
+
+        List<WorkspaceItem> workspaceItems = workspaceItemService.findByCollection(context, publications);
+        assertThat("Expected the row 2 to be imported once", workspaceItems, hasSize(1));
+
+        assertThat("Item expected to be deleted", itemService.find(context, itemToDelete.getID()), nullValue());
+
+    }
+
     @Test
     public void testCreatePublicationWithOneInvalidAuthorityAndNoAbortOnError() throws Exception {
 
@@ -101,9 +101,9 @@ public class CollectionExportIT extends AbstractIntegrationTestWithDatabase {
 
         List<String> infos = handler.getInfoMessages();
         assertThat("Expected 1 info message", infos, hasSize(1));
-        assertThat(infos.get(0), containsString("Items exported successfully into file named items.xls"));
+        assertThat(infos.get(0), containsString("Items exported successfully into file named items.xlsx"));
 
-        File file = new File("items.xls");
+        File file = new File("items.xlsx");
         file.deleteOnExit();
 
         try (FileInputStream fis = new FileInputStream(file)) {
@@ -0,0 +1,92 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.checker;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.checker.ChecksumResultCode;
+import org.dspace.checker.MostRecentChecksum;
+import org.dspace.checker.factory.CheckerServiceFactory;
+import org.dspace.checker.service.MostRecentChecksumService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.storage.bitstore.factory.StorageServiceFactory;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
+import org.junit.Test;
+
+/**
+ * Integration tests for {@link ChecksumChecker}.
+ */
+public class ChecksumCheckerIT extends AbstractIntegrationTestWithDatabase {
+
+    private MostRecentChecksumService mostRecentChecksumService = CheckerServiceFactory.getInstance()
+        .getMostRecentChecksumService();
+
+    private BitstreamStorageService bitstreamStorageService = StorageServiceFactory.getInstance()
+        .getBitstreamStorageService();
+
+    private ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    @Test
+    public void testCheckWithManyThreads() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Checked item").build();
+        List<Bitstream> bitstreams = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            try (InputStream is = IOUtils.toInputStream("Bitstream content " + i, StandardCharsets.UTF_8)) {
+                bitstreams.add(BitstreamBuilder.createBitstream(context, item, is).withName("bitstream-" + i).build());
+            }
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+
+        Bitstream corrupted = bitstreams.get(3);
+        try (OutputStream out = new FileOutputStream(bitstreamStorageService.absolutePath(context, corrupted))) {
+            out.write("Corrupted content".getBytes(StandardCharsets.UTF_8));
+        }
+
+        // a batch size of 0 is handled as 1
+        configurationService.setProperty("checker.commit-batch-size", 0);
+
+        List<String> args = new ArrayList<>(List.of("-t", "3", "-b"));
+        for (Bitstream bitstream : bitstreams) {
+            args.add(bitstream.getID().toString());
+        }
+        ChecksumChecker.main(args.toArray(new String[0]));
+
+        for (Bitstream bitstream : bitstreams) {
+            bitstream = context.reloadEntity(bitstream);
+            MostRecentChecksum info = mostRecentChecksumService.findByBitstream(context, bitstream);
+            ChecksumResultCode expected = bitstream.equals(corrupted) ? ChecksumResultCode.CHECKSUM_NO_MATCH
+                : ChecksumResultCode.CHECKSUM_MATCH;
+            assertThat(bitstream.getName(), info.getChecksumResult().getResultCode(), is(expected));
+            assertThat(info.getCurrentChecksum(), notNullValue());
+            assertThat(info.getProcessEndDate(), notNullValue());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.deduplication.service.impl;
+
+import static org.dspace.app.deduplication.service.impl.SolrDedupServiceImpl.LAST_INDEXED_FIELD;
+import static org.dspace.app.deduplication.service.impl.SolrDedupServiceImpl.RESOURCE_SIGNATURE_HASH_FIELD;
+import static org.dspace.app.deduplication.service.impl.SolrDedupServiceImpl.UNIQUE_ID_FIELD;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.util.Date;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.app.deduplication.service.DedupService;
+import org.dspace.app.deduplication.service.impl.SolrDedupServiceImpl.DeduplicationFlag;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.utils.DSpace;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the skip of the unchanged items by
+ * {@link SolrDedupServiceImpl#indexContent(org.dspace.core.Context, Item, boolean)}.
+ */
+public class SolrDedupServiceImplIT extends AbstractIntegrationTestWithDatabase {
+
+    private DedupService dedupService;
+
+    private ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private Item item;
+
+    @Before
+    public void setup() throws Exception {
+        dedupService = new DSpace().getServiceManager()
+            .getServiceByName(DedupService.class.getName(), DedupService.class);
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        item = ItemBuilder.createItem(context, collection)
+            .withTitle("Deduplication of unchanged items")
+            .build();
+        context.restoreAuthSystemState();
+    }
+
+    @Test
+    public void testUnchangedItemIsSkipped() throws Exception {
+        dedupService.indexContent(context, item, true);
+        dedupService.commit();
+        SolrDocument indexed = findFakeDocument();
+        assertThat(indexed.getFirstValue(RESOURCE_SIGNATURE_HASH_FIELD), notNullValue());
+
+        Thread.sleep(10);
+        dedupService.indexContent(context, item, false);
+        dedupService.commit();
+
+        SolrDocument reindexed = findFakeDocument();
+        assertThat(getLastIndexed(reindexed), is(getLastIndexed(indexed)));
+        assertThat(reindexed.getFirstValue(RESOURCE_SIGNATURE_HASH_FIELD),
+            is(indexed.getFirstValue(RESOURCE_SIGNATURE_HASH_FIELD)));
+    }
+
+    @Test
+    public void testChangedSignatureIsReindexed() throws Exception {
+        dedupService.indexContent(context, item, true);
+        dedupService.commit();
+        SolrDocument indexed = findFakeDocument();
+
+        context.turnOffAuthorisationSystem();
+        itemService.replaceMetadata(context, item, "dc", "title", null, null, "Deduplication of changed items", null,
+            -1, 0);
+        context.restoreAuthSystemState();
+
+        Thread.sleep(10);
+        dedupService.indexContent(context, item, false);
+        dedupService.commit();
+
+        SolrDocument reindexed = findFakeDocument();
+        assertThat(getLastIndexed(reindexed), not(getLastIndexed(indexed)));
+        assertThat(reindexed.getFirstValue(RESOURCE_SIGNATURE_HASH_FIELD),
+            not(indexed.getFirstValue(RESOURCE_SIGNATURE_HASH_FIELD)));
+    }
+
+    @Test
+    public void testForcedIndexingRewritesUnchangedItem() throws Exception {
+        dedupService.indexContent(context, item, true);
+        dedupService.commit();
+        SolrDocument indexed = findFakeDocument();
+
+        Thread.sleep(10);
+        dedupService.indexContent(context, item, true);
+        dedupService.commit();
+
+        SolrDocument reindexed = findFakeDocument();
+        assertThat(getLastIndexed(reindexed), not(getLastIndexed(indexed)));
+        assertThat(reindexed.getFirstValue(RESOURCE_SIGNATURE_HASH_FIELD),
+            is(indexed.getFirstValue(RESOURCE_SIGNATURE_HASH_FIELD)));
+    }
+
+    private SolrDocument findFakeDocument() throws Exception {
+        String uniqueId = item.getID() + "-" + item.getID() + "-" + DeduplicationFlag.FAKE.getDescription();
+        SolrDocumentList results = dedupService.search(new SolrQuery(UNIQUE_ID_FIELD + ":\"" + uniqueId + "\""))
+            .getResults();
+        assertThat(results.size(), is(1));
+        return results.get(0);
+    }
+
+    private Date getLastIndexed(SolrDocument document) {
+        return (Date) document.getFirstValue(LAST_INDEXED_FIELD);
+    }
+}
@@ -7,6 +7,7 @@
  */
 package org.dspace.app.mediafilter;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -16,6 +17,7 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.authorize.AuthorizeException;
@@ -142,6 +144,22 @@ public class MediaFilterIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void mediaFilterScriptAllItemsWithManyThreadsTest() throws Exception {
+        performMediaFilterScript(null, "-t", "4");
+        Iterator<Item> items = itemService.findAll(context);
+        while (items.hasNext()) {
+            Item item = items.next();
+            checkItemHasBeenProcessed(item);
+        }
+    }
+
+    @Test
+    public void mediaFilterScriptWithInvalidThreadsTest() throws Exception {
+        assertEquals(1, runDSpaceScript("filter-media", "-t", "many"));
+        assertEquals(1, runDSpaceScript("filter-media", "-t", "0"));
+    }
+
     @Test
     public void mediaFilterScriptIdentifiersTest() throws Exception {
         // process the item 1_1_a and verify that no other items has been processed using the "closer" one
@@ -211,11 +229,11 @@ public class MediaFilterIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
-    private void performMediaFilterScript(DSpaceObject dso) throws Exception {
+    private void performMediaFilterScript(DSpaceObject dso, String... otherArgs) throws Exception {
         if (dso != null) {
-            runDSpaceScript("filter-media", "-i", dso.getHandle());
+            runDSpaceScript(ArrayUtils.addAll(new String[] { "filter-media", "-i", dso.getHandle() }, otherArgs));
         } else {
-            runDSpaceScript("filter-media");
+            runDSpaceScript(ArrayUtils.addAll(new String[] { "filter-media" }, otherArgs));
         }
         // reload our items to see the changes
         item1_1_a = context.reloadEntity(item1_1_a);
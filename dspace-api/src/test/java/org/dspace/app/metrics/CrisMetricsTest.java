@@ -163,4 +163,18 @@ public class CrisMetricsTest extends AbstractUnitTest {
                                  .findLastMetricByResourceIdAndMetricsTypes(context, "SomeMeticsType", item2.getID());
         assertNull("There is no metric with these characteristics", crisMetrics);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void findLastMetricsByResourceIdsAndMetricsTypesTest() throws SQLException {
+        List<CrisMetrics> crisMetrics = crisMetricsService.findLastMetricsByResourceIdsAndMetricsTypes(context,
+            List.of("Citation", "SomeMeticsType", "OtherMeticsType"), List.of(item.getID(), item2.getID()));
+        assertEquals(2, crisMetrics.size());
+        assertTrue(crisMetrics.stream().allMatch(CrisMetrics::getLast));
+        assertTrue(crisMetrics.stream().anyMatch(metric -> metric.getID().equals(metrics1.getID())));
+        assertTrue(crisMetrics.stream().anyMatch(metric -> metric.getID().equals(metrics3.getID())));
+
+        crisMetrics = crisMetricsService.findLastMetricsByResourceIdsAndMetricsTypes(context,
+            List.of("Citation"), List.of(item2.getID()));
+        assertTrue(crisMetrics.isEmpty());
+    }
+}
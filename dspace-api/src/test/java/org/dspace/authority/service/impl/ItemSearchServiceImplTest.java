@@ -0,0 +1,105 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authority.service.impl;
+
+import static org.dspace.content.Item.ANY;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.dspace.authority.service.ItemSearcherMapper;
+import org.dspace.content.Item;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link ItemSearchServiceImpl}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ItemSearchServiceImplTest {
+
+    @Mock
+    private ItemService itemService;
+
+    @Mock
+    private ItemSearcherMapper mapper;
+
+    @Mock
+    private Context context;
+
+    @InjectMocks
+    private ItemSearchServiceImpl itemSearchService;
+
+    @Test
+    public void testSearchOfManyParamsFindsTheCrisSourceIdsWithOneQuery() throws Exception {
+
+        UUID uuid = UUID.randomUUID();
+        Item itemFoundByUuid = item("Person");
+        Item itemFoundBySourceId = item("Person");
+        Item itemWithOtherType = item("OrgUnit");
+        Item source = mock(Item.class);
+
+        when(itemService.find(context, uuid)).thenReturn(itemFoundByUuid);
+        when(itemService.findUnfilteredByMetadataFieldValues(context, "cris", "sourceId", null,
+            List.of("first-source-id", "second-source-id")))
+            .thenReturn(Map.of("first-source-id", List.of(itemWithOtherType, itemFoundBySourceId)));
+
+        Map<String, Item> items = itemSearchService.search(context,
+            List.of(uuid.toString(), "first-source-id", "second-source-id", "first-source-id"), "Person", source);
+
+        assertThat(items.size(), is(2));
+        assertThat(items, hasEntry(uuid.toString(), itemFoundByUuid));
+        assertThat(items, hasEntry("first-source-id", itemFoundBySourceId));
+
+        verify(itemService, never()).findUnfilteredByMetadataField(any(), anyString(), anyString(), any(), any());
+        verify(mapper, never()).search(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testSearchOfManyParamsFallsBackToTheItemSearchers() throws Exception {
+
+        Item itemFoundBySearcher = item("Person");
+        Item source = mock(Item.class);
+
+        when(itemService.findUnfilteredByMetadataFieldValues(context, "cris", "sourceId", null,
+            List.of("ORCID::0000-0002-1825-0097", "unknown")))
+            .thenReturn(Map.of());
+        when(mapper.search(context, "ORCID", "0000-0002-1825-0097", source)).thenReturn(itemFoundBySearcher);
+
+        Map<String, Item> items = itemSearchService.search(context,
+            List.of("ORCID::0000-0002-1825-0097", "unknown"), "Person", source);
+
+        assertThat(items.size(), is(1));
+        assertThat(items, hasEntry("ORCID::0000-0002-1825-0097", itemFoundBySearcher));
+
+        verify(mapper).search(context, "ORCID", "0000-0002-1825-0097", source);
+        verify(mapper, never()).search(eq(context), any(), eq("unknown"), any());
+    }
+
+    private Item item(String entityType) {
+        Item item = mock(Item.class);
+        when(itemService.getMetadataFirstValue(item, "dspace", "entity", "type", ANY)).thenReturn(entityType);
+        return item;
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import static org.dspace.core.Constants.READ;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.lang3.time.DateUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.EPersonBuilder;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.builder.ResourcePolicyBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the bulk
+ * {@link AuthorizeService#authorizeActionBoolean(org.dspace.core.Context, EPerson, List, int)}
+ * and the authorization results it stores in the context.
+ */
+public class AuthorizeServiceBulkIT extends AbstractIntegrationTestWithDatabase {
+
+    private AuthorizeService authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+
+    private EPerson member;
+
+    private EPerson collectionAdmin;
+
+    private Collection collection;
+
+    private Item publicItem;
+
+    private Item groupItem;
+
+    private Item expiredItem;
+
+    private Item privateItem;
+
+    private List<DSpaceObject> objects;
+
+    @Before
+    public void setup() throws Exception {
+        context.turnOffAuthorisationSystem();
+        member = EPersonBuilder.createEPerson(context).withEmail("member@example.com").build();
+        collectionAdmin = EPersonBuilder.createEPerson(context).withEmail("collection-admin@example.com").build();
+
+        Group readers = GroupBuilder.createGroup(context).withName("Readers").build();
+        // the member gets the policies of the readers through a subgroup
+        GroupBuilder.createGroup(context).withName("Other readers").withParent(readers).addMember(member).build();
+        Group nobody = GroupBuilder.createGroup(context).withName("Nobody").build();
+
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity)
+            .withAdminGroup(collectionAdmin)
+            .build();
+        publicItem = ItemBuilder.createItem(context, collection).withTitle("Public").build();
+        groupItem = ItemBuilder.createItem(context, collection).withTitle("Readers only")
+            .withReaderGroup(readers)
+            .build();
+        expiredItem = ItemBuilder.createItem(context, collection).withTitle("Expired").withReaderGroup(nobody).build();
+        ResourcePolicyBuilder.createResourcePolicy(context)
+            .withUser(member)
+            .withAction(READ)
+            .withDspaceObject(expiredItem)
+            .withEndDate(DateUtils.addDays(new Date(), -1))
+            .build();
+        privateItem = ItemBuilder.createItem(context, collection).withTitle("Private").withReaderGroup(nobody).build();
+        context.restoreAuthSystemState();
+
+        objects = List.of(parentCommunity, collection, publicItem, groupItem, expiredItem, privateItem);
+    }
+
+    @Test
+    public void testBulkResultsAreTheSingleResults() throws Exception {
+        for (EPerson user : Arrays.asList(null, eperson, member, collectionAdmin, admin)) {
+            Map<UUID, Boolean> expected = new HashMap<>();
+            for (DSpaceObject object : objects) {
+                boolean authorized = authorizeService.authorizeActionBoolean(context, user, object, READ, true);
+                expected.put(object.getID(), authorized);
+            }
+
+            Map<UUID, Boolean> results = authorizeService.authorizeActionBoolean(context, user, objects, READ);
+            context.clearPrefetchedAuthorizationResults();
+
+            assertThat(String.valueOf(user), results, is(expected));
+        }
+    }
+
+    @Test
+    public void testBulkResults() throws Exception {
+        Map<UUID, Boolean> anonymous = authorizeService.authorizeActionBoolean(context, null, objects, READ);
+        assertThat(anonymous.get(publicItem.getID()), is(true));
+        assertThat(anonymous.get(groupItem.getID()), is(false));
+        assertThat(anonymous.get(privateItem.getID()), is(false));
+
+        Map<UUID, Boolean> inherited = authorizeService.authorizeActionBoolean(context, member, objects, READ);
+        assertThat(inherited.get(groupItem.getID()), is(true));
+        assertThat(inherited.get(expiredItem.getID()), is(false));
+        assertThat(inherited.get(privateItem.getID()), is(false));
+
+        Map<UUID, Boolean> collectionAdmins = authorizeService.authorizeActionBoolean(context, collectionAdmin,
+            objects, READ);
+        assertThat(collectionAdmins.get(groupItem.getID()), is(true));
+        assertThat(collectionAdmins.get(privateItem.getID()), is(true));
+
+        Map<UUID, Boolean> admins = authorizeService.authorizeActionBoolean(context, admin, objects, READ);
+        assertThat(admins.values().contains(false), is(false));
+    }
+
+    @Test
+    public void testPrefetchedResultIsDiscardedWhenThePoliciesChange() throws Exception {
+        authorizeService.authorizeActionBoolean(context, member, List.of(privateItem), READ);
+
+        context.turnOffAuthorisationSystem();
+        authorizeService.addPolicy(context, privateItem, READ, member);
+        context.restoreAuthSystemState();
+
+        assertThat(authorizeService.authorizeActionBoolean(context, member, privateItem, READ, true), is(true));
+    }
+
+    @Test
+    public void testPrefetchedResultsAreDiscardedWhenTheTransactionOrTheUserChange() throws Exception {
+        context.cachePrefetchedAuthorizationResult(publicItem, READ, member, true);
+        context.rollback();
+        assertThat(context.pollPrefetchedAuthorizationResult(publicItem, READ, member), nullValue());
+
+        context.cachePrefetchedAuthorizationResult(publicItem, READ, member, true);
+        context.setCurrentUser(eperson);
+        assertThat(context.pollPrefetchedAuthorizationResult(publicItem, READ, member), nullValue());
+
+        context.cachePrefetchedAuthorizationResult(publicItem, READ, member, true);
+        context.switchContextUser(member);
+        assertThat(context.pollPrefetchedAuthorizationResult(publicItem, READ, member), nullValue());
+
+        context.cachePrefetchedAuthorizationResult(publicItem, READ, member, true);
+        context.restoreContextUser();
+        assertThat(context.pollPrefetchedAuthorizationResult(publicItem, READ, member), nullValue());
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.browse;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.eperson.Group;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/**
+ * Integration tests for the offset of a value in a distinct browse computed by
+ * {@link SolrBrowseDAO#doDistinctOffsetQuery(String, String, boolean)}, with
+ * the cached sorted values and with the queries returning a single value.
+ */
+@RunWith(Parameterized.class)
+public class SolrBrowseDAOIT extends AbstractIntegrationTestWithDatabase {
+
+    private ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final int timeToLive;
+
+    private Collection collection;
+
+    private String subjectTable;
+
+    public SolrBrowseDAOIT(int timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    @Parameterized.Parameters(name = "browse.solr.value-index.ttl = {0}")
+    public static List<Object[]> timesToLive() {
+        return Arrays.asList(new Object[][] { { 300 }, { 0 } });
+    }
+
+    @Before
+    public void setup() throws Exception {
+        SolrBrowseDAO.clearSortValueIndexes();
+        configurationService.setProperty("browse.solr.value-index.ttl", timeToLive);
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        // the public subjects are alpha, bravo, charlie, delta and echo
+        ItemBuilder.createItem(context, collection).withTitle("First")
+            .withSubject("Charlie").withSubject("Alpha").build();
+        ItemBuilder.createItem(context, collection).withTitle("Second")
+            .withSubject("Echo").withSubject("Charlie").build();
+        ItemBuilder.createItem(context, collection).withTitle("Third")
+            .withSubject("Bravo").withSubject("Delta").build();
+        // foxtrot is only visible to the administrators
+        Group nobody = GroupBuilder.createGroup(context).withName("Nobody").build();
+        ItemBuilder.createItem(context, collection).withTitle("Private")
+            .withSubject("Foxtrot").withSubject("Alpha").withReaderGroup(nobody).build();
+        context.restoreAuthSystemState();
+
+        subjectTable = BrowseIndex.getBrowseIndex("subject").getDistinctTableName();
+        context.setCurrentUser(null);
+    }
+
+    @After
+    public void clearSortValueIndexes() {
+        SolrBrowseDAO.clearSortValueIndexes();
+    }
+
+    @Test
+    public void testAscendingOffset() throws Exception {
+        assertThat(ascendingOffset("alpha"), is(0));
+        assertThat(ascendingOffset("bravo"), is(1));
+        assertThat(ascendingOffset("charlie"), is(2));
+        assertThat(ascendingOffset("echo"), is(4));
+        // values not in the browse get the offset they would be inserted at
+        assertThat(ascendingOffset("a"), is(0));
+        assertThat(ascendingOffset("c"), is(2));
+        assertThat(ascendingOffset("zulu"), is(5));
+    }
+
+    @Test
+    public void testDescendingOffset() throws Exception {
+        assertThat(descendingOffset("alpha"), is(5));
+        assertThat(descendingOffset("charlie"), is(3));
+        assertThat(descendingOffset("echo"), is(1));
+        assertThat(descendingOffset("a"), is(5));
+        assertThat(descendingOffset("c"), is(3));
+        assertThat(descendingOffset("zulu"), is(0));
+    }
+
+    @Test
+    public void testOffsetOfTheValuesTheUserCanRead() throws Exception {
+        assertThat(ascendingOffset("golf"), is(5));
+        assertThat(descendingOffset("echo"), is(1));
+
+        context.setCurrentUser(admin);
+        assertThat(ascendingOffset("golf"), is(6));
+        assertThat(descendingOffset("echo"), is(2));
+
+        context.setCurrentUser(eperson);
+        assertThat(ascendingOffset("golf"), is(5));
+        assertThat(descendingOffset("echo"), is(1));
+    }
+
+    @Test
+    public void testOffsetWithStartsWith() throws Exception {
+        SolrBrowseDAO dao = createDAO();
+        dao.setStartsWith("c");
+        assertThat(dao.doDistinctOffsetQuery("sort_value", "charlie", true), is(0));
+        assertThat(dao.doDistinctOffsetQuery("sort_value", "charlie", false), is(1));
+        assertThat(dao.doDistinctOffsetQuery("sort_value", "zulu", true), is(1));
+    }
+
+    @Test
+    public void testOffsetInAnEmptyBrowse() throws Exception {
+        SolrBrowseDAO dao = createDAO();
+        dao.setStartsWith("x");
+
+        assertThat(dao.doDistinctOffsetQuery("sort_value", "charlie", true), is(0));
+        assertThat(dao.doDistinctOffsetQuery("sort_value", "charlie", false), is(0));
+    }
+
+    @Test
+    public void testCachedValuesAreServedUntilTheyExpire() throws Exception {
+        configurationService.setProperty("browse.solr.value-index.ttl", 300);
+        assertThat(ascendingOffset("zulu"), is(5));
+
+        context.turnOffAuthorisationSystem();
+        ItemBuilder.createItem(context, collection).withTitle("Fourth").withSubject("Golf").build();
+        context.restoreAuthSystemState();
+
+        assertThat(ascendingOffset("zulu"), is(5));
+        // another browse is not served from the cache
+        SolrBrowseDAO dao = createDAO();
+        dao.setStartsWith("g");
+        assertThat(dao.doDistinctOffsetQuery("sort_value", "zulu", true), is(1));
+
+        configurationService.setProperty("browse.solr.value-index.ttl", 0);
+        assertThat(ascendingOffset("zulu"), is(6));
+    }
+
+    private int ascendingOffset(String value) throws BrowseException {
+        return createDAO().doDistinctOffsetQuery("sort_value", value, true);
+    }
+
+    private int descendingOffset(String value) throws BrowseException {
+        return createDAO().doDistinctOffsetQuery("sort_value", value, false);
+    }
+
+    private SolrBrowseDAO createDAO() {
+        SolrBrowseDAO dao = new SolrBrowseDAO(context);
+        dao.setTable(subjectTable);
+        return dao;
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MetadataValueIndex}.
+ */
+public class MetadataValueIndexTest {
+
+    private MetadataValue title;
+
+    private MetadataValue alternativeTitle;
+
+    private MetadataValue author;
+
+    private MetadataValue editor;
+
+    private MetadataValue anotherAuthor;
+
+    private List<MetadataValue> values;
+
+    @Before
+    public void setUp() {
+        MetadataSchema dc = schema("dc");
+        MetadataSchema cris = schema("cris");
+        title = value(field(dc, "title", null));
+        alternativeTitle = value(field(dc, "title", "alternative"));
+        author = value(field(dc, "contributor", "author"));
+        editor = value(field(dc, "contributor", "editor"));
+        anotherAuthor = value(field(cris, "contributor", "author"));
+        values = new ArrayList<>(List.of(title, alternativeTitle, author, editor, anotherAuthor));
+    }
+
+    @Test
+    public void testCandidatesKeepTheOrderOfTheIndexedValues() {
+        MetadataValueIndex index = new MetadataValueIndex(values);
+
+        assertCandidates(index.getCandidates("title", null), title);
+        assertCandidates(index.getCandidates("title", ""), title);
+        assertCandidates(index.getCandidates("title", "alternative"), alternativeTitle);
+        assertCandidates(index.getCandidates("title", Item.ANY), title, alternativeTitle);
+        assertCandidates(index.getCandidates("contributor", "author"), author, anotherAuthor);
+        assertCandidates(index.getCandidates("contributor", Item.ANY), author, editor, anotherAuthor);
+        assertThat(index.getCandidates("subject", Item.ANY), empty());
+        assertThat(index.getCandidates(Item.ANY, Item.ANY), sameInstance(values));
+    }
+
+    @Test
+    public void testIndexIsInvalidatedByChangesToTheIndexedList() {
+        MetadataValueIndex index = new MetadataValueIndex(values);
+        assertThat(index.isValidFor(values), is(true));
+        assertThat(index.isValidFor(new ArrayList<>(values)), is(false));
+
+        // MetadataValue equality is based on the database ids, not yet assigned here
+        values.remove(3);
+        assertThat(index.isValidFor(values), is(false));
+    }
+
+    @Test
+    public void testIndexedLookupMatchesTheFullScan() {
+        MetadataSchema dc = schema("dc");
+        List<MetadataValue> largeValues = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            largeValues.add(value(field(dc, "element" + (i % 50), i % 3 == 0 ? null : "qualifier" + (i % 7))));
+        }
+        MetadataValueIndex index = new MetadataValueIndex(largeValues);
+
+        for (String qualifier : new String[] {null, Item.ANY, "qualifier3", "qualifier6"}) {
+            List<MetadataValue> scanned = largeValues.stream()
+                .filter(value -> matches(value, "element13", qualifier))
+                .collect(Collectors.toList());
+            List<MetadataValue> indexed = index.getCandidates("element13", qualifier).stream()
+                .filter(value -> matches(value, "element13", qualifier))
+                .collect(Collectors.toList());
+            assertCandidates(indexed, scanned.toArray(new MetadataValue[0]));
+        }
+    }
+
+    private void assertCandidates(List<MetadataValue> candidates, MetadataValue... expected) {
+        assertThat(candidates.size(), is(expected.length));
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(candidates.get(i), sameInstance(expected[i]));
+        }
+    }
+
+    private boolean matches(MetadataValue value, String element, String qualifier) {
+        MetadataField metadataField = value.getMetadataField();
+        if (!element.equals(metadataField.getElement())) {
+            return false;
+        }
+        if (qualifier == null) {
+            return metadataField.getQualifier() == null;
+        }
+        return Item.ANY.equals(qualifier) || qualifier.equals(metadataField.getQualifier());
+    }
+
+    private MetadataSchema schema(String name) {
+        MetadataSchema schema = new MetadataSchema();
+        schema.setName(name);
+        return schema;
+    }
+
+    private MetadataField field(MetadataSchema schema, String element, String qualifier) {
+        MetadataField field = new MetadataField();
+        field.setMetadataSchema(schema);
+        field.setElement(element);
+        field.setQualifier(qualifier);
+        return field;
+    }
+
+    private MetadataValue value(MetadataField field) {
+        MetadataValue value = new MetadataValue();
+        value.setMetadataField(field);
+        return value;
+    }
+}
@@ -14,6 +14,7 @@ import static org.dspace.core.CrisConstants.PLACEHOLDER_PARENT_METADATA_VALUE;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -23,9 +24,12 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.nio.charset.Charset;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.app.util.DCInputsReader;
 import org.dspace.app.util.DCInputsReaderException;
@@ -39,6 +43,7 @@ import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.EntityType;
 import org.dspace.content.Item;
+import org.dspace.content.crosswalk.CrosswalkObjectNotSupported;
 import org.dspace.core.CrisConstants;
 import org.dspace.eperson.EPerson;
 import org.dspace.layout.CrisLayoutField;
@@ -639,6 +644,31 @@ public class CsvCrosswalkIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testDisseminateWithErrorWritesNothing() throws Exception {
+
+        // more rows than a writer buffers before the unsupported item
+        context.turnOffAuthorisationSystem();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(createItem(context, collection).withEntityType("Person")
+                .withTitle("Walter White " + i + " " + StringUtils.repeat("x", 200)).build());
+        }
+        items.add(createItem(context, collection).withEntityType("Publication").withTitle("Test").build());
+        context.restoreAuthSystemState();
+
+        csvCrosswalk = (CsvCrosswalk) crosswalkMapper.getByType("person-csv");
+        assertThat(csvCrosswalk, notNullValue());
+        csvCrosswalk.setDCInputsReader(dcInputsReader);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThrows(CrosswalkObjectNotSupported.class,
+            () -> csvCrosswalk.disseminate(context, items.iterator(), out));
+
+        assertThat(out.size(), equalTo(0));
+
+    }
+
     private Item createFullPersonItem() {
         Item item = createItem(context, collection)
             .withTitle("John Smith")
@@ -15,12 +15,14 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -43,6 +45,7 @@ import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.EntityType;
 import org.dspace.content.Item;
+import org.dspace.content.crosswalk.CrosswalkObjectNotSupported;
 import org.dspace.core.CrisConstants;
 import org.dspace.eperson.EPerson;
 import org.dspace.layout.CrisLayoutField;
@@ -60,6 +63,8 @@ import org.junit.Test;
  */
 public class XlsCrosswalkIT extends AbstractIntegrationTestWithDatabase {
 
+    private static final String XLSX_MIME_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
     private Community community;
 
     private Collection collection;
@@ -796,6 +801,56 @@ public class XlsCrosswalkIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testDisseminateMoreRowsThanTheStreamingWindow() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 1; i <= 150; i++) {
+            items.add(createItem(context, collection).withEntityType("Person").withTitle("Person " + i).build());
+        }
+
+        context.restoreAuthSystemState();
+
+        xlsCrosswalk = (XlsCrosswalk) crosswalkMapper.getByType("person-xls");
+        assertThat(xlsCrosswalk, notNullValue());
+        assertThat(xlsCrosswalk.getMIMEType(), equalTo(XLSX_MIME_TYPE));
+        assertThat(xlsCrosswalk.getFileName(), equalTo("persons.xlsx"));
+        xlsCrosswalk.setDCInputsReader(dcInputsReader);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        xlsCrosswalk.disseminate(context, items.iterator(), baos);
+
+        Workbook workbook = WorkbookFactory.create(new ByteArrayInputStream(baos.toByteArray()));
+        Sheet sheet = workbook.getSheetAt(0);
+        assertThat(sheet.getPhysicalNumberOfRows(), equalTo(151));
+        assertThat(sheet.getRow(0).getCell(0).getStringCellValue(), equalTo("Preferred name"));
+        assertThat(sheet.getRow(1).getCell(0).getStringCellValue(), equalTo("Person 1"));
+        assertThat(sheet.getRow(150).getCell(0).getStringCellValue(), equalTo("Person 150"));
+
+    }
+
+    @Test
+    public void testDisseminateWithErrorWritesNothing() throws Exception {
+
+        context.turnOffAuthorisationSystem();
+        Item person = createItem(context, collection).withEntityType("Person").withTitle("Walter White").build();
+        Item publication = createItem(context, collection).withEntityType("Publication").withTitle("Test").build();
+        context.restoreAuthSystemState();
+
+        xlsCrosswalk = (XlsCrosswalk) crosswalkMapper.getByType("person-xls");
+        assertThat(xlsCrosswalk, notNullValue());
+        xlsCrosswalk.setDCInputsReader(dcInputsReader);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        assertThrows(CrosswalkObjectNotSupported.class,
+            () -> xlsCrosswalk.disseminate(context, Arrays.asList(person, publication).iterator(), baos));
+
+        assertThat(baos.size(), equalTo(0));
+
+    }
+
     private Item createFullPersonItem() {
         Item item = createItem(context, collection)
             .withTitle("John Smith")
@@ -0,0 +1,157 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import org.dspace.discovery.DebouncedIndexQueue.PendingEntry;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link DebouncedIndexQueue}.
+ */
+public class DebouncedIndexQueueTest {
+
+    private final List<String> indexed = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<String> unindexedFirst = Collections.synchronizedList(new ArrayList<>());
+
+    private DebouncedIndexQueue queue;
+
+    @After
+    public void tearDown() {
+        if (queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    public void testRequestsOfTheSameObjectAreCoalesced() throws Exception {
+        queue = new RecordingQueue();
+        queue.start(200, 10000, 100, 2);
+
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue("Item-1", i == 2);
+        }
+        queue.enqueue("Item-2", false);
+
+        waitFor(() -> queue.getQueueSize() == 0 && indexed.size() == 2);
+        assertThat(indexed, containsInAnyOrder("Item-1", "Item-2"));
+        assertThat(unindexedFirst, contains("Item-1"));
+        assertThat(queue.getCoalescedRequests(), is(4L));
+    }
+
+    @Test
+    public void testRequestsAreIndexedAfterTheMaxDelay() throws Exception {
+        queue = new RecordingQueue();
+        // the debounce window is never over, as the object is requested again and again
+        queue.start(500, 300, 100, 1);
+
+        long end = System.currentTimeMillis() + 1500;
+        while (indexed.isEmpty() && System.currentTimeMillis() < end) {
+            queue.enqueue("Item-1", false);
+            Thread.sleep(20);
+        }
+
+        assertThat(indexed.isEmpty(), is(false));
+    }
+
+    @Test
+    public void testAnObjectIsNotIndexedAgainWhileInFlight() throws Exception {
+        CountDownLatch firstIndexingStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstIndexing = new CountDownLatch(1);
+        Set<String> indexing = ConcurrentHashMap.newKeySet();
+        AtomicBoolean overlapping = new AtomicBoolean();
+
+        queue = new DebouncedIndexQueue() {
+            @Override
+            void index(List<PendingEntry> batch) {
+                for (PendingEntry entry : batch) {
+                    if (!indexing.add(entry.getUniqueIndexId())) {
+                        overlapping.set(true);
+                    }
+                }
+                try {
+                    if (firstIndexingStarted.getCount() > 0) {
+                        firstIndexingStarted.countDown();
+                        releaseFirstIndexing.await(10, TimeUnit.SECONDS);
+                    }
+                    batch.forEach(entry -> indexed.add(entry.getUniqueIndexId()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    batch.forEach(entry -> indexing.remove(entry.getUniqueIndexId()));
+                }
+            }
+        };
+        queue.start(50, 100, 100, 4);
+
+        queue.enqueue("Item-1", false);
+        assertThat(firstIndexingStarted.await(5, TimeUnit.SECONDS), is(true));
+
+        // requested again while the first indexing is still running, with idle workers available
+        queue.enqueue("Item-1", false);
+        Thread.sleep(500);
+        assertThat(indexed.isEmpty(), is(true));
+        assertThat(queue.getQueueSize(), is(2));
+
+        releaseFirstIndexing.countDown();
+        waitFor(() -> indexed.size() == 2);
+
+        assertThat(indexed, contains("Item-1", "Item-1"));
+        assertThat(overlapping.get(), is(false));
+    }
+
+    @Test
+    public void testShutdownIndexesThePendingObjects() throws Exception {
+        queue = new RecordingQueue();
+        queue.start(60000, 60000, 100, 2);
+
+        queue.enqueue("Item-1", false);
+        queue.enqueue("Item-2", false);
+        queue.shutdown();
+
+        assertThat(indexed, containsInAnyOrder("Item-1", "Item-2"));
+        assertThat(queue.getQueueSize(), is(0));
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long end = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < end) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean(), is(true));
+    }
+
+    private class RecordingQueue extends DebouncedIndexQueue {
+
+        @Override
+        void index(List<PendingEntry> batch) {
+            for (PendingEntry entry : batch) {
+                if (entry.isUnindexFirst()) {
+                    unindexedFirst.add(entry.getUniqueIndexId());
+                }
+                indexed.add(entry.getUniqueIndexId());
+            }
+        }
+    }
+}
@@ -10,6 +10,7 @@ package org.dspace.discovery;
 import static org.dspace.discovery.SolrServiceWorkspaceWorkflowRestrictionPlugin.DISCOVER_WORKSPACE_CONFIGURATION_NAME;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -738,6 +739,29 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void rebuildIndexWithManyThreadsTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, community).build();
+        for (int i = 0; i < 7; i++) {
+            ItemBuilder.createItem(context, collection)
+                .withTitle("item number " + i)
+                .build();
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+
+        String[] args = new String[] {"index-discovery", "-b", "-t", "3"};
+        TestDSpaceRunnableHandler testDSpaceRunnableHandler = new TestDSpaceRunnableHandler();
+        ScriptLauncher.handleScript(args, ScriptLauncher.getConfig(kernelImpl), testDSpaceRunnableHandler,
+            kernelImpl);
+
+        assertNull(testDSpaceRunnableHandler.getException());
+        assertSearchQuery(IndexableItem.TYPE, 7);
+        assertSearchQuery(IndexableCollection.TYPE, 1);
+    }
+
     /**
      * Test designed to check if default sort option for Discovery is working, using <code>workspace</code>
      * DiscoveryConfiguration <br/>
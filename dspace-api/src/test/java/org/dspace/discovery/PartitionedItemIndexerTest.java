@@ -0,0 +1,123 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.content.Item;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.scripts.handler.DSpaceRunnableHandler;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link PartitionedItemIndexer}.
+ */
+public class PartitionedItemIndexerTest {
+
+    @Test
+    public void testPartitionCoversAllIdsInOrder() {
+        List<UUID> ids = ids(10);
+
+        List<List<UUID>> partitions = PartitionedItemIndexer.partition(ids, 3);
+
+        assertThat(partitions, hasSize(3));
+        assertThat(partitions.stream().map(List::size).collect(Collectors.toList()), contains(3, 3, 4));
+        List<UUID> joined = partitions.stream().flatMap(List::stream).collect(Collectors.toList());
+        assertThat(joined, contains(ids.toArray()));
+    }
+
+    @Test
+    public void testPartitionWithMoreThreadsThanIds() {
+        assertThat(PartitionedItemIndexer.partition(ids(2), 8), hasSize(2));
+        assertThat(PartitionedItemIndexer.partition(ids(0), 8), contains(hasSize(0)));
+    }
+
+    @Test
+    public void testIndexSendsEveryItemOnceInBatchesAndCommitsOnce() throws Exception {
+        List<UUID> ids = ids(53);
+        ItemService itemService = mock(ItemService.class);
+        when(itemService.findAllRegularItemIds(any())).thenReturn(ids);
+        when(itemService.find(any(), any(UUID.class))).thenAnswer(invocation -> {
+            Item item = mock(Item.class);
+            when(item.getID()).thenReturn(invocation.getArgument(1));
+            return item;
+        });
+
+        @SuppressWarnings("unchecked")
+        IndexFactory<IndexableItem, Item> itemIndexFactory = mock(IndexFactory.class);
+        when(itemIndexFactory.buildCompleteDocument(any(), any())).thenAnswer(invocation -> {
+            SolrInputDocument document = new SolrInputDocument();
+            document.addField("search.resourceid", ((IndexableItem) invocation.getArgument(1)).getID());
+            return document;
+        });
+
+        List<Object> indexedIds = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        SolrClient solr = mock(SolrClient.class);
+        when(solr.add(anyCollection())).thenAnswer(invocation -> {
+            Collection<SolrInputDocument> documents = invocation.getArgument(0);
+            batchSizes.add(documents.size());
+            documents.forEach(document -> indexedIds.add(document.getFieldValue("search.resourceid")));
+            return null;
+        });
+
+        List<Context> contexts = Collections.synchronizedList(new ArrayList<>());
+        PartitionedItemIndexer indexer = new PartitionedItemIndexer(itemService, itemIndexFactory, solr,
+            mock(DSpaceRunnableHandler.class), 4, 5) {
+            @Override
+            protected Context createContext() {
+                Context context = mock(Context.class);
+                contexts.add(context);
+                return context;
+            }
+        };
+
+        long count = indexer.index(mock(Context.class));
+
+        assertThat(count, is(53L));
+        assertThat(indexedIds, containsInAnyOrder(ids.toArray()));
+        assertThat(batchSizes, everyItem(lessThanOrEqualTo(5)));
+        assertThat(contexts, hasSize(4));
+        for (Context context : contexts) {
+            verify(context).abort();
+        }
+        verify(solr, times(1)).commit();
+    }
+
+    private List<UUID> ids(int size) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+}
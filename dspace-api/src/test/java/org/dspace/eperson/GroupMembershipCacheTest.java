@@ -0,0 +1,89 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link GroupMembershipCache}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class GroupMembershipCacheTest {
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    @InjectMocks
+    private GroupMembershipCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        when(configurationService.getBooleanProperty("eperson.group-membership.cache.enabled", false))
+            .thenReturn(true);
+        when(configurationService.getLongProperty("eperson.group-membership.cache.ttl", 300)).thenReturn(300L);
+        when(configurationService.getIntProperty("eperson.group-membership.cache.max-size", 10000)).thenReturn(2);
+        cache.afterPropertiesSet();
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        UUID ePerson = UUID.randomUUID();
+        Set<UUID> groups = Set.of(UUID.randomUUID(), UUID.randomUUID());
+
+        assertNull(cache.get(ePerson));
+        cache.put(ePerson, groups, cache.getGeneration());
+
+        assertEquals(groups, cache.get(ePerson));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testGroupsComputedBeforeAnInvalidationAreNotCached() {
+        UUID ePerson = UUID.randomUUID();
+        long generation = cache.getGeneration();
+
+        cache.invalidateAll();
+        cache.put(ePerson, Set.of(UUID.randomUUID()), generation);
+
+        assertNull(cache.get(ePerson));
+    }
+
+    @Test
+    public void testInvalidationAndEviction() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        cache.put(first, Set.of(), cache.getGeneration());
+        cache.put(second, Set.of(), cache.getGeneration());
+
+        cache.invalidate(first);
+        assertNull(cache.get(first));
+        assertEquals(Set.of(), cache.get(second));
+
+        cache.put(first, Set.of(), cache.getGeneration());
+        // the least recently used entry is evicted
+        cache.put(third, Set.of(), cache.getGeneration());
+        assertEquals(2, cache.getSize());
+        assertNull(cache.get(second));
+        assertEquals(1, cache.getInvalidations());
+    }
+}
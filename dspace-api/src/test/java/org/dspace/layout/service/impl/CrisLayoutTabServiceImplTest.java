@@ -11,9 +11,14 @@ package org.dspace.layout.service.impl;
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.sql.SQLException;
@@ -35,6 +40,7 @@ import org.dspace.layout.dao.CrisLayoutTabDAO;
 import org.dspace.services.ConfigurationService;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -150,6 +156,68 @@ public class CrisLayoutTabServiceImplTest {
         assertThat(tabs, is(emptyList()));
     }
 
+    @Test
+    public void customFiltersWithoutTabsAreNotQueriedAgain() throws Exception {
+        String itemUuid = UUID.randomUUID().toString();
+        String entityType = "Publication";
+        Item item = mock(Item.class);
+        MetadataValue type = mock(MetadataValue.class);
+        CrisLayoutTab tab = grantedAccessTab("tab");
+
+        when(itemService.find(context, UUID.fromString(itemUuid))).thenReturn(item);
+        when(itemService.getMetadata(item, "dspace.entity.type")).thenReturn(entityType);
+        when(configurationService.getProperty("dspace.metadata.layout.tab")).thenReturn("dc.type");
+        when(configurationService.getLongProperty("cris.layout.tab.cache.ttl", 300)).thenReturn(300L);
+        when(itemService.getMetadataByMetadataString(item, "dc.type")).thenReturn(List.of(type));
+        when(type.getValue()).thenReturn("Article");
+        when(tabDao.findByEntityTypeAndEagerlyFetchBoxes(eq(context), eq(entityType), anyString()))
+            .thenReturn(emptyList());
+        when(tabDao.findByEntityTypeAndEagerlyFetchBoxes(context, entityType, null)).thenReturn(List.of(tab));
+
+        assertThat(crisLayoutTabService.findByItem(context, itemUuid), contains(tab));
+        assertThat(crisLayoutTabService.findByItem(context, itemUuid), contains(tab));
+
+        verify(tabDao).findByEntityTypeAndEagerlyFetchBoxes(context, entityType, ".Article");
+        verify(tabDao).findByEntityTypeAndEagerlyFetchBoxes(context, entityType, "Article");
+        verify(tabDao, times(2)).findByEntityTypeAndEagerlyFetchBoxes(context, entityType, null);
+
+        // a new tab could match one of the filters, so they must be resolved again
+        when(authorizeService.isAdmin(context)).thenReturn(true);
+        crisLayoutTabService.create(context, new CrisLayoutTab());
+        crisLayoutTabService.findByItem(context, itemUuid);
+
+        verify(tabDao, times(2)).findByEntityTypeAndEagerlyFetchBoxes(context, entityType, "Article");
+    }
+
+    @Test
+    public void customFiltersResolvedBeforeTheCommitAreResolvedAgain() throws Exception {
+        String itemUuid = UUID.randomUUID().toString();
+        String entityType = "Publication";
+        Item item = mock(Item.class);
+        CrisLayoutTab tab = grantedAccessTab("tab");
+
+        when(itemService.find(context, UUID.fromString(itemUuid))).thenReturn(item);
+        when(itemService.getMetadata(item, "dspace.entity.type")).thenReturn(entityType);
+        when(configurationService.getLongProperty("cris.layout.tab.cache.ttl", 300)).thenReturn(300L);
+        when(tabDao.findByEntityTypeAndEagerlyFetchBoxes(context, entityType, "")).thenReturn(emptyList());
+        when(tabDao.findByEntityTypeAndEagerlyFetchBoxes(context, entityType, null)).thenReturn(List.of(tab));
+        when(authorizeService.isAdmin(context)).thenReturn(true);
+
+        crisLayoutTabService.update(context, tab);
+        ArgumentCaptor<Runnable> afterCommit = ArgumentCaptor.forClass(Runnable.class);
+        verify(tabDao).afterTransactionCompletion(eq(context), afterCommit.capture());
+
+        // an item view resolves the filters while the update is not committed yet
+        crisLayoutTabService.findByItem(context, itemUuid);
+        crisLayoutTabService.findByItem(context, itemUuid);
+        verify(tabDao).findByEntityTypeAndEagerlyFetchBoxes(context, entityType, "");
+
+        afterCommit.getValue().run();
+        crisLayoutTabService.findByItem(context, itemUuid);
+
+        verify(tabDao, times(2)).findByEntityTypeAndEagerlyFetchBoxes(context, entityType, "");
+    }
+
     @Test(expected = NullPointerException.class)
     public void nullItemThrowsNullPointerException() throws SQLException {
         UUID itemUuid = UUID.randomUUID();
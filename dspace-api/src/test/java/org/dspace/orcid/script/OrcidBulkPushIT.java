@@ -20,6 +20,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -31,6 +32,8 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Predicate;
 
@@ -209,6 +212,102 @@ public class OrcidBulkPushIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testWithManyOrcidQueueRecordsAndManyThreads() throws Exception {
+
+        Item firstOwner = createOwnerItem("0000-1111-2222-3333", BATCH, eperson);
+        Item secondOwner = createOwnerItem("1111-2222-3333-4444", MANUAL, admin);
+        Item thirdOwner = createOwnerItem("2222-3333-4444-5555", BATCH, createEPerson("test@email.it"));
+
+        Item firstEntity = createPublication("First publication");
+        Item secondEntity = createPublication("Second publication");
+        Item thirdEntity = createPublication("Third publication");
+        Item fourthEntity = createPublication("Fourth publication");
+
+        when(orcidClientMock.push(any(), eq("0000-1111-2222-3333"), any()))
+            .thenReturn(createdResponse("12345"));
+
+        when(orcidClientMock.update(any(), eq("0000-1111-2222-3333"), any(), eq("98765")))
+            .thenReturn(updatedResponse("98765"));
+
+        when(orcidClientMock.push(any(), eq("2222-3333-4444-5555"), any()))
+            .thenReturn(createdResponse("11111"));
+
+        createOrcidQueue(context, firstOwner, firstEntity);
+        createOrcidQueue(context, thirdOwner, fourthEntity);
+        createOrcidQueue(context, firstOwner, secondEntity, "98765");
+        createOrcidQueue(context, secondOwner, thirdEntity);
+
+        context.commit();
+
+        TestDSpaceRunnableHandler handler = runBulkSynchronization(false, "-t", "3");
+
+        String firstOwnerId = firstOwner.getID().toString();
+        String thirdOwnerId = thirdOwner.getID().toString();
+
+        assertThat(handler.getInfoMessages(), hasSize(7));
+        assertThat(handler.getInfoMessages(), containsInAnyOrder(
+            "Found 3 queue records to synchronize with ORCID",
+            "Addition of Publication for profile with ID: " + firstOwnerId,
+            "History record created with status 201. The operation was completed successfully",
+            "Update of Publication for profile with ID: " + firstOwnerId + " by put code 98765",
+            "History record created with status 200. The operation was completed successfully",
+            "Addition of Publication for profile with ID: " + thirdOwnerId,
+            "History record created with status 201. The operation was completed successfully"));
+
+        assertThat(handler.getErrorMessages(), empty());
+        assertThat(handler.getWarningMessages(), empty());
+
+        verify(orcidClientMock).push(any(), eq("0000-1111-2222-3333"), any());
+        verify(orcidClientMock).push(any(), eq("2222-3333-4444-5555"), any());
+        verify(orcidClientMock).update(any(), eq("0000-1111-2222-3333"), any(), eq("98765"));
+        verifyNoMoreInteractions(orcidClientMock);
+
+        List<OrcidQueue> queueRecords = orcidQueueService.findAll(context);
+        assertThat(queueRecords, hasSize(1));
+        assertThat(queueRecords, hasItem(matches(secondOwner, thirdEntity, "Publication", INSERT, 0)));
+
+        List<OrcidHistory> historyRecords = orcidHistoryService.findAll(context);
+        assertThat(historyRecords, hasSize(3));
+        assertThat(historyRecords, hasItem(matches(history(firstOwner, firstEntity, 201, INSERT))));
+        assertThat(historyRecords, hasItem(matches(history(firstOwner, secondEntity, 200, UPDATE))));
+        assertThat(historyRecords, hasItem(matches(history(thirdOwner, fourthEntity, 201, INSERT))));
+
+    }
+
+    @Test
+    public void testWithMaxRequestsPerSecond() throws Exception {
+
+        configurationService.setProperty("orcid.bulk-synchronization.max-requests-per-second", 2);
+
+        Item owner = createOwnerItem("0000-1111-2222-3333", BATCH, eperson);
+
+        List<Long> requestTimes = Collections.synchronizedList(new ArrayList<>());
+        when(orcidClientMock.push(any(), eq("0000-1111-2222-3333"), any())).thenAnswer(invocation -> {
+            requestTimes.add(System.currentTimeMillis());
+            return createdResponse("12345");
+        });
+
+        createOrcidQueue(context, owner, createPublication("First publication"));
+        createOrcidQueue(context, owner, createPublication(""));
+        createOrcidQueue(context, owner, createPublication("Third publication"));
+        createOrcidQueue(context, owner, createPublication("Fourth publication"));
+
+        context.commit();
+
+        TestDSpaceRunnableHandler handler = runBulkSynchronization(false);
+
+        assertThat(handler.getErrorMessages(), contains(
+            "Errors occurs during ORCID object validation. Error codes: title.required"));
+
+        // the record with the validation error sends no request to ORCID
+        assertThat(requestTimes, hasSize(3));
+        for (int i = 1; i < requestTimes.size(); i++) {
+            assertThat(requestTimes.get(i) - requestTimes.get(i - 1), greaterThanOrEqualTo(400L));
+        }
+
+    }
+
     @Test
     public void testWithVeryLongTitleQueueRecords() throws Exception {
         Item firstProfileItem = createOwnerItem("0000-1111-2222-3333", BATCH, eperson);
@@ -504,8 +603,9 @@ public class OrcidBulkPushIT extends AbstractIntegrationTestWithDatabase {
             && operation == history.getOperation();
     }
 
-    private TestDSpaceRunnableHandler runBulkSynchronization(boolean forceSynchronization) throws Exception {
-        String[] args = new String[] { "orcid-bulk-push" };
+    private TestDSpaceRunnableHandler runBulkSynchronization(boolean forceSynchronization, String... otherArgs)
+        throws Exception {
+        String[] args = ArrayUtils.addAll(new String[] { "orcid-bulk-push" }, otherArgs);
         args = forceSynchronization ? ArrayUtils.add(args, "-f") : args;
         TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
         handleScript(args, ScriptLauncher.getConfig(kernelImpl), handler, kernelImpl, eperson);
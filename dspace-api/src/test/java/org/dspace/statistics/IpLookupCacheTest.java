@@ -0,0 +1,74 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.statistics.IpLookupCache.IpInfo;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link IpLookupCache}.
+ */
+public class IpLookupCacheTest {
+
+    private final List<String> lookups = new ArrayList<>();
+
+    @Test
+    public void testLookupsAreCached() {
+        IpLookupCache cache = new IpLookupCache(100, 60000);
+
+        IpInfo first = cache.get("10.0.0.1", this::lookup);
+        IpInfo second = cache.get("10.0.0.1", this::lookup);
+        cache.get("10.0.0.2", this::lookup);
+
+        assertThat(second, sameInstance(first));
+        assertThat(first.getDns(), is("host-10.0.0.1"));
+        assertThat(first.hasLocation(), is(true));
+        assertThat(lookups, is(List.of("10.0.0.1", "10.0.0.2")));
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cache.getMisses(), is(2L));
+        assertThat(cache.getHitRate(), is(1 / 3d));
+        assertThat(cache.getSize(), is(2));
+    }
+
+    @Test
+    public void testExpiredLookupsArePerformedAgain() {
+        IpLookupCache cache = new IpLookupCache(100, -1);
+
+        cache.get("10.0.0.1", this::lookup);
+        cache.get("10.0.0.1", this::lookup);
+
+        assertThat(lookups, is(List.of("10.0.0.1", "10.0.0.1")));
+        assertThat(cache.getHits(), is(0L));
+        assertThat(cache.getMisses(), is(2L));
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        IpLookupCache cache = new IpLookupCache(32, 60000);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.get("10.0." + (i / 256) + "." + (i % 256), this::lookup);
+        }
+
+        assertThat(cache.getSize(), lessThanOrEqualTo(32));
+        assertThat(cache.getMisses(), is(1000L));
+    }
+
+    private IpInfo lookup(String ip) {
+        lookups.add(ip);
+        return new IpInfo("host-" + ip, "US", "NA", "New York", 40.76, -73.99);
+    }
+}
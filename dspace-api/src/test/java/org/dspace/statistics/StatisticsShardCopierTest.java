@@ -0,0 +1,169 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.apache.solr.common.params.SolrParams;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.invocation.InvocationOnMock;
+
+/**
+ * Unit tests for {@link StatisticsShardCopier}.
+ */
+public class StatisticsShardCopierTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final List<String> cursorMarks = new ArrayList<>();
+
+    private final List<String> copiedUids = new ArrayList<>();
+
+    private SolrClient source;
+
+    private File checkpointFile;
+
+    @Before
+    public void setup() throws Exception {
+        // 5 documents in pages of 2, with the cursor marks "*", "1", "2" and "3"
+        source = mock(SolrClient.class);
+        when(source.query(any(SolrParams.class))).thenAnswer(this::page);
+        checkpointFile = new File(temporaryFolder.getRoot(), "statistics-2020.properties");
+    }
+
+    @Test
+    public void testAllThePagesAreCopied() throws Exception {
+        SolrClient target = mockTarget(-1);
+
+        long moved = new StatisticsShardCopier(source, 2, 2).copy("time:2020", target, checkpointFile);
+
+        assertEquals(5, moved);
+        assertEquals(List.of("uid-1", "uid-2", "uid-3", "uid-4", "uid-5"), copiedUids);
+        assertEquals(List.of("*", "1", "2", "3"), cursorMarks);
+        // after the second page and at the end
+        verify(target, times(2)).commit(true, true);
+        assertCheckpoint("3", 5);
+    }
+
+    @Test
+    public void testInterruptedCopyIsResumedFromTheLastCheckpoint() throws Exception {
+        // the third page fails, after the checkpoint of the first two
+        SolrClient failingTarget = mockTarget(3);
+        try {
+            new StatisticsShardCopier(source, 2, 2).copy("time:2020", failingTarget, checkpointFile);
+            fail("Expected the copy to fail");
+        } catch (IOException e) {
+            assertEquals("Target not available", e.getMessage());
+        }
+        assertCheckpoint("2", 4);
+
+        cursorMarks.clear();
+        copiedUids.clear();
+        SolrClient target = mockTarget(-1);
+
+        long moved = new StatisticsShardCopier(source, 2, 2).copy("time:2020", target, checkpointFile);
+
+        assertEquals(5, moved);
+        assertEquals(List.of("2", "3"), cursorMarks);
+        assertEquals(List.of("uid-5"), copiedUids);
+        assertCheckpoint("3", 5);
+    }
+
+    @Test
+    public void testCheckpointIntervalIsAtLeastOnePage() throws Exception {
+        SolrClient target = mockTarget(-1);
+
+        long moved = new StatisticsShardCopier(source, 2, 0).copy("time:2020", target, checkpointFile);
+
+        assertEquals(5, moved);
+        // after each of the four pages, the last one being empty
+        verify(target, times(4)).commit(anyBoolean(), anyBoolean());
+        assertCheckpoint("3", 5);
+    }
+
+    private QueryResponse page(InvocationOnMock invocation) {
+        String cursorMark = ((SolrParams) invocation.getArgument(0)).get(CursorMarkParams.CURSOR_MARK_PARAM);
+        cursorMarks.add(cursorMark);
+        int page = "*".equals(cursorMark) ? 0 : Integer.parseInt(cursorMark);
+
+        SolrDocumentList documents = new SolrDocumentList();
+        for (int uid = page * 2 + 1; uid <= Math.min(page * 2 + 2, 5); uid++) {
+            SolrDocument document = new SolrDocument();
+            document.setField("uid", "uid-" + uid);
+            document.setField("_version_", 1L);
+            documents.add(document);
+        }
+
+        QueryResponse response = mock(QueryResponse.class);
+        when(response.getResults()).thenReturn(documents);
+        when(response.getNextCursorMark()).thenReturn(String.valueOf(Math.min(page + 1, 3)));
+        return response;
+    }
+
+    /**
+     * @param failingAdd the number of the add request that fails, -1 if none
+     */
+    @SuppressWarnings("unchecked")
+    private SolrClient mockTarget(int failingAdd) throws IOException, SolrServerException {
+        SolrClient target = mock(SolrClient.class);
+        List<Integer> adds = new ArrayList<>();
+        when(target.add(anyCollection())).thenAnswer(invocation -> {
+            adds.add(adds.size() + 1);
+            if (adds.size() == failingAdd) {
+                throw new IOException("Target not available");
+            }
+            Collection<SolrInputDocument> documents = invocation.getArgument(0);
+            copiedUids.addAll(documents.stream()
+                .peek(document -> assertNull(document.getField("_version_")))
+                .map(document -> (String) document.getFieldValue("uid"))
+                .collect(Collectors.toList()));
+            return null;
+        });
+        return target;
+    }
+
+    private void assertCheckpoint(String cursorMark, long moved) throws IOException {
+        Properties checkpoint = new Properties();
+        try (Reader reader = Files.newBufferedReader(checkpointFile.toPath(), StandardCharsets.UTF_8)) {
+            checkpoint.load(reader);
+        }
+        assertEquals(cursorMark, checkpoint.getProperty("cursorMark"));
+        assertEquals(String.valueOf(moved), checkpoint.getProperty("moved"));
+    }
+}
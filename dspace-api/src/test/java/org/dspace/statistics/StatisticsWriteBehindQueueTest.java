@@ -0,0 +1,131 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.statistics.StatisticsWriteBehindQueue.OverflowPolicy;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+
+/**
+ * Unit tests for {@link StatisticsWriteBehindQueue}.
+ */
+public class StatisticsWriteBehindQueueTest {
+
+    @Test
+    public void testDocumentsAreSentInBatchesOnShutdown() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        SolrClient solr = mock(SolrClient.class, (InvocationOnMock invocation) -> {
+            if (invocation.getMethod().getName().equals("add")) {
+                batchSizes.add(((Collection<?>) invocation.getArgument(0)).size());
+            }
+            return null;
+        });
+
+        StatisticsWriteBehindQueue queue = new StatisticsWriteBehindQueue(solr, 100, 10, 60000,
+            OverflowPolicy.DROP, false);
+        queue.start();
+        for (int i = 0; i < 25; i++) {
+            assertTrue(queue.offer(new SolrInputDocument()));
+        }
+        queue.shutdown();
+
+        assertEquals(25, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 10));
+        assertEquals(0, queue.getQueueSize());
+        assertEquals(25, queue.getSubmittedEvents());
+        assertEquals(0, queue.getDroppedEvents());
+        verify(solr, never()).commit(anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    public void testDocumentsAreDroppedWhenTheQueueIsNotRunning() throws Exception {
+        SolrClient solr = mock(SolrClient.class);
+
+        // the queue does not accept documents until it is started
+        StatisticsWriteBehindQueue queue = new StatisticsWriteBehindQueue(solr, 2, 10, 1000,
+            OverflowPolicy.DROP, true);
+        assertFalse(queue.offer(new SolrInputDocument()));
+        assertEquals(1, queue.getDroppedEvents());
+
+        queue.start();
+        queue.shutdown();
+        verify(solr, never()).add(anyCollection());
+    }
+
+    @Test
+    public void testBatchesAreCommittedWhenRequested() throws Exception {
+        SolrClient solr = mock(SolrClient.class);
+
+        StatisticsWriteBehindQueue queue = new StatisticsWriteBehindQueue(solr, 10, 10, 60000,
+            OverflowPolicy.BLOCK, true);
+        queue.start();
+        queue.offer(new SolrInputDocument());
+        queue.shutdown();
+
+        verify(solr).add(anyCollection());
+        verify(solr).commit(false, false);
+        assertEquals(1, queue.getBatches());
+    }
+
+    @Test
+    public void testDocumentsQueuedDuringShutdownAreSent() throws Exception {
+        AtomicInteger sent = new AtomicInteger();
+        SolrClient solr = mock(SolrClient.class, (InvocationOnMock invocation) -> {
+            if (invocation.getMethod().getName().equals("add")) {
+                sent.addAndGet(((Collection<?>) invocation.getArgument(0)).size());
+            }
+            return null;
+        });
+
+        StatisticsWriteBehindQueue queue = new StatisticsWriteBehindQueue(solr, 100000, 50, 10,
+            OverflowPolicy.DROP, false);
+        queue.start();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    queue.offer(new SolrInputDocument());
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        queue.shutdown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(20000, queue.getSubmittedEvents() + queue.getDroppedEvents());
+        assertEquals(queue.getSubmittedEvents(), sent.get());
+        assertEquals(0, queue.getQueueSize());
+    }
+
+    @Test
+    public void testUnknownOverflowPolicyFallsBackToDrop() {
+        assertEquals(OverflowPolicy.BLOCK, OverflowPolicy.fromConfig(" block "));
+        assertEquals(OverflowPolicy.DROP, OverflowPolicy.fromConfig("drop"));
+        assertEquals(OverflowPolicy.DROP, OverflowPolicy.fromConfig(null));
+        assertEquals(OverflowPolicy.DROP, OverflowPolicy.fromConfig("wait"));
+    }
+}
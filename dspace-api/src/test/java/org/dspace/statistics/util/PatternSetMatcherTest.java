@@ -0,0 +1,124 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link PatternSetMatcher}.
+ */
+public class PatternSetMatcherTest {
+
+    private static final List<String> PATTERNS = List.of(
+        "Googlebot",
+        "bingbot",
+        "Yahoo! Slurp",
+        "msnbot\\/",
+        "^Mozilla\\/5\\.0 \\(compatible; Baiduspider",
+        "[Ss]crapy",
+        "ia_archiver(-web\\.archive\\.org)?",
+        "^Java\\/\\d",
+        "python-requests\\/[0-9.]+",
+        "curl|wget",
+        "(?i)libwww-perl",
+        "^$",
+        "colou?r-crawler",
+        "crawl(er)?\\d*\\.example\\.com",
+        "[unclosed");
+
+    private static final List<String> AGENTS = List.of(
+        "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)",
+        "Mozilla/5.0 (compatible; bingbot/2.0; +http://www.bing.com/bingbot.htm)",
+        "Mozilla/5.0 (compatible; Yahoo! Slurp; http://help.yahoo.com/help/us/ysearch/slurp)",
+        "msnbot/1.1 (+http://search.msn.com/msnbot.htm)",
+        "msnbot",
+        "Mozilla/5.0 (compatible; Baiduspider/2.0; +http://www.baidu.com/search/spider.html)",
+        "Mozilla/5.0 (Linux) (compatible; Baiduspider/2.0)",
+        "Scrapy/2.5.0 (+https://scrapy.org)",
+        "ia_archiver",
+        "Java/11.0.2",
+        "Mozilla Java/1",
+        "python-requests/2.25.1",
+        "python-requests/",
+        "curl/7.68.0",
+        "Wget/1.20.3",
+        "LIBWWW-PERL/6.0",
+        "",
+        "color-crawler/1.0",
+        "colour-crawler/1.0",
+        "colr-crawler/1.0",
+        "crawl42.example.com",
+        "crawler.example.com",
+        "crawl.example.org",
+        "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0 Safari/537.36",
+        "Mozilla/5.0 (X11; Linux x86_64; rv:89.0) Gecko/20100101 Firefox/89.0");
+
+    @Test
+    public void testMatchesAsTheRegularExpressions() {
+        PatternSetMatcher matcher = PatternSetMatcher.compile(PATTERNS);
+
+        assertThat(matcher.size(), is(PATTERNS.size() - 1));
+        for (String agent : AGENTS) {
+            assertThat(agent, matcher.matches(agent), is(matchesAny(PATTERNS, agent)));
+        }
+    }
+
+    @Test
+    public void testMatchesOverlappingLiterals() {
+        PatternSetMatcher matcher = PatternSetMatcher.compile(List.of("she", "hers", "his", "a.*z"));
+
+        assertThat(matcher.matches("ushers"), is(true));
+        assertThat(matcher.matches("shis"), is(true));
+        assertThat(matcher.matches("hehe"), is(false));
+        assertThat(matcher.matches("h"), is(false));
+        assertThat(matcher.matches("abz"), is(true));
+    }
+
+    @Test
+    public void testToLiteral() {
+        assertThat(PatternSetMatcher.toLiteral("Googlebot"), is("Googlebot"));
+        assertThat(PatternSetMatcher.toLiteral("msnbot\\/1\\.1"), is("msnbot/1.1"));
+        assertThat(PatternSetMatcher.toLiteral("Java\\/\\d"), nullValue());
+        assertThat(PatternSetMatcher.toLiteral("^Java"), nullValue());
+        assertThat(PatternSetMatcher.toLiteral(""), nullValue());
+    }
+
+    @Test
+    public void testFindRequiredLiteral() {
+        assertThat(PatternSetMatcher.findRequiredLiteral("^Mozilla\\/5\\.0 \\(compatible"),
+            is("Mozilla/5.0 (compatible"));
+        assertThat(PatternSetMatcher.findRequiredLiteral("ia_archiver(-web\\.archive\\.org)?"), is("ia_archiver"));
+        assertThat(PatternSetMatcher.findRequiredLiteral("colou?r-crawler"), is("r-crawler"));
+        assertThat(PatternSetMatcher.findRequiredLiteral("ab{0,2}cd"), is("cd"));
+        assertThat(PatternSetMatcher.findRequiredLiteral("[a-z]+bot"), is("bot"));
+        assertThat(PatternSetMatcher.findRequiredLiteral("curl|wget"), nullValue());
+        assertThat(PatternSetMatcher.findRequiredLiteral("(?i)bot"), nullValue());
+        assertThat(PatternSetMatcher.findRequiredLiteral("\\x41gent"), nullValue());
+        assertThat(PatternSetMatcher.findRequiredLiteral(".*"), nullValue());
+    }
+
+    private boolean matchesAny(List<String> patterns, String input) {
+        for (String pattern : patterns) {
+            try {
+                if (Pattern.compile(pattern).matcher(input).find()) {
+                    return true;
+                }
+            } catch (RuntimeException e) {
+                // skipped as the matcher does
+            }
+        }
+        return false;
+    }
+}
@@ -22,6 +22,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -382,6 +383,36 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
         assertThat(computedPath, Matchers.not(Matchers.containsString(File.separator)));
     }
 
+    @Test
+    public void testBitstreamPutWithMultipartUpload() throws Exception {
+
+        s3BitStoreService.setMultipartUpload(true);
+        s3BitStoreService.setPartSize(5);
+        s3BitStoreService.setUploadThreads(2);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        Bitstream bitstream = createBitstream("");
+        context.restoreAuthSystemState();
+
+        // three parts, the last one smaller than the others
+        byte[] content = new byte[12 * 1024 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+
+        s3BitStoreService.put(bitstream, new ByteArrayInputStream(content));
+
+        String expectedChecksum = Utils.toHex(MessageDigest.getInstance("MD5").digest(content));
+
+        assertThat(bitstream.getSizeBytes(), is((long) content.length));
+        assertThat(bitstream.getChecksum(), is(expectedChecksum));
+        assertThat(bitstream.getChecksumAlgorithm(), is(CSA));
+
+        InputStream inputStream = s3BitStoreService.get(bitstream);
+        assertTrue(IOUtils.contentEquals(inputStream, new ByteArrayInputStream(content)));
+    }
+
     private byte[] generateChecksum(String content) {
         try {
             MessageDigest m = MessageDigest.getInstance("MD5");
@@ -0,0 +1,111 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link WorkbookReader}.
+ */
+public class WorkbookReaderTest {
+
+    @Test
+    public void testStreamingXlsxRows() throws IOException {
+        try (WorkbookReader reader = WorkbookReader.open(write(new XSSFWorkbook()))) {
+            assertRows(reader);
+            assertThat(reader.getWorkbook().getSheetAt(0).getPhysicalNumberOfRows(), is(1));
+        }
+    }
+
+    @Test
+    public void testXlsRows() throws IOException {
+        try (WorkbookReader reader = WorkbookReader.open(write(new HSSFWorkbook()))) {
+            assertRows(reader);
+        }
+    }
+
+    @Test
+    public void testEmptyHeaderIsKeptWithTheFirstNotEmptyRow() throws IOException {
+        Workbook workbook = new XSSFWorkbook();
+        Sheet sheet = workbook.createSheet("items");
+        sheet.createRow(0).createCell(0).setCellValue(" ");
+        sheet.createRow(1);
+        sheet.createRow(2).createCell(1).setCellValue("value");
+
+        try (WorkbookReader reader = WorkbookReader.open(write(workbook))) {
+            Sheet readSheet = reader.getWorkbook().getSheet("items");
+            assertThat(WorkbookUtils.isRowEmpty(readSheet.getRow(0)), is(true));
+            assertThat(readSheet.getRow(1), nullValue());
+            assertThat(WorkbookUtils.getCellValue(readSheet.getRow(2), 1), is("value"));
+            assertThat(WorkbookUtils.isSheetEmpty(readSheet), is(false));
+        }
+    }
+
+    private void assertRows(WorkbookReader reader) throws IOException {
+        Workbook workbook = reader.getWorkbook();
+        assertThat(workbook.getNumberOfSheets(), is(2));
+        assertThat(WorkbookUtils.getAllHeaders(workbook.getSheetAt(0)), contains("ID", "dc.title", "dc.date"));
+        assertThat(WorkbookUtils.getAllHeaders(workbook.getSheet("groups")), contains("PARENT-ID", "dc.subject"));
+
+        List<String> rows = new ArrayList<>();
+        reader.readRows(workbook.getSheetAt(0), row -> rows.add(row.getRowNum() + ":" + values(row)));
+        assertThat(rows, contains("1:[1, First, 2020]", "2:[]", "3:[3, Third]"));
+
+        rows.clear();
+        reader.readRows(workbook.getSheet("groups"), row -> rows.add(row.getSheet().getSheetName() + ":"
+            + WorkbookUtils.getCellValue(row, "dc.subject")));
+        assertThat(rows, contains("groups:Subject"));
+    }
+
+    private List<String> values(Row row) {
+        List<String> values = new ArrayList<>();
+        WorkbookUtils.getCells(row).forEach(cell -> values.add(WorkbookUtils.getCellValue(cell)));
+        return values;
+    }
+
+    private ByteArrayInputStream write(Workbook workbook) throws IOException {
+        if (workbook.getNumberOfSheets() == 0) {
+            Sheet items = workbook.createSheet("items");
+            addRow(items, 0, "ID", "dc.title", "dc.date");
+            addRow(items, 1, "1", "First").createCell(2).setCellValue(2020);
+            addRow(items, 2);
+            addRow(items, 3, "3", "Third");
+            Sheet groups = workbook.createSheet("groups");
+            addRow(groups, 0, "PARENT-ID", "dc.subject");
+            addRow(groups, 1, "ROW-ID::1", "Subject");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        workbook.close();
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    private Row addRow(Sheet sheet, int rowNum, String... values) {
+        Row row = sheet.createRow(rowNum);
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+        return row;
+    }
+}
@@ -32,6 +32,7 @@ import org.dspace.xoai.services.impl.DSpaceFieldResolver;
 import org.dspace.xoai.services.impl.DSpaceHandleResolver;
 import org.dspace.xoai.services.impl.cache.DSpaceEmptyCacheService;
 import org.dspace.xoai.services.impl.cache.DSpaceXOAICacheService;
+import org.dspace.xoai.services.impl.cache.DSpaceXOAIIndexedItemCacheService;
 import org.dspace.xoai.services.impl.cache.DSpaceXOAIItemCacheService;
 import org.dspace.xoai.services.impl.cache.DSpaceXOAILastCompilationCacheService;
 import org.dspace.xoai.services.impl.config.DSpaceConfigurationService;
@@ -94,6 +95,9 @@ public class BasicConfiguration {
 
     @Bean
     public XOAIItemCacheService xoaiItemCacheService() {
+        if ("indexed".equals(configurationService().getProperty("oai", "cache.item.store"))) {
+            return new DSpaceXOAIIndexedItemCacheService();
+        }
         return new DSpaceXOAIItemCacheService();
     }
 
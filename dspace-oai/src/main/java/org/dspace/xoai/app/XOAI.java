@@ -26,6 +26,13 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import javax.xml.stream.XMLStreamException;
 
 import com.lyncode.xoai.dataprovider.exceptions.ConfigurationException;
@@ -106,7 +113,17 @@ public class XOAI {
 
     private final List<XOAIExtensionItemCompilePlugin> extensionPlugins;
 
-    private List<String> getFileFormats(Item item) {
+    /**
+     * Marks the end of the items to be indexed by the workers of the parallel import
+     */
+    private static final UUID END_OF_ITEMS = new UUID(0, 0);
+
+    /**
+     * Marks the end of the documents built by a worker of the parallel import
+     */
+    private static final SolrInputDocument END_OF_DOCUMENTS = new SolrInputDocument();
+
+    private List<String> getFileFormats(Context context, Item item) {
         List<String> formats = new ArrayList<>();
         try {
             for (Bundle b : itemService.getBundles(item, "ORIGINAL")) {
@@ -307,6 +324,10 @@ public class XOAI {
     }
 
     private int index(Iterator<Item> iterator) throws DSpaceSolrIndexerException {
+        int threads = configurationService.getIntProperty("oai.import.threads", 1);
+        if (threads > 1) {
+            return indexInParallel(iterator, threads);
+        }
         try {
             int i = 0;
             int batchSize = configurationService.getIntProperty("oai.import.batch.size", 1000);
@@ -318,7 +339,7 @@ public class XOAI {
                     if (item.getHandle() == null) {
                         log.warn("Skipped item without handle: " + item.getID());
                     } else {
-                        list.add(this.index(item));
+                        list.add(this.index(context, item));
                     }
                     // Uncache the item to keep memory consumption low
                     context.uncacheEntity(item);
@@ -351,16 +372,156 @@ public class XOAI {
         }
     }
 
+    /**
+     * Index the given items with a pipeline of three stages: the calling thread
+     * loads the items, a pool of workers, each with its own context, builds
+     * their documents and a single thread sends them to solr in batches. Solr
+     * is committed at the end, and every oai.import.commit.interval seconds if
+     * configured.
+     *
+     * @param iterator the items to be indexed
+     * @param threads  the number of workers building the documents
+     * @return the number of items processed
+     * @throws DSpaceSolrIndexerException if the documents cannot be sent to solr
+     */
+    private int indexInParallel(Iterator<Item> iterator, int threads) throws DSpaceSolrIndexerException {
+        int batchSize = configurationService.getIntProperty("oai.import.batch.size", 1000);
+        long commitInterval = configurationService.getLongProperty("oai.import.commit.interval", 0) * 1000;
+        BlockingQueue<UUID> ids = new ArrayBlockingQueue<>(batchSize);
+        BlockingQueue<SolrInputDocument> documents = new ArrayBlockingQueue<>(batchSize);
+        ExecutorService workers = Executors.newFixedThreadPool(threads + 1);
+        try {
+            SolrClient server = solrServerResolver.getServer();
+            Future<Integer> submission = workers.submit(() -> submit(server, documents, threads, batchSize,
+                commitInterval));
+            for (int t = 0; t < threads; t++) {
+                workers.submit(() -> {
+                    buildDocuments(ids, documents);
+                    return null;
+                });
+            }
+
+            int i = 0;
+            while (iterator.hasNext()) {
+                Item item = iterator.next();
+                if (item.getHandle() == null) {
+                    log.warn("Skipped item without handle: " + item.getID());
+                } else {
+                    offer(ids, item.getID(), submission);
+                }
+                // Uncache the item to keep memory consumption low
+                context.uncacheEntity(item);
+                i++;
+            }
+            for (int t = 0; t < threads; t++) {
+                offer(ids, END_OF_ITEMS, submission);
+            }
+
+            submission.get();
+            System.out.println("Total: " + i + " items");
+            if (i > 0) {
+                server.commit(true, true);
+            }
+            return i;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
+        } catch (ExecutionException ex) {
+            throw new DSpaceSolrIndexerException(ex.getCause().getMessage(), ex.getCause());
+        } catch (SolrServerException | IOException | SQLException ex) {
+            throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Hand an item over to the workers, giving up if the submission to solr
+     * has failed in the meantime.
+     */
+    private void offer(BlockingQueue<UUID> ids, UUID id, Future<Integer> submission)
+        throws InterruptedException, ExecutionException {
+        while (!ids.offer(id, 1, TimeUnit.SECONDS)) {
+            if (submission.isDone()) {
+                submission.get();
+            }
+        }
+    }
+
+    /**
+     * Build the documents of the items taken from the given queue, in a
+     * dedicated context bound to the current thread.
+     */
+    private void buildDocuments(BlockingQueue<UUID> ids, BlockingQueue<SolrInputDocument> documents)
+        throws InterruptedException {
+        Context workerContext = new Context(Context.Mode.READ_ONLY);
+        try {
+            UUID id = ids.take();
+            while (!END_OF_ITEMS.equals(id)) {
+                try {
+                    Item item = itemService.find(workerContext, id);
+                    if (item != null) {
+                        documents.put(this.index(workerContext, item));
+                        workerContext.uncacheEntity(item);
+                    }
+                } catch (SQLException | IOException | XMLStreamException | WritingXmlException
+                    | RuntimeException ex) {
+                    log.error("Unable to index item " + id + ": " + ex.getMessage(), ex);
+                }
+                id = ids.take();
+            }
+        } finally {
+            workerContext.abort();
+            documents.put(END_OF_DOCUMENTS);
+        }
+    }
+
+    /**
+     * Send the built documents to solr in batches, until all the workers are done.
+     *
+     * @return the number of documents sent
+     */
+    private int submit(SolrClient server, BlockingQueue<SolrInputDocument> documents, int threads, int batchSize,
+                       long commitInterval) throws InterruptedException, SolrServerException, IOException {
+        List<SolrInputDocument> batch = new ArrayList<>(batchSize);
+        long start = System.currentTimeMillis();
+        long lastCommit = start;
+        int finishedWorkers = 0;
+        int sent = 0;
+        while (finishedWorkers < threads) {
+            SolrInputDocument document = documents.take();
+            if (document == END_OF_DOCUMENTS) {
+                finishedWorkers++;
+            } else {
+                batch.add(document);
+            }
+            if (batch.size() >= batchSize || (finishedWorkers == threads && !batch.isEmpty())) {
+                server.add(batch);
+                sent += batch.size();
+                batch.clear();
+                long now = System.currentTimeMillis();
+                System.out.println(sent + " items imported so far ("
+                    + (sent * 1000L / Math.max(now - start, 1)) + " items/s)...");
+                if (commitInterval > 0 && now - lastCommit >= commitInterval) {
+                    server.commit();
+                    lastCommit = now;
+                }
+            }
+        }
+        return sent;
+    }
+
     /**
      * Method to get the most recent date on which the item changed concerning the
      * OAI deleted status (policy start and end dates for all anonymous READ
      * policies and the standard last modification date)
      *
+     * @param context DSpace context
      * @param item Item
      * @return date
      * @throws SQLException e
      */
-    private Date getMostRecentModificationDate(Item item) throws SQLException {
+    private Date getMostRecentModificationDate(Context context, Item item) throws SQLException {
         List<Date> dates = new LinkedList<>();
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
@@ -386,7 +547,7 @@ public class XOAI {
         return lastChange;
     }
 
-    private SolrInputDocument index(Item item)
+    private SolrInputDocument index(Context context, Item item)
             throws SQLException, IOException, XMLStreamException, WritingXmlException {
         SolrInputDocument doc = new SolrInputDocument();
         doc.addField("item.id", item.getID().toString());
@@ -398,7 +559,7 @@ public class XOAI {
             doc.addField("item.legacyoaiidentifier", legacyOaiId.split(":")[2]);
         }
 
-        boolean isEmbargoed = !this.isPublic(item);
+        boolean isEmbargoed = !this.isPublic(context, item);
         boolean isCurrentlyVisible = this.checkIfVisibleInOAI(item);
         boolean isIndexed = this.checkIfIndexed(item);
 
@@ -421,7 +582,7 @@ public class XOAI {
         // if the visibility of the item will change in the future due to an
         // embargo, mark it as such.
 
-        doc.addField("item.willChangeStatus", willChangeStatus(item));
+        doc.addField("item.willChangeStatus", willChangeStatus(context, item));
 
         /*
          * Mark an item as deleted not only if it is withdrawn, but also if it is made
@@ -441,7 +602,7 @@ public class XOAI {
          * date and take the most recent of those which have already passed.
          */
         doc.addField("item.lastmodified",
-                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(item)));
+                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(context, item)));
 
         if (item.getSubmitter() != null) {
             doc.addField("item.submitter", item.getSubmitter().getEmail());
@@ -468,7 +629,7 @@ public class XOAI {
             }
         }
 
-        for (String f : getFileFormats(item)) {
+        for (String f : getFileFormats(context, item)) {
             doc.addField("metadata.dc.format.mimetype", f);
         }
 
@@ -498,7 +659,7 @@ public class XOAI {
         return doc;
     }
 
-    private boolean willChangeStatus(Item item) throws SQLException {
+    private boolean willChangeStatus(Context context, Item item) throws SQLException {
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
             if ((policy.getGroup() != null) && (policy.getGroup().getName().equals("Anonymous"))) {
@@ -514,7 +675,7 @@ public class XOAI {
         return false;
     }
 
-    private boolean isPublic(Item item) {
+    private boolean isPublic(Context context, Item item) {
         boolean pub = false;
         try {
             // Check if READ access allowed on this Item
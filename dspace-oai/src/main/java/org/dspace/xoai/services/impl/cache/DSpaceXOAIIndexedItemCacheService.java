@@ -0,0 +1,111 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.services.impl.cache;
+
+import static com.lyncode.xoai.dataprovider.core.Granularity.Second;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import javax.xml.stream.XMLStreamException;
+
+import com.lyncode.xoai.dataprovider.exceptions.WritingXmlException;
+import com.lyncode.xoai.dataprovider.xml.XmlOutputContext;
+import com.lyncode.xoai.dataprovider.xml.xoai.Metadata;
+import com.lyncode.xoai.dataprovider.xml.xoai.XOAIParser;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Item;
+import org.dspace.xoai.services.api.cache.XOAIItemCacheService;
+import org.dspace.xoai.services.api.config.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Item cache storing the compiled metadata of all the items in a single
+ * {@link IndexedFileStore}, instead of one file per item: the items are read
+ * and written without opening a file each time.
+ */
+public class DSpaceXOAIIndexedItemCacheService implements XOAIItemCacheService {
+    private static final Logger log = LogManager.getLogger();
+
+    private static final String ITEMFILE = File.separator + "items.data";
+
+    @Autowired
+    ConfigurationService configurationService;
+
+    private IndexedFileStore store;
+
+    private synchronized IndexedFileStore getStore() {
+        if (store == null) {
+            store = new IndexedFileStore(new File(configurationService.getProperty("oai", "cache.dir") + ITEMFILE));
+        }
+        return store;
+    }
+
+    private String getKey(Item item) {
+        return item.getHandle();
+    }
+
+
+    @Override
+    public boolean hasCache(Item item) {
+        try {
+            return getStore().contains(getKey(item));
+        } catch (IOException e) {
+            log.error("Unable to read the OAI item cache", e);
+            return false;
+        }
+    }
+
+
+    @Override
+    public Metadata get(Item item) throws IOException {
+        byte[] value = getStore().get(getKey(item));
+        if (value == null) {
+            throw new IOException("Item " + item.getHandle() + " is not compiled");
+        }
+        try {
+            return XOAIParser.parse(new ByteArrayInputStream(value));
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+
+    @Override
+    public void put(Item item, Metadata metadata) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            XmlOutputContext context = XmlOutputContext.emptyContext(output, Second);
+            metadata.write(context);
+            context.getWriter().flush();
+            context.getWriter().close();
+        } catch (XMLStreamException | WritingXmlException e) {
+            throw new IOException(e);
+        }
+        getStore().put(getKey(item), output.toByteArray());
+    }
+
+
+    @Override
+    public void delete(Item item) {
+        try {
+            getStore().remove(getKey(item));
+        } catch (IOException e) {
+            log.error("Unable to remove item " + item.getHandle() + " from the OAI item cache", e);
+        }
+    }
+
+
+    @Override
+    public void deleteAll() throws IOException {
+        getStore().clear();
+    }
+
+}
@@ -0,0 +1,284 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.services.impl.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Key-value store kept in a single append-only file, with an in memory index
+ * of the offset of the value of each key.
+ * <p>
+ * Each record of the file holds a key and its value, a newer record of the
+ * same key replaces the older one and a record without value removes the
+ * key. The index is rebuilt scanning the file when the store is opened; if
+ * more than half of the file is taken by replaced or removed records the
+ * file is compacted at the same time.
+ * <p>
+ * The values are read concurrently, while opening, writing, clearing and
+ * closing the file are exclusive.
+ */
+public class IndexedFileStore implements Closeable {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private static final int REMOVED = -1;
+
+    private final File file;
+
+    private final Map<String, Long> offsets = new ConcurrentHashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private FileChannel channel;
+
+    public IndexedFileStore(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Open the file if needed, to be called holding the write lock.
+     */
+    private FileChannel getChannel() throws IOException {
+        if (channel == null) {
+            File dir = file.getParentFile();
+            if (dir != null && !dir.exists()) {
+                dir.mkdirs();
+            }
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            long liveBytes = loadIndex();
+            if (channel.size() > 2 * liveBytes) {
+                compact();
+            }
+        }
+        return channel;
+    }
+
+    /**
+     * Scan the file to find the offset of the current value of each key.
+     *
+     * @return the size of the records holding the current values
+     */
+    private long loadIndex() throws IOException {
+        offsets.clear();
+        long liveBytes = 0;
+        long position = 0;
+        Map<String, Integer> sizes = new HashMap<>();
+        channel.position(0);
+        DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        try {
+            while (true) {
+                byte[] key = new byte[input.readInt()];
+                input.readFully(key);
+                int length = input.readInt();
+                skipFully(input, Math.max(length, 0));
+                String name = new String(key, UTF_8);
+                long valuePosition = position + 4 + key.length;
+                int recordSize = 8 + key.length + Math.max(length, 0);
+                Integer previous = length == REMOVED ? sizes.remove(name) : sizes.put(name, recordSize);
+                if (previous != null) {
+                    liveBytes -= previous;
+                }
+                if (length == REMOVED) {
+                    offsets.remove(name);
+                } else {
+                    offsets.put(name, valuePosition);
+                    liveBytes += recordSize;
+                }
+                position += recordSize;
+            }
+        } catch (EOFException e) {
+            // end of the file, or a record not completely written: drop it
+            if (position < channel.size()) {
+                log.warn("Discarding the incomplete record at the end of " + file);
+                channel.truncate(position);
+            }
+        }
+        return liveBytes;
+    }
+
+    private void skipFully(DataInputStream input, long length) throws IOException {
+        long skipped = 0;
+        while (skipped < length) {
+            long count = input.skip(length - skipped);
+            if (count <= 0) {
+                throw new EOFException();
+            }
+            skipped += count;
+        }
+    }
+
+    /**
+     * Rewrite the file with the current values only.
+     */
+    private void compact() throws IOException {
+        File compacted = new File(file.getPath() + ".compact");
+        try (FileChannel target = FileChannel.open(compacted.toPath(), StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (Map.Entry<String, Long> entry : offsets.entrySet()) {
+                target.write(record(entry.getKey(), read(entry.getValue())));
+            }
+        }
+        channel.close();
+        Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        loadIndex();
+    }
+
+    public boolean contains(String key) throws IOException {
+        lock.readLock().lock();
+        try {
+            if (channel != null) {
+                return offsets.containsKey(key);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            getChannel();
+            return offsets.containsKey(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param key the key
+     * @return the value of the key, or null if the key is not stored
+     * @throws IOException if the file cannot be read
+     */
+    public byte[] get(String key) throws IOException {
+        lock.readLock().lock();
+        try {
+            if (channel != null) {
+                Long offset = offsets.get(key);
+                return offset != null ? read(offset) : null;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // the file is not open yet, or it has been cleared or closed
+        lock.writeLock().lock();
+        try {
+            getChannel();
+            Long offset = offsets.get(key);
+            return offset != null ? read(offset) : null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private byte[] read(long offset) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(4);
+        readFully(length, offset);
+        ByteBuffer value = ByteBuffer.allocate(length.getInt(0));
+        readFully(value, offset + 4);
+        return value.array();
+    }
+
+    private void readFully(ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of " + file);
+            }
+        }
+    }
+
+    public void put(String key, byte[] value) throws IOException {
+        lock.writeLock().lock();
+        try {
+            long position = getChannel().size();
+            ByteBuffer record = record(key, value);
+            write(record, position);
+            offsets.put(key, position + 4 + key.getBytes(UTF_8).length);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key) throws IOException {
+        lock.writeLock().lock();
+        try {
+            getChannel();
+            if (offsets.containsKey(key)) {
+                write(record(key, null), channel.size());
+                offsets.remove(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private ByteBuffer record(String key, byte[] value) {
+        byte[] name = key.getBytes(UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(8 + name.length + (value != null ? value.length : 0));
+        record.putInt(name.length);
+        record.put(name);
+        record.putInt(value != null ? value.length : REMOVED);
+        if (value != null) {
+            record.put(value);
+        }
+        record.flip();
+        return record;
+    }
+
+    /**
+     * Remove all the keys, deleting the file.
+     */
+    public void clear() throws IOException {
+        lock.writeLock().lock();
+        try {
+            close();
+            Files.deleteIfExists(file.toPath());
+            offsets.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
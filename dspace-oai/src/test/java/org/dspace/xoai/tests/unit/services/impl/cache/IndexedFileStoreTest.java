@@ -0,0 +1,146 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.tests.unit.services.impl.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.dspace.xoai.services.impl.cache.IndexedFileStore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class IndexedFileStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testValuesAreReplacedAndRemoved() throws IOException {
+        File file = new File(folder.getRoot(), "items.data");
+        try (IndexedFileStore store = new IndexedFileStore(file)) {
+            store.put("123456789/1", bytes("first"));
+            store.put("123456789/2", bytes("second"));
+            store.put("123456789/1", bytes("first, updated"));
+            store.remove("123456789/2");
+
+            assertThat(string(store.get("123456789/1")), is("first, updated"));
+            assertThat(store.contains("123456789/2"), is(false));
+            assertThat(store.get("123456789/2"), nullValue());
+        }
+
+        // the index is rebuilt from the file
+        try (IndexedFileStore store = new IndexedFileStore(file)) {
+            assertThat(string(store.get("123456789/1")), is("first, updated"));
+            assertThat(store.contains("123456789/2"), is(false));
+        }
+    }
+
+    @Test
+    public void testFileIsCompactedWhenOpened() throws IOException {
+        File file = new File(folder.getRoot(), "items.data");
+        try (IndexedFileStore store = new IndexedFileStore(file)) {
+            for (int i = 0; i < 10; i++) {
+                store.put("123456789/1", bytes("version " + i));
+            }
+        }
+        long size = file.length();
+
+        try (IndexedFileStore store = new IndexedFileStore(file)) {
+            assertThat(string(store.get("123456789/1")), is("version 9"));
+        }
+        assertThat(file.length(), lessThan(size));
+    }
+
+    @Test
+    public void testIncompleteRecordIsDiscarded() throws IOException {
+        File file = new File(folder.getRoot(), "items.data");
+        try (IndexedFileStore store = new IndexedFileStore(file)) {
+            store.put("123456789/1", bytes("complete"));
+            store.put("123456789/2", bytes("incomplete"));
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        try (IndexedFileStore store = new IndexedFileStore(file)) {
+            assertThat(string(store.get("123456789/1")), is("complete"));
+            assertThat(store.contains("123456789/2"), is(false));
+            store.put("123456789/3", bytes("after"));
+            assertThat(string(store.get("123456789/3")), is("after"));
+        }
+    }
+
+    @Test
+    public void testClear() throws IOException {
+        File file = new File(folder.getRoot(), "items.data");
+        try (IndexedFileStore store = new IndexedFileStore(file)) {
+            store.put("123456789/1", bytes("value"));
+            store.clear();
+            assertThat(file.exists(), is(false));
+            assertThat(store.contains("123456789/1"), is(false));
+        }
+    }
+
+    @Test
+    public void testValuesAreReadWhileTheStoreIsCleared() throws Exception {
+        File file = new File(folder.getRoot(), "items.data");
+        try (IndexedFileStore store = new IndexedFileStore(file)) {
+            store.put("123456789/1", bytes("value"));
+            AtomicBoolean running = new AtomicBoolean(true);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            List<Thread> readers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Thread reader = new Thread(() -> {
+                    try {
+                        while (running.get()) {
+                            byte[] value = store.get("123456789/1");
+                            if (value != null && !"value".equals(string(value))) {
+                                throw new AssertionError("Unexpected value " + string(value));
+                            }
+                        }
+                    } catch (Throwable t) {
+                        failure.compareAndSet(null, t);
+                    }
+                });
+                reader.start();
+                readers.add(reader);
+            }
+
+            for (int i = 0; i < 500; i++) {
+                store.clear();
+                store.put("123456789/1", bytes("value"));
+            }
+            running.set(false);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+
+            assertThat(String.valueOf(failure.get()), failure.get(), nullValue());
+        }
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(UTF_8);
+    }
+
+    private String string(byte[] value) {
+        return new String(value, UTF_8);
+    }
+}
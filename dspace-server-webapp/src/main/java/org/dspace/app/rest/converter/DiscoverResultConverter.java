@@ -7,6 +7,8 @@
  */
 package org.dspace.app.rest.converter;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -20,6 +22,9 @@ import org.dspace.app.rest.model.SearchResultEntryRest;
 import org.dspace.app.rest.model.SearchResultsRest;
 import org.dspace.app.rest.parameter.SearchFilter;
 import org.dspace.app.rest.projection.Projection;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.discovery.DiscoverResult;
 import org.dspace.discovery.IndexableObject;
@@ -47,6 +52,8 @@ public class DiscoverResultConverter {
     private DiscoverFacetsConverter facetConverter;
     @Autowired
     private SearchFilterToAppliedFilterConverter searchFilterToAppliedFilterConverter;
+    @Autowired
+    private AuthorizeService authorizeService;
 
     public SearchResultsRest convert(final Context context, final String query, final List<String> dsoTypes,
                                      final String configurationName, final String scope,
@@ -59,6 +66,7 @@ public class DiscoverResultConverter {
 
         setRequestInformation(context, query, dsoTypes, configurationName, scope, searchFilters, page, resultsRest);
 
+        prefetchReadAuthorizations(context, searchResult);
         addSearchResults(searchResult, resultsRest, projection);
 
         addFacetValues(context, searchResult, resultsRest, configuration, projection);
@@ -73,6 +81,25 @@ public class DiscoverResultConverter {
         facetConverter.addFacetValues(context, searchResult, resultsRest, configuration, projection);
     }
 
+    /**
+     * Resolve the READ authorization of all the DSpace objects of the page at
+     * once, so that their conversion does not query their policies one by one.
+     */
+    private void prefetchReadAuthorizations(final Context context, final DiscoverResult searchResult) {
+        List<DSpaceObject> dspaceObjects = new ArrayList<>();
+        for (IndexableObject indexableObject : CollectionUtils.emptyIfNull(searchResult.getIndexableObjects())) {
+            if (indexableObject.getIndexedObject() instanceof DSpaceObject) {
+                dspaceObjects.add((DSpaceObject) indexableObject.getIndexedObject());
+            }
+        }
+        try {
+            authorizeService.authorizeActionBoolean(context, context.getCurrentUser(), dspaceObjects, Constants.READ);
+        } catch (SQLException e) {
+            // the objects are authorized one by one during their conversion
+            log.warn("Unable to resolve the READ authorizations of the search results", e);
+        }
+    }
+
     private void addSearchResults(final DiscoverResult searchResult, final SearchResultsRest resultsRest,
                                   final Projection projection) {
         for (IndexableObject dspaceObject : CollectionUtils.emptyIfNull(searchResult.getIndexableObjects())) {
@@ -84,6 +84,9 @@ public abstract class JWTTokenHandler {
     private String generatedJwtKey;
     private String generatedEncryptionKey;
 
+    private volatile VerifiedTokenCache verifiedTokenCache;
+    private volatile boolean verifiedTokenCacheInitialized;
+
     /**
      * Get the configuration property key for the token secret.
      * @return the configuration property key
@@ -114,6 +117,12 @@ public abstract class JWTTokenHandler {
      */
     protected abstract String getCompressionEnabledConfigurationKey();
 
+    /**
+     * Get the configuration property key for the maximum number of verified tokens kept in memory.
+     * @return the configuration property key
+     */
+    protected abstract String getTokenCacheSizeConfigurationKey();
+
     /**
      * Retrieve EPerson from a JSON Web Token (JWT)
      *
@@ -130,21 +139,39 @@ public abstract class JWTTokenHandler {
         if (StringUtils.isBlank(token)) {
             return null;
         }
+        VerifiedTokenCache cache = getVerifiedTokenCache();
+        VerifiedTokenCache.VerifiedToken verifiedToken = cache != null ? cache.get(token) : null;
+        if (verifiedToken != null) {
+            // the token has already been verified, check that it has not been invalidated since then
+            JWTClaimsSet jwtClaimsSet = verifiedToken.getClaimsSet();
+            EPerson ePerson = getEPerson(context, jwtClaimsSet);
+            if (cache.isValid(token, verifiedToken, getJwtKey(), ePerson)) {
+                parseClaims(request, context, jwtClaimsSet);
+                return ePerson;
+            }
+        }
+
+        long start = System.nanoTime();
         // parse/decrypt the token
         SignedJWT signedJWT = getSignedJWT(token);
         // get the claims set from the parsed token
         JWTClaimsSet jwtClaimsSet = signedJWT.getJWTClaimsSet();
         // retrieve the EPerson from the claims set
         EPerson ePerson = getEPerson(context, jwtClaimsSet);
+        boolean valid = isValidToken(request, signedJWT, jwtClaimsSet, ePerson);
+        if (cache != null) {
+            cache.recordVerification(System.nanoTime() - start);
+        }
 
         // As long as the JWT is valid, parse all claims and return the EPerson
-        if (isValidToken(request, signedJWT, jwtClaimsSet, ePerson)) {
+        if (valid) {
 
             log.debug("Received valid token for username: " + ePerson.getEmail());
 
-            for (JWTClaimProvider jwtClaimProvider : jwtClaimProviders) {
-                jwtClaimProvider.parseClaim(context, request, jwtClaimsSet);
+            if (cache != null) {
+                cache.put(token, jwtClaimsSet, getJwtKey(), ePerson);
             }
+            parseClaims(request, context, jwtClaimsSet);
 
             return ePerson;
         } else {
@@ -153,6 +180,31 @@ public abstract class JWTTokenHandler {
         }
     }
 
+    private void parseClaims(HttpServletRequest request, Context context, JWTClaimsSet jwtClaimsSet)
+        throws SQLException {
+        for (JWTClaimProvider jwtClaimProvider : jwtClaimProviders) {
+            jwtClaimProvider.parseClaim(context, request, jwtClaimsSet);
+        }
+    }
+
+    /**
+     * Get the cache of the tokens already verified by this handler, created on first use with the configured
+     * maximum size.
+     * @return the cache, or null if the verified tokens are not cached
+     */
+    public VerifiedTokenCache getVerifiedTokenCache() {
+        if (!verifiedTokenCacheInitialized) {
+            synchronized (this) {
+                if (!verifiedTokenCacheInitialized) {
+                    int maxSize = configurationService.getIntProperty(getTokenCacheSizeConfigurationKey(), 0);
+                    verifiedTokenCache = maxSize > 0 ? new VerifiedTokenCache(maxSize) : null;
+                    verifiedTokenCacheInitialized = true;
+                }
+            }
+        }
+        return verifiedTokenCache;
+    }
+
     /**
      * Create a JWT with the EPerson details in it
      *
@@ -203,6 +255,7 @@ public abstract class JWTTokenHandler {
             EPerson ePerson = parseEPersonFromToken(token, request, context);
             if (ePerson != null) {
                 ePerson.setSessionSalt("");
+                invalidateVerifiedTokens(ePerson);
             }
 
         }
@@ -220,10 +273,18 @@ public abstract class JWTTokenHandler {
             EPerson ePerson = parseEPersonFromToken(token, request, context);
             if (ePerson != null) {
                 ePerson.setMachineSessionSalt("");
+                invalidateVerifiedTokens(ePerson);
             }
         }
     }
 
+    private void invalidateVerifiedTokens(EPerson ePerson) {
+        VerifiedTokenCache cache = getVerifiedTokenCache();
+        if (cache != null) {
+            cache.invalidate(ePerson.getID());
+        }
+    }
+
     /**
      * Retrieve the token secret key from configuration. If not specified, generate and cache a random 32 byte key
      * @return configuration value or random 32 byte key
@@ -93,4 +93,9 @@ public class ShortLivedJWTTokenHandler extends JWTTokenHandler {
     protected String getCompressionEnabledConfigurationKey() {
         return "jwt.shortLived.compression.enabled";
     }
+
+    @Override
+    protected String getTokenCacheSizeConfigurationKey() {
+        return "jwt.shortLived.token.cache.max-size";
+    }
 }
@@ -0,0 +1,200 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.security.jwt;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.dspace.eperson.EPerson;
+
+/**
+ * Bounded cache of the tokens already verified by a {@link JWTTokenHandler},
+ * so that the token of each request of a client is decrypted, parsed and
+ * verified only once.
+ * <p>
+ * The tokens are kept by their SHA-256 hash together with their claims and
+ * the keys they have been verified with: a cached token is accepted only if
+ * it is not expired and the server key and the session salts of its EPerson
+ * are still the same, so the changes of the salts (e.g. a logout) and of the
+ * server key invalidate it even when done by another node. The least
+ * recently used token is evicted when the maximum size is reached.
+ */
+public class VerifiedTokenCache {
+
+    private final Map<String, VerifiedToken> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final AtomicLong verifications = new AtomicLong();
+
+    private final AtomicLong verificationNanos = new AtomicLong();
+
+    public VerifiedTokenCache(int maxSize) {
+        entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * @param token the token
+     * @return the token if it has been verified earlier and it is not
+     *         expired, null if it has to be verified
+     */
+    public VerifiedToken get(String token) {
+        VerifiedToken entry = entries.get(hash(token));
+        if (entry == null || !entry.isNotExpired()) {
+            misses.incrementAndGet();
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Check that a token returned by {@link #get(String)} is still valid for
+     * the current server key and the current state of its EPerson, otherwise
+     * discard it.
+     *
+     * @param token   the token
+     * @param entry   the cached token
+     * @param jwtKey  the current server key
+     * @param ePerson the EPerson of the token, as currently stored
+     * @return true if the token can be accepted without verifying it again
+     */
+    public boolean isValid(String token, VerifiedToken entry, String jwtKey, EPerson ePerson) {
+        if (entry.isValidFor(jwtKey, ePerson)) {
+            hits.incrementAndGet();
+            return true;
+        }
+        entries.remove(hash(token));
+        misses.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Cache a token just verified.
+     *
+     * @param token     the token
+     * @param claimsSet the claims of the token
+     * @param jwtKey    the server key the token has been verified with
+     * @param ePerson   the EPerson of the token
+     */
+    public void put(String token, JWTClaimsSet claimsSet, String jwtKey, EPerson ePerson) {
+        if (claimsSet.getExpirationTime() != null) {
+            entries.put(hash(token), new VerifiedToken(claimsSet, jwtKey, ePerson));
+        }
+    }
+
+    /**
+     * Discard all the tokens of the given EPerson.
+     */
+    public void invalidate(UUID ePersonId) {
+        synchronized (entries) {
+            entries.values().removeIf(entry -> Objects.equals(entry.ePersonId, ePersonId));
+        }
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Record the time spent to verify a token that was not cached.
+     */
+    public void recordVerification(long nanos) {
+        verifications.incrementAndGet();
+        verificationNanos.addAndGet(nanos);
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public double getHitRate() {
+        long lookups = hits.get() + misses.get();
+        return lookups > 0 ? (double) hits.get() / lookups : 0;
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * @return the average time, in microseconds, spent to verify the tokens
+     *         that were not cached
+     */
+    public long getAverageVerificationMicros() {
+        long count = verifications.get();
+        return count > 0 ? verificationNanos.get() / count / 1000 : 0;
+    }
+
+    private String hash(String token) {
+        return DigestUtils.sha256Hex(token);
+    }
+
+    /**
+     * A verified token, with the keys it has been verified with.
+     */
+    public static class VerifiedToken {
+
+        private final JWTClaimsSet claimsSet;
+
+        private final long expiration;
+
+        private final String jwtKey;
+
+        private final UUID ePersonId;
+
+        private final String sessionSalt;
+
+        private final String machineSessionSalt;
+
+        private VerifiedToken(JWTClaimsSet claimsSet, String jwtKey, EPerson ePerson) {
+            this.claimsSet = claimsSet;
+            this.expiration = claimsSet.getExpirationTime().getTime();
+            this.jwtKey = jwtKey;
+            this.ePersonId = ePerson.getID();
+            this.sessionSalt = ePerson.getSessionSalt();
+            this.machineSessionSalt = ePerson.getMachineSessionSalt();
+        }
+
+        public JWTClaimsSet getClaimsSet() {
+            return claimsSet;
+        }
+
+        private boolean isNotExpired() {
+            return expiration > System.currentTimeMillis();
+        }
+
+        private boolean isValidFor(String jwtKey, EPerson ePerson) {
+            return ePerson != null
+                && isNotExpired()
+                && Objects.equals(this.jwtKey, jwtKey)
+                && Objects.equals(ePersonId, ePerson.getID())
+                && Objects.equals(sessionSalt, ePerson.getSessionSalt())
+                && Objects.equals(machineSessionSalt, ePerson.getMachineSessionSalt());
+        }
+    }
+}
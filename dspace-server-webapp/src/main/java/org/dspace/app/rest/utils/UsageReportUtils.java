@@ -11,8 +11,15 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.client.solrj.SolrServerException;
@@ -30,6 +37,7 @@ import org.dspace.content.Item;
 import org.dspace.content.Site;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
 import org.dspace.statistics.Dataset;
 import org.dspace.statistics.content.DatasetDSpaceObjectGenerator;
 import org.dspace.statistics.content.DatasetTimeGenerator;
@@ -37,21 +45,38 @@ import org.dspace.statistics.content.DatasetTypeGenerator;
 import org.dspace.statistics.content.StatisticsDataVisits;
 import org.dspace.statistics.content.StatisticsListing;
 import org.dspace.statistics.content.StatisticsTable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.stereotype.Component;
 
 /**
  * This is the Service dealing with the {@link UsageReportRest} logic
+ * <p>
+ * The reports of an object can be generated concurrently, each one in its own
+ * read only context, by the pool of threads configured with
+ * usage-statistics.reports.threads, and the lists of reports can be kept for
+ * a short time (usage-statistics.reports.cache.ttl) so that repeated views of
+ * the statistics of the same object do not query Solr again.
  *
  * @author Maria Verdonck (Atmire) on 08/06/2020
  */
 @Component
-public class UsageReportUtils {
+public class UsageReportUtils implements InitializingBean, DisposableBean {
 
     @Autowired
     private StatisticsReportsConfiguration configuration;
 
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private ExecutorService executor;
+
+    private Map<String, CachedReports> cache;
+
+    private long cacheTimeToLive;
+
     public static final String TOTAL_VISITS_REPORT_ID = "TotalVisits";
     public static final String TOP_ITEMS_REPORT_ID = "TopItems";
     public static final String TOTAL_VISITS_REPORT_ID_RELATION_PERSON_RESEARCHOUTPUTS
@@ -108,6 +133,35 @@ public class UsageReportUtils {
     public static final String TOTAL_ITEMS_VISITS_REPORT_ID = "TotalItemsVisits";
     public static final String TOTAL_ITEMS_VISITS_PER_MONTH_REPORT_ID = "TotalItemsVisitsPerMonth";
 
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        int threads = configurationService.getIntProperty("usage-statistics.reports.threads", 1);
+        if (threads > 1) {
+            // the reports are never generated by the requesting thread, whose hibernate session is the
+            // one of the request context
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "usage-report-generator");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        cacheTimeToLive = configurationService.getLongProperty("usage-statistics.reports.cache.ttl", 0) * 1000;
+        int maxSize = configurationService.getIntProperty("usage-statistics.reports.cache.max-size", 1000);
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedReports> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Get list of usage reports that are applicable to the DSO (of given UUID)
      *
@@ -120,22 +174,102 @@ public class UsageReportUtils {
                                                       DSpaceObject dso, String category,
                                                       String startDate, String endDate)
         throws SQLException, ParseException, SolrServerException, IOException {
+        String cacheKey = dso.getID() + "|" + category + "|" + startDate + "|" + endDate;
+        List<UsageReportRest> reports = getCachedReports(cacheKey);
+        if (reports != null) {
+            return reports;
+        }
         List<UsageReportCategoryRest> categories = configuration.getCategories(dso);
         List<String> reportIds = new ArrayList();
-        List<UsageReportRest> reports = new ArrayList();
         for (UsageReportCategoryRest cat : categories) {
             if (category == null || StringUtils.equals(cat.getId(), category)) {
                 for (Entry<String, UsageReportGenerator> entry : cat.getReports().entrySet()) {
                     if (!reportIds.contains(entry.getKey())) {
                         reportIds.add(entry.getKey());
-                        reports.add(createUsageReport(context, dso, entry.getKey(), startDate, endDate));
                     }
                 }
             }
         }
+        if (executor == null || reportIds.size() < 2) {
+            reports = new ArrayList();
+            for (String reportId : reportIds) {
+                reports.add(createUsageReport(context, dso, reportId, startDate, endDate));
+            }
+        } else {
+            reports = createUsageReportsInParallel(context, dso, reportIds, startDate, endDate);
+        }
+        cacheReports(cacheKey, reports);
         return reports;
     }
 
+    /**
+     * Generate the given reports with the executor, each one in a new read
+     * only context, as the context cannot be shared among threads. The
+     * reports do not depend on the user, so the new contexts have none.
+     */
+    private List<UsageReportRest> createUsageReportsInParallel(Context context, DSpaceObject dso,
+                                                               List<String> reportIds, String startDate,
+                                                               String endDate)
+        throws SQLException, ParseException, SolrServerException, IOException {
+        List<Future<UsageReportRest>> futures = new ArrayList<>();
+        try {
+            for (String reportId : reportIds) {
+                futures.add(executor.submit(() -> createUsageReportInNewContext(dso, reportId, startDate,
+                    endDate)));
+            }
+            List<UsageReportRest> reports = new ArrayList<>();
+            for (Future<UsageReportRest> future : futures) {
+                reports.add(future.get());
+            }
+            return reports;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating the usage reports", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            } else if (cause instanceof ParseException) {
+                throw (ParseException) cause;
+            } else if (cause instanceof SolrServerException) {
+                throw (SolrServerException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Unexpected error generating the usage reports", cause);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private UsageReportRest createUsageReportInNewContext(DSpaceObject dso, String reportId, String startDate,
+                                                          String endDate)
+        throws SQLException, ParseException, SolrServerException, IOException {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            return createUsageReport(context, context.reloadEntity(dso), reportId, startDate, endDate);
+        } finally {
+            context.abort();
+        }
+    }
+
+    private List<UsageReportRest> getCachedReports(String cacheKey) {
+        if (cacheTimeToLive <= 0) {
+            return null;
+        }
+        CachedReports entry = cache.get(cacheKey);
+        return entry != null && entry.expiration >= System.currentTimeMillis() ? entry.reports : null;
+    }
+
+    private void cacheReports(String cacheKey, List<UsageReportRest> reports) {
+        if (cacheTimeToLive > 0) {
+            cache.put(cacheKey, new CachedReports(Collections.unmodifiableList(reports),
+                System.currentTimeMillis() + cacheTimeToLive));
+        }
+    }
+
     private List<String> getReports(Context context, DSpaceObject dso, String category) {
         List<String> reports = new ArrayList();
         if (dso instanceof Site) {
@@ -401,5 +535,15 @@ public class UsageReportUtils {
         return statListing.getDataset(context, facetMinCount);
     }
 
+    private static class CachedReports {
 
+        private final List<UsageReportRest> reports;
+
+        private final long expiration;
+
+        private CachedReports(List<UsageReportRest> reports, long expiration) {
+            this.reports = reports;
+            this.expiration = expiration;
+        }
+    }
 }
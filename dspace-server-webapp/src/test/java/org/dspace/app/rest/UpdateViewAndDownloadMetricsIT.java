@@ -38,6 +38,7 @@ import org.dspace.builder.ItemBuilder;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
+import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.EventService;
@@ -135,6 +136,54 @@ public class UpdateViewAndDownloadMetricsIT extends AbstractControllerIntegratio
             }));
     }
 
+    //test the bulk mode reading the views and downloads one object at a time
+    @Test
+    public void storeCrisMetricsInBulkForItemsWithViewAndDownloads() throws Exception {
+        configurationService.setProperty("metrics.store-metrics.bulk.facet-page-size", 1);
+        context.turnOffAuthorisationSystem();
+            Community community = CommunityBuilder.createCommunity(context).build();
+            Collection col1 = CollectionBuilder.createCollection(context, community).build();
+            Item firstItem = ItemBuilder.createItem(context, col1)
+                    .withTitle("Title item A")
+                    .inArchive().build();
+            Bitstream firstBitstream = BitstreamBuilder
+                                           .createBitstream(context, firstItem, toInputStream("test", UTF_8))
+                                           .withName("bitstream1").build();
+            Item secondItem = ItemBuilder.createItem(context, col1)
+                    .withTitle("Title item B")
+                    .inArchive().build();
+            Bitstream secondBitstream = BitstreamBuilder
+                                            .createBitstream(context, secondItem, toInputStream("test", UTF_8))
+                                            .withName("bitstream2").build();
+            context.restoreAuthSystemState();
+            //one view and two downloads of the first item, two views and one download of the second one
+            postViewEvent("item", firstItem, 1);
+            postViewEvent("bitstream", firstBitstream, 2);
+            postViewEvent("item", secondItem, 2);
+            postViewEvent("bitstream", secondBitstream, 1);
+        this.statisticsEventListener.addConsumer(
+            throwingConsumerWrapper((event) -> {
+                String[] args = new String[] {"store-metrics", "-b"};
+                TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+                int status = handleScript(args, ScriptLauncher.getConfig(kernelImpl), handler, kernelImpl, admin);
+                assertEquals(0, status);
+                CrisMetrics firstViews = crisMetriscService.findLastMetricByResourceIdAndMetricsTypes(
+                    context, "view", firstItem.getID());
+                CrisMetrics firstDownloads = crisMetriscService.findLastMetricByResourceIdAndMetricsTypes(
+                    context, "download", firstItem.getID());
+                CrisMetrics secondViews = crisMetriscService.findLastMetricByResourceIdAndMetricsTypes(
+                    context, "view", secondItem.getID());
+                CrisMetrics secondDownloads = crisMetriscService.findLastMetricByResourceIdAndMetricsTypes(
+                    context, "download", secondItem.getID());
+                assertEquals(1, firstViews.getMetricCount(), 0);
+                assertEquals(2, firstDownloads.getMetricCount(), 0);
+                assertEquals(2, secondViews.getMetricCount(), 0);
+                assertEquals(1, secondDownloads.getMetricCount(), 0);
+                assertTrue(firstViews.getLast());
+                assertTrue(secondDownloads.getLast());
+            }));
+    }
+
     //test only with views
     @Test
     public void storeCrisMetricsForItemWithViews() throws Exception {
@@ -751,4 +800,17 @@ public class UpdateViewAndDownloadMetricsIT extends AbstractControllerIntegratio
                 assertFalse(old_metric_view_month_col.getLast());
             }));
     }
+
+    private void postViewEvent(String targetType, DSpaceObject target, int times) throws Exception {
+        ViewEventRest viewEventRest = new ViewEventRest();
+        viewEventRest.setTargetType(targetType);
+        viewEventRest.setTargetId(target.getID());
+        ObjectMapper mapper = new ObjectMapper();
+        for (int i = 0; i < times; i++) {
+            getClient().perform(post("/api/statistics/viewevents")
+                    .content(mapper.writeValueAsBytes(viewEventRest))
+                    .contentType(contentType))
+                    .andExpect(status().isCreated());
+        }
+    }
 }
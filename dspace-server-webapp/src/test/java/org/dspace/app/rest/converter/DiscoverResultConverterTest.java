@@ -0,0 +1,110 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+import org.dspace.app.rest.model.SearchResultsRest;
+import org.dspace.app.rest.projection.Projection;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.discovery.DiscoverResult;
+import org.dspace.discovery.configuration.DiscoveryConfiguration;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.eperson.EPerson;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * This class' purpose is to test the READ authorizations prefetched by the
+ * DiscoverResultConverter
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DiscoverResultConverterTest {
+
+    @InjectMocks
+    private DiscoverResultConverter discoverResultConverter;
+
+    @Mock
+    private ConverterService converter;
+
+    @Mock
+    private DiscoverFacetsConverter facetConverter;
+
+    @Mock
+    private SearchFilterToAppliedFilterConverter searchFilterToAppliedFilterConverter;
+
+    @Mock
+    private AuthorizeService authorizeService;
+
+    @Mock
+    private Context context;
+
+    @Mock
+    private EPerson currentUser;
+
+    private Item firstItem;
+
+    private Item secondItem;
+
+    private DiscoverResult searchResult;
+
+    @Before
+    public void setUp() throws Exception {
+        firstItem = mock(Item.class);
+        secondItem = mock(Item.class);
+        searchResult = new DiscoverResult();
+        searchResult.addIndexableObject(new IndexableItem(firstItem));
+        searchResult.addIndexableObject(new IndexableItem(secondItem));
+        when(context.getCurrentUser()).thenReturn(currentUser);
+    }
+
+    @Test
+    public void testReadAuthorizationsArePrefetchedBeforeTheConversion() throws Exception {
+        SearchResultsRest resultsRest = convert();
+
+        assertEquals(2, resultsRest.getSearchResults().size());
+        InOrder order = inOrder(authorizeService, converter);
+        order.verify(authorizeService).authorizeActionBoolean(context, currentUser, List.of(firstItem, secondItem),
+            Constants.READ);
+        order.verify(converter).toRest(firstItem, Projection.DEFAULT);
+        order.verify(converter).toRest(secondItem, Projection.DEFAULT);
+    }
+
+    @Test
+    public void testResultsAreConvertedWhenThePrefetchFails() throws Exception {
+        when(authorizeService.authorizeActionBoolean(context, currentUser, List.of(firstItem, secondItem),
+            Constants.READ)).thenThrow(new SQLException("test"));
+
+        SearchResultsRest resultsRest = convert();
+
+        assertEquals(2, resultsRest.getSearchResults().size());
+        verify(converter).toRest(firstItem, Projection.DEFAULT);
+        verify(converter).toRest(secondItem, Projection.DEFAULT);
+    }
+
+    private SearchResultsRest convert() {
+        return discoverResultConverter.convert(context, "test", Collections.emptyList(), "default", null,
+            Collections.emptyList(), null, searchResult, new DiscoveryConfiguration(), Projection.DEFAULT);
+    }
+}
@@ -155,4 +155,26 @@ public class JWTTokenHandlerTest {
         assertEquals(null, parsed);
     }
 
+    @Test
+    public void testVerifiedTokenCache() throws Exception {
+        when(configurationService.getIntProperty("jwt.login.token.cache.max-size", 0)).thenReturn(10);
+        when(configurationService.getLongProperty("jwt.login.token.expiration", 1800000)).thenReturn(1800000L);
+        when(ePersonClaimProvider.getEPerson(any(Context.class), any(JWTClaimsSet.class))).thenReturn(ePerson);
+        Date previous = new Date(System.currentTimeMillis() - 10000000000L);
+        String token = loginJWTTokenHandler
+            .createTokenForEPerson(context, new MockHttpServletRequest(), previous);
+
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        VerifiedTokenCache cache = loginJWTTokenHandler.getVerifiedTokenCache();
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        // a new session salt invalidates the cached token
+        when(ePerson.getSessionSalt()).thenReturn("12345678901234567890123456789012");
+        assertEquals(null, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getSize());
+    }
+
 }
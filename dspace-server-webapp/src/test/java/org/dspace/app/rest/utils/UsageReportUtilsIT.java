@@ -0,0 +1,157 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.utils;
+
+import static org.dspace.app.rest.utils.UsageReportUtils.TOTAL_VISITS_REPORT_ID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.servlet.http.HttpServletRequest;
+
+import org.dspace.app.rest.model.UsageReportPointRest;
+import org.dspace.app.rest.model.UsageReportRest;
+import org.dspace.app.rest.statistics.StatisticsReportsConfiguration;
+import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.EventService;
+import org.dspace.statistics.factory.StatisticsServiceFactory;
+import org.dspace.usage.UsageEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+/**
+ * Integration tests for the concurrent generation and the cache of the usage
+ * reports of {@link UsageReportUtils}.
+ */
+public class UsageReportUtilsIT extends AbstractControllerIntegrationTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private StatisticsReportsConfiguration statisticsReportsConfiguration;
+
+    private final List<UsageReportUtils> usageReportUtils = new ArrayList<>();
+
+    private Item item;
+
+    @BeforeClass
+    public static void clearStatistics() throws Exception {
+        StatisticsServiceFactory.getInstance().getSolrLoggerService().removeIndex("*:*");
+    }
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        // Explicitly use solr commit in SolrLoggerServiceImpl#postView
+        configurationService.setProperty("solr-statistics.autoCommit", false);
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Visited item").build();
+        postView(item, 3);
+        context.restoreAuthSystemState();
+    }
+
+    @After
+    public void destroyUsageReportUtils() throws Exception {
+        for (UsageReportUtils utils : usageReportUtils) {
+            utils.destroy();
+        }
+        StatisticsServiceFactory.getInstance().getSolrLoggerService().removeIndex("*:*");
+    }
+
+    @Test
+    public void testReportsGeneratedConcurrentlyAreTheSequentialOnes() throws Exception {
+        List<UsageReportRest> sequential = createUsageReportUtils(1, 0)
+            .getUsageReportsOfDSO(context, item, null, null, null);
+        List<UsageReportRest> concurrent = createUsageReportUtils(4, 0)
+            .getUsageReportsOfDSO(context, item, null, null, null);
+
+        assertThat(sequential.size(), greaterThan(1));
+        assertThat(describe(concurrent), is(describe(sequential)));
+        assertThat(getTotalVisits(concurrent), is(3));
+    }
+
+    @Test
+    public void testReportsAreCachedByDateRange() throws Exception {
+        UsageReportUtils utils = createUsageReportUtils(2, 300);
+
+        assertThat(getTotalVisits(utils.getUsageReportsOfDSO(context, item, null, null, null)), is(3));
+
+        context.turnOffAuthorisationSystem();
+        postView(item, 2);
+        context.restoreAuthSystemState();
+
+        // the same reports are served from the cache
+        assertThat(getTotalVisits(utils.getUsageReportsOfDSO(context, item, null, null, null)), is(3));
+        // another date range is not
+        assertThat(getTotalVisits(utils.getUsageReportsOfDSO(context, item, null, "2000-01-01", null)), is(5));
+        // the reports are not cached without a time to live
+        assertThat(getTotalVisits(createUsageReportUtils(2, 0)
+            .getUsageReportsOfDSO(context, item, null, null, null)), is(5));
+    }
+
+    private UsageReportUtils createUsageReportUtils(int threads, long cacheTimeToLive) throws Exception {
+        configurationService.setProperty("usage-statistics.reports.threads", threads);
+        configurationService.setProperty("usage-statistics.reports.cache.ttl", cacheTimeToLive);
+        UsageReportUtils utils = new UsageReportUtils();
+        ReflectionTestUtils.setField(utils, "configuration", statisticsReportsConfiguration);
+        ReflectionTestUtils.setField(utils, "configurationService", configurationService);
+        utils.afterPropertiesSet();
+        usageReportUtils.add(utils);
+        return utils;
+    }
+
+    private List<List<Object>> describe(List<UsageReportRest> reports) {
+        List<List<Object>> descriptions = new ArrayList<>();
+        for (UsageReportRest report : reports) {
+            descriptions.add(Arrays.asList(report.getId(), report.getReportType(), report.getViewMode()));
+            for (UsageReportPointRest point : report.getPoints()) {
+                descriptions.add(Arrays.asList(point.getId(), point.getLabel(), point.getValues()));
+            }
+        }
+        return descriptions;
+    }
+
+    private int getTotalVisits(List<UsageReportRest> reports) {
+        List<UsageReportRest> totalVisits = reports.stream()
+            .filter(report -> report.getId().equals(item.getID() + "_" + TOTAL_VISITS_REPORT_ID))
+            .collect(Collectors.toList());
+        assertThat(totalVisits.size(), is(1));
+        return totalVisits.get(0).getPoints().get(0).getValues().get("views");
+    }
+
+    private void postView(DSpaceObject dso, int numView) {
+        HttpServletRequest req = MockMvcRequestBuilders.post("/api/statistics/viewevents").buildRequest(null);
+        UsageEvent usageEvent = new UsageEvent(UsageEvent.Action.VIEW, req, context, dso);
+        for (int i = 0; i < numView; i++) {
+            eventService.fireEvent(usageEvent);
+        }
+    }
+}
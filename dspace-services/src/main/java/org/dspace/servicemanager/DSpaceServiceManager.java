@@ -20,6 +20,10 @@ import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
 import javax.annotation.PreDestroy;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -70,6 +74,20 @@ public final class DSpaceServiceManager implements ServiceManagerSystem {
      */
     private final List<Activator> activators = Collections.synchronizedList(new ArrayList<>());
 
+    /**
+     * The services of each type, when all of them are singletons, and the singleton services by name, looked up
+     * once the service manager is started. Cleared when a service is registered or unregistered.
+     */
+    private final Map<Class<?>, List<?>> servicesByType = new ConcurrentHashMap<>();
+    private final Map<String, Object> servicesByName = new ConcurrentHashMap<>();
+    private final AtomicLong servicesGeneration = new AtomicLong();
+    private volatile boolean cachingServices = false;
+
+    /**
+     * The number of lookups of each type of service, see {@link #getServiceLookupCounts()}.
+     */
+    private final Map<Class<?>, LongAdder> serviceLookups = new ConcurrentHashMap<>();
+
     /**
      * Standard constructor.
      *
@@ -224,6 +242,12 @@ public final class DSpaceServiceManager implements ServiceManagerSystem {
     public void shutdown() {
         unregisterActivators();
 
+        cachingServices = false;
+        clearServiceCaches();
+        if (log.isDebugEnabled()) {
+            log.debug("Most looked up services: {}", formatServiceLookupCounts());
+        }
+
         if (applicationContext != null) {
             try {
                 applicationContext.close();
@@ -292,6 +316,10 @@ public final class DSpaceServiceManager implements ServiceManagerSystem {
             // now we call the ready mixins
             notifyServiceManagerReady();
 
+            // the services looked up from now on can be cached
+            cachingServices = configurationService.getBooleanProperty("service.manager.cache-lookups", true);
+            log.info("Most looked up services at startup: {}", formatServiceLookupCounts());
+
         } catch (IllegalStateException e) {
             shutdown(); // execute the shutdown
             String message = "Failed to startup the DSpace Service Manager: " + e.getMessage();
@@ -367,29 +395,34 @@ public final class DSpaceServiceManager implements ServiceManagerSystem {
             throw new IllegalArgumentException("name cannot be null");
         }
 
-        if (applicationContext.containsBean(name)) {
-            try {
-                Object beanInstance = applicationContext.getBean(name);
+        try {
+            if (applicationContext.containsBean(name)) {
                 try {
-                    applicationContext.getBeanFactory().destroyBean(name, beanInstance);
-                } catch (NoSuchBeanDefinitionException e) {
-                    // this happens if the bean was registered manually (annoyingly)
-                    for (final Method method : beanInstance.getClass().getMethods()) {
-                        if (method.isAnnotationPresent(PreDestroy.class)) {
-                            try {
-                                method.invoke(beanInstance);
-                            } catch (IllegalAccessException
-                                    | IllegalArgumentException
-                                    | InvocationTargetException ex) {
-                                log.warn("Failed to call declared @PreDestroy method of {} service",
-                                        name, ex);
+                    Object beanInstance = applicationContext.getBean(name);
+                    try {
+                        applicationContext.getBeanFactory().destroyBean(name, beanInstance);
+                    } catch (NoSuchBeanDefinitionException e) {
+                        // this happens if the bean was registered manually (annoyingly)
+                        for (final Method method : beanInstance.getClass().getMethods()) {
+                            if (method.isAnnotationPresent(PreDestroy.class)) {
+                                try {
+                                    method.invoke(beanInstance);
+                                } catch (IllegalAccessException
+                                        | IllegalArgumentException
+                                        | InvocationTargetException ex) {
+                                    log.warn("Failed to call declared @PreDestroy method of {} service",
+                                            name, ex);
+                                }
                             }
                         }
                     }
+                } catch (BeansException e) {
+                    // nothing to do here, could not find the bean
                 }
-            } catch (BeansException e) {
-                // nothing to do here, could not find the bean
             }
+        } finally {
+            // after the destroy, as the bean can still be looked up and cached while it is destroyed
+            clearServiceCaches();
         }
     }
 
@@ -406,9 +439,43 @@ public final class DSpaceServiceManager implements ServiceManagerSystem {
         } catch (BeansException e) {
             throw new IllegalArgumentException(
                 "Invalid service (" + service + ") with name (" + name + ") registration: " + e.getMessage(), e);
+        } finally {
+            clearServiceCaches();
+        }
+    }
+
+    /**
+     * Discard the cached lookups, to be called when the registered services change.
+     */
+    private void clearServiceCaches() {
+        synchronized (servicesGeneration) {
+            servicesGeneration.incrementAndGet();
+            servicesByType.clear();
+            servicesByName.clear();
         }
     }
 
+    /**
+     * @return the number of lookups of each type of service since the startup, from the most looked up
+     */
+    public Map<String, Long> getServiceLookupCounts() {
+        return serviceLookups.entrySet().stream()
+            .sorted(Map.Entry.comparingByValue((first, second) -> Long.compare(second.sum(), first.sum())))
+            .collect(Collectors.toMap(entry -> entry.getKey().getName(), entry -> entry.getValue().sum(),
+                (first, second) -> first, LinkedHashMap::new));
+    }
+
+    private String formatServiceLookupCounts() {
+        return getServiceLookupCounts().entrySet().stream()
+            .limit(10)
+            .map(entry -> entry.getKey() + "=" + entry.getValue())
+            .collect(Collectors.joining(", "));
+    }
+
+    private void countLookup(Class<?> type) {
+        serviceLookups.computeIfAbsent(type, key -> new LongAdder()).increment();
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> T getServiceByName(String name, Class<T> type) {
@@ -416,6 +483,7 @@ public final class DSpaceServiceManager implements ServiceManagerSystem {
         if (type == null) {
             throw new IllegalArgumentException("Type cannot be null");
         }
+        countLookup(type);
 
         T service = null;
         // handle special case to return the core AC
@@ -423,10 +491,14 @@ public final class DSpaceServiceManager implements ServiceManagerSystem {
             && ApplicationContext.class.isAssignableFrom(type)) {
             service = (T) getApplicationContext();
         } else {
+            Object cached = servicesByName.get(name != null ? name : type.getName());
+            if (type.isInstance(cached)) {
+                return (T) cached;
+            }
             if (name != null) {
                 // get by name and type
                 try {
-                    service = (T) applicationContext.getBean(name, type);
+                    service = getSingletonAware(name, type);
                 } catch (BeansException e) {
                     // no luck, try the fall back option
                     log.debug(
@@ -438,7 +510,7 @@ public final class DSpaceServiceManager implements ServiceManagerSystem {
             } else {
                 // try making up the name based on the type
                 try {
-                    service = (T) applicationContext.getBean(type.getName(), type);
+                    service = getSingletonAware(type.getName(), type);
                 } catch (BeansException e) {
                     // no luck, try the fall back option
                     log.debug("Unable to locate bean by name or id={}."
@@ -468,6 +540,22 @@ public final class DSpaceServiceManager implements ServiceManagerSystem {
         return service;
     }
 
+    /**
+     * Get a bean by name and type, caching it if it is a singleton and the lookups can be cached.
+     */
+    private <T> T getSingletonAware(String name, Class<T> type) {
+        long generation = servicesGeneration.get();
+        T service = applicationContext.getBean(name, type);
+        if (cachingServices && applicationContext.isSingleton(name)) {
+            synchronized (servicesGeneration) {
+                if (servicesGeneration.get() == generation) {
+                    servicesByName.put(name, service);
+                }
+            }
+        }
+        return service;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> List<T> getServicesByType(Class<T> type) {
@@ -475,7 +563,15 @@ public final class DSpaceServiceManager implements ServiceManagerSystem {
         if (type == null) {
             throw new IllegalArgumentException("type cannot be null");
         }
+        countLookup(type);
+
+        List<T> cached = (List<T>) servicesByType.get(type);
+        if (cached != null) {
+            // a copy, as the callers are free to change the returned list
+            return new ArrayList<>(cached);
+        }
 
+        long generation = servicesGeneration.get();
         List<T> services = new ArrayList<>();
         Map<String, T> beans;
         try {
@@ -486,6 +582,15 @@ public final class DSpaceServiceManager implements ServiceManagerSystem {
         }
 
         Collections.sort(services, new ServiceManagerUtils.ServiceComparator());
+
+        // prototype and scoped beans are created on each lookup, so the list is cached only with singletons
+        if (cachingServices && beans.keySet().stream().allMatch(applicationContext::isSingleton)) {
+            synchronized (servicesGeneration) {
+                if (servicesGeneration.get() == generation) {
+                    servicesByType.put(type, new ArrayList<>(services));
+                }
+            }
+        }
         return services;
     }
 
@@ -10,6 +10,7 @@ package org.dspace.servicemanager;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -185,6 +186,28 @@ public class DSpaceServiceManagerTest {
         l2 = null;
     }
 
+    @Test
+    public void testGetServicesByTypeIsCachedUntilTheServicesChange() {
+        dsm.startup();
+
+        List<ConcreteExample> first = dsm.getServicesByType(ConcreteExample.class);
+        List<ConcreteExample> second = dsm.getServicesByType(ConcreteExample.class);
+        assertEquals(first, second);
+        assertNotSame(first, second);
+
+        // changes to the returned list do not affect the next lookups
+        second.clear();
+        assertEquals(first, dsm.getServicesByType(ConcreteExample.class));
+
+        ConcreteExample another = new ConcreteExample();
+        dsm.registerService("anotherConcreteExample", another);
+        List<ConcreteExample> third = dsm.getServicesByType(ConcreteExample.class);
+        assertEquals(first.size() + 1, third.size());
+        assertTrue(third.contains(another));
+
+        assertEquals(Long.valueOf(4), dsm.getServiceLookupCounts().get(ConcreteExample.class.getName()));
+    }
+
     /**
      * Test method for {@link org.dspace.servicemanager.DSpaceServiceManager#getServicesNames()}.
      */